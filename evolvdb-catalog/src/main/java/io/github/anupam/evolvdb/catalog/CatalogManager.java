@@ -6,6 +6,7 @@ import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.storage.page.PageFormat;
 import io.github.anupam.evolvdb.storage.record.HeapFile;
 import io.github.anupam.evolvdb.storage.record.RecordManager;
+import io.github.anupam.evolvdb.types.RowFormat;
 import io.github.anupam.evolvdb.types.Schema;
 
 import java.io.IOException;
@@ -28,6 +29,7 @@ public final class CatalogManager {
     private final DiskManager disk;
     private final BufferPool buffer;
     private final PageFormat format;
+    private final RecordManager records; // one HeapFile per table, shared by every Table handle
     private final HeapFile catalogFile;
 
     private final Map<Long, TableMeta> byId = new HashMap<>();
@@ -38,8 +40,8 @@ public final class CatalogManager {
         this.disk = Objects.requireNonNull(disk);
         this.buffer = Objects.requireNonNull(buffer);
         this.format = Objects.requireNonNull(format);
-        RecordManager rm = new RecordManager(disk, buffer);
-        this.catalogFile = rm.openHeapFile(CATALOG_FILE_NAME, format);
+        this.records = new RecordManager(disk, buffer);
+        this.catalogFile = records.openHeapFile(CATALOG_FILE_NAME, format);
         load();
     }
 
@@ -47,9 +49,8 @@ public final class CatalogManager {
         // Scan catalog file to rebuild state
         int pages = disk.pageCount(new FileId(CATALOG_FILE_NAME));
         if (pages == 0) return; // nothing yet
-        for (var ridIt = catalogFile.iterator(); ridIt.hasNext(); ) {
-            var rid = ridIt.next();
-            byte[] rec = catalogFile.read(rid);
+        // scan() goes through a bulk-read ring when the catalog is large relative to the pool
+        for (byte[] rec : catalogFile.scan()) {
             var dec = TableMetaCodec.decode(rec);
             if (dec.drop) {
                 var meta = byId.remove(dec.id.value());
@@ -62,14 +63,23 @@ public final class CatalogManager {
         }
     }
 
+    /** Heap files of the catalog and of every table opened so far (e.g. for a background vacuum). */
+    public RecordManager records() { return records; }
+
     public synchronized TableId createTable(String name, Schema schema) throws IOException {
+        return createTable(name, schema, RowFormat.OFFSETS);
+    }
+
+    /** Creates a table whose rows are stored in {@code rowFormat}; see {@link RowFormat}. */
+    public synchronized TableId createTable(String name, Schema schema, RowFormat rowFormat) throws IOException {
         Objects.requireNonNull(name);
         Objects.requireNonNull(schema);
+        Objects.requireNonNull(rowFormat);
         String key = name.toLowerCase(Locale.ROOT);
         if (byName.containsKey(key)) throw new IllegalArgumentException("table already exists: " + name);
         TableId id = new TableId(nextId++);
         FileId file = new FileId("t_" + id.value());
-        TableMeta meta = new TableMeta(id, name, schema, file);
+        TableMeta meta = new TableMeta(id, name, schema, file, rowFormat);
         byte[] rec = TableMetaCodec.encodeUpsert(meta);
         catalogFile.insert(rec);
         byId.put(id.value(), meta);
@@ -105,8 +115,7 @@ public final class CatalogManager {
         Objects.requireNonNull(name);
         TableMeta meta = byName.get(name.toLowerCase(Locale.ROOT));
         if (meta == null) throw new IllegalArgumentException("unknown table: " + name);
-        RecordManager rm = new RecordManager(disk, buffer);
-        HeapFile hf = rm.openHeapFile(meta.fileId().name(), format);
+        HeapFile hf = records.openHeapFile(meta.fileId().name(), format);
         return new Table(meta, hf);
     }
 
@@ -115,8 +124,7 @@ public final class CatalogManager {
         Objects.requireNonNull(id);
         TableMeta meta = byId.get(id.value());
         if (meta == null) throw new IllegalArgumentException("unknown table id: " + id);
-        RecordManager rm = new RecordManager(disk, buffer);
-        HeapFile hf = rm.openHeapFile(meta.fileId().name(), format);
+        HeapFile hf = records.openHeapFile(meta.fileId().name(), format);
         return new Table(meta, hf);
     }
 }
@@ -0,0 +1,70 @@
+package io.github.anupam.evolvdb.catalog;
+
+import io.github.anupam.evolvdb.storage.record.HeapFile;
+import io.github.anupam.evolvdb.types.CompactRowCodec;
+import io.github.anupam.evolvdb.types.OffsetsRowCodec;
+import io.github.anupam.evolvdb.types.RowBuffer;
+import io.github.anupam.evolvdb.types.RowCodec;
+import io.github.anupam.evolvdb.types.RowFormat;
+import io.github.anupam.evolvdb.types.Schema;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Row-at-a-time table scan into one reusable {@link RowBuffer} (see {@link Table#scanRows}).
+ *
+ * While a heap page is pinned its bytes are copied whole into a buffer owned by the scan; {@link #next} then
+ * points the row at the next live record in that copy, and its columns are decoded only when read. Nothing is
+ * allocated per row: the page copy and the row are reused, and only String columns build an object, when read.
+ * A row in the compact or legacy format ({@link RowFormat}) is walked once when the row is pointed at it, to find
+ * its columns.
+ */
+public final class RowScan {
+    private final HeapFile.PageScan pages;
+    private final Schema schema;
+    private final RowFormat format;
+    private final int[] columns; // row column -> table column, or null for all
+    private final RowBuffer row;
+    private final HeapFile.PageVisitor copier = this::copyPage;
+
+    private byte[] page = new byte[0];
+    private ByteBuffer pageBuf = ByteBuffer.wrap(page);
+    private int[] offsets = new int[0];
+    private int count;
+    private int pos;
+
+    RowScan(HeapFile.PageScan pages, Schema schema, RowFormat format, int[] columns, Schema rowSchema) {
+        this.pages = pages;
+        this.schema = schema;
+        this.format = format;
+        this.columns = columns;
+        this.row = new RowBuffer(rowSchema);
+    }
+
+    /** Returns the next row, valid until the following call, or null at the end of the table. */
+    public RowBuffer next() {
+        while (pos == count) {
+            pos = count = 0;
+            if (!pages.next(copier)) return null;
+        }
+        int offset = offsets[pos++];
+        switch (format) {
+            case OFFSETS -> OffsetsRowCodec.attach(schema, pageBuf, offset, columns, row);
+            case COMPACT -> CompactRowCodec.attach(schema, pageBuf, offset, columns, row);
+            case LEGACY -> RowCodec.attach(schema, pageBuf, offset, columns, row);
+        }
+        return row;
+    }
+
+    private void copyPage(ByteBuffer view, int[] recordOffsets, int[] lengths, int n) {
+        if (page.length < view.capacity()) {
+            page = new byte[view.capacity()];
+            pageBuf = ByteBuffer.wrap(page).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        view.get(0, page, 0, view.capacity());
+        if (offsets.length < n) offsets = new int[n];
+        System.arraycopy(recordOffsets, 0, offsets, 0, n);
+        count = n;
+    }
+}
@@ -1,21 +1,40 @@
 package io.github.anupam.evolvdb.catalog;
 
+import io.github.anupam.evolvdb.storage.buffer.BufferRing;
 import io.github.anupam.evolvdb.storage.record.HeapFile;
+import io.github.anupam.evolvdb.storage.record.ScanMorsels;
+import io.github.anupam.evolvdb.storage.record.VacuumStats;
 import io.github.anupam.evolvdb.storage.page.RecordId;
+import io.github.anupam.evolvdb.types.CompactRowCodec;
+import io.github.anupam.evolvdb.types.CompiledRowCodec;
+import io.github.anupam.evolvdb.types.OffsetsRowCodec;
 import io.github.anupam.evolvdb.types.RowCodec;
+import io.github.anupam.evolvdb.types.RowFormat;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * High-level table handle providing tuple-oriented operations backed by a HeapFile.
+ *
+ * Rows are stored in the table's {@link TableMeta#rowFormat()}: {@link RowFormat#LEGACY} through
+ * {@link RowCodec}, {@link RowFormat#OFFSETS} through the compiled {@link TableMeta#rowCodec()} and
+ * {@link OffsetsRowCodec}, {@link RowFormat#COMPACT} through {@link CompactRowCodec}.
  */
 public final class Table {
     private final TableMeta meta;
     private final HeapFile heapFile;
 
+    /** Rows encoded and handed to the heap file per {@link #insertAll} batch. */
+    public static final int INSERT_BATCH = 256;
+
     Table(TableMeta meta, HeapFile heapFile) {
         this.meta = meta;
         this.heapFile = heapFile;
@@ -25,25 +44,199 @@ public final class Table {
     public Schema schema() { return meta.schema(); }
 
     public RecordId insert(Tuple tuple) throws IOException {
-        byte[] bytes = RowCodec.encode(meta.schema(), tuple);
+        byte[] bytes = encode(tuple);
         return heapFile.insert(bytes);
     }
 
+    /**
+     * Inserts many tuples, {@link #INSERT_BATCH} at a time through {@link HeapFile#insertBatch}, which fills each
+     * pinned page before moving on. Once the table outgrows the buffer pool, pages are pinned through a bulk-write
+     * ring so a large load does not flush the shared pool. Returns the number of tuples inserted.
+     */
+    public int insertAll(Iterable<Tuple> tuples) throws IOException {
+        BufferRing ring = null;
+        List<byte[]> batch = new ArrayList<>(INSERT_BATCH);
+        int n = 0;
+        for (Tuple tuple : tuples) {
+            batch.add(encode(tuple));
+            n++;
+            if (batch.size() == INSERT_BATCH) {
+                if (ring == null) ring = heapFile.bulkWriteRing(); // re-check as the table grows
+                heapFile.insertBatch(batch, ring);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            if (ring == null) ring = heapFile.bulkWriteRing();
+            heapFile.insertBatch(batch, ring);
+        }
+        return n;
+    }
+
+    /** Bulk-loads tuples onto fully packed new pages; see {@link #bulkLoad(Iterator, double)}. */
+    public long bulkLoad(Iterator<Tuple> tuples) throws IOException {
+        return bulkLoad(tuples, 1.0);
+    }
+
+    /**
+     * Bulk-loads tuples: rows are encoded straight into fresh pages built outside the buffer pool and appended
+     * with large sequential writes, each page packed to {@code fillFactor} (0 &lt; fillFactor &lt;= 1). Much faster
+     * than {@link #insertAll} for large loads, but never reuses free space in existing pages. Returns the number
+     * of tuples loaded.
+     */
+    public long bulkLoad(Iterator<Tuple> tuples, double fillFactor) throws IOException {
+        return heapFile.bulkLoad(new Iterator<>() {
+            @Override public boolean hasNext() { return tuples.hasNext(); }
+            @Override public byte[] next() { return encode(tuples.next()); }
+        }, fillFactor);
+    }
+
+    /**
+     * Reads a row; in the offsets format its columns are decoded on first access (see
+     * {@link OffsetsRowCodec#lazy}), in the others all at once.
+     */
     public Tuple read(RecordId rid) throws IOException {
-        byte[] bytes = heapFile.read(rid);
-        return RowCodec.decode(meta.schema(), bytes);
+        return decode(heapFile.read(rid));
     }
 
     public RecordId update(RecordId rid, Tuple tuple) throws IOException {
-        byte[] bytes = RowCodec.encode(meta.schema(), tuple);
+        byte[] bytes = encode(tuple);
         return heapFile.update(rid, bytes);
     }
 
+    /** Deletes a row; its space is reclaimed by the next {@link #vacuum()}. */
+    public void delete(RecordId rid) throws IOException {
+        heapFile.delete(rid);
+    }
+
+    /**
+     * Compacts pages holding deleted or moved rows and truncates empty pages at the end of the table, while the
+     * table stays in use (see {@link HeapFile#vacuum}).
+     */
+    public VacuumStats vacuum() throws IOException {
+        return heapFile.vacuum();
+    }
+
+    /** Rewrites the table onto packed pages in scan order (VACUUM FULL); rows get new RecordIds. Offline. */
+    public VacuumStats vacuumFull() throws IOException {
+        return heapFile.rewrite(null, null, 1.0);
+    }
+
+    /**
+     * Rewrites the table onto packed pages ordered by {@code column} (CLUSTER), so range scans on it read few
+     * pages; rows get new RecordIds and later inserts are not kept in order. Nulls sort last. Offline, see
+     * {@link HeapFile#rewrite}.
+     */
+    public VacuumStats cluster(String column) throws IOException {
+        Schema schema = meta.schema();
+        int key = schema.indexOf(column);
+        if (key < 0) throw new IllegalArgumentException("unknown column: " + column);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Comparator<Object> order = (Comparator) Comparator.nullsLast(Comparator.naturalOrder());
+        return heapFile.rewrite(rec -> decode(rec).get(key), order, 1.0);
+    }
+
     public Iterable<Tuple> scanTuples() {
         return () -> new Iterator<>() {
-            final Iterator<byte[]> it = heapFile.scan().iterator();
-            @Override public boolean hasNext() { return it.hasNext(); }
-            @Override public Tuple next() { return RowCodec.decode(meta.schema(), it.next()); }
+            final Iterator<List<Tuple>> pages = scanPages().iterator();
+            Iterator<Tuple> current = Collections.emptyIterator();
+            @Override public boolean hasNext() {
+                while (!current.hasNext() && pages.hasNext()) current = pages.next().iterator();
+                return current.hasNext();
+            }
+            @Override public Tuple next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
+            }
         };
     }
+
+    /**
+     * Scans the table a page at a time: each element holds the live tuples of one heap page. Each row is copied
+     * out of the pinned page and its columns are decoded on first access ({@link OffsetsRowCodec#lazy}), so rows a
+     * filter rejects only pay for the columns it reads. Rows in the legacy and compact formats, whose columns
+     * are found by walking the row, are decoded whole from the pinned page.
+     */
+    public Iterable<List<Tuple>> scanPages() {
+        return scanPages((Schema) null);
+    }
+
+    /**
+     * Scans the table a page at a time, decoding only {@code columns} (a subset of the table's columns, matched
+     * by name) straight from the pinned page; the tuples are bound to {@code columns}. With null, behaves like
+     * {@link #scanPages()}.
+     */
+    public Iterable<List<Tuple>> scanPages(Schema columns) {
+        HeapFile.RecordMapper<Tuple> mapper = mapper(columns);
+        return () -> heapFile.scanPages(heapFile.bulkReadRing(), mapper).iterator();
+    }
+
+    /**
+     * Scans the table a row at a time into one reusable {@link io.github.anupam.evolvdb.types.RowBuffer}, bound
+     * to {@code columns} (a subset of the table's columns, matched by name) or, with null, to the table's schema.
+     * Columns are decoded only when read; see {@link RowScan}.
+     */
+    public RowScan scanRows(Schema columns) {
+        Schema schema = meta.schema();
+        int[] indexes = columns == null ? null : RowCodec.columnIndexes(schema, columns);
+        return new RowScan(heapFile.pageScan(heapFile.bulkReadRing()), schema, meta.rowFormat(), indexes,
+                columns == null ? schema : columns);
+    }
+
+    /** Splits a scan of this table into page ranges for a parallel scan (see {@link ScanMorsels}). */
+    public ScanMorsels morsels(int morselPages) {
+        return heapFile.morsels(morselPages);
+    }
+
+    /**
+     * Scans one page range a page at a time, decoding tuples from the pinned pages. Ranges may be scanned
+     * concurrently from different threads.
+     */
+    public Iterable<List<Tuple>> scanPages(ScanMorsels.PageRange range) {
+        return scanPages(range, null);
+    }
+
+    /** Scans one page range, decoding only {@code columns} (null = all, lazily); see {@link #scanPages(Schema)}. */
+    public Iterable<List<Tuple>> scanPages(ScanMorsels.PageRange range, Schema columns) {
+        return heapFile.scanPages(range, heapFile.bulkReadRing(), mapper(columns));
+    }
+
+    private byte[] encode(Tuple tuple) {
+        return switch (meta.rowFormat()) {
+            case OFFSETS -> meta.rowCodec().encode(tuple);
+            case COMPACT -> CompactRowCodec.encode(meta.schema(), tuple);
+            case LEGACY -> RowCodec.encode(meta.schema(), tuple);
+        };
+    }
+
+    private Tuple decode(byte[] row) {
+        return switch (meta.rowFormat()) {
+            case OFFSETS -> OffsetsRowCodec.lazy(meta.schema(), row);
+            case COMPACT -> CompactRowCodec.decode(meta.schema(), row);
+            case LEGACY -> RowCodec.decode(meta.schema(), row);
+        };
+    }
+
+    private HeapFile.RecordMapper<Tuple> mapper(Schema columns) {
+        Schema schema = meta.schema();
+        if (meta.rowFormat() == RowFormat.COMPACT) {
+            if (columns == null) return (page, offset, length) -> CompactRowCodec.decode(schema, page, offset);
+            int[] indexes = RowCodec.columnIndexes(schema, columns);
+            return (page, offset, length) -> CompactRowCodec.decode(schema, page, offset, indexes, columns);
+        }
+        if (meta.rowFormat() == RowFormat.LEGACY) {
+            if (columns == null) return (page, offset, length) -> RowCodec.decode(schema, page, offset);
+            int[] indexes = RowCodec.columnIndexes(schema, columns);
+            return (page, offset, length) -> RowCodec.decode(schema, page, offset, indexes, columns);
+        }
+        if (columns == null) {
+            return (page, offset, length) -> {
+                byte[] row = new byte[length];
+                page.get(offset, row);
+                return OffsetsRowCodec.lazy(schema, row);
+            };
+        }
+        CompiledRowCodec.Decoder decoder = meta.rowCodec().decoder(columns);
+        return (page, offset, length) -> decoder.decode(page, offset);
+    }
 }
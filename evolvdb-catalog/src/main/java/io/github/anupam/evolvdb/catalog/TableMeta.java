@@ -1,6 +1,8 @@
 package io.github.anupam.evolvdb.catalog;
 
 import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.types.CompiledRowCodec;
+import io.github.anupam.evolvdb.types.RowFormat;
 import io.github.anupam.evolvdb.types.Schema;
 
 import java.util.Objects;
@@ -11,21 +13,40 @@ public final class TableMeta {
     private final String name;
     private final Schema schema;
     private final FileId fileId;
+    private final RowFormat rowFormat;
+    private CompiledRowCodec rowCodec; // compiled on first use; racing threads compile equivalent codecs
 
     public TableMeta(TableId id, String name, Schema schema, FileId fileId) {
+        this(id, name, schema, fileId, RowFormat.OFFSETS);
+    }
+
+    public TableMeta(TableId id, String name, Schema schema, FileId fileId, RowFormat rowFormat) {
         this.id = Objects.requireNonNull(id, "id");
         if (name == null || name.isBlank()) throw new IllegalArgumentException("name");
         this.name = name;
         this.schema = Objects.requireNonNull(schema, "schema");
         this.fileId = Objects.requireNonNull(fileId, "fileId");
+        this.rowFormat = Objects.requireNonNull(rowFormat, "rowFormat");
     }
 
     public TableId id() { return id; }
     public String name() { return name; }
     public Schema schema() { return schema; }
     public FileId fileId() { return fileId; }
+    /** Encoding of the table's stored rows; fixed for the table's lifetime. */
+    public RowFormat rowFormat() { return rowFormat; }
+
+    /**
+     * Row codec specialised for this table's schema, compiled once and shared by every handle on the table. It
+     * writes the {@link RowFormat#OFFSETS} format only.
+     */
+    public CompiledRowCodec rowCodec() {
+        CompiledRowCodec c = rowCodec;
+        if (c == null) rowCodec = c = CompiledRowCodec.compile(schema);
+        return c;
+    }
 
     @Override public String toString() {
-        return "TableMeta{" + id + ", name='" + name + '\'' + ", fileId=" + fileId + '}';
+        return "TableMeta{" + id + ", name='" + name + '\'' + ", fileId=" + fileId + ", rowFormat=" + rowFormat + '}';
     }
 }
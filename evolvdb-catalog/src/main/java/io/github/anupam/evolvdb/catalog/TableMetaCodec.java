@@ -2,6 +2,7 @@ package io.github.anupam.evolvdb.catalog;
 
 import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.RowFormat;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Type;
 
@@ -11,9 +12,18 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
-/** Binary codec for catalog records. Versioned for future migrations. */
+/**
+ * Binary codec for catalog records. Versioned for future migrations: version 2 added a flags byte per column
+ * (bit 0 = nullable), version 3 the table's row format (ordinal of {@link RowFormat}) after its file id. Records
+ * are written in the current version; older ones still decode, with every column NOT NULL (version 1) and the row
+ * format their tables were written in: {@link RowFormat#LEGACY} for version 1, {@link RowFormat#OFFSETS} for
+ * version 2.
+ */
 final class TableMetaCodec {
-    private static final short VERSION = 1;
+    private static final short VERSION = 3;
+    private static final short V1 = 1;
+    private static final short V2 = 2;
+    private static final byte NULLABLE = 1;
     enum Kind { UPSERT((byte)1), DROP((byte)2); final byte b; Kind(byte b){this.b=b;} }
 
     static byte[] encodeUpsert(TableMeta meta) {
@@ -26,8 +36,10 @@ final class TableMetaCodec {
             size += 2 + cn.length; // name
             size += 1;             // type id
             size += 4;             // varchar length (or -1)
+            size += 1;             // flags
         }
         size += 2 + file.length; // fileId
+        size += 1;               // row format
         ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
         buf.putShort(VERSION);
         buf.put(Kind.UPSERT.b);
@@ -40,8 +52,10 @@ final class TableMetaCodec {
             buf.put((byte) c.type().ordinal());
             int vlen = (c.type() == Type.VARCHAR) ? c.length() : -1;
             buf.putInt(vlen);
+            buf.put(c.nullable() ? NULLABLE : 0);
         }
         buf.putShort((short) file.length).put(file);
+        buf.put((byte) meta.rowFormat().ordinal());
         return buf.array();
     }
 
@@ -57,7 +71,9 @@ final class TableMetaCodec {
     static Decoded decode(byte[] bytes) {
         ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
         short ver = buf.getShort();
-        if (ver != VERSION) throw new IllegalArgumentException("Unsupported catalog record version: " + ver);
+        if (ver != VERSION && ver != V2 && ver != V1) {
+            throw new IllegalArgumentException("Unsupported catalog record version: " + ver);
+        }
         byte kind = buf.get();
         if (kind == Kind.DROP.b) {
             long id = buf.getLong();
@@ -77,12 +93,18 @@ final class TableMetaCodec {
                 Type t = Type.values()[typeOrdinal];
                 int vlen = buf.getInt();
                 Integer len = (t == Type.VARCHAR) ? vlen : null;
-                cols.add(new ColumnMeta(cn, t, len));
+                byte flags = ver == V1 ? 0 : buf.get();
+                cols.add(new ColumnMeta(cn, t, len, (flags & NULLABLE) != 0));
             }
             int fil = Short.toUnsignedInt(buf.getShort());
             byte[] fnb = new byte[fil]; buf.get(fnb);
             String file = new String(fnb, StandardCharsets.UTF_8);
-            TableMeta meta = new TableMeta(new TableId(id), name, new Schema(cols), new FileId(file));
+            RowFormat format = switch (ver) {
+                case V1 -> RowFormat.LEGACY;
+                case V2 -> RowFormat.OFFSETS;
+                default -> RowFormat.values()[Byte.toUnsignedInt(buf.get())];
+            };
+            TableMeta meta = new TableMeta(new TableId(id), name, new Schema(cols), new FileId(file), format);
             return new Decoded(meta.id(), meta, false);
         } else {
             throw new IllegalArgumentException("Unknown catalog record kind: " + kind);
@@ -2,15 +2,25 @@ package io.github.anupam.evolvdb.catalog;
 
 import io.github.anupam.evolvdb.config.DbConfig;
 import io.github.anupam.evolvdb.core.Database;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.page.SlottedPageFormat;
 import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.RowBuffer;
+import io.github.anupam.evolvdb.types.RowFormat;
 import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
 import io.github.anupam.evolvdb.types.Type;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -96,4 +106,70 @@ class CatalogManagerTest {
             }
         }
     }
+
+    @Test
+    void givenCompactTable_whenRestart_thenRowFormatPersisted() throws Exception {
+        var config = cfg();
+        try (var db = new Database(config)) {
+            db.catalog().createTable("events", usersSchema(), RowFormat.COMPACT);
+            db.catalog().createTable("orders", usersSchema(), RowFormat.LEGACY);
+            db.catalog().createTable("users", usersSchema());
+        }
+        try (var db = new Database(config)) {
+            assertEquals(RowFormat.COMPACT, db.catalog().getTable("events").orElseThrow().rowFormat());
+            assertEquals(RowFormat.LEGACY, db.catalog().getTable("orders").orElseThrow().rowFormat());
+            assertEquals(RowFormat.OFFSETS, db.catalog().getTable("users").orElseThrow().rowFormat());
+        }
+    }
+
+    @Test
+    void givenVersion2Record_whenDecode_thenOffsetsRowFormat() {
+        TableMeta meta = new TableMeta(new TableId(7), "users", usersSchema(), new FileId("t_7"), RowFormat.COMPACT);
+        byte[] v3 = TableMetaCodec.encodeUpsert(meta);
+        // A version 2 record is the same without the trailing row format byte
+        byte[] v2 = Arrays.copyOf(v3, v3.length - 1);
+        v2[0] = 2;
+        TableMeta decoded = TableMetaCodec.decode(v2).meta;
+        assertEquals(RowFormat.OFFSETS, decoded.rowFormat());
+        assertEquals(usersSchema().columns(), decoded.schema().columns());
+        assertEquals(RowFormat.COMPACT, TableMetaCodec.decode(v3).meta.rowFormat());
+    }
+
+    @Test
+    void givenTableWrittenBeforeRowFormats_whenReopened_thenLegacyRowsStillDecode() throws Exception {
+        var config = cfg();
+        try (var db = new Database(config)) {
+            // A version 1 catalog record and a row, byte for byte as they were written before row formats
+            ByteBuffer rec = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+            rec.putShort((short) 1).put((byte) 1).putLong(1);
+            rec.putShort((short) 5).put("users".getBytes(StandardCharsets.UTF_8)).putShort((short) 2);
+            rec.putShort((short) 2).put("id".getBytes(StandardCharsets.UTF_8))
+                    .put((byte) Type.INT.ordinal()).putInt(-1);
+            rec.putShort((short) 4).put("name".getBytes(StandardCharsets.UTF_8))
+                    .put((byte) Type.STRING.ordinal()).putInt(-1);
+            rec.putShort((short) 3).put("t_1".getBytes(StandardCharsets.UTF_8));
+            ByteBuffer row = ByteBuffer.allocate(11).order(ByteOrder.LITTLE_ENDIAN);
+            row.putInt(7).putShort((short) 5).put("Alice".getBytes(StandardCharsets.UTF_8));
+            var records = db.catalog().records();
+            records.openHeapFile(CatalogManager.CATALOG_FILE_NAME, new SlottedPageFormat())
+                    .insert(Arrays.copyOf(rec.array(), rec.position()));
+            records.openHeapFile("t_1", new SlottedPageFormat()).insert(row.array());
+        }
+        try (var db = new Database(config)) {
+            var meta = db.catalog().getTable("users").orElseThrow();
+            assertEquals(RowFormat.LEGACY, meta.rowFormat());
+            assertEquals(usersSchema().columns(), meta.schema().columns());
+            Table table = db.catalog().openTable("users");
+            table.insert(new Tuple(table.schema(), List.of(8, "Bob")));
+
+            List<List<Object>> rows = new ArrayList<>();
+            for (Tuple t : table.scanTuples()) rows.add(t.values());
+            assertEquals(List.of(List.of(7, "Alice"), List.of(8, "Bob")), rows);
+            Schema names = new Schema(List.of(new ColumnMeta("name", Type.STRING, null)));
+            assertEquals("Alice", table.scanPages(names).iterator().next().get(0).get(0));
+            RowBuffer first = table.scanRows(null).next();
+            assertEquals(7, first.getInt(0));
+            assertEquals("Alice", first.getString(1));
+        }
+    }
 }
@@ -3,14 +3,20 @@ package io.github.anupam.evolvdb.cli;
 import io.github.anupam.evolvdb.config.DbConfig;
 import io.github.anupam.evolvdb.core.Database;
 import io.github.anupam.evolvdb.catalog.Table;
+import io.github.anupam.evolvdb.storage.record.VacuumStats;
 import io.github.anupam.evolvdb.types.Tuple;
 import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.CsvCodec;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Type;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.List;
 
@@ -28,6 +34,19 @@ public final class Main {
         System.out.println("EvolvDB starting with config: " + config);
         System.out.println("Data directory: " + config.dataDir().toAbsolutePath());
 
+        if (args.length > 0 && args[0].equals("load")) {
+            try (Database db = new Database(config)) {
+                load(db, args);
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("vacuum")) {
+            try (Database db = new Database(config)) {
+                vacuum(db, args);
+            }
+            return;
+        }
+
         // Minimal demo: create Database, use Catalog to create/open a table, insert tuples and scan
         try (Database db = new Database(config)) {
             // M6: Catalog demo: create table users(id INT, name STRING), insert and scan
@@ -56,6 +75,86 @@ public final class Main {
         }
     }
 
+    /**
+     * {@code load <table> <file.csv> [fillFactor]}: bulk-loads a CSV file (one row per line, see CsvCodec) into an
+     * existing table, writing packed pages directly instead of inserting row by row.
+     */
+    private static void load(Database db, String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("usage: load <table> <file.csv> [fillFactor]");
+            return;
+        }
+        var cat = db.catalog();
+        var meta = cat.getTable(args[1]).orElse(null);
+        if (meta == null) {
+            System.err.println("No such table: " + args[1]);
+            return;
+        }
+        double fillFactor = args.length == 4 ? Double.parseDouble(args[3]) : 1.0;
+        Table table = cat.openTable(meta.id());
+        long start = System.nanoTime();
+        long rows;
+        try (BufferedReader in = Files.newBufferedReader(Path.of(args[2]))) {
+            rows = table.bulkLoad(new Iterator<>() {
+                long lineNo = 0;
+                String next = advance();
+
+                private String advance() {
+                    try {
+                        String line;
+                        do {
+                            line = in.readLine();
+                            lineNo++;
+                        } while (line != null && !CsvCodec.isRow(table.schema(), line));
+                        return line;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override public boolean hasNext() { return next != null; }
+
+                @Override public Tuple next() {
+                    if (next == null) throw new NoSuchElementException();
+                    try {
+                        return CsvCodec.parse(table.schema(), next);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("line " + lineNo + ": " + e.getMessage(), e);
+                    } finally {
+                        next = advance();
+                    }
+                }
+            }, fillFactor);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Loaded %d rows into %s in %.2f s (%.0f rows/s)%n", rows, args[1], seconds, rows / seconds);
+    }
+
+    /**
+     * {@code vacuum <table> [full | cluster <column>]}: reclaims the space of deleted rows. Plain vacuum compacts
+     * pages in place and truncates empty trailing pages; {@code full} rewrites the table onto packed pages and
+     * {@code cluster} additionally sorts it by a column.
+     */
+    private static void vacuum(Database db, String[] args) throws IOException {
+        boolean full = args.length == 3 && args[2].equals("full");
+        boolean cluster = args.length == 4 && args[2].equals("cluster");
+        if (args.length != 2 && !full && !cluster) {
+            System.err.println("usage: vacuum <table> [full | cluster <column>]");
+            return;
+        }
+        var cat = db.catalog();
+        var meta = cat.getTable(args[1]).orElse(null);
+        if (meta == null) {
+            System.err.println("No such table: " + args[1]);
+            return;
+        }
+        Table table = cat.openTable(meta.id());
+        long start = System.nanoTime();
+        VacuumStats stats = full ? table.vacuumFull() : cluster ? table.cluster(args[3]) : table.vacuum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Vacuumed %s in %.2f s: %s%n", args[1], seconds, stats);
+    }
+
     /**
      * Resolves data directory in priority order:
      * 1) System property -Devolvdb.dataDir
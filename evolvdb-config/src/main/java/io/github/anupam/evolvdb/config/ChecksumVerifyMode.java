@@ -0,0 +1,11 @@
+package io.github.anupam.evolvdb.config;
+
+/** When page checksums are verified on read. Checksums are always stamped on write. */
+public enum ChecksumVerifyMode {
+    /** Verify every page read. */
+    ALWAYS,
+    /** Verify one read in {@code checksumSampleInterval}; catches systematic corruption at a fraction of the cost. */
+    SAMPLED,
+    /** Never verify. */
+    OFF
+}
@@ -11,16 +11,88 @@ public final class DbConfig {
     private final int pageSize;
     private final Path dataDir;
     private final int bufferPoolPages;
+    private final int bufferPoolPartitions;
+    private final EvictionPolicyType evictionPolicy;
+    private final long backgroundWriterDelayMillis;
+    private final int backgroundWriterMaxPages;
+    private final long checkpointIntervalMillis;
+    private final int bufferRingPages;
+    private final double bufferRingThreshold;
+    private final int readAheadPages;
+    private final int readAheadThreads;
+    private final DiskManagerType diskManager;
+    private final int extentPages;
+    private final boolean directIo;
+    private final int ioAlignment;
+    private final ChecksumVerifyMode checksumVerify;
+    private final int checksumSampleInterval;
+    private final long autovacuumIntervalMillis;
+    private final int vacuumPagesPerRound;
+    private final long vacuumDelayMillis;
 
     private DbConfig(Builder b) {
         this.pageSize = b.pageSize;
         this.dataDir = b.dataDir;
         this.bufferPoolPages = b.bufferPoolPages;
+        this.bufferPoolPartitions = b.bufferPoolPartitions;
+        this.evictionPolicy = b.evictionPolicy;
+        this.backgroundWriterDelayMillis = b.backgroundWriterDelayMillis;
+        this.backgroundWriterMaxPages = b.backgroundWriterMaxPages;
+        this.checkpointIntervalMillis = b.checkpointIntervalMillis;
+        this.bufferRingPages = b.bufferRingPages;
+        this.bufferRingThreshold = b.bufferRingThreshold;
+        this.readAheadPages = b.readAheadPages;
+        this.readAheadThreads = b.readAheadThreads;
+        this.diskManager = b.diskManager;
+        this.extentPages = b.extentPages;
+        this.directIo = b.directIo;
+        this.ioAlignment = b.ioAlignment;
+        this.checksumVerify = b.checksumVerify;
+        this.checksumSampleInterval = b.checksumSampleInterval;
+        this.autovacuumIntervalMillis = b.autovacuumIntervalMillis;
+        this.vacuumPagesPerRound = b.vacuumPagesPerRound;
+        this.vacuumDelayMillis = b.vacuumDelayMillis;
     }
 
     public int pageSize() { return pageSize; }
     public Path dataDir() { return dataDir; }
     public int bufferPoolPages() { return bufferPoolPages; }
+    /** Number of independently locked buffer pool shards; 1 selects the single-lock DefaultBufferPool. */
+    public int bufferPoolPartitions() { return bufferPoolPartitions; }
+    /** Page replacement policy used by every buffer pool (or shard) of this database. */
+    public EvictionPolicyType evictionPolicy() { return evictionPolicy; }
+    /** Background writer round interval; 0 disables the background writer. */
+    public long backgroundWriterDelayMillis() { return backgroundWriterDelayMillis; }
+    /** Max dirty pages the background writer (or one checkpoint round) writes per interval. */
+    public int backgroundWriterMaxPages() { return backgroundWriterMaxPages; }
+    /** Interval between incremental checkpoints run by the background writer; 0 disables them. */
+    public long checkpointIntervalMillis() { return checkpointIntervalMillis; }
+    /** Frames in a bulk-operation ring (large scans, bulk inserts); capped at 1/8 of the pool. */
+    public int bufferRingPages() { return bufferRingPages; }
+    /** Scans of files larger than this fraction of the pool use a ring instead of the shared pool. */
+    public double bufferRingThreshold() { return bufferRingThreshold; }
+    /** Pages a sequential scan asks the buffer pool to prefetch ahead of itself; 0 disables read-ahead. */
+    public int readAheadPages() { return readAheadPages; }
+    /** Threads of the buffer pool's read-ahead I/O executor (used only when readAheadPages > 0). */
+    public int readAheadThreads() { return readAheadThreads; }
+    /** Page I/O implementation used by Database. */
+    public DiskManagerType diskManager() { return diskManager; }
+    /** Pages a data file grows by when it runs out of preallocated space (NioDiskManager). */
+    public int extentPages() { return extentPages; }
+    /** Open data files with O_DIRECT so the buffer pool is the only page cache (NioDiskManager only). */
+    public boolean directIo() { return directIo; }
+    /** Alignment, in bytes, of frame buffers and direct I/O transfers; pageSize must be a multiple when directIo is on. */
+    public int ioAlignment() { return ioAlignment; }
+    /** When page checksums are verified on read. */
+    public ChecksumVerifyMode checksumVerify() { return checksumVerify; }
+    /** With SAMPLED verification, one page read in this many is verified. */
+    public int checksumSampleInterval() { return checksumSampleInterval; }
+    /** Interval between background vacuum passes over tables with dead records; 0 disables autovacuum. */
+    public long autovacuumIntervalMillis() { return autovacuumIntervalMillis; }
+    /** Pages a background vacuum processes between pauses. */
+    public int vacuumPagesPerRound() { return vacuumPagesPerRound; }
+    /** Pause of a background vacuum after each round of pages; 0 runs it unthrottled. */
+    public long vacuumDelayMillis() { return vacuumDelayMillis; }
 
     @Override
     public String toString() {
@@ -28,6 +100,24 @@ public final class DbConfig {
                 "pageSize=" + pageSize +
                 ", dataDir=" + dataDir +
                 ", bufferPoolPages=" + bufferPoolPages +
+                ", bufferPoolPartitions=" + bufferPoolPartitions +
+                ", evictionPolicy=" + evictionPolicy +
+                ", backgroundWriterDelayMillis=" + backgroundWriterDelayMillis +
+                ", backgroundWriterMaxPages=" + backgroundWriterMaxPages +
+                ", checkpointIntervalMillis=" + checkpointIntervalMillis +
+                ", bufferRingPages=" + bufferRingPages +
+                ", bufferRingThreshold=" + bufferRingThreshold +
+                ", readAheadPages=" + readAheadPages +
+                ", readAheadThreads=" + readAheadThreads +
+                ", diskManager=" + diskManager +
+                ", extentPages=" + extentPages +
+                ", directIo=" + directIo +
+                ", ioAlignment=" + ioAlignment +
+                ", checksumVerify=" + checksumVerify +
+                ", checksumSampleInterval=" + checksumSampleInterval +
+                ", autovacuumIntervalMillis=" + autovacuumIntervalMillis +
+                ", vacuumPagesPerRound=" + vacuumPagesPerRound +
+                ", vacuumDelayMillis=" + vacuumDelayMillis +
                 '}';
     }
 
@@ -37,6 +127,24 @@ public final class DbConfig {
         private int pageSize = 4096;
         private Path dataDir = Path.of("data");
         private int bufferPoolPages = 256;
+        private int bufferPoolPartitions = 1;
+        private EvictionPolicyType evictionPolicy = EvictionPolicyType.LRU;
+        private long backgroundWriterDelayMillis = 0;
+        private int backgroundWriterMaxPages = 100;
+        private long checkpointIntervalMillis = 0;
+        private int bufferRingPages = 32;
+        private double bufferRingThreshold = 0.25;
+        private int readAheadPages = 0;
+        private int readAheadThreads = 2;
+        private DiskManagerType diskManager = DiskManagerType.NIO;
+        private int extentPages = 16;
+        private boolean directIo = false;
+        private int ioAlignment = 4096;
+        private ChecksumVerifyMode checksumVerify = ChecksumVerifyMode.ALWAYS;
+        private int checksumSampleInterval = 16;
+        private long autovacuumIntervalMillis = 0;
+        private int vacuumPagesPerRound = 200;
+        private long vacuumDelayMillis = 2;
 
         public Builder pageSize(int pageSize) {
             if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be > 0");
@@ -49,6 +157,88 @@ public final class DbConfig {
             if (bufferPoolPages <= 0) throw new IllegalArgumentException("bufferPoolPages must be > 0");
             this.bufferPoolPages = bufferPoolPages; return this;
         }
-        public DbConfig build() { return new DbConfig(this); }
+        public Builder bufferPoolPartitions(int bufferPoolPartitions) {
+            if (bufferPoolPartitions <= 0) throw new IllegalArgumentException("bufferPoolPartitions must be > 0");
+            this.bufferPoolPartitions = bufferPoolPartitions; return this;
+        }
+        public Builder evictionPolicy(EvictionPolicyType evictionPolicy) {
+            this.evictionPolicy = Objects.requireNonNull(evictionPolicy, "evictionPolicy"); return this;
+        }
+        public Builder backgroundWriterDelayMillis(long backgroundWriterDelayMillis) {
+            if (backgroundWriterDelayMillis < 0) throw new IllegalArgumentException("backgroundWriterDelayMillis must be >= 0");
+            this.backgroundWriterDelayMillis = backgroundWriterDelayMillis; return this;
+        }
+        public Builder backgroundWriterMaxPages(int backgroundWriterMaxPages) {
+            if (backgroundWriterMaxPages <= 0) throw new IllegalArgumentException("backgroundWriterMaxPages must be > 0");
+            this.backgroundWriterMaxPages = backgroundWriterMaxPages; return this;
+        }
+        public Builder checkpointIntervalMillis(long checkpointIntervalMillis) {
+            if (checkpointIntervalMillis < 0) throw new IllegalArgumentException("checkpointIntervalMillis must be >= 0");
+            this.checkpointIntervalMillis = checkpointIntervalMillis; return this;
+        }
+        public Builder bufferRingPages(int bufferRingPages) {
+            if (bufferRingPages <= 0) throw new IllegalArgumentException("bufferRingPages must be > 0");
+            this.bufferRingPages = bufferRingPages; return this;
+        }
+        public Builder bufferRingThreshold(double bufferRingThreshold) {
+            if (!(bufferRingThreshold >= 0.0)) throw new IllegalArgumentException("bufferRingThreshold must be >= 0");
+            this.bufferRingThreshold = bufferRingThreshold; return this;
+        }
+        public Builder readAheadPages(int readAheadPages) {
+            if (readAheadPages < 0) throw new IllegalArgumentException("readAheadPages must be >= 0");
+            this.readAheadPages = readAheadPages; return this;
+        }
+        public Builder readAheadThreads(int readAheadThreads) {
+            if (readAheadThreads <= 0) throw new IllegalArgumentException("readAheadThreads must be > 0");
+            this.readAheadThreads = readAheadThreads; return this;
+        }
+        public Builder diskManager(DiskManagerType diskManager) {
+            this.diskManager = Objects.requireNonNull(diskManager, "diskManager"); return this;
+        }
+        public Builder extentPages(int extentPages) {
+            if (extentPages <= 0) throw new IllegalArgumentException("extentPages must be > 0");
+            this.extentPages = extentPages; return this;
+        }
+        public Builder directIo(boolean directIo) {
+            this.directIo = directIo; return this;
+        }
+        public Builder ioAlignment(int ioAlignment) {
+            if (ioAlignment < 512 || Integer.bitCount(ioAlignment) != 1) throw new IllegalArgumentException("ioAlignment must be a power of two >= 512");
+            this.ioAlignment = ioAlignment; return this;
+        }
+        public Builder checksumVerify(ChecksumVerifyMode checksumVerify) {
+            this.checksumVerify = Objects.requireNonNull(checksumVerify, "checksumVerify"); return this;
+        }
+        public Builder checksumSampleInterval(int checksumSampleInterval) {
+            if (checksumSampleInterval <= 0) throw new IllegalArgumentException("checksumSampleInterval must be > 0");
+            this.checksumSampleInterval = checksumSampleInterval; return this;
+        }
+        public Builder autovacuumIntervalMillis(long autovacuumIntervalMillis) {
+            if (autovacuumIntervalMillis < 0) throw new IllegalArgumentException("autovacuumIntervalMillis must be >= 0");
+            this.autovacuumIntervalMillis = autovacuumIntervalMillis; return this;
+        }
+        public Builder vacuumPagesPerRound(int vacuumPagesPerRound) {
+            if (vacuumPagesPerRound <= 0) throw new IllegalArgumentException("vacuumPagesPerRound must be > 0");
+            this.vacuumPagesPerRound = vacuumPagesPerRound; return this;
+        }
+        public Builder vacuumDelayMillis(long vacuumDelayMillis) {
+            if (vacuumDelayMillis < 0) throw new IllegalArgumentException("vacuumDelayMillis must be >= 0");
+            this.vacuumDelayMillis = vacuumDelayMillis; return this;
+        }
+        public DbConfig build() {
+            if (checkpointIntervalMillis > 0 && backgroundWriterDelayMillis == 0) {
+                throw new IllegalArgumentException("checkpointIntervalMillis requires backgroundWriterDelayMillis > 0");
+            }
+            if (bufferPoolPartitions > bufferPoolPages) {
+                throw new IllegalArgumentException("bufferPoolPartitions must be <= bufferPoolPages");
+            }
+            if (directIo && pageSize % ioAlignment != 0) {
+                throw new IllegalArgumentException("pageSize must be a multiple of ioAlignment (" + ioAlignment + ") with directIo");
+            }
+            if (directIo && diskManager != DiskManagerType.NIO) {
+                throw new IllegalArgumentException("directIo requires diskManager NIO");
+            }
+            return new DbConfig(this);
+        }
     }
 }
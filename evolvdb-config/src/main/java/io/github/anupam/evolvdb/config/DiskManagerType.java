@@ -0,0 +1,9 @@
+package io.github.anupam.evolvdb.config;
+
+/** Page I/O implementation, resolved to a DiskManager by the disk module. */
+public enum DiskManagerType {
+    /** Positional FileChannel reads and writes; one syscall per page. */
+    NIO,
+    /** Files mapped into memory in large chunks; page I/O is a copy to or from the page cache. */
+    MMAP
+}
@@ -0,0 +1,13 @@
+package io.github.anupam.evolvdb.config;
+
+/** Buffer pool page replacement policy, resolved to an EvictionPolicy implementation by the buffer module. */
+public enum EvictionPolicyType {
+    /** Least recently used. Simple, but a single large scan flushes the working set. */
+    LRU,
+    /** CLOCK-sweep with usage counters; O(1) hits, LRU-like quality. */
+    CLOCK,
+    /** LRU-2: evicts by second-most-recent reference; pages touched once (scans) go first. */
+    LRU_2,
+    /** Adaptive Replacement Cache: balances recency and frequency lists using ghost history. */
+    ARC
+}
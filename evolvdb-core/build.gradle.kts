@@ -8,6 +8,7 @@ dependencies {
     api(project(":evolvdb-storage-disk"))
     api(project(":evolvdb-storage-buffer"))
     api(project(":evolvdb-catalog"))
+    api(project(":evolvdb-storage-record"))
 
     // Internal implementation details
     implementation(project(":evolvdb-storage-page"))
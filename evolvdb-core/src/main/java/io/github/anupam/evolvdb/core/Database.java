@@ -1,42 +1,89 @@
 package io.github.anupam.evolvdb.core;
 
 import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.BackgroundWriter;
 import io.github.anupam.evolvdb.storage.buffer.BufferPool;
 import io.github.anupam.evolvdb.storage.buffer.DefaultBufferPool;
+import io.github.anupam.evolvdb.storage.buffer.PartitionedBufferPool;
 import io.github.anupam.evolvdb.storage.disk.DiskManager;
-import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.DiskManagers;
 import io.github.anupam.evolvdb.catalog.CatalogManager;
 import io.github.anupam.evolvdb.storage.page.SlottedPageFormat;
+import io.github.anupam.evolvdb.storage.record.BackgroundVacuum;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Database is the facade and composition root for core services.
- * Wires DiskManager, BufferPool, and CatalogManager.
+ * Wires DiskManager, BufferPool, and CatalogManager, plus the optional background writer and autovacuum.
  */
 public final class Database implements Closeable {
     private final DbConfig config;
     private final DiskManager diskManager;
     private final BufferPool bufferPool;
+    private final BackgroundWriter backgroundWriter; // null when disabled
     private final CatalogManager catalogManager;
+    private final BackgroundVacuum autovacuum; // null when disabled
 
     public Database(DbConfig config) throws IOException {
         this.config = Objects.requireNonNull(config, "config");
-        this.diskManager = new NioDiskManager(config);
-        this.bufferPool = new DefaultBufferPool(config, diskManager);
-        // Use SlottedPageFormat for system catalog heap file
-        this.catalogManager = new CatalogManager(diskManager, bufferPool, new SlottedPageFormat());
+        this.diskManager = DiskManagers.open(config);
+        BufferPool pool = null;
+        CatalogManager catalog = null;
+        BackgroundWriter writer = null;
+        BackgroundVacuum vacuum = null;
+        try {
+            pool = config.bufferPoolPartitions() > 1
+                    ? new PartitionedBufferPool(config, diskManager)
+                    : new DefaultBufferPool(config, diskManager);
+            // Use SlottedPageFormat for system catalog heap file. Loaded before the background threads start,
+            // so a catalog that fails to load leaves nothing running.
+            catalog = new CatalogManager(diskManager, pool, new SlottedPageFormat());
+            if (config.backgroundWriterDelayMillis() > 0) {
+                writer = new BackgroundWriter(pool, config.pageSize(), config.backgroundWriterDelayMillis(),
+                        config.backgroundWriterMaxPages(), config.checkpointIntervalMillis());
+            }
+            if (config.autovacuumIntervalMillis() > 0) {
+                vacuum = new BackgroundVacuum(catalog.records(), config.autovacuumIntervalMillis(),
+                        config.vacuumPagesPerRound(), config.vacuumDelayMillis());
+            }
+        } catch (IOException | RuntimeException e) {
+            if (writer != null) writer.close();
+            if (pool != null) closeQuietly(pool, e);
+            closeQuietly(diskManager, e);
+            throw e;
+        }
+        this.bufferPool = pool;
+        this.catalogManager = catalog;
+        this.backgroundWriter = writer;
+        this.autovacuum = vacuum;
+    }
+
+    /** Closes a resource after a failed start, attaching any failure to the one being thrown. */
+    private static void closeQuietly(AutoCloseable resource, Exception failure) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        }
     }
 
     public DbConfig config() { return config; }
     public DiskManager disk() { return diskManager; }
     public BufferPool buffer() { return bufferPool; }
+    /** Background writer, if enabled via DbConfig.backgroundWriterDelayMillis. */
+    public Optional<BackgroundWriter> backgroundWriter() { return Optional.ofNullable(backgroundWriter); }
     public CatalogManager catalog() { return catalogManager; }
+    /** Background vacuum, if enabled via DbConfig.autovacuumIntervalMillis. */
+    public Optional<BackgroundVacuum> autovacuum() { return Optional.ofNullable(autovacuum); }
 
     @Override
     public void close() throws IOException {
+        if (autovacuum != null) autovacuum.close();
+        if (backgroundWriter != null) backgroundWriter.close();
         bufferPool.close();
         diskManager.close();
     }
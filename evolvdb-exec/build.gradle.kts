@@ -8,6 +8,7 @@ dependencies {
     implementation(project(":evolvdb-sql"))
     implementation(project(":evolvdb-planner"))
     implementation(project(":evolvdb-storage-page"))  // For RecordId
+    implementation(project(":evolvdb-storage-record"))  // For ScanMorsels
 
     testImplementation(project(":evolvdb-core"))
 }
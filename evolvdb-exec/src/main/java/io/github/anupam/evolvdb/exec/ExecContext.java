@@ -12,12 +12,16 @@ public final class ExecContext {
     private final boolean useOptimizer;
     private final boolean useMemo;
     private final StatsProvider stats;
+    private final int scanParallelism;
+    private final int copyParallelism;
 
     public ExecContext(CatalogManager catalog) {
         this.catalog = catalog;
         this.useOptimizer = false;
         this.useMemo = false;
         this.stats = new InMemoryStatsProvider();
+        this.scanParallelism = 1;
+        this.copyParallelism = Runtime.getRuntime().availableProcessors();
     }
 
     public ExecContext(CatalogManager catalog, boolean useOptimizer) {
@@ -25,6 +29,8 @@ public final class ExecContext {
         this.useOptimizer = useOptimizer;
         this.useMemo = false;
         this.stats = new InMemoryStatsProvider();
+        this.scanParallelism = 1;
+        this.copyParallelism = Runtime.getRuntime().availableProcessors();
     }
 
     public ExecContext(CatalogManager catalog, boolean useOptimizer, StatsProvider stats) {
@@ -32,6 +38,8 @@ public final class ExecContext {
         this.useOptimizer = useOptimizer;
         this.useMemo = false;
         this.stats = (stats == null) ? new InMemoryStatsProvider() : stats;
+        this.scanParallelism = 1;
+        this.copyParallelism = Runtime.getRuntime().availableProcessors();
     }
 
     public ExecContext(CatalogManager catalog, boolean useOptimizer, boolean useMemo) {
@@ -39,6 +47,8 @@ public final class ExecContext {
         this.useOptimizer = useOptimizer;
         this.useMemo = useMemo;
         this.stats = new InMemoryStatsProvider();
+        this.scanParallelism = 1;
+        this.copyParallelism = Runtime.getRuntime().availableProcessors();
     }
 
     public ExecContext(CatalogManager catalog, boolean useOptimizer, boolean useMemo, StatsProvider stats) {
@@ -46,10 +56,35 @@ public final class ExecContext {
         this.useOptimizer = useOptimizer;
         this.useMemo = useMemo;
         this.stats = (stats == null) ? new InMemoryStatsProvider() : stats;
+        this.scanParallelism = 1;
+        this.copyParallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    private ExecContext(ExecContext base, int scanParallelism, int copyParallelism) {
+        this.catalog = base.catalog;
+        this.useOptimizer = base.useOptimizer;
+        this.useMemo = base.useMemo;
+        this.stats = base.stats;
+        this.scanParallelism = scanParallelism;
+        this.copyParallelism = copyParallelism;
+    }
+
+    /** Returns a copy whose table scans fan out over {@code threads} worker threads (1 = serial). */
+    public ExecContext withScanParallelism(int threads) {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+        return new ExecContext(this, threads, copyParallelism);
+    }
+
+    /** Returns a copy whose COPY FROM parses input on {@code threads} threads (default: available processors). */
+    public ExecContext withCopyParallelism(int threads) {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+        return new ExecContext(this, scanParallelism, threads);
     }
 
     public CatalogManager catalog() { return catalog; }
     public boolean useOptimizer() { return useOptimizer; }
     public boolean useMemo() { return useMemo; }
     public StatsProvider stats() { return stats; }
+    public int scanParallelism() { return scanParallelism; }
+    public int copyParallelism() { return copyParallelism; }
 }
@@ -15,6 +15,10 @@ import java.util.List;
 public final class PhysicalPlanner {
 
     public PhysicalOperator plan(LogicalPlan logical, ExecContext ctx) {
+        if (logical instanceof LogicalCopy c) {
+            // Utility statement: a single way to run it, nothing for the optimizer to choose
+            return new CopyExec(ctx.catalog(), c, ctx.copyParallelism());
+        }
         if (ctx.useOptimizer()) {
             // Pre-optimization logical rewrites (predicate pushdown, projection pruning, join reordering)
             logical = new LogicalRewriter(ctx.stats()).rewrite(logical);
@@ -22,8 +26,12 @@ public final class PhysicalPlanner {
             PhysicalPlan best = opt.optimize(logical, ctx);
             return best.create(ctx);
         }
+        if (ctx.scanParallelism() > 1) {
+            PhysicalOperator parallel = parallelScan(logical, ctx);
+            if (parallel != null) return parallel;
+        }
         if (logical instanceof LogicalScan s) {
-            return new SeqScanExec(ctx.catalog(), s.tableName());
+            return new SeqScanExec(ctx.catalog(), s.tableName(), s.schema());
         }
         if (logical instanceof LogicalFilter f) {
             PhysicalOperator c = plan(f.child(), ctx);
@@ -45,11 +53,33 @@ public final class PhysicalPlanner {
             return new AggregateExec(c, a.groupBy(), a.aggregates(), a.schema());
         }
         if (logical instanceof LogicalInsert i) {
-            return new InsertExec(ctx.catalog(), i);
+            if (i.query() == null) return new InsertExec(ctx.catalog(), i);
+            return new InsertExec(ctx.catalog(), i, plan(i.query(), ctx));
         }
         throw new IllegalArgumentException("Unsupported logical node: " + logical.getClass().getSimpleName());
     }
 
+    /** Fuses Scan, Filter(Scan), Project(Scan) and Project(Filter(Scan)) into one ParallelScanExec; else null. */
+    private PhysicalOperator parallelScan(LogicalPlan logical, ExecContext ctx) {
+        LogicalProject project = null;
+        LogicalFilter filter = null;
+        LogicalPlan node = logical;
+        if (node instanceof LogicalProject p) {
+            project = p;
+            node = p.child();
+        }
+        if (node instanceof LogicalFilter f) {
+            filter = f;
+            node = f.child();
+        }
+        if (!(node instanceof LogicalScan s)) return null;
+        return new ParallelScanExec(ctx.catalog(), s.tableName(), s.schema(),
+                filter == null ? null : filter.predicate(),
+                project == null ? null : project.items(),
+                project == null ? null : project.schema(),
+                ctx.scanParallelism(), ParallelScanExec.DEFAULT_MORSEL_PAGES);
+    }
+
     private List<PhysicalRule> defaultRules() {
         return List.of(
                 new Rules.ScanRule(),
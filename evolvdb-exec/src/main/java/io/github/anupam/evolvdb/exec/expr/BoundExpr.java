@@ -0,0 +1,391 @@
+package io.github.anupam.evolvdb.exec.expr;
+
+import io.github.anupam.evolvdb.sql.ast.*;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.RowBuffer;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Type;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * An expression bound once to its input schema(s), for evaluation against {@link RowBuffer}s.
+ *
+ * Binding resolves every column reference to a slot index, the way {@link ExprEvaluator} does per row, and gives
+ * each node a static result type. Numeric and boolean subtrees then run on primitives, without boxing, and with
+ * the same results as ExprEvaluator: integer literals and INT columns stay 32-bit, BIGINT widens, FLOAT wins.
+ * Other expressions, e.g. on strings or with mixed operand kinds, evaluate boxed through ExprEvaluator's rules.
+ *
+ * Binding also tracks which nodes can be NULL: those reading a nullable column or a NULL literal. Such a node
+ * evaluates boxed with ExprEvaluator's three-valued logic, so only subtrees over NOT NULL columns take the
+ * primitive paths. {@code IS [NOT] NULL} is never NULL and checks a column's null flag without decoding it.
+ */
+public abstract class BoundExpr {
+    private final Type type;
+    private final boolean nullable;
+
+    private BoundExpr(Type type, boolean nullable) {
+        this.type = type;
+        this.nullable = nullable;
+    }
+
+    /** Binds {@code expr} to the rows of a single input. */
+    public static BoundExpr bind(Expr expr, Schema schema) {
+        return bind(expr, schema, null, Set.of(), Set.of());
+    }
+
+    /** Binds {@code expr} to a pair of join inputs; qualifiers are resolved as in {@link ExprEvaluator}. */
+    public static BoundExpr bind(Expr expr, Schema leftSchema, Schema rightSchema,
+                                 Set<String> leftQuals, Set<String> rightQuals) {
+        Objects.requireNonNull(expr, "expr");
+        if (expr instanceof Literal lit) return new Const(lit.value());
+        if (expr instanceof ColumnRef cr) {
+            int idx = ExprEvaluator.resolve(cr, leftSchema, rightSchema, leftQuals, rightQuals);
+            Schema side = idx >= 0 ? leftSchema : rightSchema;
+            int slot = idx >= 0 ? idx : -1 - idx;
+            ColumnMeta col = side.columns().get(slot);
+            return new Column(idx < 0, slot, family(col.type()), col.nullable());
+        }
+        if (expr instanceof BinaryExpr be) {
+            BoundExpr l = bind(be.left(), leftSchema, rightSchema, leftQuals, rightQuals);
+            BoundExpr r = bind(be.right(), leftSchema, rightSchema, leftQuals, rightQuals);
+            if (be.op() != BinaryExpr.Op.CONCAT && isNumber(l.type) && isNumber(r.type) && !eitherNullable(l, r)) {
+                return new Arith(be.op(), l, r);
+            }
+            return new Boxed(be.op() == BinaryExpr.Op.CONCAT ? Type.STRING : null, expr, l, r);
+        }
+        if (expr instanceof ComparisonExpr ce) {
+            BoundExpr l = bind(ce.left(), leftSchema, rightSchema, leftQuals, rightQuals);
+            BoundExpr r = bind(ce.right(), leftSchema, rightSchema, leftQuals, rightQuals);
+            boolean bools = l.type == Type.BOOLEAN && r.type == Type.BOOLEAN;
+            if ((bools || (isNumber(l.type) && isNumber(r.type))) && !eitherNullable(l, r)) {
+                return new Compare(ce.op(), l, r);
+            }
+            return new Boxed(Type.BOOLEAN, expr, l, r);
+        }
+        if (expr instanceof LogicalExpr le) {
+            BoundExpr l = bind(le.left(), leftSchema, rightSchema, leftQuals, rightQuals);
+            BoundExpr r = le.right() == null ? null : bind(le.right(), leftSchema, rightSchema, leftQuals, rightQuals);
+            if (l.type == Type.BOOLEAN && (r == null || r.type == Type.BOOLEAN) && !eitherNullable(l, r)) {
+                return new Logic(le.op(), l, r);
+            }
+            return new Boxed(Type.BOOLEAN, expr, l, r);
+        }
+        if (expr instanceof IsNullExpr in) {
+            return new IsNull(bind(in.operand(), leftSchema, rightSchema, leftQuals, rightQuals), in.negated());
+        }
+        if (expr instanceof FuncCall) {
+            return new Fail(() -> new IllegalStateException("Scalar evaluation of aggregates not supported here"));
+        }
+        String kind = expr.getClass().getSimpleName();
+        return new Fail(() -> new IllegalArgumentException("Unsupported expression: " + kind));
+    }
+
+    /**
+     * Static result type: INT, BIGINT, FLOAT, BOOLEAN or STRING (also for VARCHAR), or null if it is only known
+     * per row.
+     */
+    public Type type() { return type; }
+
+    /** Whether the expression can evaluate to NULL; the primitive evaluators apply only when it cannot. */
+    public boolean nullable() { return nullable; }
+
+    /** Evaluates to a boxed value, as {@link ExprEvaluator} would. {@code right} is null outside joins. */
+    public abstract Object eval(RowBuffer left, RowBuffer right);
+
+    /** Whether the expression is NULL for these rows. */
+    public boolean isNull(RowBuffer left, RowBuffer right) {
+        return nullable && eval(left, right) == null;
+    }
+
+    /** Evaluates a NOT NULL INT, BIGINT or BOOLEAN (0/1) expression without boxing. */
+    public long evalLong(RowBuffer left, RowBuffer right) {
+        Object v = eval(left, right);
+        if (v instanceof Boolean b) return b ? 1 : 0;
+        return ((Number) v).longValue();
+    }
+
+    /** Evaluates a NOT NULL FLOAT expression without boxing. */
+    public float evalFloat(RowBuffer left, RowBuffer right) {
+        return (Float) eval(left, right);
+    }
+
+    /** Whether a predicate holds; anything but TRUE, e.g. NULL or a non-boolean value, counts as false. */
+    public boolean test(RowBuffer left, RowBuffer right) {
+        if (type == Type.BOOLEAN && !nullable) return evalLong(left, right) != 0;
+        return Boolean.TRUE.equals(eval(left, right));
+    }
+
+    /**
+     * Evaluates into column {@code i} of {@code out}: without boxing when the result type matches the column,
+     * else through {@link RowBuffer#set}, which rejects a value of the wrong type as a Tuple would.
+     */
+    public void evalInto(RowBuffer left, RowBuffer right, RowBuffer out, int i) {
+        Type target = out.type(i);
+        if (nullable || type == null || type == Type.STRING || type != family(target)) {
+            out.set(i, eval(left, right));
+            return;
+        }
+        switch (type) {
+            case INT -> out.setInt(i, (int) evalLong(left, right));
+            case BIGINT -> out.setLong(i, evalLong(left, right));
+            case BOOLEAN -> out.setBoolean(i, evalLong(left, right) != 0);
+            case FLOAT -> out.setFloat(i, evalFloat(left, right));
+            default -> throw new IllegalStateException("unreachable");
+        }
+    }
+
+    private static Type family(Type t) {
+        return t == Type.VARCHAR ? Type.STRING : t;
+    }
+
+    private static boolean eitherNullable(BoundExpr l, BoundExpr r) {
+        return l.nullable || (r != null && r.nullable);
+    }
+
+    private static boolean isNumber(Type t) {
+        return t == Type.INT || t == Type.BIGINT || t == Type.FLOAT;
+    }
+
+    private static Type literalType(Object v) {
+        if (v instanceof Integer) return Type.INT;
+        if (v instanceof Long) return Type.BIGINT;
+        if (v instanceof Float) return Type.FLOAT;
+        if (v instanceof Boolean) return Type.BOOLEAN;
+        if (v instanceof String) return Type.STRING;
+        return null;
+    }
+
+    private static float asFloat(BoundExpr e, RowBuffer left, RowBuffer right) {
+        return e.type == Type.FLOAT ? e.evalFloat(left, right) : (float) e.evalLong(left, right);
+    }
+
+    private static final class Column extends BoundExpr {
+        private final boolean fromRight;
+        private final int slot;
+
+        Column(boolean fromRight, int slot, Type type, boolean nullable) {
+            super(type, nullable);
+            this.fromRight = fromRight;
+            this.slot = slot;
+        }
+
+        private RowBuffer row(RowBuffer left, RowBuffer right) { return fromRight ? right : left; }
+
+        @Override public Object eval(RowBuffer left, RowBuffer right) { return row(left, right).get(slot); }
+        @Override public boolean isNull(RowBuffer left, RowBuffer right) { return row(left, right).isNull(slot); }
+        @Override public long evalLong(RowBuffer left, RowBuffer right) { return row(left, right).getLong(slot); }
+        @Override public float evalFloat(RowBuffer left, RowBuffer right) { return row(left, right).getFloat(slot); }
+
+        @Override
+        public void evalInto(RowBuffer left, RowBuffer right, RowBuffer out, int i) {
+            RowBuffer src = row(left, right);
+            Type from = src.type(slot);
+            Type to = out.type(i);
+            // A VARCHAR target checks the length, so only copy into the same type or an unbounded STRING; a
+            // null goes through set(), which rejects it for a NOT NULL target
+            if (nullable() && src.isNull(slot)) {
+                out.set(i, null);
+            } else if (from == to ? to != Type.VARCHAR : (to == Type.STRING && from == Type.VARCHAR)) {
+                out.copyFrom(i, src, slot);
+            } else {
+                out.set(i, src.get(slot));
+            }
+        }
+    }
+
+    private static final class Const extends BoundExpr {
+        private final Object value;
+        private final long bits;
+        private final float floatValue;
+
+        Const(Object value) {
+            super(literalType(value), value == null);
+            this.value = value;
+            this.bits = value instanceof Number n ? n.longValue() : Boolean.TRUE.equals(value) ? 1 : 0;
+            this.floatValue = value instanceof Number n ? n.floatValue() : 0f;
+        }
+
+        @Override public Object eval(RowBuffer left, RowBuffer right) { return value; }
+        @Override public long evalLong(RowBuffer left, RowBuffer right) { return bits; }
+        @Override public float evalFloat(RowBuffer left, RowBuffer right) { return floatValue; }
+    }
+
+    private static final class Arith extends BoundExpr {
+        private final BinaryExpr.Op op;
+        private final BoundExpr l;
+        private final BoundExpr r;
+
+        Arith(BinaryExpr.Op op, BoundExpr l, BoundExpr r) {
+            super(l.type() == Type.FLOAT || r.type() == Type.FLOAT ? Type.FLOAT
+                    : l.type() == Type.BIGINT || r.type() == Type.BIGINT ? Type.BIGINT : Type.INT, false);
+            this.op = op;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        public Object eval(RowBuffer left, RowBuffer right) {
+            return switch (type()) {
+                case FLOAT -> evalFloat(left, right);
+                case BIGINT -> evalLong(left, right);
+                default -> (int) evalLong(left, right);
+            };
+        }
+
+        @Override
+        public long evalLong(RowBuffer left, RowBuffer right) {
+            if (type() == Type.INT) {
+                int a = (int) l.evalLong(left, right);
+                int b = (int) r.evalLong(left, right);
+                return switch (op) {
+                    case ADD -> a + b;
+                    case SUB -> a - b;
+                    case MUL -> a * b;
+                    case DIV -> a / b;
+                    case CONCAT -> throw new IllegalStateException("unreachable");
+                };
+            }
+            long a = l.evalLong(left, right);
+            long b = r.evalLong(left, right);
+            return switch (op) {
+                case ADD -> a + b;
+                case SUB -> a - b;
+                case MUL -> a * b;
+                case DIV -> a / b;
+                case CONCAT -> throw new IllegalStateException("unreachable");
+            };
+        }
+
+        @Override
+        public float evalFloat(RowBuffer left, RowBuffer right) {
+            float a = asFloat(l, left, right);
+            float b = asFloat(r, left, right);
+            return switch (op) {
+                case ADD -> a + b;
+                case SUB -> a - b;
+                case MUL -> a * b;
+                case DIV -> a / b;
+                case CONCAT -> throw new IllegalStateException("unreachable");
+            };
+        }
+    }
+
+    private static final class Compare extends BoundExpr {
+        private final ComparisonExpr.Op op;
+        private final BoundExpr l;
+        private final BoundExpr r;
+        private final boolean floats;
+
+        Compare(ComparisonExpr.Op op, BoundExpr l, BoundExpr r) {
+            super(Type.BOOLEAN, false);
+            this.op = op;
+            this.l = l;
+            this.r = r;
+            this.floats = l.type() == Type.FLOAT || r.type() == Type.FLOAT;
+        }
+
+        @Override public Object eval(RowBuffer left, RowBuffer right) { return evalLong(left, right) != 0; }
+
+        @Override
+        public long evalLong(RowBuffer left, RowBuffer right) {
+            int c = floats
+                    ? Float.compare(asFloat(l, left, right), asFloat(r, left, right))
+                    : Long.compare(l.evalLong(left, right), r.evalLong(left, right));
+            boolean result = switch (op) {
+                case EQ -> c == 0;
+                case NEQ -> c != 0;
+                case LT -> c < 0;
+                case LTE -> c <= 0;
+                case GT -> c > 0;
+                case GTE -> c >= 0;
+            };
+            return result ? 1 : 0;
+        }
+    }
+
+    private static final class Logic extends BoundExpr {
+        private final LogicalExpr.Op op;
+        private final BoundExpr l;
+        private final BoundExpr r;
+
+        Logic(LogicalExpr.Op op, BoundExpr l, BoundExpr r) {
+            super(Type.BOOLEAN, false);
+            this.op = op;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override public Object eval(RowBuffer left, RowBuffer right) { return evalLong(left, right) != 0; }
+
+        @Override
+        public long evalLong(RowBuffer left, RowBuffer right) {
+            boolean a = l.evalLong(left, right) != 0;
+            boolean result = switch (op) {
+                case AND -> a && r.evalLong(left, right) != 0;
+                case OR -> a || r.evalLong(left, right) != 0;
+                case NOT -> !a;
+            };
+            return result ? 1 : 0;
+        }
+    }
+
+    /** {@code IS [NOT] NULL}: TRUE or FALSE, never NULL. */
+    private static final class IsNull extends BoundExpr {
+        private final BoundExpr operand;
+        private final boolean negated;
+
+        IsNull(BoundExpr operand, boolean negated) {
+            super(Type.BOOLEAN, false);
+            this.operand = operand;
+            this.negated = negated;
+        }
+
+        @Override public Object eval(RowBuffer left, RowBuffer right) { return evalLong(left, right) != 0; }
+
+        @Override
+        public long evalLong(RowBuffer left, RowBuffer right) {
+            return operand.isNull(left, right) != negated ? 1 : 0;
+        }
+    }
+
+    /** Evaluates its children boxed and combines them with ExprEvaluator's rules, NULLs included. */
+    private static final class Boxed extends BoundExpr {
+        private final Expr expr;
+        private final BoundExpr l;
+        private final BoundExpr r;
+
+        Boxed(Type type, Expr expr, BoundExpr l, BoundExpr r) {
+            super(type, eitherNullable(l, r));
+            this.expr = expr;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        public Object eval(RowBuffer left, RowBuffer right) {
+            Object lv = l.eval(left, right);
+            if (expr instanceof LogicalExpr le) {
+                if (le.op() == LogicalExpr.Op.NOT) return lv == null ? null : !ExprEvaluator.asBoolean(lv);
+                return ExprEvaluator.evalLogical(le.op(), lv, r.eval(left, right));
+            }
+            Object rv = r.eval(left, right);
+            if (expr instanceof ComparisonExpr ce) return ExprEvaluator.evalComparison(ce.op(), lv, rv);
+            return ExprEvaluator.evalBinary(((BinaryExpr) expr).op(), lv, rv);
+        }
+    }
+
+    /** An expression that cannot be evaluated per row; fails when evaluated, like ExprEvaluator. */
+    private static final class Fail extends BoundExpr {
+        private final Supplier<RuntimeException> error;
+
+        Fail(Supplier<RuntimeException> error) {
+            super(null, true);
+            this.error = error;
+        }
+
+        @Override public Object eval(RowBuffer left, RowBuffer right) { throw error.get(); }
+    }
+}
@@ -10,7 +10,14 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 
-/** Evaluates SQL AST expressions against tuples at runtime. */
+/**
+ * Evaluates SQL AST expressions against tuples at runtime.
+ *
+ * NULL follows SQL's three-valued logic: arithmetic and comparisons with a NULL operand are NULL, {@code AND} is
+ * FALSE if either side is FALSE and {@code OR} TRUE if either side is TRUE (else NULL when a side is NULL),
+ * {@code NOT NULL} is NULL, and {@code IS [NOT] NULL} is never NULL. Filters and join conditions keep only rows
+ * whose predicate is TRUE.
+ */
 public final class ExprEvaluator {
 
     public Object eval(Expr expr, Tuple tuple, Schema schema) {
@@ -38,13 +45,13 @@ public final class ExprEvaluator {
         }
         if (expr instanceof LogicalExpr le) {
             Object lv = eval(le.left(), left, leftSchema, right, rightSchema, leftQuals, rightQuals);
-            if (le.op() == LogicalExpr.Op.NOT) return !(Boolean) asBoolean(lv);
+            if (le.op() == LogicalExpr.Op.NOT) return lv == null ? null : !asBoolean(lv);
             Object rv = le.right() != null ? eval(le.right(), left, leftSchema, right, rightSchema, leftQuals, rightQuals) : null;
-            return switch (le.op()) {
-                case AND -> (Boolean) asBoolean(lv) && (Boolean) asBoolean(rv);
-                case OR -> (Boolean) asBoolean(lv) || (Boolean) asBoolean(rv);
-                case NOT -> throw new IllegalStateException("unreachable");
-            };
+            return evalLogical(le.op(), lv, rv);
+        }
+        if (expr instanceof IsNullExpr in) {
+            Object v = eval(in.operand(), left, leftSchema, right, rightSchema, leftQuals, rightQuals);
+            return (v == null) != in.negated();
         }
         if (expr instanceof FuncCall) {
             throw new IllegalStateException("Scalar evaluation of aggregates not supported here");
@@ -56,9 +63,21 @@ public final class ExprEvaluator {
                                       Tuple left, Schema leftSchema,
                                       Tuple right, Schema rightSchema,
                                       Set<String> leftQuals, Set<String> rightQuals) {
+        boolean join = right != null && rightSchema != null;
+        int idx = resolve(cr, leftSchema, join ? rightSchema : null, leftQuals, rightQuals);
+        return idx >= 0 ? left.get(idx) : right.get(-1 - idx);
+    }
+
+    /**
+     * Resolves a column reference to its index in {@code leftSchema}, or to {@code -1 - index} in
+     * {@code rightSchema} for a join (rightSchema non-null). Throws IllegalArgumentException if it is unknown or
+     * ambiguous.
+     */
+    static int resolve(ColumnRef cr, Schema leftSchema, Schema rightSchema,
+                       Set<String> leftQuals, Set<String> rightQuals) {
         String col = cr.column();
         String tbl = cr.table();
-        if (right != null && rightSchema != null) {
+        if (rightSchema != null) {
             // join context
             if (tbl != null) {
                 String q = tbl.toLowerCase(Locale.ROOT);
@@ -66,12 +85,12 @@ public final class ExprEvaluator {
                     Integer idx = resolveIndex(leftSchema, tbl, col);
                     if (idx == null) idx = resolveIndex(leftSchema, null, col);
                     if (idx == null) throw err(cr, "Unknown column: " + tbl + "." + col);
-                    return left.get(idx);
+                    return idx;
                 } else if (rightQuals.contains(q)) {
                     Integer idx = resolveIndex(rightSchema, tbl, col);
                     if (idx == null) idx = resolveIndex(rightSchema, null, col);
                     if (idx == null) throw err(cr, "Unknown column: " + tbl + "." + col);
-                    return right.get(idx);
+                    return -1 - idx;
                 } else {
                     throw err(cr, "Unknown table qualifier: " + tbl);
                 }
@@ -79,13 +98,13 @@ public final class ExprEvaluator {
                 Integer li = resolveIndex(leftSchema, null, col);
                 Integer ri = resolveIndex(rightSchema, null, col);
                 if (li != null && ri != null) throw err(cr, "Ambiguous column: " + col);
-                if (li != null) return left.get(li);
-                if (ri != null) return right.get(ri);
+                if (li != null) return li;
+                if (ri != null) return -1 - ri;
                 // try qualified names embedded in schema
                 li = resolveIndex(leftSchema, "", col);
-                if (li != null) return left.get(li);
+                if (li != null) return li;
                 ri = resolveIndex(rightSchema, "", col);
-                if (ri != null) return right.get(ri);
+                if (ri != null) return -1 - ri;
                 throw err(cr, "Unknown column: " + col);
             }
         } else {
@@ -94,12 +113,12 @@ public final class ExprEvaluator {
                 Integer idx = resolveIndex(leftSchema, tbl, col);
                 if (idx == null) idx = resolveIndex(leftSchema, null, col); // fallback for schemas with unqualified names
                 if (idx == null) throw err(cr, "Unknown column: " + tbl + "." + col);
-                return left.get(idx);
+                return idx;
             } else {
                 Integer idx = resolveIndex(leftSchema, null, col);
                 if (idx == null) idx = resolveIndex(leftSchema, "", col);
                 if (idx == null) throw err(cr, "Unknown column: " + col);
-                return left.get(idx);
+                return idx;
             }
         }
     }
@@ -123,12 +142,24 @@ public final class ExprEvaluator {
         return null;
     }
 
-    private static Boolean asBoolean(Object o) {
+    static Boolean asBoolean(Object o) {
         if (!(o instanceof Boolean b)) throw new IllegalArgumentException("Expected BOOLEAN, got " + o);
         return b;
     }
 
-    private static Object evalBinary(BinaryExpr.Op op, Object l, Object r) {
+    /** AND or OR of two BOOLEAN-or-NULL values, in three-valued logic. */
+    static Boolean evalLogical(LogicalExpr.Op op, Object l, Object r) {
+        if (op == LogicalExpr.Op.NOT) throw new IllegalStateException("unreachable");
+        Boolean lb = l == null ? null : asBoolean(l);
+        Boolean rb = r == null ? null : asBoolean(r);
+        Boolean settles = op == LogicalExpr.Op.OR; // FALSE settles an AND on its own, TRUE an OR
+        if (settles.equals(lb) || settles.equals(rb)) return settles;
+        if (lb == null || rb == null) return null;
+        return !settles;
+    }
+
+    static Object evalBinary(BinaryExpr.Op op, Object l, Object r) {
+        if (l == null || r == null) return null;
         // Handle CONCAT specially - it always produces a string
         if (op == BinaryExpr.Op.CONCAT) {
             return toStringLike(l) + toStringLike(r);
@@ -171,7 +202,8 @@ public final class ExprEvaluator {
         throw new IllegalArgumentException("Unsupported binary types: " + l + ", " + r);
     }
 
-    private static Object evalComparison(ComparisonExpr.Op op, Object l, Object r) {
+    static Object evalComparison(ComparisonExpr.Op op, Object l, Object r) {
+        if (l == null || r == null) return null;
         int c = compare(l, r);
         return switch (op) {
             case EQ -> c == 0;
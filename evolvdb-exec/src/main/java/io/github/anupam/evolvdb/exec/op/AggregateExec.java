@@ -9,7 +9,12 @@ import io.github.anupam.evolvdb.types.Tuple;
 
 import java.util.*;
 
-/** Naive GROUP BY aggregate: buffers all groups and computes aggregates. */
+/**
+ * Naive GROUP BY aggregate: buffers all groups and computes aggregates.
+ *
+ * NULLs follow SQL: NULL group keys form one group, COUNT(*) counts every row while COUNT(expr) and the other
+ * aggregates skip NULL values, and SUM, AVG, MIN and MAX of a group without a non-NULL value are NULL.
+ */
 public final class AggregateExec implements PhysicalOperator {
     private final PhysicalOperator child;
     private final List<Expr> groupBy;
@@ -36,11 +41,10 @@ public final class AggregateExec implements PhysicalOperator {
             for (Expr g : groupBy) {
                 key.add(evaluator.eval(g, t, child.schema()));
             }
-            List<Object> mapKey = List.copyOf(key);
-            GroupState st = groups.get(mapKey);
+            GroupState st = groups.get(key); // List equality treats NULL keys as equal
             if (st == null) {
                 st = new GroupState(t);
-                groups.put(mapKey, st);
+                groups.put(key, st);
             }
             st.update(t);
         }
@@ -109,7 +113,7 @@ public final class AggregateExec implements PhysicalOperator {
         AggState createAgg(FuncCall fc) {
             String fn = fc.name().toUpperCase(Locale.ROOT);
             return switch (fn) {
-                case "COUNT" -> new CountAgg();
+                case "COUNT" -> new CountAgg(fc.starArg());
                 case "SUM" -> new SumAgg();
                 case "AVG" -> new AvgAgg();
                 case "MIN" -> new MinMaxAgg(true);
@@ -122,21 +126,28 @@ public final class AggregateExec implements PhysicalOperator {
     private interface AggState { void add(Object v); Object result(); }
 
     private static final class CountAgg implements AggState {
+        final boolean rows; // COUNT(*): count rows, not non-NULL values
         long c = 0;
-        @Override public void add(Object v) { c++; }
+        CountAgg(boolean rows) { this.rows = rows; }
+        @Override public void add(Object v) { if (rows || v != null) c++; }
         @Override public Object result() { return Long.valueOf(c); }
     }
 
     private static final class SumAgg implements AggState {
-        boolean f = false; double sf = 0; long sl = 0;
+        boolean f = false; boolean any = false; double sf = 0; long sl = 0;
         @Override public void add(Object v) {
+            if (v != null) any = true;
             if (v instanceof Float) { f = true; sf += (Float) v; }
             else if (v instanceof Long) sl += (Long) v;
             else if (v instanceof Integer) sl += (Integer) v;
             else if (v == null) { /* ignore */ }
             else throw new IllegalArgumentException("SUM unsupported type: " + v);
         }
-        @Override public Object result() { return f ? Float.valueOf((float) sf) : Long.valueOf(sl); }
+        @Override public Object result() {
+            if (!any) return null;
+            if (f) return Float.valueOf((float) sf);
+            return Long.valueOf(sl); // not a ?: with the Float, which would promote it to float
+        }
     }
 
     private static final class AvgAgg implements AggState {
@@ -148,7 +159,7 @@ public final class AggregateExec implements PhysicalOperator {
             else if (v == null) { /* ignore */ }
             else throw new IllegalArgumentException("AVG unsupported type: " + v);
         }
-        @Override public Object result() { return Float.valueOf((float) (sum / (cnt == 0 ? 1 : cnt))); }
+        @Override public Object result() { return cnt == 0 ? null : Float.valueOf((float) (sum / cnt)); }
     }
 
     private static final class MinMaxAgg implements AggState {
@@ -0,0 +1,244 @@
+package io.github.anupam.evolvdb.exec.op;
+
+import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.catalog.Table;
+import io.github.anupam.evolvdb.planner.logical.LogicalCopy;
+import io.github.anupam.evolvdb.sql.ast.Copy;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.CsvCodec;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes COPY statements between a table and a CSV file (see {@link CsvCodec} for the format).
+ *
+ * COPY FROM reads the file in chunks of about {@link #CHUNK_CHARS} characters, cut at line boundaries, and parses
+ * up to {@code 2 * threads} chunks ahead on {@code threads} worker threads. Parsed chunks are consumed in file
+ * order and fed to {@link Table#bulkLoad}, so rows land in file order on packed pages. A malformed line fails the
+ * statement with its line number; there are no transactions yet, so rows of earlier chunks stay loaded.
+ *
+ * COPY TO scans the table a page at a time and streams each row through a buffered writer, so memory stays
+ * bounded by one page of rows plus the write buffer.
+ *
+ * Both return one row holding the number of rows copied.
+ */
+public final class CopyExec implements PhysicalOperator {
+    public static final int CHUNK_CHARS = 1 << 20;
+    private static final int WRITE_BUFFER_CHARS = 1 << 16;
+    private static final AtomicInteger POOL_SEQ = new AtomicInteger();
+
+    private final CatalogManager catalog;
+    private final LogicalCopy copy;
+    private final int threads;
+    private final Schema resultSchema = new Schema(List.of(new ColumnMeta("copied_count", Type.BIGINT, null)));
+
+    private Table table;
+    private boolean executed = false;
+
+    public CopyExec(CatalogManager catalog, LogicalCopy copy, int threads) {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+        this.catalog = catalog;
+        this.copy = copy;
+        this.threads = threads;
+    }
+
+    @Override
+    public void open() throws IOException {
+        this.table = catalog.openTable(copy.tableName());
+        this.executed = false;
+    }
+
+    @Override
+    public Tuple next() throws Exception {
+        if (executed) return null;
+        Path path = Path.of(copy.path());
+        long count = copy.direction() == Copy.Direction.FROM ? copyFrom(path) : copyTo(path);
+        executed = true;
+        return new Tuple(resultSchema, List.of(count));
+    }
+
+    private long copyFrom(Path path) throws IOException {
+        int poolId = POOL_SEQ.incrementAndGet();
+        AtomicInteger workerSeq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "evolvdb-copy-" + poolId + "-" + workerSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return table.bulkLoad(new ParsedRows(in, pool));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long copyTo(Path path) throws IOException {
+        long count = 0;
+        StringBuilder line = new StringBuilder();
+        try (BufferedWriter out = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), WRITE_BUFFER_CHARS)) {
+            for (List<Tuple> page : table.scanPages(table.schema())) { // every column is written: decode eagerly
+                for (Tuple t : page) {
+                    line.setLength(0);
+                    CsvCodec.format(t, line);
+                    line.append('\n');
+                    out.append(line);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Rows of one chunk, or the first malformed line in it (1-based within the chunk). */
+    private record ParsedChunk(List<Tuple> rows, int lines, int errorLine, IllegalArgumentException error) {}
+
+    /** Reads chunks, parses them on the pool with bounded look-ahead, and yields their rows in file order. */
+    private final class ParsedRows implements Iterator<Tuple> {
+        private final Reader in;
+        private final ExecutorService pool;
+        private final ArrayDeque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+        private final char[] buf = new char[CHUNK_CHARS];
+        private final StringBuilder carry = new StringBuilder(); // partial last line of the previous read
+        private boolean eof;
+        private long lineBase; // lines in the chunks already consumed
+        private Iterator<Tuple> current = Collections.emptyIterator();
+
+        ParsedRows(Reader in, ExecutorService pool) {
+            this.in = in;
+            this.pool = pool;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                fill();
+                if (pending.isEmpty()) return false;
+                ParsedChunk chunk = await(pending.poll());
+                if (chunk.error() != null) {
+                    throw new IllegalArgumentException("line " + (lineBase + chunk.errorLine()) + ": "
+                            + chunk.error().getMessage(), chunk.error());
+                }
+                lineBase += chunk.lines();
+                current = chunk.rows().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Tuple next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return current.next();
+        }
+
+        private void fill() {
+            while (pending.size() < 2 * threads) {
+                String chunk = readChunk();
+                if (chunk == null) return;
+                Schema schema = table.schema();
+                pending.add(pool.submit(() -> parse(schema, chunk)));
+            }
+        }
+
+        /** Returns the next run of whole lines (the last one may lack its newline at end of file), or null. */
+        private String readChunk() {
+            try {
+                while (!eof) {
+                    int n = 0;
+                    while (n < buf.length) {
+                        int r = in.read(buf, n, buf.length - n);
+                        if (r < 0) {
+                            eof = true;
+                            break;
+                        }
+                        n += r;
+                    }
+                    int cut = n - 1; // at end of file everything read is taken
+                    if (!eof) while (cut >= 0 && buf[cut] != '\n') cut--;
+                    if (cut < 0) {
+                        // No line break in a whole buffer: the line continues into the next read
+                        carry.append(buf, 0, n);
+                        continue;
+                    }
+                    carry.append(buf, 0, cut + 1);
+                    String chunk = carry.toString();
+                    carry.setLength(0);
+                    carry.append(buf, cut + 1, n - cut - 1);
+                    return chunk;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (carry.length() == 0) return null;
+            String rest = carry.toString();
+            carry.setLength(0);
+            return rest;
+        }
+
+        private ParsedChunk await(Future<ParsedChunk> f) {
+            try {
+                return f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("COPY interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private static ParsedChunk parse(Schema schema, String chunk) {
+        List<Tuple> rows = new ArrayList<>();
+        int lines = 0;
+        int start = 0;
+        while (start < chunk.length()) {
+            int end = chunk.indexOf('\n', start);
+            if (end < 0) end = chunk.length();
+            lines++;
+            int stop = (end > start && chunk.charAt(end - 1) == '\r') ? end - 1 : end;
+            String line = chunk.substring(start, stop);
+            if (CsvCodec.isRow(schema, line)) {
+                try {
+                    rows.add(CsvCodec.parse(schema, line));
+                } catch (IllegalArgumentException e) {
+                    return new ParsedChunk(rows, lines, lines, e);
+                }
+            }
+            start = end + 1;
+        }
+        return new ParsedChunk(rows, lines, 0, null);
+    }
+
+    @Override
+    public void close() {
+        this.table = null;
+        this.executed = false;
+    }
+
+    @Override
+    public Schema schema() { return resultSchema; }
+}
@@ -1,34 +1,53 @@
 package io.github.anupam.evolvdb.exec.op;
 
-import io.github.anupam.evolvdb.exec.expr.ExprEvaluator;
+import io.github.anupam.evolvdb.exec.expr.BoundExpr;
 import io.github.anupam.evolvdb.sql.ast.Expr;
+import io.github.anupam.evolvdb.types.RowBuffer;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
 
-/** Filters tuples from child using a boolean predicate. */
+/** Filters rows from child using a boolean predicate, bound to the child's schema on open. */
 public final class FilterExec implements PhysicalOperator {
     private final PhysicalOperator child;
     private final Expr predicate;
-    private final ExprEvaluator evaluator = new ExprEvaluator();
+
+    private BoundExpr bound;
+    private RowBuffer spare;
 
     public FilterExec(PhysicalOperator child, Expr predicate) {
         this.child = child;
         this.predicate = predicate;
     }
 
-    @Override public void open() throws Exception { child.open(); }
+    @Override
+    public void open() throws Exception {
+        child.open();
+        this.bound = BoundExpr.bind(predicate, child.schema());
+        this.spare = new RowBuffer(child.schema());
+    }
 
     @Override
     public Tuple next() throws Exception {
+        RowBuffer row = nextRow(null);
+        return row == null ? null : row.toTuple();
+    }
+
+    /** Passes on the child's own buffer: rows are neither copied nor reallocated. */
+    @Override
+    public RowBuffer nextRow(RowBuffer unused) throws Exception {
         for (;;) {
-            Tuple t = child.next();
-            if (t == null) return null;
-            Object v = evaluator.eval(predicate, t, child.schema());
-            if (Boolean.TRUE.equals(v)) return t;
+            RowBuffer row = child.nextRow(spare);
+            if (row == null) return null;
+            if (bound.test(row, null)) return row;
         }
     }
 
-    @Override public void close() throws Exception { child.close(); }
+    @Override
+    public void close() throws Exception {
+        child.close();
+        this.bound = null;
+        this.spare = null;
+    }
 
     @Override public Schema schema() { return child.schema(); }
 }
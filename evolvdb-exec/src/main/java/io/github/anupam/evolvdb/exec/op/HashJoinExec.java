@@ -1,13 +1,22 @@
 package io.github.anupam.evolvdb.exec.op;
 
-import io.github.anupam.evolvdb.exec.expr.ExprEvaluator;
+import io.github.anupam.evolvdb.exec.expr.BoundExpr;
 import io.github.anupam.evolvdb.sql.ast.Expr;
+import io.github.anupam.evolvdb.types.RowBuffer;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
 
 import java.util.*;
 
-/** Simple in-memory hash join (inner, equi-join). Builds a hash table on the right side. */
+/**
+ * Simple in-memory hash join (inner, equi-join). Builds a hash table on the right side.
+ *
+ * Right rows are copied out of the child's buffer as they are built in; the left side streams through a reused
+ * buffer, and output rows are assembled in one. When both keys are NOT NULL INT or BIGINT the table is keyed by
+ * the primitive value (so an INT key also matches an equal BIGINT one) and probing allocates nothing; other keys
+ * go through a HashMap of boxed values. A NULL key matches nothing, so such rows are neither built in nor probed.
+ */
 public final class HashJoinExec implements PhysicalOperator {
     private final PhysicalOperator left;
     private final PhysicalOperator right;
@@ -17,11 +26,21 @@ public final class HashJoinExec implements PhysicalOperator {
     private final Set<String> leftQuals;
     private final Set<String> rightQuals;
 
-    private final ExprEvaluator evaluator = new ExprEvaluator();
+    private BoundExpr leftBound;
+    private BoundExpr rightBound;
+    private RowBuffer leftSpare;
+    private RowBuffer out;
 
-    private final Map<Object, List<Tuple>> hash = new HashMap<>();
-    private Tuple curLeft;
-    private Iterator<Tuple> matchIter;
+    // Build side: rows in arrival order, chained per key in that order
+    private final List<RowBuffer> rows = new ArrayList<>();
+    private int[] chain = new int[0];   // row -> next row with the same key, or -1
+    private boolean longKeys;
+    private long[] slotKeys;            // open-addressing table for long keys
+    private int[] slotHeads;            // first row + 1, 0 = empty slot
+    private final Map<Object, Integer> heads = new HashMap<>(); // first row per boxed key
+
+    private RowBuffer curLeft;
+    private int match = -1;             // next matching right row for curLeft, or -1
 
     public HashJoinExec(
         PhysicalOperator left,
@@ -45,48 +64,111 @@ public final class HashJoinExec implements PhysicalOperator {
     public void open() throws Exception {
         left.open();
         right.open();
-        // Build hash on right
-        for (Tuple t = right.next(); t != null; t = right.next()) {
-            Object k = evaluator.eval(rightKey, t, right.schema());
-            hash.computeIfAbsent(k, kk -> new ArrayList<>()).add(t);
-        }
+        this.leftBound = BoundExpr.bind(leftKey, left.schema());
+        this.rightBound = BoundExpr.bind(rightKey, right.schema());
+        this.longKeys = isIntegral(leftBound.type()) && isIntegral(rightBound.type())
+                && !leftBound.nullable() && !rightBound.nullable();
+        this.leftSpare = new RowBuffer(left.schema());
+        this.out = new RowBuffer(outSchema);
+        build();
         right.close();
-        curLeft = left.next();
-        matchIter = null;
+        curLeft = left.nextRow(leftSpare);
+        match = -1;
+        if (curLeft != null) match = probe(curLeft);
+    }
+
+    private void build() throws Exception {
+        RowBuffer spare = new RowBuffer(right.schema());
+        long[] keys = new long[16];
+        List<Object> boxedKeys = new ArrayList<>();
+        for (RowBuffer r = right.nextRow(spare); r != null; r = right.nextRow(spare)) {
+            if (longKeys) {
+                if (rows.size() == keys.length) keys = Arrays.copyOf(keys, keys.length * 2);
+                keys[rows.size()] = rightBound.evalLong(r, null);
+            } else {
+                boxedKeys.add(rightBound.eval(r, null));
+            }
+            rows.add(r.copy());
+        }
+        int n = rows.size();
+        chain = new int[n];
+        if (longKeys) {
+            int capacity = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1; // at least 2n, power of two
+            slotKeys = new long[capacity];
+            slotHeads = new int[capacity];
+        }
+        // Link from the last row back, so each chain lists its rows in arrival order
+        for (int i = n - 1; i >= 0; i--) {
+            if (longKeys) {
+                int slot = slot(keys[i]);
+                if (slotHeads[slot] == 0) slotKeys[slot] = keys[i];
+                chain[i] = slotHeads[slot] - 1;
+                slotHeads[slot] = i + 1;
+            } else if (boxedKeys.get(i) == null) {
+                chain[i] = -1;
+            } else {
+                Integer head = heads.put(boxedKeys.get(i), i);
+                chain[i] = head == null ? -1 : head;
+            }
+        }
+    }
+
+    /** Slot holding {@code key}, or the empty slot where it belongs. */
+    private int slot(long key) {
+        int mask = slotHeads.length - 1;
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (slotHeads[slot] != 0 && slotKeys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /** Returns the first right row matching {@code row}'s key, or -1. */
+    private int probe(RowBuffer row) {
+        if (longKeys) return slotHeads[slot(leftBound.evalLong(row, null))] - 1;
+        Object key = leftBound.eval(row, null);
+        Integer head = key == null ? null : heads.get(key);
+        return head == null ? -1 : head;
     }
 
     @Override
     public Tuple next() throws Exception {
+        RowBuffer row = nextRow(null);
+        return row == null ? null : row.toTuple();
+    }
+
+    @Override
+    public RowBuffer nextRow(RowBuffer unused) throws Exception {
         while (curLeft != null) {
-            if (matchIter == null) {
-                Object lk = evaluator.eval(leftKey, curLeft, left.schema());
-                matchIter = hash.getOrDefault(lk, List.of()).iterator();
-                if (!matchIter.hasNext()) {
-                    curLeft = left.next();
-                    continue;
-                }
-            }
-            if (!matchIter.hasNext()) {
-                // Exhausted matches for current left row; advance left
-                curLeft = left.next();
-                matchIter = null;
+            if (match < 0) {
+                // No (more) matches for the current left row; advance left
+                curLeft = left.nextRow(leftSpare);
+                if (curLeft != null) match = probe(curLeft);
                 continue;
             }
-            Tuple r = matchIter.next();
-            List<Object> vals = new ArrayList<>(left.schema().size() + right.schema().size());
-            vals.addAll(curLeft.values());
-            vals.addAll(r.values());
-            return new Tuple(outSchema, vals);
+            RowBuffer r = rows.get(match);
+            match = chain[match];
+            int leftWidth = curLeft.size();
+            for (int i = 0; i < leftWidth; i++) out.copyFrom(i, curLeft, i);
+            for (int i = 0; i < r.size(); i++) out.copyFrom(leftWidth + i, r, i);
+            return out;
         }
         return null;
     }
 
+    private static boolean isIntegral(Type type) {
+        return type == Type.INT || type == Type.BIGINT;
+    }
+
     @Override
     public void close() throws Exception {
         left.close();
-        hash.clear();
+        rows.clear();
+        heads.clear();
+        chain = new int[0];
+        slotKeys = null;
+        slotHeads = null;
         curLeft = null;
-        matchIter = null;
+        match = -1;
     }
 
     @Override
@@ -2,102 +2,142 @@ package io.github.anupam.evolvdb.exec.op;
 
 import io.github.anupam.evolvdb.catalog.CatalogManager;
 import io.github.anupam.evolvdb.catalog.Table;
-import io.github.anupam.evolvdb.storage.page.RecordId;
 import io.github.anupam.evolvdb.exec.expr.ExprEvaluator;
 import io.github.anupam.evolvdb.planner.logical.LogicalInsert;
 import io.github.anupam.evolvdb.sql.ast.Expr;
 import io.github.anupam.evolvdb.types.ColumnMeta;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-/** Executes INSERT statements by writing tuples into the table. */
+/**
+ * Executes INSERT statements by writing tuples into the table.
+ *
+ * Rows come from the statement's VALUES list or, for INSERT ... SELECT, from a child operator. They are converted
+ * into table rows and written {@link Table#INSERT_BATCH} at a time, so memory stays bounded by one batch however
+ * many rows the source produces. The mapping from table columns to source columns is resolved once in
+ * {@code open()}; nullable columns left out of the column list are NULL. When the query scans the target table
+ * itself, its rows are read in full first.
+ */
 public final class InsertExec implements PhysicalOperator {
+    private static final Schema RESULT_SCHEMA = new Schema(List.of(
+        new ColumnMeta("inserted_count", Type.INT, null)
+    ));
+
     private final CatalogManager catalog;
     private final LogicalInsert insert;
+    private final PhysicalOperator child; // INSERT ... SELECT source, else null
     private final ExprEvaluator evaluator = new ExprEvaluator();
-    
+
     private Table table;
+    private int[] sourceIndex; // table column -> index among the target (source) columns, or -1 for NULL
     private int insertedCount = 0;
     private boolean executed = false;
-    
+
     public InsertExec(CatalogManager catalog, LogicalInsert insert) {
+        this(catalog, insert, null);
+    }
+
+    public InsertExec(CatalogManager catalog, LogicalInsert insert, PhysicalOperator child) {
+        if ((insert.query() == null) != (child == null)) {
+            throw new IllegalArgumentException("child operator required exactly for INSERT ... SELECT");
+        }
         this.catalog = catalog;
         this.insert = insert;
+        this.child = child;
     }
-    
+
     @Override
-    public void open() throws IOException {
+    public void open() throws Exception {
         this.table = catalog.openTable(insert.tableName());
+        Schema tableSchema = table.schema();
+        List<ColumnMeta> targets = insert.targetColumns();
+        this.sourceIndex = new int[tableSchema.size()];
+        for (int c = 0; c < sourceIndex.length; c++) {
+            ColumnMeta col = tableSchema.columns().get(c);
+            int idx = indexOfColumn(targets, col);
+            if (idx < 0 && !col.nullable()) {
+                // Would handle defaults here, for now throw error
+                throw new IllegalStateException("Column " + col.name() + " not specified in INSERT and no default");
+            }
+            sourceIndex[c] = idx;
+        }
         this.insertedCount = 0;
         this.executed = false;
+        if (child != null) child.open();
     }
-    
+
     @Override
     public Tuple next() throws Exception {
         if (executed) return null;
-        
-        // Execute all inserts
-        Schema tableSchema = insert.schema();
-        for (List<Expr> row : insert.rows()) {
-            List<Object> values = new ArrayList<>(insert.targetColumns().size());
-            
-            // Evaluate each expression to get values
-            for (int i = 0; i < row.size(); i++) {
-                Expr expr = row.get(i);
-                Object value = evaluator.eval(expr, null, null);
-                // Convert Long to Integer if the target column expects INT
-                ColumnMeta targetCol = insert.targetColumns().get(i);
-                if (targetCol.type() == io.github.anupam.evolvdb.types.Type.INT && value instanceof Long) {
-                    value = ((Long) value).intValue();
-                }
-                values.add(value);
-            }
-            
-            // If target columns are subset, build full tuple with defaults
-            List<Object> fullValues = new ArrayList<>(tableSchema.size());
-            for (ColumnMeta col : tableSchema.columns()) {
-                int idx = indexOfColumn(insert.targetColumns(), col);
-                if (idx >= 0) {
-                    fullValues.add(values.get(idx));
-                } else {
-                    // Would handle defaults here, for now throw error
-                    throw new IllegalStateException("Column " + col.name() + " not specified in INSERT and no default");
-                }
+        executed = true;
+
+        List<Tuple> batch = new ArrayList<>(Table.INSERT_BATCH);
+        if (child == null) {
+            Object[] values = new Object[insert.targetColumns().size()];
+            for (List<Expr> row : insert.rows()) {
+                for (int i = 0; i < values.length; i++) values[i] = evaluator.eval(row.get(i), null, null);
+                add(batch, values);
             }
-            
-            Tuple tuple = new Tuple(tableSchema, fullValues);
-            table.insert(tuple);
-            insertedCount++;
+        } else if (insert.queryReadsTarget()) {
+            // Read the whole source before the first write, so the scan never sees rows this statement added
+            List<Tuple> all = new ArrayList<>();
+            for (Tuple t = child.next(); t != null; t = child.next()) all.add(toRow(t.values().toArray()));
+            insertedCount += table.insertAll(all);
+        } else {
+            for (Tuple t = child.next(); t != null; t = child.next()) add(batch, t.values().toArray());
         }
-        
-        executed = true;
-        
+        if (!batch.isEmpty()) insertedCount += table.insertAll(batch);
+
         // Return a single tuple with the count of inserted rows
-        Schema resultSchema = new Schema(List.of(
-            new ColumnMeta("inserted_count", io.github.anupam.evolvdb.types.Type.INT, null)
-        ));
-        return new Tuple(resultSchema, List.of(insertedCount));
+        return new Tuple(RESULT_SCHEMA, List.of(insertedCount));
     }
-    
+
+    private void add(List<Tuple> batch, Object[] values) throws IOException {
+        batch.add(toRow(values));
+        if (batch.size() == Table.INSERT_BATCH) {
+            insertedCount += table.insertAll(batch);
+            batch.clear();
+        }
+    }
+
+    /** Builds the table row from source values given in target-column order. */
+    private Tuple toRow(Object[] values) {
+        Schema tableSchema = table.schema();
+        List<Object> full = new ArrayList<>(sourceIndex.length);
+        for (int c = 0; c < sourceIndex.length; c++) {
+            Object v = sourceIndex[c] < 0 ? null : values[sourceIndex[c]];
+            full.add(coerce(tableSchema.columns().get(c).type(), v));
+        }
+        return new Tuple(tableSchema, full);
+    }
+
+    /** Integer literals evaluate to Long; narrow or widen them to the column's integer type. */
+    private static Object coerce(Type type, Object value) {
+        if (type == Type.INT && value instanceof Long l) return Math.toIntExact(l);
+        if (type == Type.BIGINT && value instanceof Integer i) return i.longValue();
+        return value;
+    }
+
     @Override
-    public void close() {
+    public void close() throws Exception {
+        if (child != null) child.close();
         this.table = null;
+        this.sourceIndex = null;
         this.insertedCount = 0;
         this.executed = false;
     }
-    
+
     @Override
     public Schema schema() {
         // INSERT returns a schema with insert count
-        return new Schema(List.of(
-            new ColumnMeta("inserted_count", io.github.anupam.evolvdb.types.Type.INT, null)
-        ));
+        return RESULT_SCHEMA;
     }
-    
+
     private static int indexOfColumn(List<ColumnMeta> columns, ColumnMeta target) {
         for (int i = 0; i < columns.size(); i++) {
             if (columns.get(i).name().equalsIgnoreCase(target.name())) {
@@ -0,0 +1,200 @@
+package io.github.anupam.evolvdb.exec.op;
+
+import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.catalog.Table;
+import io.github.anupam.evolvdb.exec.expr.ExprEvaluator;
+import io.github.anupam.evolvdb.planner.logical.ProjectItem;
+import io.github.anupam.evolvdb.sql.ast.Expr;
+import io.github.anupam.evolvdb.storage.record.ScanMorsels;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel sequential scan with an optional filter and projection fused in (morsel-driven).
+ *
+ * {@code open()} starts {@code threads} workers. Each repeatedly claims a range of {@code morselPages} pages
+ * from the table's {@link ScanMorsels}, scans it a page at a time, applies the predicate and projection, and
+ * hands each page's surviving rows to the consumer through a bounded queue. {@code next()} drains that queue.
+ * Rows come out in no particular order. As in {@link SeqScanExec}, a column subset limits decoding to those
+ * columns; the predicate and projection then see rows of that subset.
+ *
+ * A worker failure is rethrown from {@code next()}. {@code close()} stops the workers, even mid-scan.
+ */
+public final class ParallelScanExec implements PhysicalOperator {
+    public static final int DEFAULT_MORSEL_PAGES = 64;
+
+    private static final List<Tuple> DONE = new ArrayList<>(0); // sentinel, one per finished worker
+    private static final AtomicInteger POOL_SEQ = new AtomicInteger();
+
+    private final CatalogManager catalog;
+    private final String tableName;
+    private final Schema columns;          // null = all columns
+    private final Expr predicate;          // null = no filter
+    private final List<ProjectItem> items; // null = no projection
+    private final Schema outSchema;        // null = table schema
+    private final int threads;
+    private final int morselPages;
+
+    private Table table;
+    private ExecutorService pool;
+    private BlockingQueue<List<Tuple>> queue;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+    private int running;
+    private List<Tuple> batch = List.of();
+    private int pos;
+
+    public ParallelScanExec(CatalogManager catalog, String tableName, int threads) {
+        this(catalog, tableName, null, threads);
+    }
+
+    public ParallelScanExec(CatalogManager catalog, String tableName, Schema columns, int threads) {
+        this(catalog, tableName, columns, null, null, null, threads, DEFAULT_MORSEL_PAGES);
+    }
+
+    public ParallelScanExec(CatalogManager catalog, String tableName, Expr predicate, List<ProjectItem> items,
+                            Schema outSchema, int threads, int morselPages) {
+        this(catalog, tableName, null, predicate, items, outSchema, threads, morselPages);
+    }
+
+    public ParallelScanExec(CatalogManager catalog, String tableName, Schema columns, Expr predicate,
+                            List<ProjectItem> items, Schema outSchema, int threads, int morselPages) {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+        if (morselPages <= 0) throw new IllegalArgumentException("morselPages must be > 0");
+        if ((items == null) != (outSchema == null)) {
+            throw new IllegalArgumentException("projection items and output schema go together");
+        }
+        this.catalog = catalog;
+        this.tableName = tableName;
+        this.columns = columns;
+        this.predicate = predicate;
+        this.items = items == null ? null : List.copyOf(items);
+        this.outSchema = outSchema;
+        this.threads = threads;
+        this.morselPages = morselPages;
+    }
+
+    @Override
+    public void open() throws Exception {
+        table = catalog.openTable(tableName);
+        ScanMorsels morsels = table.morsels(morselPages);
+        queue = new ArrayBlockingQueue<>(threads * 4);
+        failure.set(null);
+        cancelled = false;
+        batch = List.of();
+        pos = 0;
+        running = threads;
+        int poolId = POOL_SEQ.incrementAndGet();
+        AtomicInteger workerSeq = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "evolvdb-scan-" + poolId + "-" + workerSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < threads; i++) pool.execute(() -> work(morsels));
+    }
+
+    private void work(ScanMorsels morsels) {
+        Schema pruned = SeqScanExec.prunedColumns(table, columns);
+        Schema tableSchema = pruned == null ? table.schema() : pruned;
+        ExprEvaluator evaluator = new ExprEvaluator(); // one per worker
+        try {
+            for (ScanMorsels.PageRange range = morsels.claim(); range != null && !cancelled; range = morsels.claim()) {
+                for (List<Tuple> page : table.scanPages(range, pruned)) {
+                    if (cancelled) break;
+                    List<Tuple> out = new ArrayList<>(page.size());
+                    for (Tuple t : page) {
+                        if (predicate != null && !Boolean.TRUE.equals(evaluator.eval(predicate, t, tableSchema))) continue;
+                        out.add(items == null ? t : project(evaluator, t, tableSchema));
+                    }
+                    if (!out.isEmpty()) put(out);
+                }
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            put(DONE);
+        }
+    }
+
+    private Tuple project(ExprEvaluator evaluator, Tuple t, Schema tableSchema) {
+        List<Object> values = new ArrayList<>(items.size());
+        for (ProjectItem it : items) values.add(evaluator.eval(it.expr(), t, tableSchema));
+        return new Tuple(outSchema, values);
+    }
+
+    /** Blocks while the queue is full; gives up once the operator is closed. */
+    private void put(List<Tuple> rows) {
+        try {
+            while (!cancelled && !queue.offer(rows, 10, TimeUnit.MILLISECONDS)) {
+                // consumer is slow; re-check cancellation
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public Tuple next() throws Exception {
+        if (queue == null) return null;
+        while (pos >= batch.size()) {
+            if (running == 0) {
+                rethrowFailure();
+                return null;
+            }
+            List<Tuple> rows = queue.take();
+            if (rows == DONE) {
+                running--;
+                rethrowFailure();
+                continue;
+            }
+            batch = rows;
+            pos = 0;
+        }
+        return batch.get(pos++);
+    }
+
+    private void rethrowFailure() throws Exception {
+        Throwable e = failure.get();
+        if (e == null) return;
+        if (e instanceof Exception ex) throw ex;
+        throw new IllegalStateException("parallel scan worker failed", e);
+    }
+
+    @Override
+    public void close() throws Exception {
+        cancelled = true;
+        if (pool != null) {
+            pool.shutdown();
+            if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("parallel scan workers did not stop");
+            }
+        }
+        pool = null;
+        queue = null;
+        table = null;
+        batch = List.of();
+    }
+
+    @Override
+    public Schema schema() {
+        if (outSchema != null) return outSchema;
+        if (columns != null) return columns;
+        if (table != null) return table.schema();
+        try {
+            return catalog.openTable(tableName).schema();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to resolve schema for table: " + tableName, e);
+        }
+    }
+}
@@ -1,16 +1,36 @@
 package io.github.anupam.evolvdb.exec.op;
 
+import io.github.anupam.evolvdb.types.RowBuffer;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
 import io.github.anupam.evolvdb.optimizer.Cost;
 
-/** Volcano-style operator. */
+/**
+ * Volcano-style operator.
+ *
+ * Rows can be pulled as Tuples ({@link #next}) or, between operators, as reusable buffers ({@link #nextRow}),
+ * which operators on the hot path produce without allocating per row.
+ */
 public interface PhysicalOperator {
     void open() throws Exception;
     Tuple next() throws Exception; // returns null when exhausted
     void close() throws Exception;
     Schema schema();
 
+    /**
+     * Returns the next row, or null when exhausted. The buffer is only valid until the next call on this operator;
+     * a caller that keeps the row must {@link RowBuffer#copy} it. Operators that produce rows natively return a
+     * buffer of their own; the default loads {@link #next()} into {@code spare}, a buffer bound to
+     * {@link #schema()} that the caller reuses across calls (a new one is made if it is null).
+     */
+    default RowBuffer nextRow(RowBuffer spare) throws Exception {
+        Tuple t = next();
+        if (t == null) return null;
+        if (spare == null) return RowBuffer.of(t);
+        spare.load(t);
+        return spare;
+    }
+
     /** Optional: estimated cost for this operator subtree (M11). */
     default Cost estimatedCost() { return Cost.of(-1, 0, 0); }
     default double estimatedRowCount() { return estimatedCost().rowCount(); }
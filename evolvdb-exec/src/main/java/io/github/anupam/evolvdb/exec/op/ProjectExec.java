@@ -1,19 +1,25 @@
 package io.github.anupam.evolvdb.exec.op;
 
-import io.github.anupam.evolvdb.exec.expr.ExprEvaluator;
+import io.github.anupam.evolvdb.exec.expr.BoundExpr;
 import io.github.anupam.evolvdb.planner.logical.ProjectItem;
+import io.github.anupam.evolvdb.types.RowBuffer;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
 
-import java.util.ArrayList;
 import java.util.List;
 
-/** Computes projection expressions and produces tuples with the given output schema. */
+/**
+ * Computes projection expressions and produces rows with the given output schema, written into one reusable
+ * buffer. Expressions are bound to the child's schema on open.
+ */
 public final class ProjectExec implements PhysicalOperator {
     private final PhysicalOperator child;
     private final List<ProjectItem> items;
     private final Schema outSchema;
-    private final ExprEvaluator evaluator = new ExprEvaluator();
+
+    private BoundExpr[] bound;
+    private RowBuffer spare;
+    private RowBuffer out;
 
     public ProjectExec(PhysicalOperator child, List<ProjectItem> items, Schema outSchema) {
         this.child = child;
@@ -21,20 +27,36 @@ public final class ProjectExec implements PhysicalOperator {
         this.outSchema = outSchema;
     }
 
-    @Override public void open() throws Exception { child.open(); }
+    @Override
+    public void open() throws Exception {
+        child.open();
+        this.bound = new BoundExpr[items.size()];
+        for (int i = 0; i < bound.length; i++) bound[i] = BoundExpr.bind(items.get(i).expr(), child.schema());
+        this.spare = new RowBuffer(child.schema());
+        this.out = new RowBuffer(outSchema);
+    }
 
     @Override
     public Tuple next() throws Exception {
-        Tuple t = child.next();
-        if (t == null) return null;
-        List<Object> out = new ArrayList<>(items.size());
-        for (ProjectItem it : items) {
-            Object v = evaluator.eval(it.expr(), t, child.schema());
-            out.add(v);
-        }
-        return new Tuple(outSchema, out);
+        RowBuffer row = nextRow(null);
+        return row == null ? null : row.toTuple();
+    }
+
+    @Override
+    public RowBuffer nextRow(RowBuffer unused) throws Exception {
+        RowBuffer row = child.nextRow(spare);
+        if (row == null) return null;
+        for (int i = 0; i < bound.length; i++) bound[i].evalInto(row, null, out, i);
+        return out;
+    }
+
+    @Override
+    public void close() throws Exception {
+        child.close();
+        this.bound = null;
+        this.spare = null;
+        this.out = null;
     }
 
-    @Override public void close() throws Exception { child.close(); }
     @Override public Schema schema() { return outSchema; }
 }
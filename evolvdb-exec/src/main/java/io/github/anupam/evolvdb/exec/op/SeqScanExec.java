@@ -1,47 +1,70 @@
 package io.github.anupam.evolvdb.exec.op;
 
 import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.catalog.RowScan;
 import io.github.anupam.evolvdb.catalog.Table;
+import io.github.anupam.evolvdb.types.RowBuffer;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Tuple;
 
 import java.io.IOException;
-import java.util.Iterator;
 
-/** Sequential scan over a table. */
+/**
+ * Sequential scan over a table, consuming it a heap page at a time.
+ *
+ * Rows come out of one reusable buffer ({@link Table#scanRows}) with each column decoded on its first access, so
+ * nothing is allocated per row. With a column subset (the narrowed scan schema left by ProjectionPruningRule) the
+ * rows are bound to it. {@link #next()} copies the row into a Tuple.
+ */
 public final class SeqScanExec implements PhysicalOperator {
     private final CatalogManager catalog;
     private final String tableName;
+    private final Schema columns; // null = all columns
 
     private Table table;
-    private Iterator<Tuple> it;
+    private RowScan rows;
 
     public SeqScanExec(CatalogManager catalog, String tableName) {
+        this(catalog, tableName, null);
+    }
+
+    public SeqScanExec(CatalogManager catalog, String tableName, Schema columns) {
         this.catalog = catalog;
         this.tableName = tableName;
+        this.columns = columns;
     }
 
     @Override
     public void open() throws IOException {
         this.table = catalog.openTable(tableName);
-        this.it = table.scanTuples().iterator();
+        this.rows = table.scanRows(prunedColumns(table, columns));
     }
 
     @Override
     public Tuple next() {
-        if (it == null) return null;
-        if (!it.hasNext()) return null;
-        return it.next();
+        RowBuffer row = nextRow(null);
+        return row == null ? null : row.toTuple();
+    }
+
+    @Override
+    public RowBuffer nextRow(RowBuffer spare) {
+        return rows == null ? null : rows.next();
     }
 
     @Override
     public void close() {
         this.table = null;
-        this.it = null;
+        this.rows = null;
+    }
+
+    /** Returns {@code columns} if it leaves out some of the table's columns, else null (scan whole rows). */
+    static Schema prunedColumns(Table table, Schema columns) {
+        return columns == null || columns.size() == table.schema().size() ? null : columns;
     }
 
     @Override
     public Schema schema() {
+        if (columns != null) return columns;
         if (table != null) return table.schema();
         // fallback: when not opened yet, peek schema via catalog
         try {
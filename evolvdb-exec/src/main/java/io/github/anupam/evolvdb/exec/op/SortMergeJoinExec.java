@@ -51,6 +51,9 @@ public final class SortMergeJoinExec implements PhysicalOperator {
         for (Tuple t = left.next(); t != null; t = left.next()) lrows.add(t);
         for (Tuple t = right.next(); t != null; t = right.next()) rrows.add(t);
         right.close();
+        // A NULL key equals nothing, not even another NULL
+        lrows.removeIf(t -> keyOfLeft(t) == null);
+        rrows.removeIf(t -> keyOfRight(t) == null);
         // Sort both sides by their respective keys
         Comparator<Tuple> lcmp = Comparator.comparing(o -> (Comparable) keyOfLeft(o));
         Comparator<Tuple> rcmp = Comparator.comparing(o -> (Comparable) keyOfRight(o));
@@ -29,6 +29,7 @@ public final class FilterPlan implements PhysicalPlan {
 
     @Override
     public Cost estimate(CostModel model) {
-        return model.costFilter(child.estimate(model));
+        String table = child instanceof SeqScanPlan scan ? scan.tableName() : null;
+        return model.costFilter(child.estimate(model), table, predicate);
     }
 }
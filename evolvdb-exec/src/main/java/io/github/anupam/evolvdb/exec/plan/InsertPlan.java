@@ -14,9 +14,15 @@ import java.util.List;
 
 public final class InsertPlan implements PhysicalPlan {
     private final LogicalInsert insert;
+    private final PhysicalPlan child; // INSERT ... SELECT source, else null
 
     public InsertPlan(LogicalInsert insert) {
+        this(insert, null);
+    }
+
+    public InsertPlan(LogicalInsert insert, PhysicalPlan child) {
         this.insert = insert;
+        this.child = child;
     }
 
     @Override
@@ -25,15 +31,19 @@ public final class InsertPlan implements PhysicalPlan {
     }
 
     @Override
-    public List<PhysicalPlan> children() { return List.of(); }
+    public List<PhysicalPlan> children() { return child == null ? List.of() : List.of(child); }
 
     @Override
     public PhysicalOperator create(ExecContext context) {
-        return new InsertExec(context.catalog(), insert);
+        if (child == null) return new InsertExec(context.catalog(), insert);
+        return new InsertExec(context.catalog(), insert, child.create(context));
     }
 
     @Override
     public Cost estimate(CostModel model) {
-        return model.costInsert(insert.rows().size());
+        if (child == null) return model.costInsert(insert.rows().size());
+        Cost source = child.estimate(model);
+        Cost write = model.costInsert((int) Math.min(Integer.MAX_VALUE, source.rowCount()));
+        return Cost.of(write.rowCount(), source.cpu() + write.cpu(), source.io() + write.io());
     }
 }
@@ -1,6 +1,7 @@
 package io.github.anupam.evolvdb.exec.plan;
 
 import io.github.anupam.evolvdb.exec.ExecContext;
+import io.github.anupam.evolvdb.exec.op.ParallelScanExec;
 import io.github.anupam.evolvdb.exec.op.PhysicalOperator;
 import io.github.anupam.evolvdb.exec.op.SeqScanExec;
 import io.github.anupam.evolvdb.optimizer.Cost;
@@ -18,12 +19,16 @@ public final class SeqScanPlan implements PhysicalPlan {
         this.schema = schema;
     }
 
+    public String tableName() { return tableName; }
     @Override public Schema schema() { return schema; }
     @Override public List<PhysicalPlan> children() { return List.of(); }
 
     @Override
     public PhysicalOperator create(ExecContext context) {
-        return new SeqScanExec(context.catalog(), tableName);
+        if (context.scanParallelism() > 1) {
+            return new ParallelScanExec(context.catalog(), tableName, schema, context.scanParallelism());
+        }
+        return new SeqScanExec(context.catalog(), tableName, schema);
     }
 
     @Override
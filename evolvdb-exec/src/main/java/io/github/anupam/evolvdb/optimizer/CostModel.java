@@ -12,7 +12,9 @@ public interface CostModel {
 
     // Operator costs
     Cost costSeqScan(String tableName, Schema schema);
-    Cost costFilter(Cost child);
+    default Cost costFilter(Cost child) { return costFilter(child, null, null); }
+    /** {@code tableName} is the scanned table when the filter sits right on its scan, else null. */
+    Cost costFilter(Cost child, String tableName, Expr predicate);
     Cost costProject(Cost child);
     default Cost costNestedLoopJoin(Cost left, Cost right) { return costNestedLoopJoin(left, right, null); }
     default Cost costHashJoin(Cost left, Cost right) { return costHashJoin(left, right, null); }
@@ -1,9 +1,13 @@
 package io.github.anupam.evolvdb.optimizer;
 
 import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.optimizer.stats.ColumnStats;
 import io.github.anupam.evolvdb.optimizer.stats.StatsProvider;
 import io.github.anupam.evolvdb.optimizer.stats.TableStats;
+import io.github.anupam.evolvdb.sql.ast.ColumnRef;
 import io.github.anupam.evolvdb.sql.ast.Expr;
+import io.github.anupam.evolvdb.sql.ast.IsNullExpr;
+import io.github.anupam.evolvdb.sql.ast.LogicalExpr;
 
 /** Naive cost model with simple heuristics. */
 public final class DefaultCostModel implements CostModel {
@@ -38,14 +42,42 @@ public final class DefaultCostModel implements CostModel {
     }
 
     @Override
-    public Cost costFilter(Cost child) {
-        double rows = child.rowCount() * filterSel;
+    public Cost costFilter(Cost child, String tableName, Expr predicate) {
+        double rows = child.rowCount() * selectivity(tableName, predicate);
         // Add a small per-row predicate evaluation cost but keep total below scan in naive model
         double cpu = child.cpu() + child.rowCount() * 0.1;
         double io = child.io();
         return Cost.of(rows, cpu, io);
     }
 
+    /**
+     * Fraction of rows {@code predicate} keeps. {@code IS [NOT] NULL} on a column with stats uses its
+     * {@link ColumnStats#nullFraction()}; AND, OR and NOT combine their operands as if independent; anything else
+     * keeps {@link #filterSelectivity()}.
+     */
+    double selectivity(String tableName, Expr predicate) {
+        if (predicate instanceof IsNullExpr in) {
+            ColumnStats cs = null;
+            if (stats != null && tableName != null && in.operand() instanceof ColumnRef cr) {
+                cs = stats.getColumnStats(tableName, cr.column());
+            }
+            double nulls = cs != null ? cs.nullFraction() : filterSel;
+            return in.negated() ? 1 - nulls : nulls;
+        }
+        if (predicate instanceof LogicalExpr le) {
+            double l = selectivity(tableName, le.left());
+            return switch (le.op()) {
+                case NOT -> 1 - l;
+                case AND -> l * selectivity(tableName, le.right());
+                case OR -> {
+                    double r = selectivity(tableName, le.right());
+                    yield l + r - l * r;
+                }
+            };
+        }
+        return filterSel;
+    }
+
     @Override
     public Cost costProject(Cost child) {
         double rows = child.rowCount();
@@ -136,7 +136,7 @@ public final class Rules {
         @Override public boolean matches(LogicalPlan logical) { return logical instanceof LogicalInsert; }
         @Override public List<PhysicalPlan> apply(LogicalPlan logical, List<PhysicalPlan> optimizedChildren, ExecContext ctx) {
             LogicalInsert i = (LogicalInsert) logical;
-            return List.of(new InsertPlan(i));
+            return List.of(i.query() == null ? new InsertPlan(i) : new InsertPlan(i, optimizedChildren.get(0)));
         }
     }
 }
@@ -39,6 +39,10 @@ public final class ExprUtils {
             if (l.right() != null) collect(l.right(), out);
             return;
         }
+        if (e instanceof IsNullExpr n) {
+            collect(n.operand(), out);
+            return;
+        }
         if (e instanceof FuncCall f) {
             for (Expr a : f.args()) collect(a, out);
             return;
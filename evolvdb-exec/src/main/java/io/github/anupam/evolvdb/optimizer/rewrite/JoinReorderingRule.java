@@ -82,6 +82,7 @@ public final class JoinReorderingRule implements LogicalRule {
         if (plan instanceof LogicalProject p) return new LogicalProject(children.get(0), p.items(), p.schema());
         if (plan instanceof LogicalJoin j) return new LogicalJoin(children.get(0), children.get(1), j.type(), j.condition(), j.schema());
         if (plan instanceof LogicalAggregate a) return new LogicalAggregate(children.get(0), a.groupBy(), a.aggregates(), a.schema());
+        if (plan instanceof LogicalInsert i) return i.withQuery(children.get(0));
         return plan;
     }
 
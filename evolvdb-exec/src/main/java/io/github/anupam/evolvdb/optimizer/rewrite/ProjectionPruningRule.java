@@ -13,6 +13,7 @@ import java.util.*;
 /**
  * Inserts narrowing LogicalProject nodes to eliminate unused columns in subtrees.
  * Conservative: does not change existing Project schemas (avoids type inference).
+ * A scan is narrowed itself instead: its schema becomes the required columns, so it decodes only those.
  */
 public final class ProjectionPruningRule implements LogicalRule {
 
@@ -107,6 +108,10 @@ public final class ProjectionPruningRule implements LogicalRule {
             LogicalPlan rNarrow = maybeProject(newRight, rightReq);
             return new LogicalJoin(lNarrow, rNarrow, j.type(), j.condition(), j.schema());
         }
+        if (node instanceof LogicalInsert i && i.query() != null) {
+            // Every column the query produces is inserted, so prune it as a root of its own
+            return i.withQuery(prune(i.query()));
+        }
         // Scan or Insert: insert a narrowing project if possible
         return maybeProject(node, requiredAbove);
     }
@@ -117,6 +122,10 @@ public final class ProjectionPruningRule implements LogicalRule {
         List<ColumnMeta> keep = mapRequiredToColumns(required, schema);
         if (keep.size() == schema.size()) return child; // nothing to prune
         if (keep.isEmpty()) return child; // avoid empty projections (schema must be non-empty)
+        if (child instanceof LogicalScan s) {
+            // Push the column set into the scan
+            return new LogicalScan(s.tableName(), s.alias(), new Schema(keep));
+        }
         // Build items referencing exact schema column names we keep
         List<ProjectItem> items = new ArrayList<>();
         for (ColumnMeta cm : keep) {
@@ -18,7 +18,10 @@ import org.junit.jupiter.api.Test;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -81,4 +84,48 @@ public class AggregateExecTest {
             assertEquals(1, seen2);
         }
     }
+
+    @Test
+    void nullable_columns_count_and_sum_skip_nulls() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            Schema orders = new Schema(List.of(
+                    new ColumnMeta("user_id", Type.INT, null, true),
+                    new ColumnMeta("amount", Type.INT, null, true)
+            ));
+            cat.createTable("orders", orders);
+            var t = cat.openTable("orders");
+            t.insert(new Tuple(orders, List.of(1, 10)));
+            t.insert(new Tuple(orders, Arrays.asList(1, null)));
+            t.insert(new Tuple(orders, Arrays.asList(null, 5)));
+            t.insert(new Tuple(orders, Arrays.asList(2, null)));
+
+            List<Tuple> out = run(cat, "SELECT user_id, COUNT(*) AS n, COUNT(amount) AS c, SUM(amount) AS s, "
+                    + "AVG(amount) AS a FROM orders GROUP BY user_id");
+            // NULL keys form one group of their own; aggregates skip NULL inputs and are NULL without any
+            Map<Integer, List<Object>> byUser = new HashMap<>();
+            for (Tuple row : out) byUser.put((Integer) row.get(0), row.values().subList(1, 5));
+            assertEquals(3, byUser.size());
+            assertEquals(List.of(2L, 1L, 10L, 10.0f), byUser.get(1));
+            assertEquals(List.of(1L, 1L, 5L, 5.0f), byUser.get(null));
+            assertEquals(Arrays.asList(1L, 0L, null, null), byUser.get(2));
+
+            assertEquals(2, run(cat, "SELECT user_id FROM orders WHERE amount IS NULL").size());
+            assertEquals(1, run(cat,
+                    "SELECT user_id FROM orders WHERE amount IS NOT NULL AND user_id IS NOT NULL").size());
+            // amount > 1 is unknown for NULL amounts, so NOT keeps none of them
+            assertEquals(0, run(cat, "SELECT user_id FROM orders WHERE NOT amount > 1").size());
+        }
+    }
+
+    private static List<Tuple> run(CatalogManager cat, String sql) throws Exception {
+        Statement stmt = (Statement) new SqlParser().parse(sql);
+        LogicalPlan logical = new Analyzer().analyze(stmt, cat, List.of());
+        PhysicalOperator root = new PhysicalPlanner().plan(logical, new ExecContext(cat));
+        root.open();
+        List<Tuple> out = new ArrayList<>();
+        for (Tuple row = root.next(); row != null; row = root.next()) out.add(row);
+        root.close();
+        return out;
+    }
 }
@@ -0,0 +1,163 @@
+package io.github.anupam.evolvdb.exec;
+
+import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.core.Database;
+import io.github.anupam.evolvdb.exec.op.CopyExec;
+import io.github.anupam.evolvdb.exec.op.PhysicalOperator;
+import io.github.anupam.evolvdb.planner.analyzer.Analyzer;
+import io.github.anupam.evolvdb.sql.ast.Statement;
+import io.github.anupam.evolvdb.sql.parser.SqlParser;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopyExecTest {
+    private Path tmpDir;
+
+    private Database db() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-exec-copy-");
+        DbConfig cfg = DbConfig.builder().pageSize(4096).bufferPoolPages(64).dataDir(tmpDir).build();
+        return new Database(cfg);
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var walk = Files.walk(tmpDir)) {
+                walk.sorted((a,b)->b.getNameCount()-a.getNameCount()).forEach(p -> { try { Files.deleteIfExists(p); } catch (Exception ignored) {} });
+            }
+        }
+    }
+
+    private static final Schema USERS = new Schema(List.of(
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("name", Type.STRING, null),
+            new ColumnMeta("score", Type.BIGINT, null)
+    ));
+
+    @Test
+    void givenCsvLargerThanOneChunk_whenCopyFromThenTo_thenRowsRoundTripInOrder() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            cat.createTable("users", USERS);
+            cat.createTable("users_copy", USERS);
+            Path in = writeCsv(tmpDir.resolve("in.csv"), 100_000);
+            assertTrue(Files.size(in) > 2L * CopyExec.CHUNK_CHARS); // several chunks parsed in parallel
+
+            ExecContext ctx = new ExecContext(cat).withCopyParallelism(4);
+            assertEquals(100_000L, run(cat, ctx, "COPY users FROM '" + in + "'").get(0).get(0));
+
+            Path out = tmpDir.resolve("out.csv");
+            assertEquals(100_000L, run(cat, ctx, "COPY users TO '" + out + "'").get(0).get(0));
+            assertEquals(Files.readAllLines(in), Files.readAllLines(out));
+
+            run(cat, ctx, "COPY users_copy FROM '" + out + "'");
+            List<Tuple> rows = run(cat, ctx, "SELECT * FROM users_copy");
+            assertEquals(100_000, rows.size());
+            assertEquals(List.of(12_340, "user, \"12340\"", 12_340L * 7), rows.get(12_340).values());
+            assertEquals(List.of(12_341, "user 12341", 12_341L * 7), rows.get(12_341).values());
+        }
+    }
+
+    @Test
+    void givenOneColumnWithNullAndBlankStrings_whenCopyToThenFrom_thenEveryRowRoundTrips() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            Schema notes = new Schema(List.of(new ColumnMeta("note", Type.STRING, null, true)));
+            cat.createTable("notes", notes);
+            cat.createTable("notes_copy", notes);
+            List<List<Object>> values =
+                    List.of(Arrays.asList((Object) null), List.of(""), List.of("   "), List.of("x"));
+            var table = cat.openTable("notes");
+            for (List<Object> v : values) table.insert(new Tuple(table.schema(), v));
+
+            ExecContext ctx = new ExecContext(cat);
+            Path out = tmpDir.resolve("notes.csv");
+            assertEquals(4L, run(cat, ctx, "COPY notes TO '" + out + "'").get(0).get(0));
+            assertEquals(4L, run(cat, ctx, "COPY notes_copy FROM '" + out + "'").get(0).get(0));
+            List<List<Object>> copied = new ArrayList<>();
+            for (Tuple t : run(cat, ctx, "SELECT * FROM notes_copy")) copied.add(t.values());
+            assertEquals(values, copied);
+        }
+    }
+
+    @Test
+    void givenMalformedLine_whenCopyFrom_thenFailsWithLineNumber() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            cat.createTable("users", USERS);
+            Path in = tmpDir.resolve("bad.csv");
+            Files.write(in, List.of("1,a,1", "", "2,b,2", "three,c,3", "4,d,4"));
+            var e = assertThrows(IllegalArgumentException.class,
+                    () -> run(cat, new ExecContext(cat), "COPY users FROM '" + in + "'"));
+            assertTrue(e.getMessage().startsWith("line 4:"), e.getMessage());
+        }
+    }
+
+    @Test
+    void benchmark_copyFromVersusInsertValues() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            cat.createTable("users", USERS);
+            cat.createTable("users_ins", USERS);
+            int n = 200_000;
+            Path in = writeCsv(tmpDir.resolve("bench.csv"), n);
+            ExecContext ctx = new ExecContext(cat);
+
+            long t0 = System.nanoTime();
+            run(cat, ctx, "COPY users FROM '" + in + "'");
+            long t1 = System.nanoTime();
+            StringBuilder sql = new StringBuilder("INSERT INTO users_ins VALUES ");
+            for (int i = 0; i < n / 10; i++) {
+                if (i > 0) sql.append(", ");
+                sql.append('(').append(i).append(", 'user ").append(i).append("', ").append(i * 7L).append(')');
+            }
+            long t2 = System.nanoTime();
+            run(cat, ctx, sql.toString());
+            long t3 = System.nanoTime();
+            Path out = tmpDir.resolve("bench-out.csv");
+            run(cat, ctx, "COPY users TO '" + out + "'");
+            long t4 = System.nanoTime();
+
+            System.out.printf("copy %d rows: COPY FROM rows/s=%.0f (threads=%d) | INSERT VALUES rows/s=%.0f | COPY TO rows/s=%.0f%n",
+                    n, n / ((t1 - t0) / 1e9), ctx.copyParallelism(), (n / 10) / ((t3 - t2) / 1e9), n / ((t4 - t3) / 1e9));
+        }
+    }
+
+    private static Path writeCsv(Path file, int rows) throws Exception {
+        try (BufferedWriter w = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < rows; i++) {
+                // Every 5th name needs quoting: a comma plus embedded quotes
+                String name = (i % 5 == 0) ? "\"user, \"\"" + i + "\"\"\"" : "user " + i;
+                w.write(i + "," + name + "," + (i * 7L) + "\n");
+            }
+        }
+        return file;
+    }
+
+    private static List<Tuple> run(CatalogManager cat, ExecContext ctx, String sql) throws Exception {
+        Statement stmt = (Statement) new SqlParser().parse(sql);
+        PhysicalOperator op = new PhysicalPlanner().plan(new Analyzer().analyze(stmt, cat, List.of()), ctx);
+        List<Tuple> out = new ArrayList<>();
+        op.open();
+        try {
+            for (Tuple t = op.next(); t != null; t = op.next()) out.add(t);
+        } finally {
+            op.close();
+        }
+        return out;
+    }
+}
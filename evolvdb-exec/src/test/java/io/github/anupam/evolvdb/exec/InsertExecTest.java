@@ -1,6 +1,7 @@
 package io.github.anupam.evolvdb.exec;
 
 import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.catalog.Table;
 import io.github.anupam.evolvdb.config.DbConfig;
 import io.github.anupam.evolvdb.core.Database;
 import io.github.anupam.evolvdb.exec.op.PhysicalOperator;
@@ -227,4 +228,114 @@ public class InsertExecTest {
             assertTrue(names.contains("Mango"));
         }
     }
+
+    @Test
+    void givenInsertSelectWithColumnList_whenExecute_thenRowsMappedByName() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            cat.createTable("src", new Schema(List.of(
+                    new ColumnMeta("id", Type.INT, null),
+                    new ColumnMeta("name", Type.STRING, null),
+                    new ColumnMeta("age", Type.INT, null)
+            )));
+            cat.createTable("dst", new Schema(List.of(
+                    new ColumnMeta("name", Type.STRING, null),
+                    new ColumnMeta("id", Type.BIGINT, null)
+            )));
+            StringBuilder values = new StringBuilder("INSERT INTO src VALUES ");
+            for (int i = 0; i < 1000; i++) {
+                if (i > 0) values.append(", ");
+                values.append('(').append(i).append(", 'n").append(i).append("', ").append(i % 50).append(')');
+            }
+            for (boolean optimize : new boolean[] {false, true}) {
+                ExecContext ctx = new ExecContext(cat, optimize);
+                if (!optimize) run(cat, ctx, values.toString());
+                // Target list order differs from the table's; INT ids widen into the BIGINT column
+                List<Tuple> res = run(cat, ctx, "INSERT INTO dst (id, name) SELECT id, name FROM src WHERE age < 10");
+                assertEquals(200, res.get(0).get(0));
+            }
+            List<Tuple> rows = run(cat, new ExecContext(cat), "SELECT * FROM dst");
+            assertEquals(400, rows.size());
+            assertEquals(List.of("n1", 1L), rows.get(1).values());
+            assertEquals(List.of("n51", 51L), rows.get(11).values());
+        }
+    }
+
+    @Test
+    void givenInsertSelectFromSameTable_whenExecute_thenRowsDoubledOnce() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            cat.createTable("t", new Schema(List.of(
+                    new ColumnMeta("id", Type.INT, null),
+                    new ColumnMeta("pad", Type.STRING, null)
+            )));
+            ExecContext ctx = new ExecContext(cat);
+            run(cat, ctx, "INSERT INTO t VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+            for (int round = 0; round < 8; round++) {
+                run(cat, ctx, "INSERT INTO t SELECT id + 0, pad FROM t");
+            }
+            // Each round inserts exactly the rows present when it started, never its own output
+            assertEquals(3 * 256, run(cat, ctx, "SELECT * FROM t").size());
+        }
+    }
+
+    @Test
+    void givenMismatchedSelect_whenAnalyze_thenRejected() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            cat.createTable("a", new Schema(List.of(
+                    new ColumnMeta("id", Type.INT, null),
+                    new ColumnMeta("name", Type.STRING, null)
+            )));
+            SqlParser parser = new SqlParser();
+            Analyzer analyzer = new Analyzer();
+            assertThrows(RuntimeException.class, () -> analyzer.analyze(
+                    (Statement) parser.parse("INSERT INTO a SELECT id FROM a"), cat, List.of()));
+            assertThrows(RuntimeException.class, () -> analyzer.analyze(
+                    (Statement) parser.parse("INSERT INTO a SELECT name, id FROM a"), cat, List.of()));
+        }
+    }
+
+    @Test
+    void benchmark_insertValuesAndInsertSelect() throws Exception {
+        try (Database db = db()) {
+            CatalogManager cat = db.catalog();
+            Schema schema = new Schema(List.of(
+                    new ColumnMeta("id", Type.INT, null),
+                    new ColumnMeta("name", Type.STRING, null),
+                    new ColumnMeta("score", Type.BIGINT, null)
+            ));
+            cat.createTable("src", schema);
+            cat.createTable("dst", schema);
+            int n = 20_000;
+            StringBuilder sql = new StringBuilder("INSERT INTO src VALUES ");
+            for (int i = 0; i < n; i++) {
+                if (i > 0) sql.append(", ");
+                sql.append('(').append(i).append(", 'user ").append(i).append("', ").append(i * 7L).append(')');
+            }
+            ExecContext ctx = new ExecContext(cat);
+            long t0 = System.nanoTime();
+            run(cat, ctx, sql.toString());
+            long t1 = System.nanoTime();
+            int copies = 10;
+            for (int i = 0; i < copies; i++) run(cat, ctx, "INSERT INTO dst SELECT * FROM src");
+            long t2 = System.nanoTime();
+            System.out.printf("insert %d rows: VALUES rows/s=%.0f | SELECT rows/s=%.0f (batch=%d)%n", n,
+                    n / ((t1 - t0) / 1e9), (long) n * copies / ((t2 - t1) / 1e9), Table.INSERT_BATCH);
+            assertEquals(n * copies, run(cat, ctx, "SELECT * FROM dst").size());
+        }
+    }
+
+    private static List<Tuple> run(CatalogManager cat, ExecContext ctx, String sql) throws Exception {
+        Statement stmt = (Statement) new SqlParser().parse(sql);
+        PhysicalOperator op = new PhysicalPlanner().plan(new Analyzer().analyze(stmt, cat, List.of()), ctx);
+        List<Tuple> out = new ArrayList<>();
+        op.open();
+        try {
+            for (Tuple t = op.next(); t != null; t = op.next()) out.add(t);
+        } finally {
+            op.close();
+        }
+        return out;
+    }
 }
@@ -0,0 +1,127 @@
+package io.github.anupam.evolvdb.exec;
+
+import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.core.Database;
+import io.github.anupam.evolvdb.exec.op.ParallelScanExec;
+import io.github.anupam.evolvdb.exec.op.PhysicalOperator;
+import io.github.anupam.evolvdb.planner.analyzer.Analyzer;
+import io.github.anupam.evolvdb.planner.logical.LogicalPlan;
+import io.github.anupam.evolvdb.sql.ast.Statement;
+import io.github.anupam.evolvdb.sql.parser.SqlParser;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelScanExecTest {
+    private Path tmpDir;
+
+    private Database db(int poolPages) throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-pscan-");
+        DbConfig cfg = DbConfig.builder().pageSize(4096).bufferPoolPages(poolPages).dataDir(tmpDir).build();
+        return new Database(cfg);
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var walk = Files.walk(tmpDir)) {
+                walk.sorted((a,b)->b.getNameCount()-a.getNameCount()).forEach(p -> { try { Files.deleteIfExists(p); } catch (Exception ignored) {} });
+            }
+        }
+    }
+
+    private static void load(CatalogManager cat, int rows) throws Exception {
+        Schema schema = new Schema(List.of(
+                new ColumnMeta("id", Type.INT, null),
+                new ColumnMeta("v", Type.INT, null)
+        ));
+        cat.createTable("t", schema);
+        var table = cat.openTable("t");
+        List<Tuple> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) batch.add(new Tuple(table.schema(), List.of(i, i % 1000)));
+        table.insertAll(batch);
+    }
+
+    private static List<Tuple> run(CatalogManager cat, String sql, ExecContext ctx) throws Exception {
+        LogicalPlan logical = new Analyzer().analyze((Statement) new SqlParser().parse(sql), cat, List.of());
+        PhysicalOperator root = new PhysicalPlanner().plan(logical, ctx);
+        root.open();
+        List<Tuple> out = new ArrayList<>();
+        try {
+            for (Tuple t = root.next(); t != null; t = root.next()) out.add(t);
+        } finally {
+            root.close();
+        }
+        return out;
+    }
+
+    @Test
+    void givenScanFilterProject_whenRunWithFourThreads_thenSameRowsAsSerial() throws Exception {
+        try (Database db = db(64)) {
+            CatalogManager cat = db.catalog();
+            load(cat, 20_000);
+            String sql = "SELECT id FROM t WHERE v < 10";
+            List<Tuple> serial = run(cat, sql, new ExecContext(cat));
+            ExecContext parallelCtx = new ExecContext(cat).withScanParallelism(4);
+            PhysicalOperator root = new PhysicalPlanner().plan(
+                    new Analyzer().analyze((Statement) new SqlParser().parse(sql), cat, List.of()), parallelCtx);
+            assertInstanceOf(ParallelScanExec.class, root);
+
+            List<Tuple> parallel = run(cat, sql, parallelCtx);
+            assertEquals(200, serial.size());
+            List<Integer> a = new ArrayList<>(), b = new ArrayList<>();
+            for (Tuple t : serial) a.add((Integer) t.get(0));
+            for (Tuple t : parallel) b.add((Integer) t.get(0));
+            a.sort(null);
+            b.sort(null);
+            assertEquals(a, b);
+        }
+    }
+
+    @Test
+    void givenOpenScan_whenClosedEarly_thenWorkersStop() throws Exception {
+        try (Database db = db(64)) {
+            CatalogManager cat = db.catalog();
+            load(cat, 20_000);
+            var scan = new ParallelScanExec(cat, "t", null, null, null, 4, 1);
+            scan.open();
+            assertNotNull(scan.next());
+            scan.close(); // returns once every worker has stopped
+            assertNull(scan.next());
+        }
+    }
+
+    @Test
+    void givenLargeTable_whenScanFilterCountAtOneToSixteenThreads_thenReportsThroughput() throws Exception {
+        int rows = 500_000;
+        try (Database db = db(8192)) {
+            CatalogManager cat = db.catalog();
+            load(cat, rows);
+            StringBuilder line = new StringBuilder("scan-filter-count " + rows + " rows, "
+                    + Runtime.getRuntime().availableProcessors() + " cpus:");
+            for (int threads : new int[] {1, 4, 16}) {
+                ExecContext ctx = new ExecContext(cat).withScanParallelism(threads);
+                double best = 0;
+                for (int round = 0; round < 3; round++) {
+                    long t0 = System.nanoTime();
+                    int n = run(cat, "SELECT id FROM t WHERE v < 500", ctx).size();
+                    best = Math.max(best, rows / ((System.nanoTime() - t0) / 1e9));
+                    assertEquals(rows / 2, n);
+                }
+                line.append(String.format(" | threads=%d rows/s=%.0f", threads, best));
+            }
+            System.out.println(line);
+        }
+    }
+}
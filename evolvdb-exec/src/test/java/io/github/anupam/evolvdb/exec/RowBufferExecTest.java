@@ -0,0 +1,188 @@
+package io.github.anupam.evolvdb.exec;
+
+import io.github.anupam.evolvdb.catalog.CatalogManager;
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.core.Database;
+import io.github.anupam.evolvdb.exec.op.FilterExec;
+import io.github.anupam.evolvdb.exec.op.HashJoinExec;
+import io.github.anupam.evolvdb.exec.op.PhysicalOperator;
+import io.github.anupam.evolvdb.exec.op.ProjectExec;
+import io.github.anupam.evolvdb.exec.op.SeqScanExec;
+import io.github.anupam.evolvdb.planner.logical.ProjectItem;
+import io.github.anupam.evolvdb.sql.ast.BinaryExpr;
+import io.github.anupam.evolvdb.sql.ast.ColumnRef;
+import io.github.anupam.evolvdb.sql.ast.ComparisonExpr;
+import io.github.anupam.evolvdb.sql.ast.Expr;
+import io.github.anupam.evolvdb.sql.ast.Literal;
+import io.github.anupam.evolvdb.sql.ast.SourcePos;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.RowBuffer;
+import io.github.anupam.evolvdb.types.RowFormat;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowBufferExecTest {
+    private static final SourcePos POS = new SourcePos(1, 1);
+    private static final Schema FACTS = new Schema(List.of(
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("name", Type.STRING, null),
+            new ColumnMeta("score", Type.BIGINT, null),
+            new ColumnMeta("ratio", Type.FLOAT, null)
+    ));
+    private static final Schema DIM = new Schema(List.of(
+            new ColumnMeta("key", Type.BIGINT, null),
+            new ColumnMeta("label", Type.STRING, null)
+    ));
+    private static final Schema PROJECTED = new Schema(List.of(
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("double_score", Type.BIGINT, null)
+    ));
+
+    private Path tmpDir;
+
+    private Database db(int facts, int dims) throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-exec-rows-");
+        Database db = new Database(DbConfig.builder().pageSize(4096).bufferPoolPages(256).dataDir(tmpDir).build());
+        CatalogManager cat = db.catalog();
+        cat.createTable("facts", FACTS, RowFormat.OFFSETS);
+        cat.createTable("dim", DIM, RowFormat.OFFSETS);
+        List<Tuple> rows = new ArrayList<>();
+        for (int i = 0; i < facts; i++) rows.add(new Tuple(FACTS, List.of(i, "name " + i, i * 7L, i / 4f)));
+        cat.openTable("facts").insertAll(rows);
+        rows.clear();
+        for (int i = 0; i < dims; i++) rows.add(new Tuple(DIM, List.of(i * 100L, "label " + i)));
+        cat.openTable("dim").insertAll(rows);
+        return db;
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var walk = Files.walk(tmpDir)) {
+                walk.sorted((a,b)->b.getNameCount()-a.getNameCount()).forEach(p -> { try { Files.deleteIfExists(p); } catch (Exception ignored) {} });
+            }
+        }
+    }
+
+    private static Expr col(String name) { return new ColumnRef(POS, null, name); }
+
+    private static PhysicalOperator filter(CatalogManager cat) {
+        // score + 1 < 3500: a third of the rows
+        return new FilterExec(new SeqScanExec(cat, "facts"), new ComparisonExpr(POS, ComparisonExpr.Op.LT,
+                new BinaryExpr(POS, BinaryExpr.Op.ADD, col("score"), new Literal(POS, 1)), new Literal(POS, 3_500)));
+    }
+
+    private static PhysicalOperator project(CatalogManager cat) {
+        return new ProjectExec(new SeqScanExec(cat, "facts"), List.of(
+                new ProjectItem(col("id"), "id"),
+                new ProjectItem(new BinaryExpr(POS, BinaryExpr.Op.MUL, col("score"), new Literal(POS, 2L)), "double_score")),
+                PROJECTED);
+    }
+
+    private static PhysicalOperator join(CatalogManager cat) {
+        List<ColumnMeta> out = new ArrayList<>(FACTS.columns());
+        out.addAll(DIM.columns());
+        return new HashJoinExec(new SeqScanExec(cat, "facts"), new SeqScanExec(cat, "dim"),
+                col("id"), col("key"), new Schema(out), Set.of(), Set.of());
+    }
+
+    @Test
+    void givenPipeline_whenPulledAsRows_thenOneBufferReusedAndValuesMatchTuples() throws Exception {
+        try (Database db = db(1_500, 10)) {
+            CatalogManager cat = db.catalog();
+            for (PhysicalOperator op : List.of(filter(cat), project(cat))) {
+                List<List<Object>> viaTuples = new ArrayList<>();
+                op.open();
+                for (Tuple t = op.next(); t != null; t = op.next()) viaTuples.add(t.values());
+                op.close();
+
+                List<List<Object>> viaRows = new ArrayList<>();
+                RowBuffer first = null;
+                op.open();
+                for (RowBuffer r = op.nextRow(null); r != null; r = op.nextRow(null)) {
+                    if (first == null) first = r;
+                    assertSame(first, r);
+                    viaRows.add(r.toTuple().values());
+                }
+                op.close();
+                assertEquals(viaTuples, viaRows);
+            }
+            assertEquals(500, run(filter(cat)).size());
+            assertEquals(List.of(3, 42L), run(project(cat)).get(3).values());
+        }
+    }
+
+    @Test
+    void givenLeftRowsWithoutMatches_whenHashJoin_thenEveryMatchFoundAcrossIntAndBigintKeys() throws Exception {
+        try (Database db = db(1_500, 20)) {
+            List<Tuple> rows = run(join(db.catalog()));
+            // keys 0, 100, ..., 1900 of which 0..1400 exist on the left
+            assertEquals(15, rows.size());
+            assertEquals(List.of(300, "name 300", 2_100L, 75f, 300L, "label 3"), rows.get(3).values());
+        }
+    }
+
+    @Test
+    void benchmark_allocationPerRowForScanFilterProjectAndHashJoin() throws Exception {
+        int n = 100_000;
+        try (Database db = db(n, 1_000)) {
+            CatalogManager cat = db.catalog();
+            var mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long self = Thread.currentThread().getId();
+            String[] names = {"scan", "filter", "project", "hash join"};
+            for (int round = 0; round < 3; round++) { // the last round is reported, after warm-up
+                StringBuilder report = new StringBuilder("allocation per scanned row (" + n + " rows):");
+                for (int q = 0; q < names.length; q++) {
+                    double[] bytes = new double[2];
+                    double[] rate = new double[2];
+                    for (int mode = 0; mode < 2; mode++) {
+                        PhysicalOperator op = switch (q) {
+                            case 0 -> new SeqScanExec(cat, "facts");
+                            case 1 -> filter(cat);
+                            case 2 -> project(cat);
+                            default -> join(cat);
+                        };
+                        long a0 = mx.getThreadAllocatedBytes(self);
+                        long t0 = System.nanoTime();
+                        op.open();
+                        if (mode == 0) {
+                            for (Tuple t = op.next(); t != null; t = op.next()) { }
+                        } else {
+                            for (RowBuffer r = op.nextRow(null); r != null; r = op.nextRow(null)) { }
+                        }
+                        op.close();
+                        rate[mode] = n / ((System.nanoTime() - t0) / 1e9);
+                        bytes[mode] = (double) (mx.getThreadAllocatedBytes(self) - a0) / n;
+                    }
+                    report.append(String.format(" | %s tuples=%.1f B (%.0f rows/s) rows=%.1f B (%.0f rows/s)",
+                            names[q], bytes[0], rate[0], bytes[1], rate[1]));
+                    if (round == 2) assertTrue(bytes[1] < 16, names[q] + " allocates " + bytes[1] + " B/row");
+                }
+                if (round == 2) System.out.println(report);
+            }
+        }
+    }
+
+    private static List<Tuple> run(PhysicalOperator op) throws Exception {
+        List<Tuple> out = new ArrayList<>();
+        op.open();
+        try {
+            for (Tuple t = op.next(); t != null; t = op.next()) out.add(t);
+        } finally {
+            op.close();
+        }
+        return out;
+    }
+}
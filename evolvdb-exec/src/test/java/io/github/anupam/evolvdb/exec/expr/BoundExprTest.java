@@ -0,0 +1,129 @@
+package io.github.anupam.evolvdb.exec.expr;
+
+import io.github.anupam.evolvdb.sql.ast.*;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.RowBuffer;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Tuple;
+import io.github.anupam.evolvdb.types.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundExprTest {
+    private static final SourcePos POS = new SourcePos(1, 1);
+    private static final Schema ROW = new Schema(List.of(
+            new ColumnMeta("i", Type.INT, null),
+            new ColumnMeta("b", Type.BIGINT, null),
+            new ColumnMeta("f", Type.FLOAT, null),
+            new ColumnMeta("ok", Type.BOOLEAN, null),
+            new ColumnMeta("s", Type.STRING, null)
+    ));
+
+    private static Expr col(String name) { return new ColumnRef(POS, null, name); }
+    private static Expr lit(Object v) { return new Literal(POS, v); }
+    private static Expr bin(BinaryExpr.Op op, Expr l, Expr r) { return new BinaryExpr(POS, op, l, r); }
+    private static Expr cmp(ComparisonExpr.Op op, Expr l, Expr r) { return new ComparisonExpr(POS, op, l, r); }
+
+    @Test
+    void givenExpressions_whenBoundAndEvaluated_thenSameValuesAsExprEvaluator() {
+        Tuple tuple = new Tuple(ROW, List.of(Integer.MAX_VALUE, 5L, 2.5f, true, "x"));
+        RowBuffer row = RowBuffer.of(tuple);
+        List<Expr> exprs = List.of(
+                bin(BinaryExpr.Op.ADD, col("i"), lit(1)),              // INT overflow wraps, as boxed
+                bin(BinaryExpr.Op.ADD, col("i"), lit(1L)),             // widened to BIGINT
+                bin(BinaryExpr.Op.MUL, col("b"), col("f")),            // FLOAT wins
+                bin(BinaryExpr.Op.DIV, col("b"), lit(2)),
+                bin(BinaryExpr.Op.CONCAT, col("s"), col("i")),
+                cmp(ComparisonExpr.Op.GT, col("f"), col("b")),
+                cmp(ComparisonExpr.Op.LTE, col("i"), lit(3_000_000_000L)),
+                cmp(ComparisonExpr.Op.EQ, col("ok"), lit(true)),
+                cmp(ComparisonExpr.Op.LT, col("s"), lit("y")),
+                new LogicalExpr(POS, LogicalExpr.Op.AND, col("ok"), cmp(ComparisonExpr.Op.NEQ, col("b"), lit(5))),
+                new LogicalExpr(POS, LogicalExpr.Op.NOT, col("ok"), null),
+                col("s"));
+        ExprEvaluator evaluator = new ExprEvaluator();
+        for (Expr e : exprs) {
+            assertEquals(evaluator.eval(e, tuple, ROW), BoundExpr.bind(e, ROW).eval(row, null), e.toString());
+        }
+        assertEquals(Type.INT, BoundExpr.bind(exprs.get(0), ROW).type());
+        assertEquals(Type.BIGINT, BoundExpr.bind(exprs.get(1), ROW).type());
+        assertEquals(Type.FLOAT, BoundExpr.bind(exprs.get(2), ROW).type());
+        assertEquals(Type.BOOLEAN, BoundExpr.bind(exprs.get(8), ROW).type());
+    }
+
+    @Test
+    void givenJoinInputs_whenBound_thenQualifiedColumnsReadFromTheirSide() {
+        Schema left = new Schema(List.of(new ColumnMeta("id", Type.INT, null)));
+        Schema right = new Schema(List.of(new ColumnMeta("id", Type.BIGINT, null)));
+        RowBuffer l = RowBuffer.of(new Tuple(left, List.of(3)));
+        RowBuffer r = RowBuffer.of(new Tuple(right, List.of(3L)));
+        Expr eq = cmp(ComparisonExpr.Op.EQ, new ColumnRef(POS, "u", "id"), new ColumnRef(POS, "o", "id"));
+        assertTrue(BoundExpr.bind(eq, left, right, Set.of("u"), Set.of("o")).test(l, r));
+        assertThrows(IllegalArgumentException.class,
+                () -> BoundExpr.bind(col("id"), left, right, Set.of("u"), Set.of("o")));
+        assertThrows(IllegalArgumentException.class, () -> BoundExpr.bind(col("missing"), left));
+    }
+
+    @Test
+    void givenTargetColumn_whenEvalInto_thenTypeMismatchRejectedLikeTuple() {
+        RowBuffer row = RowBuffer.of(new Tuple(ROW, List.of(1, 2L, 0.5f, false, "x")));
+        Schema out = new Schema(List.of(
+                new ColumnMeta("n", Type.INT, null),
+                new ColumnMeta("v", Type.VARCHAR, 2)
+        ));
+        RowBuffer target = new RowBuffer(out);
+        BoundExpr.bind(bin(BinaryExpr.Op.SUB, col("i"), lit(5)), ROW).evalInto(row, null, target, 0);
+        BoundExpr.bind(col("s"), ROW).evalInto(row, null, target, 1);
+        assertEquals(List.of(-4, "x"), target.toTuple().values());
+        assertThrows(IllegalArgumentException.class,
+                () -> BoundExpr.bind(col("b"), ROW).evalInto(row, null, target, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> BoundExpr.bind(bin(BinaryExpr.Op.CONCAT, col("s"), lit("yz")), ROW).evalInto(row, null, target, 1));
+        assertThrows(IllegalStateException.class,
+                () -> BoundExpr.bind(new FuncCall(POS, "sum", List.of(col("i")), false), ROW).eval(row, null));
+    }
+
+    @Test
+    void givenNullableColumns_whenBoundAndEvaluated_thenThreeValuedLogicMatchesExprEvaluator() {
+        Schema schema = new Schema(List.of(
+                new ColumnMeta("n", Type.INT, null, true),
+                new ColumnMeta("ok", Type.BOOLEAN, null, true),
+                new ColumnMeta("i", Type.INT, null)
+        ));
+        Expr unknown = cmp(ComparisonExpr.Op.GT, col("n"), lit(1));
+        List<Expr> exprs = List.of(
+                bin(BinaryExpr.Op.ADD, col("n"), col("i")),
+                unknown,
+                new LogicalExpr(POS, LogicalExpr.Op.AND, unknown, lit(false)),
+                new LogicalExpr(POS, LogicalExpr.Op.AND, unknown, lit(true)),
+                new LogicalExpr(POS, LogicalExpr.Op.OR, col("ok"), lit(true)),
+                new LogicalExpr(POS, LogicalExpr.Op.OR, col("ok"), lit(false)),
+                new LogicalExpr(POS, LogicalExpr.Op.NOT, col("ok"), null),
+                new IsNullExpr(POS, col("n"), false),
+                new IsNullExpr(POS, bin(BinaryExpr.Op.MUL, col("i"), lit(2)), true));
+        ExprEvaluator evaluator = new ExprEvaluator();
+        for (Tuple tuple : List.of(
+                new Tuple(schema, Arrays.asList(null, null, 4)),
+                new Tuple(schema, Arrays.asList(3, true, 4)))) {
+            RowBuffer row = RowBuffer.of(tuple);
+            for (Expr e : exprs) {
+                Object expected = evaluator.eval(e, tuple, schema);
+                assertEquals(expected, BoundExpr.bind(e, schema).eval(row, null), e.toString());
+                BoundExpr bound = BoundExpr.bind(e, schema);
+                if (bound.type() == Type.BOOLEAN) {
+                    assertEquals(Boolean.TRUE.equals(expected), bound.test(row, null), e.toString());
+                }
+            }
+        }
+        Tuple nulls = new Tuple(schema, Arrays.asList(null, null, 4));
+        assertNull(evaluator.eval(exprs.get(3), nulls, schema));
+        assertEquals(false, evaluator.eval(exprs.get(2), nulls, schema));
+        assertEquals(true, evaluator.eval(exprs.get(4), nulls, schema));
+        assertEquals(true, evaluator.eval(exprs.get(7), nulls, schema));
+    }
+}
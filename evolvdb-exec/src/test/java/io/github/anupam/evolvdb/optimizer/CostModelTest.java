@@ -1,7 +1,15 @@
 package io.github.anupam.evolvdb.optimizer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.anupam.evolvdb.optimizer.stats.impl.InMemoryStatsProvider;
+import io.github.anupam.evolvdb.sql.ast.ColumnRef;
+import io.github.anupam.evolvdb.sql.ast.Expr;
+import io.github.anupam.evolvdb.sql.ast.IsNullExpr;
+import io.github.anupam.evolvdb.sql.ast.Literal;
+import io.github.anupam.evolvdb.sql.ast.LogicalExpr;
+import io.github.anupam.evolvdb.sql.ast.SourcePos;
 import io.github.anupam.evolvdb.types.ColumnMeta;
 import io.github.anupam.evolvdb.types.Schema;
 import io.github.anupam.evolvdb.types.Type;
@@ -26,4 +34,22 @@ public class CostModelTest {
         assertTrue(hj.total() < smj.total());
         assertTrue(smj.total() < nlj.total());
     }
+
+    @Test
+    void is_null_selectivity_uses_null_fraction() {
+        InMemoryStatsProvider stats = new InMemoryStatsProvider().putTable("t", 1000).putColumn("t", "c", 10, 0.2);
+        DefaultCostModel m = new DefaultCostModel(stats);
+        Cost scan = m.costSeqScan("t", new Schema(List.of(new ColumnMeta("c", Type.INT, null, true))));
+        SourcePos pos = new SourcePos(1, 1);
+        Expr isNull = new IsNullExpr(pos, new ColumnRef(pos, null, "c"), false);
+        Expr notNull = new IsNullExpr(pos, new ColumnRef(pos, null, "c"), true);
+
+        assertEquals(200, m.costFilter(scan, "t", isNull).rowCount(), 1e-9);
+        assertEquals(800, m.costFilter(scan, "t", notNull).rowCount(), 1e-9);
+        Expr not = new LogicalExpr(pos, LogicalExpr.Op.NOT, isNull, null);
+        Expr noStats = new IsNullExpr(pos, new ColumnRef(pos, null, "x"), false);
+        assertEquals(800, m.costFilter(scan, "t", not).rowCount(), 1e-9);
+        assertEquals(100, m.costFilter(scan, "t", noStats).rowCount(), 1e-9); // default selectivity
+        assertEquals(m.costFilter(scan).rowCount(), m.costFilter(scan, "t", new Literal(pos, true)).rowCount(), 1e-9);
+    }
 }
@@ -0,0 +1,46 @@
+package io.github.anupam.evolvdb.optimizer.rewrite;
+
+import io.github.anupam.evolvdb.planner.logical.*;
+import io.github.anupam.evolvdb.sql.ast.*;
+import io.github.anupam.evolvdb.types.ColumnMeta;
+import io.github.anupam.evolvdb.types.Schema;
+import io.github.anupam.evolvdb.types.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionPruningRuleTest {
+    private static final SourcePos POS = new SourcePos(1, 1);
+
+    private Schema wide() {
+        return new Schema(List.of(
+                new ColumnMeta("id", Type.INT, null),
+                new ColumnMeta("name", Type.STRING, null),
+                new ColumnMeta("v", Type.INT, null),
+                new ColumnMeta("note", Type.STRING, null)));
+    }
+
+    @Test
+    void givenProjectOverFilteredScan_whenPruned_thenScanKeepsOnlyReferencedColumnsInTableOrder() {
+        LogicalPlan scan = new LogicalScan("wide", null, wide());
+        Expr pred = new ComparisonExpr(POS, ComparisonExpr.Op.LT, new ColumnRef(POS, null, "v"), new Literal(POS, 10));
+        Schema out = new Schema(List.of(new ColumnMeta("id", Type.INT, null)));
+        LogicalPlan root = new LogicalProject(new LogicalFilter(scan, pred),
+                List.of(new ProjectItem(new ColumnRef(POS, null, "id"), "id")), out);
+
+        LogicalPlan pruned = new ProjectionPruningRule().prune(root);
+        LogicalFilter f = assertInstanceOf(LogicalFilter.class, pruned.children().get(0));
+        LogicalScan s = assertInstanceOf(LogicalScan.class, f.child()); // narrowed in place, no Project between
+        assertEquals("wide", s.tableName());
+        assertEquals(List.of("id", "v"), s.schema().columns().stream().map(ColumnMeta::name).toList());
+    }
+
+    @Test
+    void givenAllColumnsUsed_whenPruned_thenScanUnchanged() {
+        LogicalPlan scan = new LogicalScan("wide", null, wide());
+        LogicalPlan pruned = new ProjectionPruningRule().prune(scan);
+        assertSame(scan, pruned);
+    }
+}
@@ -25,6 +25,7 @@ public final class Binder {
         Objects.requireNonNull(catalog, "catalog");
         if (stmt instanceof Select sel) return bindSelect(sel, catalog);
         if (stmt instanceof Insert ins) return bindInsert(ins, catalog);
+        if (stmt instanceof Copy cp) return bindCopy(cp, catalog);
         if (stmt instanceof CreateTable || stmt instanceof DropTable) {
             // DDL: planner is not responsible for execution here; return a no-op logical plan later if needed
             throw new UnsupportedOperationException("DDL binding not implemented in planner");
@@ -141,7 +142,7 @@ public final class Binder {
                     Expr e = new ColumnRef(sel.pos(), tb.preferredQualifier(), cm.name());
                     String name = tb.preferredQualifier() + "." + cm.name();
                     items.add(new ProjectItem(e, name));
-                    outCols.add(new ColumnMeta(name, cm.type(), cm.length()));
+                    outCols.add(new ColumnMeta(name, cm.type(), cm.length(), cm.nullable()));
                 }
             }
             Schema outSchema = new Schema(outCols);
@@ -185,38 +186,97 @@ public final class Binder {
                 targetCols.add(cm);
             }
         }
-        return new LogicalInsert(tm.name(), targetCols, ins.rows(), schema);
+        if (ins.query() == null) return new LogicalInsert(tm.name(), targetCols, ins.rows(), schema);
+
+        LogicalPlan query = bindSelect(ins.query(), catalog);
+        List<ColumnMeta> produced = query.schema().columns();
+        if (produced.size() != targetCols.size()) {
+            throw err(ins.pos(), "INSERT ... SELECT produces " + produced.size() + " columns but "
+                    + targetCols.size() + " are targeted");
+        }
+        for (int i = 0; i < produced.size(); i++) {
+            if (!assignable(produced.get(i).type(), targetCols.get(i).type())) {
+                throw err(ins.pos(), "Column " + targetCols.get(i).name() + " expects " + targetCols.get(i).type()
+                        + " but SELECT produces " + produced.get(i).type());
+            }
+        }
+        return new LogicalInsert(tm.name(), targetCols, query, schema);
+    }
+
+    /** INT/BIGINT and STRING/VARCHAR convert into each other on insert (ranges and lengths checked per row). */
+    private static boolean assignable(Type from, Type to) {
+        if (from == to) return true;
+        boolean fromInt = from == Type.INT || from == Type.BIGINT;
+        boolean toInt = to == Type.INT || to == Type.BIGINT;
+        boolean fromStr = from == Type.STRING || from == Type.VARCHAR;
+        boolean toStr = to == Type.STRING || to == Type.VARCHAR;
+        return (fromInt && toInt) || (fromStr && toStr);
+    }
+
+    private LogicalPlan bindCopy(Copy cp, CatalogManager catalog) {
+        TableMeta tm = catalog.getTable(cp.tableName())
+                .orElseThrow(() -> err(cp.pos(), "Unknown table: " + cp.tableName()));
+        return new LogicalCopy(tm.name(), cp.direction(), cp.path(), tm.schema());
     }
 
+    /** Output column of a scalar expression; it is nullable if any column or literal it reads can be null. */
     private ColumnMeta inferOutputColumn(Expr expr, String name, BindingEnv env) {
         Type t;
         Integer len = null;
+        boolean nullable = false;
         if (expr instanceof ColumnRef cr) {
             ColumnMeta cm = resolveColumn(cr, env);
             t = cm.type();
             len = cm.length();
+            nullable = cm.nullable();
         } else if (expr instanceof Literal lit) {
             Object v = lit.value();
-            if (v instanceof Integer) t = Type.INT;
+            if (v == null) { t = Type.STRING; nullable = true; } // a bare NULL has no type of its own
+            else if (v instanceof Integer) t = Type.INT;
             else if (v instanceof Long) t = Type.BIGINT;
             else if (v instanceof Boolean) t = Type.BOOLEAN;
             else if (v instanceof String) t = Type.STRING;
             else throw err(expr.pos(), "Unsupported literal type: " + v.getClass().getSimpleName());
         } else if (expr instanceof BinaryExpr be) {
-            Type lt = inferOutputColumn(be.left(), name, env).type();
-            Type rt = inferOutputColumn(be.right(), name, env).type();
+            // A NULL operand takes the other operand's type
+            ColumnMeta l = isNullLiteral(be.left()) ? null : inferOutputColumn(be.left(), name, env);
+            ColumnMeta r = isNullLiteral(be.right()) ? null : inferOutputColumn(be.right(), name, env);
+            Type lt = l != null ? l.type() : r != null ? r.type() : Type.INT;
+            Type rt = r != null ? r.type() : lt;
             if (lt == Type.FLOAT || rt == Type.FLOAT) t = Type.FLOAT;
             else if (lt == Type.BIGINT || rt == Type.BIGINT) t = Type.BIGINT;
             else if (lt == Type.INT && rt == Type.INT) t = Type.INT;
             else throw err(expr.pos(), "Unsupported binary operand types: " + lt + ", " + rt);
-        } else if (expr instanceof ComparisonExpr) {
+            nullable = l == null || r == null || l.nullable() || r.nullable();
+        } else if (expr instanceof ComparisonExpr ce) {
+            t = Type.BOOLEAN;
+            nullable = mayBeNull(ce.left(), env) || mayBeNull(ce.right(), env);
+        } else if (expr instanceof LogicalExpr le) {
             t = Type.BOOLEAN;
-        } else if (expr instanceof LogicalExpr) {
+            nullable = mayBeNull(le.left(), env) || (le.right() != null && mayBeNull(le.right(), env));
+        } else if (expr instanceof IsNullExpr) {
             t = Type.BOOLEAN;
         } else {
             throw err(expr.pos(), "Unsupported expression in projection: " + expr.getClass().getSimpleName());
         }
-        return new ColumnMeta(name, t, len);
+        return new ColumnMeta(name, t, len, nullable);
+    }
+
+    /** Whether {@code expr} can evaluate to NULL; conservatively true for expressions it does not know. */
+    private boolean mayBeNull(Expr expr, BindingEnv env) {
+        if (expr instanceof ColumnRef cr) return resolveColumn(cr, env).nullable();
+        if (expr instanceof Literal lit) return lit.value() == null;
+        if (expr instanceof IsNullExpr) return false;
+        if (expr instanceof BinaryExpr be) return mayBeNull(be.left(), env) || mayBeNull(be.right(), env);
+        if (expr instanceof ComparisonExpr ce) return mayBeNull(ce.left(), env) || mayBeNull(ce.right(), env);
+        if (expr instanceof LogicalExpr le) {
+            return mayBeNull(le.left(), env) || (le.right() != null && mayBeNull(le.right(), env));
+        }
+        return true;
+    }
+
+    private static boolean isNullLiteral(Expr expr) {
+        return expr instanceof Literal lit && lit.value() == null;
     }
 
     private ColumnMeta inferAggOutputColumn(FuncCall fc, String name, BindingEnv env) {
@@ -227,11 +287,12 @@ public final class Binder {
         }
         if (fc.args().size() != 1 || fc.starArg()) throw err(fc.pos(), "Aggregate requires one argument");
         ColumnMeta arg = inferOutputColumn(fc.args().get(0), name, env);
+        boolean nullable = arg.nullable(); // NULL for a group whose values are all null
         return switch (fn) {
-            case "SUM" -> new ColumnMeta(name, (arg.type() == Type.FLOAT) ? Type.FLOAT : Type.BIGINT, null);
-            case "AVG" -> new ColumnMeta(name, Type.FLOAT, null);
-            case "MIN" -> new ColumnMeta(name, arg.type(), arg.length());
-            case "MAX" -> new ColumnMeta(name, arg.type(), arg.length());
+            case "SUM" -> new ColumnMeta(name, (arg.type() == Type.FLOAT) ? Type.FLOAT : Type.BIGINT, null, nullable);
+            case "AVG" -> new ColumnMeta(name, Type.FLOAT, null, nullable);
+            case "MIN" -> new ColumnMeta(name, arg.type(), arg.length(), nullable);
+            case "MAX" -> new ColumnMeta(name, arg.type(), arg.length(), nullable);
             default -> throw err(fc.pos(), "Unknown aggregate function: " + fc.name());
         };
     }
@@ -265,6 +326,8 @@ public final class Binder {
             validateExpr(le.left(), env); if (le.right() != null) validateExpr(le.right(), env);
         } else if (expr instanceof ComparisonExpr ce) {
             validateExpr(ce.left(), env); validateExpr(ce.right(), env);
+        } else if (expr instanceof IsNullExpr in) {
+            validateExpr(in.operand(), env);
         } else if (expr instanceof FuncCall fc) {
             // validate args
             for (Expr a : fc.args()) validateExpr(a, env);
@@ -341,6 +404,8 @@ public final class Binder {
             collectQuals(le.left(), env, out); if (le.right() != null) collectQuals(le.right(), env, out);
         } else if (e instanceof ComparisonExpr ce) {
             collectQuals(ce.left(), env, out); collectQuals(ce.right(), env, out);
+        } else if (e instanceof IsNullExpr in) {
+            collectQuals(in.operand(), env, out);
         } else if (e instanceof FuncCall fc) {
             for (Expr a : fc.args()) collectQuals(a, env, out);
         }
@@ -358,6 +423,8 @@ public final class Binder {
             collectCols(le.left(), env, out); if (le.right() != null) collectCols(le.right(), env, out);
         } else if (e instanceof ComparisonExpr ce) {
             collectCols(ce.left(), env, out); collectCols(ce.right(), env, out);
+        } else if (e instanceof IsNullExpr in) {
+            collectCols(in.operand(), env, out);
         } else if (e instanceof FuncCall fc) {
             for (Expr a : fc.args()) collectCols(a, env, out);
         }
@@ -396,6 +463,8 @@ public final class Binder {
             return containsAggregate(le.left()) || (le.right() != null && containsAggregate(le.right()));
         } else if (e instanceof ComparisonExpr ce) {
             return containsAggregate(ce.left()) || containsAggregate(ce.right());
+        } else if (e instanceof IsNullExpr in) {
+            return containsAggregate(in.operand());
         }
         return false;
     }
@@ -407,7 +476,7 @@ public final class Binder {
         cols.addAll(leftSchema.columns());
         for (ColumnMeta cm : right.schema.columns()) {
             String n = right.preferredQualifier() + "." + cm.name();
-            cols.add(new ColumnMeta(n, cm.type(), cm.length()));
+            cols.add(new ColumnMeta(n, cm.type(), cm.length(), cm.nullable()));
         }
         return new Schema(cols);
     }
@@ -0,0 +1,30 @@
+package io.github.anupam.evolvdb.planner.logical;
+
+import io.github.anupam.evolvdb.sql.ast.Copy;
+import io.github.anupam.evolvdb.types.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+/** Logical representation of a COPY statement: a CSV file loaded into, or written from, one table. */
+public final class LogicalCopy implements LogicalPlan {
+    private final String tableName;
+    private final Copy.Direction direction;
+    private final String path;
+    private final Schema tableSchema; // columns of the file, in table order
+
+    public LogicalCopy(String tableName, Copy.Direction direction, String path, Schema tableSchema) {
+        this.tableName = Objects.requireNonNull(tableName, "tableName");
+        this.direction = Objects.requireNonNull(direction, "direction");
+        this.path = Objects.requireNonNull(path, "path");
+        this.tableSchema = Objects.requireNonNull(tableSchema, "tableSchema");
+    }
+
+    public String tableName() { return tableName; }
+    public Copy.Direction direction() { return direction; }
+    public String path() { return path; }
+
+    @Override public Schema schema() { return tableSchema; }
+    @Override public List<LogicalPlan> children() { return List.of(); }
+    @Override public <R, C> R accept(LogicalPlanVisitor<R, C> visitor, C context) { return visitor.visitCopy(this, context); }
+}
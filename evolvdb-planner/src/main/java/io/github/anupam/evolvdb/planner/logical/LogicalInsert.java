@@ -7,25 +7,59 @@ import io.github.anupam.evolvdb.types.Schema;
 import java.util.List;
 import java.util.Objects;
 
-/** Logical representation of an INSERT statement. */
+/** Logical representation of an INSERT statement: literal VALUES rows, or the rows of a query plan. */
 public final class LogicalInsert implements LogicalPlan {
     private final String tableName;
     private final List<ColumnMeta> targetColumns; // order of values
-    private final List<List<Expr>> rows; // values as expressions (literals or simple exprs)
+    private final List<List<Expr>> rows; // values as expressions (literals or simple exprs); empty with a query
+    private final LogicalPlan query; // INSERT ... SELECT source, else null
     private final Schema tableSchema; // full table schema for reference
 
     public LogicalInsert(String tableName, List<ColumnMeta> targetColumns, List<List<Expr>> rows, Schema tableSchema) {
+        this(tableName, targetColumns, rows, null, tableSchema);
+    }
+
+    public LogicalInsert(String tableName, List<ColumnMeta> targetColumns, LogicalPlan query, Schema tableSchema) {
+        this(tableName, targetColumns, List.of(), Objects.requireNonNull(query, "query"), tableSchema);
+    }
+
+    private LogicalInsert(String tableName, List<ColumnMeta> targetColumns, List<List<Expr>> rows, LogicalPlan query,
+                          Schema tableSchema) {
         this.tableName = Objects.requireNonNull(tableName, "tableName");
         this.targetColumns = List.copyOf(Objects.requireNonNull(targetColumns, "targetColumns"));
         this.rows = List.copyOf(Objects.requireNonNull(rows, "rows"));
+        this.query = query;
         this.tableSchema = Objects.requireNonNull(tableSchema, "tableSchema");
     }
 
     public String tableName() { return tableName; }
     public List<ColumnMeta> targetColumns() { return targetColumns; }
     public List<List<Expr>> rows() { return rows; }
+    /** Source plan of INSERT ... SELECT (its i-th column feeds targetColumns().get(i)), or null. */
+    public LogicalPlan query() { return query; }
+
+    /**
+     * True if the query scans the target table. Its rows must then be read in full before any is inserted, or the
+     * scan could see (and insert again) rows this statement added.
+     */
+    public boolean queryReadsTarget() {
+        return query != null && scans(query);
+    }
+
+    private boolean scans(LogicalPlan plan) {
+        if (plan instanceof LogicalScan s && s.tableName().equalsIgnoreCase(tableName)) return true;
+        for (LogicalPlan child : plan.children()) {
+            if (scans(child)) return true;
+        }
+        return false;
+    }
+
+    /** Returns this insert reading from {@code newQuery} instead, for rewrites of the source plan. */
+    public LogicalInsert withQuery(LogicalPlan newQuery) {
+        return new LogicalInsert(tableName, targetColumns, newQuery, tableSchema);
+    }
 
     @Override public Schema schema() { return tableSchema; }
-    @Override public List<LogicalPlan> children() { return List.of(); }
+    @Override public List<LogicalPlan> children() { return query == null ? List.of() : List.of(query); }
     @Override public <R, C> R accept(LogicalPlanVisitor<R, C> visitor, C context) { return visitor.visitInsert(this, context); }
 }
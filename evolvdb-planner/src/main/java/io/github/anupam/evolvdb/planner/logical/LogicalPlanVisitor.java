@@ -7,4 +7,5 @@ public interface LogicalPlanVisitor<R, C> {
     R visitJoin(LogicalJoin join, C ctx);
     R visitAggregate(LogicalAggregate agg, C ctx);
     R visitInsert(LogicalInsert insert, C ctx);
+    R visitCopy(LogicalCopy copy, C ctx);
 }
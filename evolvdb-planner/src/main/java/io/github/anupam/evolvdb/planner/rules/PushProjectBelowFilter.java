@@ -61,6 +61,8 @@ public final class PushProjectBelowFilter implements Rule {
             collect(le.left(), out); if (le.right() != null) collect(le.right(), out);
         } else if (e instanceof ComparisonExpr ce) {
             collect(ce.left(), out); collect(ce.right(), out);
+        } else if (e instanceof IsNullExpr in) {
+            collect(in.operand(), out);
         }
     }
 }
@@ -8,12 +8,14 @@ public interface AstVisitor<R, C> {
     default R visitDropTable(DropTable node, C context) { return visitNode(node, context); }
     default R visitInsert(Insert node, C context) { return visitNode(node, context); }
     default R visitSelect(Select node, C context) { return visitNode(node, context); }
+    default R visitCopy(Copy node, C context) { return visitNode(node, context); }
 
     default R visitLiteral(Literal node, C context) { return visitNode(node, context); }
     default R visitColumnRef(ColumnRef node, C context) { return visitNode(node, context); }
     default R visitBinaryExpr(BinaryExpr node, C context) { return visitNode(node, context); }
     default R visitLogicalExpr(LogicalExpr node, C context) { return visitNode(node, context); }
     default R visitComparisonExpr(ComparisonExpr node, C context) { return visitNode(node, context); }
+    default R visitIsNullExpr(IsNullExpr node, C context) { return visitNode(node, context); }
     default R visitFuncCall(FuncCall node, C context) { return visitNode(node, context); }
 
     default R visitTableRef(TableRef node, C context) { return visitNode(node, context); }
@@ -2,5 +2,9 @@ package io.github.anupam.evolvdb.sql.ast;
 
 import io.github.anupam.evolvdb.types.Type;
 
-/** Column definition in CREATE TABLE. */
-public record ColumnDef(String name, Type type, Integer length) { }
+/** Column definition in CREATE TABLE. Columns are nullable unless declared NOT NULL, as in standard SQL. */
+public record ColumnDef(String name, Type type, Integer length, boolean nullable) {
+    public ColumnDef(String name, Type type, Integer length) {
+        this(name, type, length, true);
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.anupam.evolvdb.sql.ast;
+
+import java.util.Objects;
+
+/** COPY tableName FROM 'file' | COPY tableName TO 'file' (CSV, one row per line) */
+public final class Copy extends Statement {
+    /** FROM loads the file into the table; TO writes the table out to the file. */
+    public enum Direction { FROM, TO }
+
+    private final String tableName;
+    private final Direction direction;
+    private final String path;
+
+    public Copy(SourcePos pos, String tableName, Direction direction, String path) {
+        super(pos);
+        if (tableName == null || tableName.isBlank()) throw new IllegalArgumentException("tableName");
+        if (path == null || path.isBlank()) throw new IllegalArgumentException("path");
+        this.tableName = tableName;
+        this.direction = Objects.requireNonNull(direction, "direction");
+        this.path = path;
+    }
+
+    public String tableName() { return tableName; }
+    public Direction direction() { return direction; }
+    public String path() { return path; }
+
+    @Override
+    public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
+        return visitor.visitCopy(this, context);
+    }
+}
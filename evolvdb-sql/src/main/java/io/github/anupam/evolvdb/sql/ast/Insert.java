@@ -3,23 +3,35 @@ package io.github.anupam.evolvdb.sql.ast;
 import java.util.List;
 import java.util.Objects;
 
-/** INSERT INTO tableName [(col1, col2,...)] VALUES (expr, ...) */
+/** INSERT INTO tableName [(col1, col2,...)] VALUES (expr, ...) | INSERT INTO tableName [(col1, ...)] SELECT ... */
 public final class Insert extends Statement {
     private final String tableName;
     private final List<String> columns; // may be empty for all columns
-    private final List<List<Expr>> rows; // support multi-row VALUES
+    private final List<List<Expr>> rows; // support multi-row VALUES; empty for INSERT ... SELECT
+    private final Select query; // null for INSERT ... VALUES
 
     public Insert(SourcePos pos, String tableName, List<String> columns, List<List<Expr>> rows) {
+        this(pos, tableName, columns, rows, null);
+    }
+
+    public Insert(SourcePos pos, String tableName, List<String> columns, Select query) {
+        this(pos, tableName, columns, List.of(), Objects.requireNonNull(query, "query"));
+    }
+
+    private Insert(SourcePos pos, String tableName, List<String> columns, List<List<Expr>> rows, Select query) {
         super(pos);
         if (tableName == null || tableName.isBlank()) throw new IllegalArgumentException("tableName");
         this.tableName = tableName;
         this.columns = List.copyOf(Objects.requireNonNull(columns, "columns"));
         this.rows = List.copyOf(Objects.requireNonNull(rows, "rows"));
+        this.query = query;
     }
 
     public String tableName() { return tableName; }
     public List<String> columns() { return columns; }
     public List<List<Expr>> rows() { return rows; }
+    /** The SELECT whose rows are inserted, or null for INSERT ... VALUES. */
+    public Select query() { return query; }
 
     @Override
     public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
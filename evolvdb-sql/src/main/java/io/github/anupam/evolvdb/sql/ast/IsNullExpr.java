@@ -0,0 +1,21 @@
+package io.github.anupam.evolvdb.sql.ast;
+
+/** Null test: {@code expr IS NULL}, or {@code expr IS NOT NULL} when negated. Never evaluates to NULL itself. */
+public final class IsNullExpr extends Expr {
+    private final Expr operand;
+    private final boolean negated;
+
+    public IsNullExpr(SourcePos pos, Expr operand, boolean negated) {
+        super(pos);
+        this.operand = operand;
+        this.negated = negated;
+    }
+
+    public Expr operand() { return operand; }
+    public boolean negated() { return negated; }
+
+    @Override
+    public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
+        return visitor.visitIsNullExpr(this, context);
+    }
+}
@@ -1,12 +1,12 @@
 package io.github.anupam.evolvdb.sql.ast;
 
-/** Literal value (number, string, boolean, null in future). */
+/** Literal value (number, string, boolean, or null for NULL). */
 public final class Literal extends Expr {
     private final Object value;
 
     public Literal(SourcePos pos, Object value) {
         super(pos);
-        this.value = value; // may be null in future for NULL literal
+        this.value = value; // null for NULL
     }
 
     public Object value() { return value; }
@@ -5,10 +5,12 @@ import io.github.anupam.evolvdb.sql.ast.BinaryExpr;
 import io.github.anupam.evolvdb.sql.ast.ColumnDef;
 import io.github.anupam.evolvdb.sql.ast.ColumnRef;
 import io.github.anupam.evolvdb.sql.ast.ComparisonExpr;
+import io.github.anupam.evolvdb.sql.ast.Copy;
 import io.github.anupam.evolvdb.sql.ast.CreateTable;
 import io.github.anupam.evolvdb.sql.ast.DropTable;
 import io.github.anupam.evolvdb.sql.ast.Expr;
 import io.github.anupam.evolvdb.sql.ast.Insert;
+import io.github.anupam.evolvdb.sql.ast.IsNullExpr;
 import io.github.anupam.evolvdb.sql.ast.Literal;
 import io.github.anupam.evolvdb.sql.ast.LogicalExpr;
 import io.github.anupam.evolvdb.sql.ast.Select;
@@ -46,7 +48,8 @@ public final class SqlParser {
             case DROP -> parseDropTable();
             case INSERT -> parseInsert();
             case SELECT -> parseSelect();
-            default -> throw error("Expected a statement (CREATE/DROP/INSERT/SELECT)");
+            case COPY -> parseCopy();
+            default -> throw error("Expected a statement (CREATE/DROP/INSERT/SELECT/COPY)");
         };
     }
 
@@ -67,7 +70,14 @@ public final class SqlParser {
                 try { len = Integer.parseInt(n); } catch (NumberFormatException e) { throw error("Invalid varchar length"); }
                 expect(TokenType.RPAREN, ")");
             }
-            cols.add(new ColumnDef(colName, type, len));
+            boolean nullable = true;
+            if (match(TokenType.NOT)) {
+                expect(TokenType.NULL, "NULL");
+                nullable = false;
+            } else {
+                match(TokenType.NULL);
+            }
+            cols.add(new ColumnDef(colName, type, len, nullable));
         } while (match(TokenType.COMMA));
         expect(TokenType.RPAREN, ")");
         return new CreateTable(pos, name, cols);
@@ -93,7 +103,8 @@ public final class SqlParser {
             } while (match(TokenType.COMMA));
             expect(TokenType.RPAREN, ")");
         }
-        expect(TokenType.VALUES, "VALUES");
+        if (cur.type() == TokenType.SELECT) return new Insert(pos, table, cols, parseSelect());
+        expect(TokenType.VALUES, "VALUES or SELECT");
         java.util.List<java.util.List<Expr>> rows = new java.util.ArrayList<>();
         do {
             expect(TokenType.LPAREN, "(");
@@ -107,6 +118,19 @@ public final class SqlParser {
         return new Insert(pos, table, cols, rows);
     }
 
+    private Copy parseCopy() {
+        SourcePos pos = cur.pos();
+        expect(TokenType.COPY, "COPY");
+        String table = expectIdent("table name");
+        Copy.Direction direction;
+        if (match(TokenType.FROM)) direction = Copy.Direction.FROM;
+        else if (match(TokenType.TO)) direction = Copy.Direction.TO;
+        else throw error("Expected FROM or TO");
+        String path = take(TokenType.STRING, "file name").lexeme();
+        if (path.isBlank()) throw error("File name must not be empty");
+        return new Copy(pos, table, direction, path);
+    }
+
     private Select parseSelect() {
         SourcePos pos = cur.pos();
         expect(TokenType.SELECT, "SELECT");
@@ -171,6 +195,13 @@ public final class SqlParser {
     private Expr parseComparison() {
         Expr left = parseAdd();
         switch (cur.type()) {
+            case IS -> {
+                SourcePos pos = cur.pos();
+                advance();
+                boolean negated = match(TokenType.NOT);
+                expect(TokenType.NULL, "NULL");
+                return new IsNullExpr(pos, left, negated);
+            }
             case EQ -> { advance(); return new ComparisonExpr(cur.pos(), ComparisonExpr.Op.EQ, left, parseAdd()); }
             case NEQ -> { advance(); return new ComparisonExpr(cur.pos(), ComparisonExpr.Op.NEQ, left, parseAdd()); }
             case LT -> { advance(); return new ComparisonExpr(cur.pos(), ComparisonExpr.Op.LT, left, parseAdd()); }
@@ -212,6 +243,7 @@ public final class SqlParser {
             case STRING -> { SourcePos pos = cur.pos(); String s = cur.lexeme(); advance(); return new Literal(pos, s); }
             case TRUE -> { SourcePos pos = cur.pos(); advance(); return new Literal(pos, Boolean.TRUE); }
             case FALSE -> { SourcePos pos = cur.pos(); advance(); return new Literal(pos, Boolean.FALSE); }
+            case NULL -> { SourcePos pos = cur.pos(); advance(); return new Literal(pos, null); }
             case IDENT -> {
                 SourcePos pos = cur.pos();
                 String first = cur.lexeme(); advance();
@@ -10,8 +10,9 @@ public enum TokenType {
     // Keywords
     CREATE, TABLE, DROP, INSERT, INTO, VALUES, SELECT, FROM, WHERE, AS,
     GROUP, BY,
+    COPY, TO,
     AND, OR, NOT,
-    TRUE, FALSE,
+    TRUE, FALSE, NULL, IS,
     INT, BIGINT, BOOLEAN, FLOAT, STRING_T, VARCHAR,
 
     // Symbols
@@ -27,12 +27,16 @@ final class Tokenizer {
         KEYWORDS.put("AS", TokenType.AS);
         KEYWORDS.put("GROUP", TokenType.GROUP);
         KEYWORDS.put("BY", TokenType.BY);
+        KEYWORDS.put("COPY", TokenType.COPY);
+        KEYWORDS.put("TO", TokenType.TO);
         // booleans / logical
         KEYWORDS.put("AND", TokenType.AND);
         KEYWORDS.put("OR", TokenType.OR);
         KEYWORDS.put("NOT", TokenType.NOT);
         KEYWORDS.put("TRUE", TokenType.TRUE);
         KEYWORDS.put("FALSE", TokenType.FALSE);
+        KEYWORDS.put("NULL", TokenType.NULL);
+        KEYWORDS.put("IS", TokenType.IS);
         // types
         KEYWORDS.put("INT", TokenType.INT);
         KEYWORDS.put("BIGINT", TokenType.BIGINT);
@@ -7,10 +7,12 @@ import io.github.anupam.evolvdb.sql.ast.BinaryExpr;
 import io.github.anupam.evolvdb.sql.ast.ColumnDef;
 import io.github.anupam.evolvdb.sql.ast.ColumnRef;
 import io.github.anupam.evolvdb.sql.ast.ComparisonExpr;
+import io.github.anupam.evolvdb.sql.ast.Copy;
 import io.github.anupam.evolvdb.sql.ast.CreateTable;
 import io.github.anupam.evolvdb.sql.ast.DropTable;
 import io.github.anupam.evolvdb.sql.ast.Expr;
 import io.github.anupam.evolvdb.sql.ast.Insert;
+import io.github.anupam.evolvdb.sql.ast.IsNullExpr;
 import io.github.anupam.evolvdb.sql.ast.Literal;
 import io.github.anupam.evolvdb.sql.ast.LogicalExpr;
 import io.github.anupam.evolvdb.sql.ast.Select;
@@ -37,6 +39,7 @@ public final class AstValidator {
             case DropTable dt -> validateDropTable(dt, catalog);
             case Insert ins -> validateInsert(ins, catalog);
             case Select sel -> validateSelect(sel, catalog);
+            case Copy cp -> requireTable(catalog, cp.tableName(), cp.pos());
             default -> {
             }
         }
@@ -79,6 +82,11 @@ public final class AstValidator {
             }
         }
 
+        if (ins.query() != null) {
+            // Column count and types of the SELECT are checked by the binder, which knows its output schema
+            validateSelect(ins.query(), catalog);
+            return;
+        }
         for (List<Expr> row : ins.rows()) {
             if (row.size() != targetCols.size()) {
                 throw err(ins.pos(), "INSERT values count " + row.size() + " does not match columns " + targetCols.size());
@@ -119,6 +127,8 @@ public final class AstValidator {
                 } else if (expr instanceof ComparisonExpr ce) {
                     accept(ce.left());
                     accept(ce.right());
+                } else if (expr instanceof IsNullExpr isNull) {
+                    accept(isNull.operand());
                 }
             }
         };
@@ -143,6 +153,10 @@ public final class AstValidator {
     private void validateLiteralTypeCompat(Expr expr, ColumnMeta cm) {
         if (!(expr instanceof Literal lit)) return; // non-literal: skip static check
         Object v = lit.value();
+        if (v == null) {
+            if (!cm.nullable()) throw err(lit.pos(), cm.name() + " is NOT NULL");
+            return;
+        }
         Type t = cm.type();
         switch (t) {
             case INT -> {
@@ -36,6 +36,33 @@ class SqlParserTest {
         assertEquals(2, ins.rows().get(0).size());
     }
 
+    @Test
+    void testParseInsert_select() {
+        SqlParser p = new SqlParser();
+        Insert ins = (Insert) p.parse("INSERT INTO archive (id, name) SELECT id, name FROM users WHERE id > 5");
+        assertEquals("archive", ins.tableName());
+        assertEquals(java.util.List.of("id", "name"), ins.columns());
+        assertTrue(ins.rows().isEmpty());
+        assertEquals("users", ins.query().from().tableName());
+        assertNotNull(ins.query().where());
+        assertNull(((Insert) p.parse("INSERT INTO users VALUES (1, 'a')")).query());
+        assertThrows(SqlParseException.class, () -> p.parse("INSERT INTO users (1, 'a')"));
+    }
+
+    @Test
+    void testParseCopy_fromAndTo() {
+        SqlParser p = new SqlParser();
+        Copy in = (Copy) p.parse("COPY users FROM '/tmp/users.csv'");
+        assertEquals("users", in.tableName());
+        assertEquals(Copy.Direction.FROM, in.direction());
+        assertEquals("/tmp/users.csv", in.path());
+        Copy out = (Copy) p.parse("copy users to 'out.csv';");
+        assertEquals(Copy.Direction.TO, out.direction());
+        assertEquals("out.csv", out.path());
+        assertThrows(SqlParseException.class, () -> p.parse("COPY users INTO 'x.csv'"));
+        assertThrows(SqlParseException.class, () -> p.parse("COPY users FROM x"));
+    }
+
     @Test
     void testParseSelect_basic() {
         String sql = "SELECT name FROM users WHERE id >= 10";
@@ -55,4 +82,22 @@ class SqlParserTest {
         SqlParseException ex = assertThrows(SqlParseException.class, () -> p.parse(sql));
         assertTrue(ex.getMessage().contains("Unexpected token"));
     }
+
+    @Test
+    void testParseNullability_columnsLiteralsAndIsNull() {
+        SqlParser p = new SqlParser();
+        CreateTable ct = (CreateTable) p.parse("CREATE TABLE t (id INT NOT NULL, name VARCHAR(5) NULL, note STRING)");
+        assertFalse(ct.columns().get(0).nullable());
+        assertTrue(ct.columns().get(1).nullable());
+        assertTrue(ct.columns().get(2).nullable());
+
+        Select s = (Select) p.parse("SELECT id FROM t WHERE name IS NOT NULL AND note IS NULL");
+        LogicalExpr and = (LogicalExpr) s.where();
+        assertTrue(((IsNullExpr) and.left()).negated());
+        assertFalse(((IsNullExpr) and.right()).negated());
+
+        Insert ins = (Insert) p.parse("INSERT INTO t VALUES (1, NULL, 'x')");
+        assertNull(((Literal) ins.rows().get(0).get(1)).value());
+        assertThrows(SqlParseException.class, () -> p.parse("SELECT id FROM t WHERE name IS 1"));
+    }
 }
@@ -0,0 +1,179 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer and incremental checkpointer for a buffer pool (in the spirit of Postgres' bgwriter and
+ * spread checkpoints).
+ *
+ * Every {@code delayMillis} the writer wakes up and writes at most {@code maxPagesPerRound} dirty, unpinned
+ * pages in PageId order (so writes to a file are mostly sequential). Clean frames can then be evicted without
+ * a foreground write. Each page is copied under the pool lock and written outside it.
+ *
+ * {@link #checkpoint()} writes every page that is dirty at the time it starts, in PageId order and in rounds of
+ * {@code maxPagesPerRound} separated by {@code delayMillis}, then syncs. A page pinned when the checkpoint reaches
+ * it is retried every round until it is written or clean. This spreads the I/O instead of a stop-the-world
+ * {@code flushAll()}. When {@code checkpointIntervalMillis > 0} the writer thread
+ * runs a checkpoint on that interval.
+ */
+public final class BackgroundWriter implements AutoCloseable {
+    /** Orders pages by file, then page number, so consecutive writes hit adjacent file offsets. */
+    static final Comparator<PageId> PAGE_ORDER = Comparator
+            .comparing((PageId p) -> p.fileId().name())
+            .thenComparingInt(PageId::pageNo);
+
+    private final DirtyPageSource pool;
+    private final long delayMillis;
+    private final int maxPagesPerRound;
+    private final long checkpointIntervalMillis;
+    private final ByteBuffer scratch;
+    private final Thread thread;
+    private final Object sleepLock = new Object();
+    private final AtomicLong checkpoints = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile Exception lastFailure;
+
+    /**
+     * @param pool a DefaultBufferPool or PartitionedBufferPool
+     * @param pageSize page size of the pool, used to size the private write buffer
+     */
+    public BackgroundWriter(BufferPool pool, int pageSize, long delayMillis, int maxPagesPerRound,
+                            long checkpointIntervalMillis) {
+        Objects.requireNonNull(pool, "pool");
+        if (!(pool instanceof DirtyPageSource source)) {
+            throw new IllegalArgumentException("Unsupported buffer pool: " + pool.getClass().getName());
+        }
+        if (delayMillis <= 0) throw new IllegalArgumentException("delayMillis must be > 0");
+        if (maxPagesPerRound <= 0) throw new IllegalArgumentException("maxPagesPerRound must be > 0");
+        if (checkpointIntervalMillis < 0) throw new IllegalArgumentException("checkpointIntervalMillis must be >= 0");
+        this.pool = source;
+        this.delayMillis = delayMillis;
+        this.maxPagesPerRound = maxPagesPerRound;
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        this.scratch = ByteBuffer.allocateDirect(pageSize);
+        this.thread = new Thread(this::run, "evolvdb-bgwriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** Number of completed checkpoints (explicit or scheduled). */
+    public long checkpoints() { return checkpoints.get(); }
+
+    /**
+     * Last failure seen by the writer thread (an I/O error or a runtime exception from a round), or null. The
+     * thread keeps running; failed pages stay dirty and are retried.
+     */
+    public Exception lastFailure() { return lastFailure; }
+
+    /** Writes up to maxPagesPerRound dirty unpinned pages in PageId order; returns pages written. */
+    public synchronized int writeRound() throws IOException {
+        List<PageId> dirty = pool.dirtyUnpinnedPages();
+        dirty.sort(PAGE_ORDER);
+        int written = 0;
+        for (PageId pid : dirty) {
+            if (written >= maxPagesPerRound) break;
+            if (pool.writeBack(pid, scratch)) written++;
+        }
+        return written;
+    }
+
+    /**
+     * Incremental checkpoint: writes every page dirty at start, pinned or not, throttled to maxPagesPerRound per
+     * delayMillis, then syncs. A page that is pinned, or being written by a round, when the checkpoint reaches it
+     * is retried after the next pause until it is written or found clean, so a hot page holds the checkpoint up
+     * until it is unpinned.
+     */
+    public void checkpoint() throws IOException {
+        List<PageId> pending = pool.dirtyPages();
+        pending.sort(PAGE_ORDER);
+        int inRound = 0;
+        while (!pending.isEmpty()) {
+            List<PageId> busy = new ArrayList<>();
+            for (PageId pid : pending) {
+                if (inRound == maxPagesPerRound) {
+                    inRound = 0;
+                    pause(); // returns immediately once the writer is closed, finishing the checkpoint unthrottled
+                }
+                synchronized (this) {
+                    if (pool.writeBack(pid, scratch)) inRound++;
+                    else if (pool.needsWrite(pid)) busy.add(pid);
+                }
+            }
+            pending = busy;
+            if (!pending.isEmpty()) {
+                inRound = 0;
+                if (!pause()) awaitUnpin();
+            }
+        }
+        pool.sync();
+        checkpoints.incrementAndGet();
+    }
+
+    /** Waits a moment for pinned pages once the writer is closed, where {@link #pause()} no longer waits. */
+    private static void awaitUnpin() throws InterruptedIOException {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("checkpoint interrupted");
+        }
+    }
+
+    private void run() {
+        long lastCheckpoint = System.nanoTime();
+        while (running) {
+            if (!pause()) break;
+            try {
+                if (checkpointIntervalMillis > 0
+                        && System.nanoTime() - lastCheckpoint >= checkpointIntervalMillis * 1_000_000L) {
+                    checkpoint();
+                    lastCheckpoint = System.nanoTime();
+                } else {
+                    writeRound();
+                }
+            } catch (IOException | RuntimeException e) {
+                lastFailure = e; // keep going: the next round retries
+            }
+        }
+    }
+
+    /**
+     * Sleeps one delay period; returns false if the writer is shutting down. Shutdown is signalled through a
+     * monitor rather than Thread.interrupt(), which would close the FileChannel of an in-flight write.
+     */
+    private boolean pause() {
+        synchronized (sleepLock) {
+            if (!running) return false;
+            try {
+                sleepLock.wait(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return running;
+    }
+
+    /** Stops the writer thread. Does not flush; the pool's close() still writes whatever is dirty. */
+    @Override
+    public void close() {
+        synchronized (sleepLock) {
+            running = false;
+            sleepLock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.anupam.evolvdb.storage.buffer;
 
+import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.storage.disk.PageId;
 import io.github.anupam.evolvdb.storage.page.Page;
 
@@ -7,9 +8,41 @@ import java.io.IOException;
 
 /** BufferPool is responsible for caching pages in memory with pin/unpin semantics. */
 public interface BufferPool extends AutoCloseable {
+    /** Size in bytes of every page (and frame) in this pool. */
+    int pageSize();
+
     /** Fetches a page, pinning it in the buffer pool. */
     Page getPage(PageId pageId, boolean forUpdate) throws IOException;
 
+    /**
+     * Fetches a page for a bulk operation. On a miss, frames previously loaded through {@code ring} are recycled
+     * before the shared pool is asked to evict. A null ring behaves like {@link #getPage(PageId, boolean)}.
+     */
+    default Page getPage(PageId pageId, boolean forUpdate, BufferRing ring) throws IOException {
+        return getPage(pageId, forUpdate);
+    }
+
+    /**
+     * Returns a ring for a bulk operation over a relation of {@code relationPages} pages, or null if the
+     * operation should go through the shared pool (e.g. a scan of a small table).
+     */
+    default BufferRing bulkRing(BufferRing.Kind kind, int relationPages) {
+        return null;
+    }
+
+    /**
+     * Asks the pool to load pages {@code [first, first + count)} of one file asynchronously so later getPage calls
+     * find them resident. Best effort and non-blocking: resident pages are skipped, and nothing happens if
+     * read-ahead is disabled or no frame is free to take. With a ring, pages are loaded into the ring's frames.
+     */
+    default void prefetch(PageId first, int count, BufferRing ring) {
+    }
+
+    /** How many pages ahead a sequential scan should prefetch; 0 when read-ahead is disabled. */
+    default int readAheadPages() {
+        return 0;
+    }
+
     /** Unpins a page, indicating whether it was dirtied. */
     void unpin(PageId pageId, boolean dirty);
 
@@ -19,6 +52,16 @@ public interface BufferPool extends AutoCloseable {
     /** Flushes all pages to disk. */
     void flushAll() throws IOException;
 
+    /**
+     * Drops every cached page of {@code fileId} numbered {@code fromPageNo} or higher without writing it back,
+     * after waiting for I/O in flight on them. Used before the file is truncated. Throws IllegalStateException
+     * if one of the pages is pinned.
+     */
+    void discard(FileId fileId, int fromPageNo);
+
+    /** Returns a snapshot of write counters (foreground vs background). */
+    BufferPoolStats stats();
+
     @Override
     void close() throws IOException;
 }
@@ -0,0 +1,20 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+/**
+ * Snapshot of buffer pool I/O counters.
+ *
+ * @param foregroundWrites pages written by a caller's thread (dirty victim on eviction, explicit flush)
+ * @param backgroundWrites pages written ahead of eviction by the BackgroundWriter or an incremental checkpoint
+ * @param prefetchReads pages loaded asynchronously by read-ahead
+ * @param prefetchHits getPage calls served by a read-ahead load (already resident or still in flight)
+ */
+public record BufferPoolStats(long foregroundWrites, long backgroundWrites, long prefetchReads, long prefetchHits) {
+    public BufferPoolStats(long foregroundWrites, long backgroundWrites) {
+        this(foregroundWrites, backgroundWrites, 0, 0);
+    }
+
+    public BufferPoolStats plus(BufferPoolStats o) {
+        return new BufferPoolStats(foregroundWrites + o.foregroundWrites, backgroundWrites + o.backgroundWrites,
+                prefetchReads + o.prefetchReads, prefetchHits + o.prefetchHits);
+    }
+}
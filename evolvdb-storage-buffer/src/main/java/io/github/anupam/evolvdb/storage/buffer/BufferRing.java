@@ -0,0 +1,81 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Buffer access strategy for bulk operations (cf. Postgres ring buffers).
+ *
+ * A bulk operation (large sequential scan, bulk insert, catalog rebuild) passes its ring to
+ * {@link BufferPool#getPage(PageId, boolean, BufferRing)}. Once the ring is full, a miss recycles the frame of
+ * the ring's oldest page (if it is unpinned) instead of evicting from the shared pool, so the operation
+ * touches at most {@code size} frames and the rest of the working set survives.
+ *
+ * A ring belongs to one operation; it holds no pins and needs no cleanup. Its per-pool slots are only touched
+ * under that pool's lock, so read-ahead threads can load into the ring while the scan thread uses it.
+ */
+public final class BufferRing {
+    /** What the ring is used for; decides whether small relations bypass it. */
+    public enum Kind {
+        /** Sequential scans; only used when the relation is large relative to the pool. */
+        BULK_READ,
+        /**
+         * Bulk inserts. Dirty pages are written back when their frame is recycled. Used only once the relation
+         * no longer fits in the pool: HeapFile.insert probes pages from the start of the file, so a ring over a
+         * relation that would otherwise stay cached turns every probe into a re-read.
+         */
+        BULK_WRITE
+    }
+
+    private final Kind kind;
+    private final int size;
+    // Per-pool slot arrays: a PartitionedBufferPool keeps one per shard.
+    private final Map<Object, Slots> slots = new IdentityHashMap<>();
+    private long recycled;
+
+    public BufferRing(Kind kind, int size) {
+        if (size <= 0) throw new IllegalArgumentException("size must be > 0");
+        this.kind = kind;
+        this.size = size;
+    }
+
+    public Kind kind() { return kind; }
+    public int size() { return size; }
+
+    /** Number of misses served by recycling a ring frame instead of the shared pool. */
+    public synchronized long recycled() { return recycled; }
+
+    /** Threshold rule shared by the pool implementations. */
+    static boolean worthUsing(Kind kind, int relationPages, int poolCapacity, double readThreshold) {
+        return switch (kind) {
+            case BULK_READ -> relationPages > poolCapacity * readThreshold;
+            case BULK_WRITE -> relationPages >= poolCapacity;
+        };
+    }
+
+    synchronized Slots slotsFor(Object pool, int slotCount) {
+        return slots.computeIfAbsent(pool, p -> new Slots(slotCount));
+    }
+
+    synchronized void recordRecycle() { recycled++; }
+
+    /** Circular list of frames this ring loaded into one pool, with the page each was loaded with. */
+    static final class Slots {
+        final Object[] frames;
+        final PageId[] pages;
+        int next = 0;
+
+        Slots(int n) {
+            this.frames = new Object[n];
+            this.pages = new PageId[n];
+        }
+
+        void remember(Object frame, PageId pageId) {
+            frames[next] = frame;
+            pages[next] = pageId;
+            next = (next + 1) % frames.length;
+        }
+    }
+}
@@ -1,78 +1,283 @@
 package io.github.anupam.evolvdb.storage.buffer;
 
 import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.policy.ClockEvictionPolicy;
 import io.github.anupam.evolvdb.storage.buffer.policy.EvictionPolicy;
-import io.github.anupam.evolvdb.storage.buffer.policy.LruEvictionPolicy;
+import io.github.anupam.evolvdb.storage.buffer.policy.EvictionPolicies;
 import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.storage.disk.PageId;
 import io.github.anupam.evolvdb.storage.page.Page;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Default BufferPool with pin/unpin and LRU eviction (Strategy).
+ * Default BufferPool with pin/unpin and pluggable eviction (Strategy), LRU unless configured otherwise.
+ *
+ * Frames are fixed slots of a preallocated off-heap {@link FrameArena}; a miss takes a free frame (or the
+ * evicted victim's frame) and reads the page straight into it, so steady-state misses allocate no buffers.
+ *
+ * With read-ahead enabled, {@link #prefetch} hands the load to an I/O thread: it claims frames under the
+ * lock and marks them {@code loading}, reads the run outside the lock with one vectored read, and wakes any
+ * getPage that arrived meanwhile.
+ *
+ * flushAll writes dirty pages in PageId order through {@link DiskManager#writePages}, so adjacent dirty pages
+ * go out in one gather write.
  */
-public final class DefaultBufferPool implements BufferPool {
-    private final int pageSize;
+public final class DefaultBufferPool implements BufferPool, DirtyPageSource {
     private final int capacity;
     private final DiskManager diskManager;
     private final EvictionPolicy evictionPolicy;
+    private final FrameArena arena;
+    private final int ringPages;
+    private final double ringThreshold;
+    private final int ringShare;
+    private final ReadAheadExecutor readAhead;
+    private final boolean ownsReadAhead;
 
-    private final Map<PageId, Frame> frames = new HashMap<>();
+    private final Map<PageId, Frame> frames;
+    private final Frame[] freeFrames;
+    private int freeCount;
+    private int writesInFlight;
+    private int readsInFlight;
+
+    private final LongAdder foregroundWrites = new LongAdder();
+    private final LongAdder backgroundWrites = new LongAdder();
+    private final LongAdder prefetchReads = new LongAdder();
+    private final LongAdder prefetchHits = new LongAdder();
 
     public DefaultBufferPool(DbConfig config, DiskManager diskManager) {
-        this(config, diskManager, new LruEvictionPolicy());
+        this(config, diskManager, EvictionPolicies.create(config.evictionPolicy(), config.bufferPoolPages()));
     }
 
     public DefaultBufferPool(DbConfig config, DiskManager diskManager, EvictionPolicy evictionPolicy) {
-        this.pageSize = Objects.requireNonNull(config).pageSize();
-        this.capacity = Objects.requireNonNull(config).bufferPoolPages();
+        this(config, new FrameArena(Objects.requireNonNull(config).pageSize(), config.bufferPoolPages(),
+                        FrameArena.DEFAULT_CHUNK_BYTES, config.ioAlignment()),
+                0, config.bufferPoolPages(), 1, diskManager, evictionPolicy,
+                config.readAheadPages() > 0 ? new ReadAheadExecutor(config.readAheadPages(), config.readAheadThreads()) : null,
+                true);
+    }
+
+    /**
+     * Creates a pool over frames {@code [firstFrame, firstFrame + capacity)} of a shared arena
+     * (used by PartitionedBufferPool so all shards share one preallocated region). {@code ringShare} is the
+     * number of pools a BufferRing is split across. {@code readAhead} may be null (read-ahead disabled); when
+     * {@code ownsReadAhead} is false the caller shuts it down before closing this pool.
+     */
+    DefaultBufferPool(DbConfig config, FrameArena arena, int firstFrame, int capacity, int ringShare,
+                      DiskManager diskManager, EvictionPolicy evictionPolicy,
+                      ReadAheadExecutor readAhead, boolean ownsReadAhead) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.ringPages = Objects.requireNonNull(config).bufferRingPages();
+        this.ringThreshold = config.bufferRingThreshold();
+        this.ringShare = ringShare;
+        this.readAhead = readAhead;
+        this.ownsReadAhead = ownsReadAhead;
+        this.arena = Objects.requireNonNull(arena);
+        if (firstFrame < 0 || firstFrame + capacity > arena.frameCount()) {
+            throw new IllegalArgumentException("frame range outside arena");
+        }
+        this.capacity = capacity;
         this.diskManager = Objects.requireNonNull(diskManager);
         this.evictionPolicy = Objects.requireNonNull(evictionPolicy);
+        if (evictionPolicy instanceof ClockEvictionPolicy clock && clock.capacity() < capacity) {
+            throw new IllegalArgumentException("CLOCK policy has fewer slots than the pool has frames");
+        }
+        this.frames = new HashMap<>(capacity * 2);
+        this.freeFrames = new Frame[capacity];
+        // Push in reverse so frames are handed out in arena order.
+        for (int i = capacity - 1; i >= 0; i--) {
+            freeFrames[freeCount++] = new Frame(i, arena.frame(firstFrame + i));
+        }
     }
 
     @Override
-    public synchronized Page getPage(PageId pageId, boolean forUpdate) throws IOException {
-        Frame f = frames.get(pageId);
-        if (f != null) {
-            f.pinCount++;
-            evictionPolicy.onAccess(pageId);
-            return f.asPage();
-        }
-        // Need to load
-        if (frames.size() >= capacity) {
-            evictOne();
-        }
-        // Load from disk
-        Frame nf = new Frame(pageId, ByteBuffer.allocate(pageSize));
-        ByteBuffer dst = nf.buffer.duplicate();
+    public int pageSize() { return arena.pageSize(); }
+
+    /** Bytes of frame memory owned by this pool (preallocated off-heap). */
+    public long reservedBytes() { return (long) capacity * arena.pageSize(); }
+
+    @Override
+    public Page getPage(PageId pageId, boolean forUpdate) throws IOException {
+        return getPage(pageId, forUpdate, null);
+    }
+
+    @Override
+    public synchronized Page getPage(PageId pageId, boolean forUpdate, BufferRing ring) throws IOException {
+        BufferRing.Slots slots = (ring == null) ? null : ring.slotsFor(this, Math.max(1, ring.size() / ringShare));
+        while (true) {
+            Frame f = frames.get(pageId);
+            if (f != null) {
+                if (f.loading) {
+                    awaitIo(); // read-ahead is filling this frame; re-check since the read may fail
+                    continue;
+                }
+                if (f.prefetched) { // counted only once the page is resident: a failed load is not a hit
+                    f.prefetched = false;
+                    prefetchHits.increment();
+                }
+                f.pinCount++;
+                evictionPolicy.onAccess(pageId, f.index);
+                return f;
+            }
+            // Need to load: recycle a ring frame, else take a free frame or the shared victim's frame
+            Frame nf = (slots != null) ? recycleRingFrame(ring, slots) : null;
+            if (nf == null) nf = (freeCount > 0) ? freeFrames[--freeCount] : evictOne();
+            if (nf == null) {
+                // Only frames with I/O in flight are evictable; wait, then re-check the page table since
+                // another thread may have loaded this page meanwhile.
+                awaitIo();
+                continue;
+            }
+            ByteBuffer dst = nf.buffer.duplicate();
+            dst.clear();
+            try {
+                diskManager.readPage(pageId, dst);
+            } catch (IOException | RuntimeException e) {
+                freeFrames[freeCount++] = nf;
+                throw e;
+            }
+            nf.assign(pageId);
+            nf.pinCount = 1;
+            frames.put(pageId, nf);
+            evictionPolicy.onInsert(pageId, nf.index);
+            if (slots != null) slots.remember(nf, pageId);
+            return nf;
+        }
+    }
+
+    @Override
+    public void prefetch(PageId first, int count, BufferRing ring) {
+        if (readAhead != null) readAhead.request(first, count, ring, p -> this, diskManager);
+    }
+
+    @Override
+    public int readAheadPages() {
+        return readAhead == null ? 0 : readAhead.depth();
+    }
+
+    synchronized boolean isResident(PageId pageId) {
+        return frames.containsKey(pageId);
+    }
+
+    /**
+     * Claims a frame for an asynchronous load of {@code pageId} and marks it loading; returns a buffer over the
+     * frame to read into, or null if the page is resident or no frame can be taken without blocking.
+     * The caller must follow with {@link #endLoad}.
+     */
+    synchronized ByteBuffer beginLoad(PageId pageId, BufferRing ring) {
+        if (frames.containsKey(pageId)) return null;
+        BufferRing.Slots slots = (ring == null) ? null : ring.slotsFor(this, Math.max(1, ring.size() / ringShare));
+        Frame f;
+        try {
+            f = (slots != null) ? recycleRingFrame(ring, slots) : null;
+            if (f == null) f = (freeCount > 0) ? freeFrames[--freeCount] : evictOne();
+        } catch (IOException | IllegalStateException e) {
+            return null; // victim write-back failed or everything is pinned: the scan reads on demand
+        }
+        if (f == null) return null;
+        f.assign(pageId);
+        f.loading = true;
+        f.prefetched = true;
+        frames.put(pageId, f);
+        evictionPolicy.onInsert(pageId, f.index);
+        if (slots != null) slots.remember(f, pageId);
+        readsInFlight++;
+        ByteBuffer dst = f.buffer.duplicate();
         dst.clear();
-        diskManager.readPage(pageId, dst);
-        nf.pinCount = 1;
-        frames.put(pageId, nf);
-        evictionPolicy.onInsert(pageId);
-        return nf.asPage();
+        return dst;
+    }
+
+    /** Completes a load started by beginLoad; a failed load frees the frame so getPage reads on demand. */
+    synchronized void endLoad(PageId pageId, boolean ok) {
+        Frame f = frames.get(pageId);
+        f.loading = false;
+        if (ok) {
+            prefetchReads.increment();
+        } else {
+            frames.remove(pageId);
+            evictionPolicy.onRemove(pageId, f.index);
+            f.assign(null);
+            freeFrames[freeCount++] = f;
+        }
+        readsInFlight--;
+        notifyAll();
+    }
+
+    @Override
+    public BufferRing bulkRing(BufferRing.Kind kind, int relationPages) {
+        if (!BufferRing.worthUsing(kind, relationPages, capacity, ringThreshold)) return null;
+        return new BufferRing(kind, Math.max(1, Math.min(ringPages, capacity / 8)));
+    }
+
+    /**
+     * Returns the frame in the ring's next slot, evicting its page (written back if dirty), if the frame still
+     * holds the page the ring loaded and nobody is using it, including a read-ahead page the scan has not reached
+     * yet. Returns null while the ring is still filling up or if the slot's frame was taken over, in which case the
+     * caller falls back to the shared pool.
+     */
+    private Frame recycleRingFrame(BufferRing ring, BufferRing.Slots slots) throws IOException {
+        Frame rf = (Frame) slots.frames[slots.next];
+        PageId owned = slots.pages[slots.next];
+        if (rf == null || !owned.equals(rf.id) || rf.pinCount > 0 || rf.writing || rf.loading || rf.prefetched) {
+            return null;
+        }
+        frames.remove(owned);
+        evictionPolicy.onRemove(owned, rf.index);
+        if (rf.dirty) {
+            ByteBuffer src = rf.buffer.duplicate();
+            src.clear();
+            try {
+                diskManager.writePage(owned, src, 0);
+            } catch (IOException | RuntimeException e) {
+                frames.put(owned, rf);
+                evictionPolicy.onInsert(owned, rf.index);
+                throw e;
+            }
+            foregroundWrites.increment();
+        }
+        rf.assign(null);
+        ring.recordRecycle();
+        return rf;
     }
 
-    private void evictOne() throws IOException {
+    /**
+     * Evicts one unpinned page, writing it back if dirty, and returns its now-unassigned frame.
+     * Returns null if the only unpinned frames have I/O in flight (background write or read-ahead).
+     */
+    private Frame evictOne() throws IOException {
         PageId victim = evictionPolicy.evictCandidate(id -> {
             Frame fr = frames.get(id);
-            return fr != null && fr.pinCount == 0;
+            return fr != null && fr.pinCount == 0 && !fr.writing && !fr.loading;
         });
         if (victim == null) {
+            if (writesInFlight > 0 || readsInFlight > 0) return null;
             throw new IllegalStateException("No evictable frame available (all pinned)");
         }
         Frame vf = frames.remove(victim);
-        evictionPolicy.onRemove(victim);
+        evictionPolicy.onRemove(victim, vf.index);
         if (vf.dirty) {
             ByteBuffer src = vf.buffer.duplicate();
             src.clear();
-            diskManager.writePage(victim, src, 0);
+            try {
+                diskManager.writePage(victim, src, 0);
+            } catch (IOException | RuntimeException e) {
+                // Keep the dirty page resident rather than losing its contents
+                frames.put(victim, vf);
+                evictionPolicy.onInsert(victim, vf.index);
+                throw e;
+            }
+            foregroundWrites.increment();
         }
+        vf.assign(null);
+        return vf;
     }
 
     @Override
@@ -87,61 +292,219 @@ public final class DefaultBufferPool implements BufferPool {
     @Override
     public synchronized void flush(PageId pageId) throws IOException {
         Frame f = frames.get(pageId);
+        // A background write of an older image may still be in flight; wait so flush+sync covers it.
+        while (f != null && f.writing) {
+            awaitIo();
+            f = frames.get(pageId);
+        }
         if (f == null) return;
         if (f.dirty) {
             ByteBuffer src = f.buffer.duplicate();
             src.clear();
             diskManager.writePage(pageId, src, 0);
+            foregroundWrites.increment();
             f.dirty = false;
         }
     }
 
     @Override
-    public synchronized void flushAll() throws IOException {
-        IOException first = null;
-        for (var e : frames.entrySet()) {
-            try {
-                flush(e.getKey());
-            } catch (IOException ex) {
-                if (first == null) first = ex;
+    public synchronized void discard(FileId fileId, int fromPageNo) {
+        while (true) {
+            List<Frame> drop = new ArrayList<>();
+            boolean busy = false;
+            for (Frame f : frames.values()) {
+                if (!f.id.fileId().equals(fileId) || f.id.pageNo() < fromPageNo) continue;
+                if (f.pinCount > 0) throw new IllegalStateException("Cannot discard pinned page: " + f.id);
+                if (f.writing || f.loading) busy = true;
+                drop.add(f);
+            }
+            if (busy) {
+                awaitIo(); // a write finishing after the truncate would extend the file again
+                continue;
+            }
+            for (Frame f : drop) {
+                frames.remove(f.id);
+                evictionPolicy.onRemove(f.id, f.index);
+                f.assign(null);
+                freeFrames[freeCount++] = f;
+            }
+            return;
+        }
+    }
+
+    @Override
+    public BufferPoolStats stats() {
+        return new BufferPoolStats(foregroundWrites.sum(), backgroundWrites.sum(),
+                prefetchReads.sum(), prefetchHits.sum());
+    }
+
+    @Override
+    public synchronized List<PageId> dirtyUnpinnedPages() {
+        List<PageId> out = new ArrayList<>();
+        for (Frame f : frames.values()) {
+            if (f.dirty && f.pinCount == 0 && !f.writing) out.add(f.id);
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized List<PageId> dirtyPages() {
+        List<PageId> out = new ArrayList<>();
+        for (Frame f : frames.values()) {
+            if (f.dirty || f.writing) out.add(f.id);
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized boolean needsWrite(PageId pageId) {
+        Frame f = frames.get(pageId);
+        return f != null && (f.dirty || f.writing);
+    }
+
+    @Override
+    public boolean writeBack(PageId pageId, ByteBuffer scratch) throws IOException {
+        Frame f;
+        synchronized (this) {
+            f = frames.get(pageId);
+            if (f == null || !f.dirty || f.pinCount > 0 || f.writing) return false;
+            ByteBuffer src = f.buffer.duplicate();
+            src.clear();
+            scratch.clear();
+            scratch.put(src);
+            scratch.flip();
+            f.dirty = false;
+            f.writing = true; // keeps the frame resident until the copy is on disk
+            writesInFlight++;
+        }
+        boolean ok = false;
+        try {
+            diskManager.writePage(pageId, scratch, 0);
+            backgroundWrites.increment();
+            ok = true;
+            return true;
+        } finally {
+            synchronized (this) {
+                if (!ok) f.dirty = true;
+                f.writing = false;
+                writesInFlight--;
+                notifyAll();
             }
         }
-        if (first != null) throw first;
+    }
+
+    @Override
+    public void sync() throws IOException {
         diskManager.sync();
     }
 
+    /** Waits (releasing the monitor) until some in-flight write or read-ahead completes. Caller holds the lock. */
+    private void awaitIo() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for page I/O", e);
+        }
+    }
+
+    @Override
+    public synchronized void flushAll() throws IOException {
+        flushDirty();
+        diskManager.sync();
+    }
+
+    /**
+     * Writes every dirty frame without forcing the disk; callers decide when to sync. Pages are written in
+     * PageId order in one writePages call so the disk manager can coalesce adjacent pages.
+     */
+    synchronized void flushDirty() throws IOException {
+        // Background writes of older images must land first so flush+sync covers them; none can start
+        // while we hold the lock afterwards.
+        while (writesInFlight > 0) {
+            awaitIo();
+        }
+        List<Frame> dirty = new ArrayList<>();
+        for (Frame f : frames.values()) {
+            if (f.dirty) dirty.add(f);
+        }
+        if (dirty.isEmpty()) return;
+        dirty.sort((a, b) -> BackgroundWriter.PAGE_ORDER.compare(a.id, b.id));
+        List<PageId> ids = new ArrayList<>(dirty.size());
+        List<ByteBuffer> srcs = new ArrayList<>(dirty.size());
+        for (Frame f : dirty) {
+            ids.add(f.id);
+            ByteBuffer src = f.buffer.duplicate();
+            src.clear();
+            srcs.add(src);
+        }
+        diskManager.writePages(ids, srcs, 0);
+        for (Frame f : dirty) f.dirty = false;
+        foregroundWrites.add(dirty.size());
+    }
+
     @Override
-    public synchronized void close() throws IOException {
-        flushAll();
+    public void close() throws IOException {
+        // Drain read-ahead first, outside the monitor its loads need
+        if (ownsReadAhead && readAhead != null) readAhead.close();
+        synchronized (this) {
+            flushAll();
+            releaseFrames();
+        }
+    }
+
+    /** Drops all frames after writing dirty ones, without syncing (shard-level close). */
+    synchronized void closeWithoutSync() throws IOException {
+        flushDirty();
+        releaseFrames();
+    }
+
+    private void releaseFrames() {
+        while (writesInFlight > 0 || readsInFlight > 0) {
+            awaitIo();
+        }
+        for (Frame f : frames.values()) {
+            evictionPolicy.onRemove(f.id, f.index);
+            f.assign(null);
+            freeFrames[freeCount++] = f;
+        }
         frames.clear();
     }
 
-    private final class Frame {
-        final PageId id;
+    /** A fixed arena slot; it is its own Page handle while a page is assigned to it. */
+    private static final class Frame implements Page {
+        final int index; // within this pool, as passed to the eviction policy
         final ByteBuffer buffer;
+        PageId id;
         int pinCount = 0;
         boolean dirty = false;
+        boolean writing = false;
+        boolean loading = false;    // read-ahead is reading into this frame
+        boolean prefetched = false; // loaded by read-ahead and not yet requested
 
-        Frame(PageId id, ByteBuffer buffer) {
-            this.id = id;
+        Frame(int index, ByteBuffer buffer) {
+            this.index = index;
             this.buffer = buffer;
         }
 
-        Page asPage() {
-            return new Page() {
-                @Override
-                public PageId id() { return id; }
-                @Override
-                public ByteBuffer buffer() {
-                    ByteBuffer dup = buffer.duplicate();
-                    dup.clear();
-                    return dup;
-                }
-                @Override
-                public boolean isDirty() { return dirty; }
-                @Override
-                public void markDirty(boolean d) { dirty = d; }
-            };
+        void assign(PageId id) {
+            this.id = id;
+            this.pinCount = 0;
+            this.dirty = false;
+            this.prefetched = false;
+        }
+
+        @Override
+        public PageId id() { return id; }
+        @Override
+        public ByteBuffer buffer() {
+            ByteBuffer dup = buffer.duplicate();
+            dup.clear();
+            return dup;
         }
+        @Override
+        public boolean isDirty() { return dirty; }
+        @Override
+        public void markDirty(boolean d) { dirty = d; }
     }
 }
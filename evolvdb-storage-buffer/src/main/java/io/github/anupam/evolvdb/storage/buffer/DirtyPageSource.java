@@ -0,0 +1,28 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/** Buffer pool hooks used by BackgroundWriter to write dirty pages without holding the pool lock during I/O. */
+interface DirtyPageSource {
+    /** Snapshot of resident dirty pages that are currently unpinned. */
+    List<PageId> dirtyUnpinnedPages();
+
+    /** Snapshot of every resident page that is dirty or being written, pinned or not. */
+    List<PageId> dirtyPages();
+
+    /** Whether the page is resident and dirty or being written, i.e. its latest image may not be on disk yet. */
+    boolean needsWrite(PageId pageId);
+
+    /**
+     * Copies the page into {@code scratch} under the pool lock, marks it clean, and writes the copy outside the
+     * lock. Returns false if the page is no longer resident, clean, pinned, or already being written.
+     */
+    boolean writeBack(PageId pageId, ByteBuffer scratch) throws IOException;
+
+    /** Forces written pages to stable storage. */
+    void sync() throws IOException;
+}
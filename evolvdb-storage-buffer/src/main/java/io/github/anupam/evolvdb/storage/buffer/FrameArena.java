@@ -0,0 +1,70 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Preallocated off-heap memory for buffer pool frames.
+ *
+ * The arena is reserved once, up front, and carved into fixed page-sized frames that are reused across
+ * evictions, so a cache miss reads straight into direct memory and allocates nothing. A single ByteBuffer
+ * cannot exceed 2 GB, so the region is reserved as a sequence of large direct chunks (1 GB by default);
+ * frames never straddle a chunk boundary. Frame {@code i} lives in chunk {@code i / framesPerChunk}.
+ *
+ * Each chunk starts on an {@code alignment} boundary (4 KB by default), so when the page size is a multiple of
+ * it every frame is aligned, as O_DIRECT transfers require.
+ */
+final class FrameArena {
+    static final long DEFAULT_CHUNK_BYTES = 1L << 30;
+    static final int DEFAULT_ALIGNMENT = 4096;
+
+    private final int pageSize;
+    private final int frameCount;
+    private final int framesPerChunk;
+    private final ByteBuffer[] chunks;
+    private final ByteBuffer[] frames;
+
+    FrameArena(int pageSize, int frameCount) {
+        this(pageSize, frameCount, DEFAULT_CHUNK_BYTES);
+    }
+
+    FrameArena(int pageSize, int frameCount, long chunkBytes) {
+        this(pageSize, frameCount, chunkBytes, DEFAULT_ALIGNMENT);
+    }
+
+    FrameArena(int pageSize, int frameCount, long chunkBytes, int alignment) {
+        if (pageSize <= 0) throw new IllegalArgumentException("pageSize must be > 0");
+        if (frameCount <= 0) throw new IllegalArgumentException("frameCount must be > 0");
+        if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("alignment must be a power of two");
+        }
+        long perChunk = Math.max(1, Math.min(chunkBytes, Integer.MAX_VALUE - alignment) / pageSize);
+        this.pageSize = pageSize;
+        this.frameCount = frameCount;
+        this.framesPerChunk = (int) Math.min(perChunk, frameCount);
+        int chunkCount = (frameCount + framesPerChunk - 1) / framesPerChunk;
+        this.chunks = new ByteBuffer[chunkCount];
+        this.frames = new ByteBuffer[frameCount];
+        for (int c = 0; c < chunkCount; c++) {
+            int framesInChunk = Math.min(framesPerChunk, frameCount - c * framesPerChunk);
+            int bytes = framesInChunk * pageSize;
+            ByteBuffer raw = ByteBuffer.allocateDirect(bytes + alignment);
+            int skip = (alignment - raw.alignmentOffset(0, alignment)) % alignment;
+            chunks[c] = raw.slice(skip, bytes);
+            for (int f = 0; f < framesInChunk; f++) {
+                frames[c * framesPerChunk + f] = chunks[c].slice(f * pageSize, pageSize);
+            }
+        }
+    }
+
+    /** Returns the fixed buffer backing frame {@code index}; position/limit are the caller's to reset. */
+    ByteBuffer frame(int index) {
+        return frames[index];
+    }
+
+    int pageSize() { return pageSize; }
+    int frameCount() { return frameCount; }
+    int chunkCount() { return chunks.length; }
+
+    /** Total bytes reserved off-heap by this arena. */
+    long reservedBytes() { return (long) frameCount * pageSize; }
+}
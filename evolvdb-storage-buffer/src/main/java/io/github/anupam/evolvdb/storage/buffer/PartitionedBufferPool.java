@@ -0,0 +1,199 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.policy.EvictionPolicy;
+import io.github.anupam.evolvdb.storage.buffer.policy.EvictionPolicies;
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import io.github.anupam.evolvdb.storage.page.Page;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Lock-striped BufferPool. Pages are hashed by PageId to one of N independent shards; each shard is a
+ * DefaultBufferPool with its own page table, eviction policy instance and monitor, so threads touching
+ * pages in different shards never contend.
+ *
+ * Eviction is shard-local: a miss can only evict a victim from the shard the page hashes to, and a shard
+ * whose frames are all pinned reports "No evictable frame" even if other shards have free frames.
+ */
+public final class PartitionedBufferPool implements BufferPool, DirtyPageSource {
+    private final DiskManager diskManager;
+    private final DefaultBufferPool[] shards;
+    private final FrameArena arena;
+    private final int capacity;
+    private final int ringPages;
+    private final double ringThreshold;
+    private final ReadAheadExecutor readAhead;
+
+    public PartitionedBufferPool(DbConfig config, DiskManager diskManager) {
+        this(config, diskManager, capacity -> EvictionPolicies.create(config.evictionPolicy(), capacity));
+    }
+
+    /**
+     * @param policyFactory creates one eviction policy per shard, given that shard's frame capacity
+     */
+    public PartitionedBufferPool(DbConfig config, DiskManager diskManager, IntFunction<? extends EvictionPolicy> policyFactory) {
+        Objects.requireNonNull(config);
+        this.diskManager = Objects.requireNonNull(diskManager);
+        Objects.requireNonNull(policyFactory);
+        int partitions = config.bufferPoolPartitions();
+        int capacity = config.bufferPoolPages();
+        this.capacity = capacity;
+        this.ringPages = config.bufferRingPages();
+        this.ringThreshold = config.bufferRingThreshold();
+        if (partitions > capacity) throw new IllegalArgumentException("more partitions than buffer pool pages");
+        this.shards = new DefaultBufferPool[partitions];
+        // One arena for the whole pool; each shard owns a contiguous frame range of it.
+        this.arena = new FrameArena(config.pageSize(), capacity, FrameArena.DEFAULT_CHUNK_BYTES, config.ioAlignment());
+        // One read-ahead executor for all shards; this pool shuts it down
+        this.readAhead = config.readAheadPages() > 0
+                ? new ReadAheadExecutor(config.readAheadPages(), config.readAheadThreads()) : null;
+        // Spread capacity evenly; the first (capacity % partitions) shards get one extra frame.
+        int base = capacity / partitions;
+        int extra = capacity % partitions;
+        int firstFrame = 0;
+        for (int i = 0; i < partitions; i++) {
+            int shardCapacity = base + (i < extra ? 1 : 0);
+            shards[i] = new DefaultBufferPool(config, arena, firstFrame, shardCapacity, partitions, diskManager,
+                    Objects.requireNonNull(policyFactory.apply(shardCapacity), "policyFactory returned null"),
+                    readAhead, false);
+            firstFrame += shardCapacity;
+        }
+    }
+
+    /** Bytes of frame memory preallocated for all shards. */
+    public long reservedBytes() { return arena.reservedBytes(); }
+
+    @Override
+    public int pageSize() { return arena.pageSize(); }
+
+    /** Number of shards. */
+    public int partitions() { return shards.length; }
+
+    @Override
+    public Page getPage(PageId pageId, boolean forUpdate) throws IOException {
+        return shardFor(pageId).getPage(pageId, forUpdate);
+    }
+
+    @Override
+    public Page getPage(PageId pageId, boolean forUpdate, BufferRing ring) throws IOException {
+        return shardFor(pageId).getPage(pageId, forUpdate, ring);
+    }
+
+    @Override
+    public void prefetch(PageId first, int count, BufferRing ring) {
+        // One request across shards, so the run is still read with a single vectored call
+        if (readAhead != null) readAhead.request(first, count, ring, this::shardFor, diskManager);
+    }
+
+    @Override
+    public int readAheadPages() {
+        return readAhead == null ? 0 : readAhead.depth();
+    }
+
+    @Override
+    public BufferRing bulkRing(BufferRing.Kind kind, int relationPages) {
+        if (!BufferRing.worthUsing(kind, relationPages, capacity, ringThreshold)) return null;
+        return new BufferRing(kind, Math.max(shards.length, Math.min(ringPages, capacity / 8)));
+    }
+
+    @Override
+    public void unpin(PageId pageId, boolean dirty) {
+        shardFor(pageId).unpin(pageId, dirty);
+    }
+
+    @Override
+    public void flush(PageId pageId) throws IOException {
+        shardFor(pageId).flush(pageId);
+    }
+
+    @Override
+    public void flushAll() throws IOException {
+        IOException first = null;
+        for (DefaultBufferPool shard : shards) {
+            try {
+                shard.flushDirty();
+            } catch (IOException e) {
+                if (first == null) first = e;
+            }
+        }
+        if (first != null) throw first;
+        diskManager.sync();
+    }
+
+    @Override
+    public void discard(FileId fileId, int fromPageNo) {
+        for (DefaultBufferPool shard : shards) shard.discard(fileId, fromPageNo);
+    }
+
+    @Override
+    public BufferPoolStats stats() {
+        BufferPoolStats total = new BufferPoolStats(0, 0);
+        for (DefaultBufferPool shard : shards) total = total.plus(shard.stats());
+        return total;
+    }
+
+    @Override
+    public List<PageId> dirtyUnpinnedPages() {
+        List<PageId> out = new ArrayList<>();
+        for (DefaultBufferPool shard : shards) out.addAll(shard.dirtyUnpinnedPages());
+        return out;
+    }
+
+    @Override
+    public List<PageId> dirtyPages() {
+        List<PageId> out = new ArrayList<>();
+        for (DefaultBufferPool shard : shards) out.addAll(shard.dirtyPages());
+        return out;
+    }
+
+    @Override
+    public boolean needsWrite(PageId pageId) {
+        return shardFor(pageId).needsWrite(pageId);
+    }
+
+    @Override
+    public boolean writeBack(PageId pageId, ByteBuffer scratch) throws IOException {
+        return shardFor(pageId).writeBack(pageId, scratch);
+    }
+
+    @Override
+    public void sync() throws IOException {
+        diskManager.sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (readAhead != null) readAhead.close();
+        IOException first = null;
+        for (DefaultBufferPool shard : shards) {
+            try {
+                shard.closeWithoutSync();
+            } catch (IOException e) {
+                if (first == null) first = e;
+            }
+        }
+        if (first != null) throw first;
+        diskManager.sync();
+    }
+
+    DefaultBufferPool shardFor(PageId pageId) {
+        return shards[shardIndex(pageId, shards.length)];
+    }
+
+    /** Maps a page to a shard. Mixes the hash so consecutive page numbers of one file spread across shards. */
+    static int shardIndex(PageId pageId, int partitions) {
+        int h = pageId.fileId().hashCode() * 31 + pageId.pageNo();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return Math.floorMod(h, partitions);
+    }
+}
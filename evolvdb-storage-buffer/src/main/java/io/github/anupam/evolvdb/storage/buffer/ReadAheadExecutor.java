@@ -0,0 +1,99 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * I/O executor for buffer pool read-ahead: a few daemon threads that load prefetched pages into frames so a
+ * sequential scan finds them resident. One executor is shared by all shards of a PartitionedBufferPool.
+ *
+ * A request for a run of pages claims a frame for each non-resident page in the shard it hashes to, then reads
+ * them with one {@link DiskManager#readPages} call so consecutive pages arrive in a single scatter read.
+ *
+ * Read-ahead is best effort: requests submitted after close are dropped.
+ */
+final class ReadAheadExecutor implements AutoCloseable {
+    private final int depth;
+    private final ExecutorService executor;
+
+    ReadAheadExecutor(int depth, int threads) {
+        if (depth <= 0) throw new IllegalArgumentException("depth must be > 0");
+        if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+        this.depth = depth;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "evolvdb-readahead-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Pages a scan should keep requested ahead of its position. */
+    int depth() { return depth; }
+
+    /** Schedules an asynchronous load of the non-resident pages among {@code [first, first + count)}. */
+    void request(PageId first, int count, BufferRing ring, Function<PageId, DefaultBufferPool> poolOf,
+                 DiskManager disk) {
+        List<PageId> wanted = new ArrayList<>(Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            PageId pid = new PageId(first.fileId(), first.pageNo() + i);
+            if (!poolOf.apply(pid).isResident(pid)) wanted.add(pid);
+        }
+        if (!wanted.isEmpty()) submit(() -> load(wanted, ring, poolOf, disk));
+    }
+
+    private static void load(List<PageId> wanted, BufferRing ring, Function<PageId, DefaultBufferPool> poolOf,
+                             DiskManager disk) {
+        List<PageId> claimed = new ArrayList<>(wanted.size());
+        List<ByteBuffer> dsts = new ArrayList<>(wanted.size());
+        for (PageId pid : wanted) {
+            ByteBuffer dst = poolOf.apply(pid).beginLoad(pid, ring);
+            if (dst != null) {
+                claimed.add(pid);
+                dsts.add(dst);
+            }
+        }
+        if (claimed.isEmpty()) return;
+        boolean ok = false;
+        try {
+            disk.readPages(claimed, dsts);
+            ok = true;
+        } catch (IOException | RuntimeException e) {
+            // dropped; a later getPage retries the read and reports the error
+        } finally {
+            for (PageId pid : claimed) poolOf.apply(pid).endLoad(pid, ok);
+        }
+    }
+
+    private void submit(Runnable load) {
+        try {
+            executor.execute(load);
+        } catch (RejectedExecutionException closed) {
+            // shutting down; the page will be read on demand if anyone still wants it
+        }
+    }
+
+    /** Stops accepting requests and waits for queued loads to finish, so frames can be released safely. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("read-ahead I/O did not finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
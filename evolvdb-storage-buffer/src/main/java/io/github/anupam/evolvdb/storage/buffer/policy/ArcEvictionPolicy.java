@@ -0,0 +1,103 @@
+package io.github.anupam.evolvdb.storage.buffer.policy;
+
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Adaptive Replacement Cache (Megiddo & Modha).
+ *
+ * Resident pages live in T1 (seen once recently) or T2 (seen at least twice). Evicted pages leave ghost
+ * entries in B1/B2. A miss that hits a ghost list shifts the target size {@code p} of T1 towards the list
+ * that would have kept the page. A sequential scan only churns T1, so the frequently used pages in T2
+ * survive it.
+ *
+ * Adaptation to the EvictionPolicy callbacks: the buffer pool asks for a victim before it tells the policy
+ * which page is being loaded, so REPLACE uses {@code |T1| > p} without the "incoming page is in B2"
+ * tie-break of the paper. Pinned pages are skipped; if the preferred list has no evictable page the
+ * other list is tried.
+ */
+public final class ArcEvictionPolicy implements EvictionPolicy {
+    private final int capacity;
+    private final LinkedHashSet<PageId> t1 = new LinkedHashSet<>();
+    private final LinkedHashSet<PageId> t2 = new LinkedHashSet<>();
+    private final LinkedHashSet<PageId> b1 = new LinkedHashSet<>();
+    private final LinkedHashSet<PageId> b2 = new LinkedHashSet<>();
+    private int p = 0;
+
+    public ArcEvictionPolicy(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void onInsert(PageId pageId) {
+        Objects.requireNonNull(pageId);
+        if (t1.contains(pageId) || t2.contains(pageId)) {
+            onAccess(pageId);
+            return;
+        }
+        if (b1.remove(pageId)) {
+            // Recency ghost hit: T1 was too small.
+            p = Math.min(capacity, p + Math.max(b2.size() / Math.max(b1.size(), 1), 1));
+            t2.add(pageId);
+        } else if (b2.remove(pageId)) {
+            // Frequency ghost hit: T2 was too small.
+            p = Math.max(0, p - Math.max(b1.size() / Math.max(b2.size(), 1), 1));
+            t2.add(pageId);
+        } else {
+            t1.add(pageId);
+        }
+        trimGhosts();
+    }
+
+    @Override
+    public void onAccess(PageId pageId) {
+        if (t1.remove(pageId) || t2.remove(pageId)) {
+            t2.add(pageId);
+        }
+    }
+
+    @Override
+    public void onRemove(PageId pageId) {
+        if (t1.remove(pageId)) {
+            b1.add(pageId);
+        } else if (t2.remove(pageId)) {
+            b2.add(pageId);
+        }
+        trimGhosts();
+    }
+
+    @Override
+    public PageId evictCandidate(Predicate<PageId> canEvict) {
+        boolean preferT1 = !t1.isEmpty() && (t1.size() > p || t2.isEmpty());
+        PageId victim = firstEvictable(preferT1 ? t1 : t2, canEvict);
+        if (victim == null) victim = firstEvictable(preferT1 ? t2 : t1, canEvict);
+        return victim; // caller will remove
+    }
+
+    /** Current adaptive target size of T1 (exposed for diagnostics). */
+    public int target() { return p; }
+
+    private static PageId firstEvictable(LinkedHashSet<PageId> list, Predicate<PageId> canEvict) {
+        for (PageId id : list) {
+            if (canEvict.test(id)) return id;
+        }
+        return null;
+    }
+
+    /** Keeps |T1|+|B1| <= c and |T1|+|T2|+|B1|+|B2| <= 2c by dropping the oldest ghosts. */
+    private void trimGhosts() {
+        while (t1.size() + b1.size() > capacity && !b1.isEmpty()) removeOldest(b1);
+        while (t1.size() + t2.size() + b1.size() + b2.size() > 2 * capacity && !b2.isEmpty()) removeOldest(b2);
+    }
+
+    private static void removeOldest(LinkedHashSet<PageId> list) {
+        Iterator<PageId> it = list.iterator();
+        it.next();
+        it.remove();
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.anupam.evolvdb.storage.buffer.policy;
+
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * CLOCK-sweep (second chance with a usage counter, as in Postgres) over a fixed array of frame slots.
+ *
+ * Each resident page owns one slot. A hit bumps the slot's usage counter (saturating at {@link #MAX_USAGE});
+ * eviction advances a clock hand, decrementing non-zero counters of evictable pages until it finds one at zero.
+ * Pinned pages are skipped without losing their counter. A sweep is amortized O(1) because every decrement is
+ * paid for by an earlier hit.
+ *
+ * The buffer pools call the frame-index variants, so a page's slot is the pool frame holding it and a hit is a
+ * single store into {@code usage[frame]}. Driven by PageId alone (standalone use, as in the tests), the policy
+ * hands out slots itself and finds them through a map. An instance must be driven one way or the other, not both.
+ */
+public final class ClockEvictionPolicy implements EvictionPolicy {
+    /** Saturation limit for usage counters; bounds how many sweeps a hot page survives once it goes cold. */
+    public static final int MAX_USAGE = 5;
+
+    private final PageId[] slots;
+    private final byte[] usage;
+    private final int[] freeSlots;          // PageId-only use
+    private int freeCount;
+    private final Map<PageId, Integer> slotOf; // PageId-only use
+    private int hand = 0;
+
+    public ClockEvictionPolicy(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.slots = new PageId[capacity];
+        this.usage = new byte[capacity];
+        this.freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) freeSlots[i] = capacity - 1 - i;
+        this.freeCount = capacity;
+        this.slotOf = new HashMap<>();
+    }
+
+    @Override
+    public void onInsert(PageId pageId, int frame) {
+        slots[frame] = Objects.requireNonNull(pageId);
+        usage[frame] = 1;
+    }
+
+    @Override
+    public void onAccess(PageId pageId, int frame) {
+        if (usage[frame] < MAX_USAGE) usage[frame]++;
+    }
+
+    @Override
+    public void onRemove(PageId pageId, int frame) {
+        slots[frame] = null;
+        usage[frame] = 0;
+    }
+
+    @Override
+    public void onInsert(PageId pageId) {
+        Objects.requireNonNull(pageId);
+        Integer existing = slotOf.get(pageId);
+        if (existing != null) {
+            usage[existing] = 1;
+            return;
+        }
+        if (freeCount == 0) throw new IllegalStateException("CLOCK policy full (capacity " + slots.length + ")");
+        int idx = freeSlots[--freeCount];
+        slotOf.put(pageId, idx);
+        onInsert(pageId, idx);
+    }
+
+    @Override
+    public void onAccess(PageId pageId) {
+        Integer idx = slotOf.get(pageId);
+        if (idx != null) onAccess(pageId, idx);
+    }
+
+    @Override
+    public void onRemove(PageId pageId) {
+        Integer idx = slotOf.remove(pageId);
+        if (idx == null) return;
+        onRemove(pageId, idx);
+        freeSlots[freeCount++] = idx;
+    }
+
+    @Override
+    public PageId evictCandidate(Predicate<PageId> canEvict) {
+        int n = slots.length;
+        // After MAX_USAGE full rotations every evictable counter has reached zero, so one more rotation
+        // either finds a victim or proves that every resident page is pinned.
+        int maxSteps = n * (MAX_USAGE + 1);
+        boolean sawEvictable = false;
+        for (int step = 0; step < maxSteps; step++) {
+            int idx = hand;
+            hand = (hand + 1 == n) ? 0 : hand + 1;
+            PageId id = slots[idx];
+            if (id == null || !canEvict.test(id)) {
+                if (step % n == n - 1 && !sawEvictable) return null;
+                continue;
+            }
+            sawEvictable = true;
+            if (usage[idx] == 0) {
+                return id; // caller will remove
+            }
+            usage[idx]--;
+        }
+        return null;
+    }
+
+    /** Number of frame slots this policy was sized for. */
+    public int capacity() { return slots.length; }
+}
@@ -0,0 +1,21 @@
+package io.github.anupam.evolvdb.storage.buffer.policy;
+
+import io.github.anupam.evolvdb.config.EvictionPolicyType;
+
+import java.util.Objects;
+
+/** Factory mapping the configured EvictionPolicyType to a policy instance sized for a pool (or shard). */
+public final class EvictionPolicies {
+    private EvictionPolicies() {}
+
+    public static EvictionPolicy create(EvictionPolicyType type, int capacity) {
+        Objects.requireNonNull(type, "type");
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        return switch (type) {
+            case LRU -> new LruEvictionPolicy();
+            case CLOCK -> new ClockEvictionPolicy(capacity);
+            case LRU_2 -> LruKEvictionPolicy.lru2(capacity);
+            case ARC -> new ArcEvictionPolicy(capacity);
+        };
+    }
+}
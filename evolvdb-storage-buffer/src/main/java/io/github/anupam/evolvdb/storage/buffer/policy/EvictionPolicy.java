@@ -15,4 +15,13 @@ public interface EvictionPolicy {
      * or null if none available.
      */
     PageId evictCandidate(Predicate<PageId> canEvict);
+
+    /**
+     * Variant of {@link #onInsert(PageId)} used by the buffer pools, which also pass the index of the frame holding
+     * the page ({@code 0 <= frame <} the pool's capacity); likewise for onAccess and onRemove. Policies that keep
+     * per-frame state index it by frame instead of looking the page up; the others ignore it.
+     */
+    default void onInsert(PageId pageId, int frame) { onInsert(pageId); }
+    default void onAccess(PageId pageId, int frame) { onAccess(pageId); }
+    default void onRemove(PageId pageId, int frame) { onRemove(pageId); }
 }
@@ -0,0 +1,110 @@
+package io.github.anupam.evolvdb.storage.buffer.policy;
+
+import io.github.anupam.evolvdb.storage.disk.PageId;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * LRU-K (O'Neil, O'Neil, Weikum). The victim is the page whose K-th most recent reference is oldest;
+ * pages with fewer than K references count as infinitely old and are evicted first, least recent first.
+ *
+ * This makes the policy scan-resistant: pages touched once by a sequential scan never outrank pages with
+ * repeated references. Reference history of evicted pages is retained (bounded) so a hot page that was
+ * evicted re-enters with its history intact. Resident pages are kept in a TreeSet ordered by eviction
+ * priority, so hits and victim selection are O(log n).
+ */
+public final class LruKEvictionPolicy implements EvictionPolicy {
+    private final int k;
+    private final Map<PageId, Node> resident = new HashMap<>();
+    private final TreeSet<Node> order = new TreeSet<>(Comparator
+            .comparingLong((Node n) -> n.kthRef())
+            .thenComparingLong(Node::lastRef));
+    private final LinkedHashMap<PageId, long[]> retained;
+    private long clock = 0;
+
+    /** Creates LRU-K retaining the history of up to {@code historyCapacity} evicted pages. */
+    public LruKEvictionPolicy(int k, int historyCapacity) {
+        if (k < 1) throw new IllegalArgumentException("k must be >= 1");
+        if (historyCapacity < 0) throw new IllegalArgumentException("historyCapacity must be >= 0");
+        this.k = k;
+        this.retained = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PageId, long[]> eldest) {
+                return size() > historyCapacity;
+            }
+        };
+    }
+
+    /** LRU-2 sized for a pool of {@code capacity} frames. */
+    public static LruKEvictionPolicy lru2(int capacity) {
+        return new LruKEvictionPolicy(2, capacity);
+    }
+
+    @Override
+    public void onInsert(PageId pageId) {
+        Objects.requireNonNull(pageId);
+        Node n = resident.get(pageId);
+        if (n != null) {
+            touch(n);
+            return;
+        }
+        long[] history = retained.remove(pageId);
+        n = new Node(pageId, history != null ? history : new long[k]);
+        n.record(++clock);
+        resident.put(pageId, n);
+        order.add(n);
+    }
+
+    @Override
+    public void onAccess(PageId pageId) {
+        Node n = resident.get(pageId);
+        if (n != null) touch(n);
+    }
+
+    @Override
+    public void onRemove(PageId pageId) {
+        Node n = resident.remove(pageId);
+        if (n == null) return;
+        order.remove(n);
+        retained.put(pageId, n.refs);
+    }
+
+    @Override
+    public PageId evictCandidate(Predicate<PageId> canEvict) {
+        for (Node n : order) {
+            if (canEvict.test(n.id)) return n.id; // caller will remove
+        }
+        return null;
+    }
+
+    private void touch(Node n) {
+        order.remove(n);
+        n.record(++clock);
+        order.add(n);
+    }
+
+    /** Reference timestamps kept newest-first; 0 means "no such reference". */
+    private static final class Node {
+        final PageId id;
+        final long[] refs;
+
+        Node(PageId id, long[] refs) {
+            this.id = id;
+            this.refs = refs;
+        }
+
+        void record(long t) {
+            System.arraycopy(refs, 0, refs, 1, refs.length - 1);
+            refs[0] = t;
+        }
+
+        long lastRef() { return refs[0]; }
+        long kthRef() { return refs[refs.length - 1]; }
+    }
+}
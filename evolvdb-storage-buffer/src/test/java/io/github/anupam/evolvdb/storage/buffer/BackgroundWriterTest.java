@@ -0,0 +1,189 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundWriterTest {
+    private Path tmpDir;
+
+    private DbConfig newConfig(int poolPages) throws IOException {
+        tmpDir = Files.createTempDirectory("evolvdb-bgw-");
+        return DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(poolPages).build();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a,b) -> b.getNameCount()-a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    @Test
+    void givenDirtyPages_whenWriteRound_thenWritesAtMostMaxPagesInPageIdOrder() throws Exception {
+        var cfg = newConfig(16);
+        var file = new FileId("bg");
+        try (var dm = new RecordingDiskManager(new NioDiskManager(cfg));
+             var bp = new DefaultBufferPool(cfg, dm);
+             var writer = new BackgroundWriter(bp, cfg.pageSize(), 60_000, 3, 0)) {
+            List<PageId> ids = new ArrayList<>();
+            for (int i = 0; i < 6; i++) ids.add(dm.allocatePage(file));
+            // Dirty in reverse order to show the writer sorts by PageId
+            List<PageId> reversed = new ArrayList<>(ids);
+            Collections.reverse(reversed);
+            for (PageId id : reversed) dirty(bp, id, id.pageNo() + 100);
+
+            assertEquals(3, writer.writeRound());
+            assertEquals(ids.subList(0, 3), dm.writes);
+            assertEquals(new BufferPoolStats(0, 3), bp.stats());
+
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(ids.get(1), read);
+            assertEquals(101, read.getInt(0));
+        }
+    }
+
+    @Test
+    void givenRunningWriter_whenPagesDirtied_thenCleanedAheadOfEviction() throws Exception {
+        var cfg = newConfig(8);
+        var file = new FileId("ahead");
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new DefaultBufferPool(cfg, dm)) {
+            List<PageId> ids = new ArrayList<>();
+            for (int i = 0; i < 16; i++) ids.add(dm.allocatePage(file));
+            try (var writer = new BackgroundWriter(bp, cfg.pageSize(), 5, 100, 0)) {
+                for (int i = 0; i < 8; i++) dirty(bp, ids.get(i), i);
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (bp.stats().backgroundWrites() < 8 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertEquals(8, bp.stats().backgroundWrites());
+                assertNull(writer.lastFailure());
+            }
+            // Loading 8 new pages evicts the 8 cleaned ones without any foreground write
+            for (int i = 8; i < 16; i++) {
+                bp.getPage(ids.get(i), false);
+                bp.unpin(ids.get(i), false);
+            }
+            assertEquals(0, bp.stats().foregroundWrites());
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(ids.get(5), read);
+            assertEquals(5, read.getInt(0));
+        }
+    }
+
+    @Test
+    void givenWriteThrowsRuntimeException_whenWriterRuns_thenFailureRecordedAndPageWrittenLater() throws Exception {
+        var cfg = newConfig(8);
+        var file = new FileId("fails");
+        try (var dm = new RecordingDiskManager(new NioDiskManager(cfg));
+             var bp = new DefaultBufferPool(cfg, dm)) {
+            PageId id = dm.allocatePage(file);
+            dm.failure = new IllegalStateException("write failed");
+            try (var writer = new BackgroundWriter(bp, cfg.pageSize(), 5, 100, 0)) {
+                dirty(bp, id, 7);
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (writer.lastFailure() == null && System.currentTimeMillis() < deadline) Thread.sleep(5);
+                assertSame(dm.failure, writer.lastFailure());
+
+                dm.failure = null;
+                while (bp.stats().backgroundWrites() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+                assertEquals(1, bp.stats().backgroundWrites());
+            }
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(id, read);
+            assertEquals(7, read.getInt(0));
+        }
+    }
+
+    @Test
+    void givenDirtyPagePinnedAcrossCheckpointStart_whenCheckpoint_thenReturnsOnlyOnceItIsOnDisk() throws Exception {
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(Files.createTempDirectory("evolvdb-ckpt-"))
+                .bufferPoolPages(16).bufferPoolPartitions(4).build();
+        tmpDir = cfg.dataDir();
+        var file = new FileId("ckpt");
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new PartitionedBufferPool(cfg, dm);
+             var writer = new BackgroundWriter(bp, cfg.pageSize(), 1, 2, 0)) {
+            List<PageId> ids = new ArrayList<>();
+            for (int i = 0; i < 7; i++) ids.add(dm.allocatePage(file));
+            for (int i = 0; i < 6; i++) dirty(bp, ids.get(i), i + 1);
+            var pinned = bp.getPage(ids.get(6), true);
+            pinned.buffer().putInt(0, 99);
+            pinned.markDirty(true);
+
+            var checkpoint = CompletableFuture.runAsync(() -> {
+                try {
+                    writer.checkpoint();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (bp.stats().backgroundWrites() < 6 && System.currentTimeMillis() < deadline) Thread.sleep(1);
+            assertEquals(6, bp.stats().backgroundWrites());
+            Thread.sleep(20);
+            assertFalse(checkpoint.isDone()); // waits for the pinned page
+            assertEquals(0, writer.checkpoints());
+
+            bp.unpin(ids.get(6), true);
+            checkpoint.get(5, TimeUnit.SECONDS);
+            assertEquals(1, writer.checkpoints());
+            assertEquals(7, bp.stats().backgroundWrites());
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(ids.get(6), read);
+            assertEquals(99, read.getInt(0));
+            bp.flushAll();
+            assertEquals(0, bp.stats().foregroundWrites());
+        }
+    }
+
+    private static void dirty(BufferPool bp, PageId id, int value) throws IOException {
+        var pg = bp.getPage(id, true);
+        pg.buffer().putInt(0, value);
+        bp.unpin(id, true);
+    }
+
+    /** Delegating DiskManager that records the order of page writes, and fails them while {@code failure} is set. */
+    private static final class RecordingDiskManager implements DiskManager {
+        final DiskManager delegate;
+        final List<PageId> writes = Collections.synchronizedList(new ArrayList<>());
+        volatile RuntimeException failure;
+
+        RecordingDiskManager(DiskManager delegate) { this.delegate = delegate; }
+
+        @Override public PageId allocatePage(FileId fileId) throws IOException { return delegate.allocatePage(fileId); }
+        @Override public void readPage(PageId pageId, ByteBuffer dst) throws IOException { delegate.readPage(pageId, dst); }
+        @Override public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
+            RuntimeException e = failure;
+            if (e != null) throw e;
+            writes.add(pageId);
+            delegate.writePage(pageId, src, lsn);
+        }
+        @Override public void sync() throws IOException { delegate.sync(); }
+        @Override public int pageCount(FileId fileId) throws IOException { return delegate.pageCount(fileId); }
+        @Override public void truncate(FileId fileId, int pageCount) throws IOException { delegate.truncate(fileId, pageCount); }
+        @Override public void close() throws IOException { delegate.close(); }
+    }
+}
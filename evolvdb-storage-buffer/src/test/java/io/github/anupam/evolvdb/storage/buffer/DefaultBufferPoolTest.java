@@ -11,6 +11,9 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -92,6 +95,119 @@ class DefaultBufferPoolTest {
         }
     }
 
+    @Test
+    void givenReadAhead_whenPagePrefetched_thenGetPageIsServedByPrefetch() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-buf-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(4).readAheadPages(2).build();
+        var file = new FileId("ra");
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new DefaultBufferPool(cfg, dm)) {
+            PageId p0 = dm.allocatePage(file);
+            dm.writePage(p0, ByteBuffer.wrap(pattern(cfg.pageSize(), (byte) 7)), 0);
+            assertEquals(2, bp.readAheadPages());
+
+            bp.prefetch(p0, 1, null);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (bp.stats().prefetchReads() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(1);
+            var pg = bp.getPage(p0, false);
+            assertEquals(7, pg.buffer().get(0));
+            bp.unpin(p0, false);
+
+            var stats = bp.stats();
+            assertEquals(1, stats.prefetchReads());
+            assertEquals(1, stats.prefetchHits());
+            bp.prefetch(p0, 1, null); // already resident: no second read
+            assertEquals(1, bp.stats().prefetchReads());
+        }
+    }
+
+    @Test
+    void givenAdjacentDirtyPages_whenFlushAll_thenWrittenWithOneVectoredCall() throws Exception {
+        var cfg = newConfig(64);
+        var file = new FileId("flush");
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new DefaultBufferPool(cfg, dm)) {
+            var ids = new ArrayList<PageId>();
+            for (int i = 0; i < 64; i++) ids.add(dm.allocatePage(file));
+            // Dirty in random order; flushAll sorts by PageId
+            var order = new ArrayList<>(ids);
+            Collections.shuffle(order, new Random(3));
+            for (PageId id : order) {
+                var pg = bp.getPage(id, true);
+                pg.buffer().putInt(0, id.pageNo() + 1);
+                bp.unpin(id, true);
+            }
+            long before = dm.ioCalls();
+            bp.flushAll();
+            assertEquals(1, dm.ioCalls() - before);
+            assertEquals(64, bp.stats().foregroundWrites());
+
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(ids.get(40), read);
+            assertEquals(41, read.getInt(0));
+        }
+    }
+
+    @Test
+    void givenDataLargerThanPool_whenRandomReadsBufferedAndDirect_thenReportsMissesAndThroughput() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-buf-");
+        int dataPages = 4096; // 16 MB
+        int pool = 256;
+        var file = new FileId("big");
+        var seed = DbConfig.builder().pageSize(4096).dataDir(tmpDir).build();
+        try (var dm = new NioDiskManager(seed)) {
+            for (int i = 0; i < dataPages; i++) dm.allocatePage(file);
+        }
+        // Direct I/O gives up the OS cache, so compare at equal pool size and at a pool that also gets the
+        // memory the page cache would have spent holding the data.
+        record Run(boolean direct, int poolPages) {}
+        for (Run run : new Run[]{new Run(false, pool), new Run(true, pool), new Run(true, pool * 8)}) {
+            var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(run.poolPages())
+                    .directIo(run.direct()).build();
+            try (var dm = new NioDiskManager(cfg);
+                 var bp = new DefaultBufferPool(cfg, dm)) {
+                // Skewed reads: 90% hit the first 2048 pages
+                Random rnd = new Random(11);
+                int ops = 20_000;
+                long c0 = dm.ioCalls(), t0 = System.nanoTime();
+                for (int i = 0; i < ops; i++) {
+                    int pageNo = rnd.nextInt(10) < 9 ? rnd.nextInt(dataPages / 2) : rnd.nextInt(dataPages);
+                    PageId pid = new PageId(file, pageNo);
+                    bp.getPage(pid, false);
+                    bp.unpin(pid, false);
+                }
+                double secs = (System.nanoTime() - t0) / 1e9;
+                System.out.printf("random reads directIo=%s poolPages=%d misses=%d ops/s=%.0f%n",
+                        run.direct(), run.poolPages(), dm.ioCalls() - c0, ops / secs);
+            }
+        }
+    }
+
+    @Test
+    void givenWorkingSetLargerThanPool_whenPagesCycle_thenFramesAreReusedOffHeap() throws Exception {
+        var cfg = newConfig(4);
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new DefaultBufferPool(cfg, dm)) {
+            assertEquals(4L * cfg.pageSize(), bp.reservedBytes());
+            var file = new FileId("cycle");
+            var ids = new ArrayList<PageId>();
+            for (int i = 0; i < 20; i++) ids.add(dm.allocatePage(file));
+            var handles = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < ids.size(); i++) {
+                    var pg = bp.getPage(ids.get(i), true);
+                    assertTrue(pg.buffer().isDirect());
+                    assertEquals(ids.get(i), pg.id());
+                    if (round == 0) pg.buffer().putInt(0, i);
+                    else assertEquals(i, pg.buffer().getInt(0));
+                    handles.add(pg);
+                    bp.unpin(ids.get(i), round == 0);
+                }
+            }
+            assertEquals(4, handles.size());
+        }
+    }
+
     private static byte[] pattern(int n, byte seed) {
         byte[] a = new byte[n];
         for (int i = 0; i < n; i++) a[i] = (byte) (seed + i);
@@ -0,0 +1,44 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameArenaTest {
+
+    @Test
+    void givenArena_whenFramesWritten_thenFramesAreDisjointDirectSlices() {
+        var arena = new FrameArena(4096, 8);
+        assertEquals(8L * 4096, arena.reservedBytes());
+        for (int i = 0; i < 8; i++) {
+            ByteBuffer f = arena.frame(i);
+            assertTrue(f.isDirect());
+            assertEquals(0, f.alignmentOffset(0, 4096), "frames are block-aligned for O_DIRECT");
+            assertEquals(4096, f.capacity());
+            f.putInt(0, i);
+            f.putInt(4092, -i);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, arena.frame(i).getInt(0));
+            assertEquals(-i, arena.frame(i).getInt(4092));
+        }
+    }
+
+    @Test
+    void givenSmallChunkSize_whenArenaBuilt_thenFramesSplitAcrossChunksWithoutStraddling() {
+        // 3 frames per chunk stands in for the 1 GB chunks used for pools larger than 2 GB
+        var arena = new FrameArena(1024, 10, 3 * 1024 + 100);
+        assertEquals(4, arena.chunkCount());
+        assertEquals(10, arena.frameCount());
+        for (int i = 0; i < 10; i++) {
+            arena.frame(i).putLong(0, 1000L + i);
+            arena.frame(i).putLong(1016, 2000L + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1000L + i, arena.frame(i).getLong(0));
+            assertEquals(2000L + i, arena.frame(i).getLong(1016));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package io.github.anupam.evolvdb.storage.buffer;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import io.github.anupam.evolvdb.storage.page.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedBufferPoolTest {
+    private Path tmpDir;
+
+    private DbConfig newConfig(int poolPages, int partitions) throws IOException {
+        tmpDir = Files.createTempDirectory("evolvdb-pbuf-");
+        return DbConfig.builder().pageSize(4096).dataDir(tmpDir)
+                .bufferPoolPages(poolPages).bufferPoolPartitions(partitions).build();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a,b) -> b.getNameCount()-a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    @Test
+    void givenPartitionsGreaterThanPages_whenBuildConfig_thenRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DbConfig.builder().bufferPoolPages(2).bufferPoolPartitions(4).build());
+    }
+
+    @Test
+    void givenManyPages_whenShardIndexComputed_thenAllShardsUsed() {
+        var file = new FileId("spread");
+        int[] hits = new int[8];
+        for (int p = 0; p < 800; p++) {
+            hits[PartitionedBufferPool.shardIndex(new PageId(file, p), 8)]++;
+        }
+        for (int h : hits) assertTrue(h > 50, "shard under-used: " + h);
+    }
+
+    @Test
+    void givenDirtyPagesAcrossShards_whenFlushAll_thenAllPersisted() throws Exception {
+        var cfg = newConfig(16, 4);
+        var file = new FileId("tab");
+        List<PageId> ids = new ArrayList<>();
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new PartitionedBufferPool(cfg, dm)) {
+            assertEquals(4, bp.partitions());
+            for (int i = 0; i < 12; i++) ids.add(dm.allocatePage(file));
+            for (int i = 0; i < ids.size(); i++) {
+                var pg = bp.getPage(ids.get(i), true);
+                pg.buffer().putInt(0, 1000 + i);
+                bp.unpin(ids.get(i), true);
+            }
+            bp.flushAll();
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            for (int i = 0; i < ids.size(); i++) {
+                read.clear();
+                dm.readPage(ids.get(i), read);
+                assertEquals(1000 + i, read.getInt(0));
+            }
+        }
+    }
+
+    @Test
+    void givenMoreDistinctPagesThanCapacity_whenLoaded_thenShardsEvictAndWriteBack() throws Exception {
+        var cfg = newConfig(8, 2);
+        var file = new FileId("evict");
+        try (var dm = new NioDiskManager(cfg)) {
+            List<PageId> ids = new ArrayList<>();
+            for (int i = 0; i < 40; i++) ids.add(dm.allocatePage(file));
+            try (var bp = new PartitionedBufferPool(cfg, dm)) {
+                for (int i = 0; i < ids.size(); i++) {
+                    var pg = bp.getPage(ids.get(i), true);
+                    pg.buffer().putInt(0, i * 7);
+                    bp.unpin(ids.get(i), true);
+                }
+            }
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            for (int i = 0; i < ids.size(); i++) {
+                read.clear();
+                dm.readPage(ids.get(i), read);
+                assertEquals(i * 7, read.getInt(0));
+            }
+        }
+    }
+
+    @Test
+    void givenConcurrentReaders_whenGetPageUnpin_thenEveryReadHitsTheRightPageAndReportsThroughput()
+            throws Exception {
+        // 8 shards of 128 frames each; the 256-page hot set (~32 pages per shard) fits in every shard, so after
+        // one miss per page the benchmark measures lock contention, not I/O or eviction
+        var cfg = newConfig(1024, 8);
+        var file = new FileId("hot");
+        int pages = 256;
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        try (var dm = new NioDiskManager(cfg)) {
+            List<PageId> ids = new ArrayList<>();
+            ByteBuffer page = ByteBuffer.allocate(cfg.pageSize());
+            for (int i = 0; i < pages; i++) {
+                ids.add(dm.allocatePage(file));
+                dm.writePage(ids.get(i), page.clear().putInt(0, 1000 + i).clear(), 0);
+            }
+            var singleDisk = new CountingDiskManager(dm);
+            var stripedDisk = new CountingDiskManager(dm);
+            try (var single = new DefaultBufferPool(cfg, singleDisk);
+                 var striped = new PartitionedBufferPool(cfg, stripedDisk)) {
+                for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                    double s = opsPerSecond(single, ids, threads);
+                    double p = opsPerSecond(striped, ids, threads);
+                    System.out.printf("buffer getPage/unpin threads=%d single=%.0f ops/s partitioned(%d)=%.0f ops/s%n",
+                            threads, s, striped.partitions(), p);
+                }
+                // Every page missed exactly once; every other getPage was a hit
+                assertEquals(pages, singleDisk.reads.get());
+                assertEquals(pages, stripedDisk.reads.get());
+            }
+        }
+    }
+
+    /** Runs getPage/unpin on random pages, checking each returned page holds its own contents. */
+    private static double opsPerSecond(BufferPool bp, List<PageId> ids, int threads) throws Exception {
+        int opsPerThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    var rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        PageId id = ids.get(rnd.nextInt(ids.size()));
+                        Page pg = bp.getPage(id, false);
+                        try {
+                            assertEquals(id, pg.id());
+                            assertEquals(1000 + id.pageNo(), pg.buffer().getInt(0));
+                        } finally {
+                            bp.unpin(id, false);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+            long elapsed = System.nanoTime() - t0;
+            return (double) opsPerThread * threads / (elapsed / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Delegating DiskManager that counts page reads (pool misses); closing it leaves the delegate open. */
+    private static final class CountingDiskManager implements DiskManager {
+        final DiskManager delegate;
+        final AtomicInteger reads = new AtomicInteger();
+
+        CountingDiskManager(DiskManager delegate) { this.delegate = delegate; }
+
+        @Override public PageId allocatePage(FileId fileId) throws IOException { return delegate.allocatePage(fileId); }
+        @Override public void readPage(PageId pageId, ByteBuffer dst) throws IOException {
+            reads.incrementAndGet();
+            delegate.readPage(pageId, dst);
+        }
+        @Override public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
+            delegate.writePage(pageId, src, lsn);
+        }
+        @Override public void sync() throws IOException { delegate.sync(); }
+        @Override public int pageCount(FileId fileId) throws IOException { return delegate.pageCount(fileId); }
+        @Override public void truncate(FileId fileId, int pageCount) throws IOException { delegate.truncate(fileId, pageCount); }
+        @Override public void close() { }
+    }
+}
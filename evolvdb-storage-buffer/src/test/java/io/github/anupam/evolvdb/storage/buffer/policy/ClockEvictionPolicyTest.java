@@ -0,0 +1,126 @@
+package io.github.anupam.evolvdb.storage.buffer.policy;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.DefaultBufferPool;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockEvictionPolicyTest {
+    private final FileId file = new FileId("clock");
+    private Path tmpDir;
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a,b) -> b.getNameCount()-a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    private PageId pid(int n) { return new PageId(file, n); }
+
+    @Test
+    void givenUnaccessedPages_whenEvict_thenSweepsInInsertionOrder() {
+        var clock = new ClockEvictionPolicy(3);
+        clock.onInsert(pid(0));
+        clock.onInsert(pid(1));
+        clock.onInsert(pid(2));
+        assertEquals(pid(0), clock.evictCandidate(id -> true));
+        clock.onRemove(pid(0));
+        assertEquals(pid(1), clock.evictCandidate(id -> true));
+    }
+
+    @Test
+    void givenHotPage_whenEvict_thenSecondChanceSparesIt() {
+        var clock = new ClockEvictionPolicy(3);
+        clock.onInsert(pid(0));
+        clock.onInsert(pid(1));
+        clock.onInsert(pid(2));
+        for (int i = 0; i < 3; i++) clock.onAccess(pid(0));
+        PageId victim = clock.evictCandidate(id -> true);
+        assertNotEquals(pid(0), victim);
+    }
+
+    @Test
+    void givenPinnedPages_whenEvict_thenSkipsThemAndReturnsNullIfAllPinned() {
+        var clock = new ClockEvictionPolicy(4);
+        for (int i = 0; i < 4; i++) clock.onInsert(pid(i));
+        Set<PageId> pinned = Set.of(pid(0), pid(1), pid(3));
+        assertEquals(pid(2), clock.evictCandidate(id -> !pinned.contains(id)));
+        assertNull(clock.evictCandidate(id -> false));
+    }
+
+    @Test
+    void givenRemovedSlot_whenInsertNewPage_thenSlotReused() {
+        var clock = new ClockEvictionPolicy(2);
+        clock.onInsert(pid(0));
+        clock.onInsert(pid(1));
+        assertThrows(IllegalStateException.class, () -> clock.onInsert(pid(2)));
+        clock.onRemove(pid(0));
+        clock.onInsert(pid(2));
+        assertEquals(2, clock.capacity());
+    }
+
+    @Test
+    void givenFrameIndexes_whenDriven_thenSlotIsTheFrame() {
+        var clock = new ClockEvictionPolicy(3);
+        clock.onInsert(pid(7), 2);
+        clock.onInsert(pid(8), 0);
+        clock.onInsert(pid(9), 1);
+        clock.onAccess(pid(8), 0);
+        assertEquals(pid(9), clock.evictCandidate(id -> true)); // hand passes frame 0 (hot), stops at frame 1
+        clock.onRemove(pid(9), 1);
+        clock.onInsert(pid(10), 1);
+        assertEquals(pid(7), clock.evictCandidate(id -> true));
+    }
+
+    @Test
+    void givenClockSmallerThanPool_whenPoolCreated_thenRejected() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-clock-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(4).build();
+        try (var dm = new NioDiskManager(cfg)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new DefaultBufferPool(cfg, dm, new ClockEvictionPolicy(2)));
+        }
+    }
+
+    @Test
+    void givenClockPolicy_whenPluggedIntoDefaultBufferPool_thenEvictsAndFlushesDirty() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-clock-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(2).build();
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new DefaultBufferPool(cfg, dm, new ClockEvictionPolicy(cfg.bufferPoolPages()))) {
+            PageId p0 = dm.allocatePage(file);
+            PageId p1 = dm.allocatePage(file);
+            PageId p2 = dm.allocatePage(file);
+
+            bp.getPage(p0, true).buffer().putInt(0, 42);
+            bp.unpin(p0, true);
+            bp.getPage(p1, false);
+            bp.unpin(p1, false);
+            bp.getPage(p1, false); // p1 is hot
+            bp.unpin(p1, false);
+
+            bp.getPage(p2, false); // evicts p0 and writes it back
+            bp.unpin(p2, false);
+
+            ByteBuffer read = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(p0, read);
+            assertEquals(42, read.getInt(0));
+        }
+    }
+}
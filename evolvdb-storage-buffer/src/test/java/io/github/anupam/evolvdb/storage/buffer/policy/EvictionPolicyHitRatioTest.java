@@ -0,0 +1,99 @@
+package io.github.anupam.evolvdb.storage.buffer.policy;
+
+import io.github.anupam.evolvdb.config.EvictionPolicyType;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays a mixed trace (point reads over a hot set interleaved with repeated full scans of a table larger
+ * than the pool) against each policy and reports the hit ratio.
+ */
+class EvictionPolicyHitRatioTest {
+    private static final int CAPACITY = 100;
+    private static final int HOT_PAGES = 80;
+    private static final int SCAN_PAGES = 400;
+
+    @Test
+    void givenHotSetAndRepeatedScans_whenReplayed_thenScanResistantPoliciesBeatLru() {
+        List<PageId> trace = mixedTrace(new Random(42), 10, 1000);
+        Map<EvictionPolicyType, Double> ratios = new EnumMap<>(EvictionPolicyType.class);
+        for (EvictionPolicyType type : EvictionPolicyType.values()) {
+            double ratio = hitRatio(EvictionPolicies.create(type, CAPACITY), trace);
+            ratios.put(type, ratio);
+            System.out.printf("policy=%-6s capacity=%d accesses=%d hitRatio=%.3f%n", type, CAPACITY, trace.size(), ratio);
+        }
+        assertTrue(ratios.get(EvictionPolicyType.LRU_2) > ratios.get(EvictionPolicyType.LRU));
+        assertTrue(ratios.get(EvictionPolicyType.ARC) > ratios.get(EvictionPolicyType.LRU));
+    }
+
+    @Test
+    void givenOnlyScans_whenReplayed_thenEveryPolicyEvictsWithoutError() {
+        var file = new FileId("scan");
+        List<PageId> trace = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int p = 0; p < SCAN_PAGES; p++) trace.add(new PageId(file, p));
+        }
+        for (EvictionPolicyType type : EvictionPolicyType.values()) {
+            double ratio = hitRatio(EvictionPolicies.create(type, CAPACITY), trace);
+            assertTrue(ratio >= 0.0 && ratio < 0.5, type + " ratio " + ratio);
+        }
+    }
+
+    @Test
+    void givenArc_whenGhostHitInRecencyList_thenTargetGrows() {
+        var file = new FileId("arc");
+        var arc = new ArcEvictionPolicy(2);
+        PageId a = new PageId(file, 0), b = new PageId(file, 1);
+        arc.onInsert(a);
+        arc.onInsert(b);
+        assertEquals(a, arc.evictCandidate(id -> true));
+        arc.onRemove(a);
+        assertEquals(0, arc.target());
+        arc.onInsert(a); // a is a B1 ghost
+        assertTrue(arc.target() > 0);
+    }
+
+    private static List<PageId> mixedTrace(Random rnd, int rounds, int pointReadsPerRound) {
+        var hot = new FileId("hot");
+        var big = new FileId("big");
+        List<PageId> trace = new ArrayList<>();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < pointReadsPerRound; i++) trace.add(new PageId(hot, rnd.nextInt(HOT_PAGES)));
+            for (int p = 0; p < SCAN_PAGES; p++) trace.add(new PageId(big, p));
+        }
+        return trace;
+    }
+
+    /** Simulates a pool of CAPACITY unpinned frames driven through the EvictionPolicy callbacks. */
+    private static double hitRatio(EvictionPolicy policy, List<PageId> trace) {
+        Set<PageId> resident = new HashSet<>();
+        long hits = 0;
+        for (PageId id : trace) {
+            if (resident.contains(id)) {
+                hits++;
+                policy.onAccess(id);
+                continue;
+            }
+            if (resident.size() >= CAPACITY) {
+                PageId victim = policy.evictCandidate(resident::contains);
+                assertNotNull(victim);
+                resident.remove(victim);
+                policy.onRemove(victim);
+            }
+            resident.add(id);
+            policy.onInsert(id);
+        }
+        return (double) hits / trace.size();
+    }
+}
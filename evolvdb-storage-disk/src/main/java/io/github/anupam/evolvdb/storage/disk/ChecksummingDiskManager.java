@@ -0,0 +1,103 @@
+package io.github.anupam.evolvdb.storage.disk;
+
+import io.github.anupam.evolvdb.config.ChecksumVerifyMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that stamps a CRC32C into every page written and verifies it on read (see {@link PageChecksums}).
+ * Stamping writes into the caller's buffer. A failed verification throws {@link PageCorruptedException}.
+ */
+public final class ChecksummingDiskManager implements DiskManager {
+    private final DiskManager delegate;
+    private final int pageSize;
+    private final ChecksumVerifyMode mode;
+    private final int sampleInterval;
+    private final AtomicLong reads = new AtomicLong();
+    private final LongAdder verified = new LongAdder();
+
+    public ChecksummingDiskManager(DiskManager delegate, int pageSize, ChecksumVerifyMode mode, int sampleInterval) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.mode = Objects.requireNonNull(mode, "mode");
+        if (pageSize < PageChecksums.OFFSET + PageChecksums.SIZE || pageSize % Long.BYTES != 0) {
+            throw new IllegalArgumentException("pageSize too small or not a multiple of 8 for checksums");
+        }
+        if (sampleInterval <= 0) throw new IllegalArgumentException("sampleInterval must be > 0");
+        this.pageSize = pageSize;
+        this.sampleInterval = sampleInterval;
+    }
+
+    /** The wrapped manager. */
+    public DiskManager delegate() { return delegate; }
+
+    /** Number of page reads whose checksum was checked. */
+    public long verifiedPages() { return verified.sum(); }
+
+    @Override
+    public PageId allocatePage(FileId fileId) throws IOException {
+        return delegate.allocatePage(fileId);
+    }
+
+    @Override
+    public void readPage(PageId pageId, ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        delegate.readPage(pageId, dst);
+        check(pageId, dst, start);
+    }
+
+    @Override
+    public void readPages(List<PageId> pageIds, List<ByteBuffer> dsts) throws IOException {
+        int[] starts = new int[dsts.size()];
+        for (int i = 0; i < starts.length; i++) starts[i] = dsts.get(i).position();
+        delegate.readPages(pageIds, dsts);
+        for (int i = 0; i < starts.length; i++) check(pageIds.get(i), dsts.get(i), starts[i]);
+    }
+
+    @Override
+    public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
+        PageChecksums.stamp(src, pageSize);
+        delegate.writePage(pageId, src, lsn);
+    }
+
+    @Override
+    public void writePages(List<PageId> pageIds, List<ByteBuffer> srcs, long lsn) throws IOException {
+        for (ByteBuffer src : srcs) PageChecksums.stamp(src, pageSize);
+        delegate.writePages(pageIds, srcs, lsn);
+    }
+
+    private void check(PageId pageId, ByteBuffer dst, int start) throws IOException {
+        boolean due = switch (mode) {
+            case ALWAYS -> true;
+            case SAMPLED -> reads.getAndIncrement() % sampleInterval == 0;
+            case OFF -> false;
+        };
+        if (!due) return;
+        verified.increment();
+        if (!PageChecksums.verify(dst.duplicate().position(start), pageSize)) throw new PageCorruptedException(pageId);
+    }
+
+    @Override
+    public void sync() throws IOException {
+        delegate.sync();
+    }
+
+    @Override
+    public int pageCount(FileId fileId) throws IOException {
+        return delegate.pageCount(fileId);
+    }
+
+    @Override
+    public void truncate(FileId fileId, int pageCount) throws IOException {
+        delegate.truncate(fileId, pageCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -2,6 +2,7 @@ package io.github.anupam.evolvdb.storage.disk;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * DiskManager abstracts page-level I/O on files. It does not buffer; that's BufferPool's job.
@@ -16,12 +17,39 @@ public interface DiskManager extends AutoCloseable {
     /** Writes exactly one page from src (must have at least pageSize remaining). */
     void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException;
 
+    /**
+     * Reads {@code pageIds.get(i)} into {@code dsts.get(i)} for every i (each must have pageSize remaining).
+     * Implementations may coalesce runs of consecutive pages of one file into a single scatter read; the
+     * default reads page by page.
+     */
+    default void readPages(List<PageId> pageIds, List<ByteBuffer> dsts) throws IOException {
+        if (pageIds.size() != dsts.size()) throw new IllegalArgumentException("pageIds and dsts differ in size");
+        for (int i = 0; i < pageIds.size(); i++) readPage(pageIds.get(i), dsts.get(i));
+    }
+
+    /**
+     * Writes {@code srcs.get(i)} to {@code pageIds.get(i)} for every i. Implementations may coalesce runs of
+     * consecutive pages of one file into a single gather write; the default writes page by page. On failure
+     * some of the pages may have been written.
+     */
+    default void writePages(List<PageId> pageIds, List<ByteBuffer> srcs, long lsn) throws IOException {
+        if (pageIds.size() != srcs.size()) throw new IllegalArgumentException("pageIds and srcs differ in size");
+        for (int i = 0; i < pageIds.size(); i++) writePage(pageIds.get(i), srcs.get(i), lsn);
+    }
+
     /** Flushes data to stable storage. */
     void sync() throws IOException;
 
     /** Returns the number of pages currently allocated for the given file. */
     int pageCount(FileId fileId) throws IOException;
 
+    /**
+     * Shrinks the file to its first {@code pageCount} pages; does nothing if it has no more. The caller must make
+     * sure no cached copy of a dropped page is written back afterwards (see BufferPool.discard), or the write
+     * would extend the file again.
+     */
+    void truncate(FileId fileId, int pageCount) throws IOException;
+
     @Override
     void close() throws IOException;
 }
@@ -0,0 +1,21 @@
+package io.github.anupam.evolvdb.storage.disk;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/** Factory mapping the configured DiskManagerType to a DiskManager, wrapped to stamp and verify page checksums. */
+public final class DiskManagers {
+    private DiskManagers() {}
+
+    public static DiskManager open(DbConfig config) throws IOException {
+        Objects.requireNonNull(config, "config");
+        DiskManager io = switch (config.diskManager()) {
+            case NIO -> new NioDiskManager(config);
+            case MMAP -> new MappedDiskManager(config);
+        };
+        return new ChecksummingDiskManager(io, config.pageSize(), config.checksumVerify(),
+                config.checksumSampleInterval());
+    }
+}
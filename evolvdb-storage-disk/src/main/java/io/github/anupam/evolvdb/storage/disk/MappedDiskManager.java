@@ -0,0 +1,223 @@
+package io.github.anupam.evolvdb.storage.disk;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.common.DbException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-mapped DiskManager. Files are mapped in fixed-size chunks (64 MB by default) as they grow, so reading
+ * or writing a page is a copy to or from the page cache instead of a pread/pwrite syscall. Chunking also lifts
+ * the 2 GB limit of a single MappedByteBuffer.
+ *
+ * Mapping past the end of a file extends it, so the file grows a chunk at a time while the manager tracks the
+ * logical page count itself; close() truncates the file back to that length. A file left at a chunk boundary by
+ * a crash has its trailing all-zero pages dropped when it is reopened (they never held data).
+ *
+ * The JDK has no explicit unmap: mappings of closed files are released when their buffers are collected.
+ */
+public final class MappedDiskManager implements DiskManager {
+    static final long DEFAULT_CHUNK_BYTES = 64L << 20;
+
+    private final DbConfig config;
+    private final int pageSize;
+    private final int pagesPerChunk;
+    private final long chunkBytes;
+    private final Map<FileId, MappedFile> openFiles = new ConcurrentHashMap<>();
+
+    public MappedDiskManager(DbConfig config) throws IOException {
+        this(config, DEFAULT_CHUNK_BYTES);
+    }
+
+    /** @param chunkBytes mapping granularity; rounded down to a whole number of pages */
+    MappedDiskManager(DbConfig config, long chunkBytes) throws IOException {
+        this.config = Objects.requireNonNull(config, "config");
+        this.pageSize = config.pageSize();
+        if (chunkBytes < pageSize || chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("chunkBytes must be between pageSize and 2 GB");
+        }
+        this.pagesPerChunk = (int) (chunkBytes / pageSize);
+        this.chunkBytes = (long) pagesPerChunk * pageSize;
+        Files.createDirectories(config.dataDir());
+    }
+
+    @Override
+    public PageId allocatePage(FileId fileId) throws IOException {
+        var f = openOrCreate(fileId);
+        synchronized (f) {
+            int newPageNo = f.pages;
+            // Zero explicitly: the slot may be past a logical end that was moved back on reopen
+            f.chunk(newPageNo / pagesPerChunk).put(offsetOf(newPageNo), new byte[pageSize]);
+            f.pages = newPageNo + 1;
+            return new PageId(fileId, newPageNo);
+        }
+    }
+
+    @Override
+    public void readPage(PageId pageId, ByteBuffer dst) throws IOException {
+        ensureRemaining(dst, pageSize, "dst");
+        var f = openOrCreate(pageId.fileId());
+        int pageNo = pageId.pageNo();
+        if (pageNo >= f.pages) throw new IOException("Unexpected EOF while reading");
+        int start = dst.position();
+        dst.put(start, f.chunk(pageNo / pagesPerChunk), offsetOf(pageNo), pageSize);
+        dst.position(start + pageSize);
+        dst.limit(start + pageSize);
+    }
+
+    @Override
+    public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
+        ensureRemaining(src, pageSize, "src");
+        var f = openOrCreate(pageId.fileId());
+        int pageNo = pageId.pageNo();
+        MappedByteBuffer chunk = f.chunk(pageNo / pagesPerChunk);
+        chunk.put(offsetOf(pageNo), src, src.position(), pageSize);
+        if (pageNo >= f.pages) {
+            // Writing past the end extends the file, as with NioDiskManager
+            synchronized (f) {
+                if (pageNo >= f.pages) f.pages = pageNo + 1;
+            }
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        IOException first = null;
+        for (var f : openFiles.values()) {
+            try { f.force(); } catch (IOException e) { if (first == null) first = e; }
+        }
+        if (first != null) throw first;
+    }
+
+    @Override
+    public int pageCount(FileId fileId) throws IOException {
+        return openOrCreate(fileId).pages;
+    }
+
+    /**
+     * Moves the logical end back; the file itself is cut on close(). Truncating a mapped region could fault
+     * readers of other pages in the chunk, and allocatePage zeroes a reused slot anyway.
+     */
+    @Override
+    public void truncate(FileId fileId, int pageCount) throws IOException {
+        if (pageCount < 0) throw new IllegalArgumentException("pageCount must be >= 0");
+        var f = openOrCreate(fileId);
+        synchronized (f) {
+            if (pageCount < f.pages) f.pages = pageCount;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException first = null;
+        for (var f : openFiles.values()) {
+            try { f.close(); } catch (IOException e) { if (first == null) first = e; }
+        }
+        openFiles.clear();
+        if (first != null) throw first;
+    }
+
+    private int offsetOf(int pageNo) {
+        return (pageNo % pagesPerChunk) * pageSize;
+    }
+
+    private MappedFile openOrCreate(FileId fileId) {
+        return openFiles.computeIfAbsent(fileId, id -> {
+            try {
+                Path p = resolvePath(id);
+                var ch = FileChannel.open(p, EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                return new MappedFile(ch, logicalPages(ch));
+            } catch (IOException e) {
+                throw new DbException("Failed to open file: " + id.name(), e);
+            }
+        });
+    }
+
+    /** Page count of a file being opened; drops zero pages a crash left behind after the last chunk growth. */
+    private int logicalPages(FileChannel ch) throws IOException {
+        long size = ch.size();
+        int pages = (int) (size / pageSize);
+        if (size == 0 || size % chunkBytes != 0) return pages;
+        ByteBuffer buf = ByteBuffer.allocate(pageSize);
+        int floor = Math.max(0, pages - pagesPerChunk);
+        while (pages > floor) {
+            buf.clear();
+            long pos = (long) (pages - 1) * pageSize;
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, pos + buf.position()) < 0) break;
+            }
+            if (!isZero(buf.array())) break;
+            pages--;
+        }
+        return pages;
+    }
+
+    private static boolean isZero(byte[] page) {
+        return Arrays.mismatch(page, new byte[page.length]) < 0;
+    }
+
+    private Path resolvePath(FileId fileId) {
+        String fileName = fileId.name().endsWith(".evolv") ? fileId.name() : fileId.name() + ".evolv";
+        return config.dataDir().resolve(fileName);
+    }
+
+    private static void ensureRemaining(ByteBuffer buf, int need, String label) {
+        if (buf.remaining() < need) {
+            throw new IllegalArgumentException(label + " must have at least " + need + " bytes remaining");
+        }
+    }
+
+    /** One open file: its channel, the chunks mapped so far and the logical page count. */
+    private final class MappedFile {
+        final FileChannel channel;
+        volatile int pages;
+        // Copy-on-grow so readers index it without locking; entries are mapped lazily under the lock.
+        private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+        MappedFile(FileChannel channel, int pages) {
+            this.channel = channel;
+            this.pages = pages;
+        }
+
+        MappedByteBuffer chunk(int index) throws IOException {
+            MappedByteBuffer[] cs = chunks;
+            if (index < cs.length && cs[index] != null) return cs[index];
+            synchronized (this) {
+                cs = chunks;
+                if (index >= cs.length) cs = Arrays.copyOf(cs, Math.max(index + 1, cs.length * 2));
+                if (cs[index] == null) {
+                    cs[index] = channel.map(FileChannel.MapMode.READ_WRITE, index * chunkBytes, chunkBytes);
+                }
+                chunks = cs;
+                return cs[index];
+            }
+        }
+
+        synchronized void force() throws IOException {
+            for (MappedByteBuffer c : chunks) {
+                if (c != null) c.force();
+            }
+            channel.force(true); // file length changes as chunks are mapped
+        }
+
+        synchronized void close() throws IOException {
+            try {
+                if (channel.size() > (long) pages * pageSize) channel.truncate((long) pages * pageSize);
+            } finally {
+                chunks = new MappedByteBuffer[0];
+                channel.close();
+            }
+        }
+    }
+}
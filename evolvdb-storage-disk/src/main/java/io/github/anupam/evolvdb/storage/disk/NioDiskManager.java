@@ -2,41 +2,82 @@ package io.github.anupam.evolvdb.storage.disk;
 
 import io.github.anupam.evolvdb.config.DbConfig;
 import io.github.anupam.evolvdb.common.DbException;
+import com.sun.nio.file.ExtendedOpenOption;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * NIO-based DiskManager. Provides page-level I/O with fixed page size.
+ *
+ * Single pages use positional reads/writes (pread/pwrite). {@link #readPages}/{@link #writePages} turn each run
+ * of consecutive pages into one scatter/gather call (readv/writev); FileChannel has no positional vectored I/O,
+ * so those seek the channel while holding the file's lock, as allocatePage does.
+ *
+ * Files grow in extents of {@code DbConfig.extentPages} zero pages written with one call; allocatePage then just
+ * hands out the next preallocated page. The logical page count (high-water mark) is kept in memory, so
+ * pageCount costs no syscall. It is persisted to a {@code <file>.hwm} sidecar on sync() and close(), and close()
+ * truncates the unused tail of the last extent. On reopen after a crash, the count is the larger of the sidecar
+ * value and the last non-zero page, so preallocated pages that never held data are not counted.
+ *
+ * With {@code DbConfig.directIo} files are opened with O_DIRECT, bypassing the OS page cache so the buffer pool
+ * is the only cache. Transfers must then start at {@code ioAlignment}-aligned memory; buffer pool frames are, and
+ * any other buffer (heap buffers, unaligned slices) is bounced through an aligned copy.
  */
 public final class NioDiskManager implements DiskManager {
     private final DbConfig config;
     private final int pageSize;
-    private final Map<FileId, FileChannel> openFiles = new ConcurrentHashMap<>();
+    private final int extentPages;
+    private final boolean directIo;
+    private final int alignment;
+    private final ThreadLocal<ByteBuffer> bouncePage;
+    private final Map<FileId, DataFile> openFiles = new ConcurrentHashMap<>();
+    private final LongAdder ioCalls = new LongAdder();
 
     public NioDiskManager(DbConfig config) throws IOException {
         this.config = Objects.requireNonNull(config, "config");
         this.pageSize = config.pageSize();
+        this.extentPages = config.extentPages();
+        this.directIo = config.directIo();
+        this.alignment = config.ioAlignment();
+        this.bouncePage = ThreadLocal.withInitial(() -> alignedBuffer(pageSize));
         Files.createDirectories(config.dataDir());
+        if (directIo) {
+            long block = Files.getFileStore(config.dataDir()).getBlockSize();
+            if (alignment % block != 0) {
+                throw new DbException("ioAlignment " + alignment + " is not a multiple of the file system block size "
+                        + block + " of " + config.dataDir());
+            }
+        }
     }
 
     @Override
     public PageId allocatePage(FileId fileId) throws IOException {
-        var ch = openOrCreate(fileId);
-        synchronized (ch) {
-            long size = ch.size();
-            int newPageNo = (int) (size / pageSize);
-            long pos = (long) newPageNo * pageSize;
-            ByteBuffer zero = ByteBuffer.allocate(pageSize);
-            writeFully(ch, pos, zero);
+        var f = openOrCreate(fileId);
+        synchronized (f) {
+            int newPageNo = f.pages;
+            if (newPageNo >= f.capacity) {
+                // Grow by a whole extent of zero pages in one write
+                ByteBuffer zero = ByteBuffer.allocate(extentPages * pageSize);
+                writeFully(f.channel, (long) f.capacity * pageSize, zero);
+                f.capacity += extentPages;
+            }
+            f.pages = newPageNo + 1;
+            f.hwmDirty = true;
             return new PageId(fileId, newPageNo);
         }
     }
@@ -44,90 +85,315 @@ public final class NioDiskManager implements DiskManager {
     @Override
     public void readPage(PageId pageId, ByteBuffer dst) throws IOException {
         ensureRemaining(dst, pageSize, "dst");
-        var ch = openOrCreate(pageId.fileId());
+        var f = openOrCreate(pageId.fileId());
+        if (pageId.pageNo() >= f.pages) throw new IOException("Unexpected EOF while reading");
         long pos = (long) pageId.pageNo() * pageSize;
-        readFully(ch, pos, dst, pageSize);
+        readFully(f.channel, pos, dst, pageSize);
     }
 
     @Override
     public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
         ensureRemaining(src, pageSize, "src");
-        var ch = openOrCreate(pageId.fileId());
+        var f = openOrCreate(pageId.fileId());
         long pos = (long) pageId.pageNo() * pageSize;
         ByteBuffer slice = src.duplicate();
         int limit = slice.position() + pageSize;
         slice.limit(limit);
-        writeFully(ch, pos, slice);
+        writeFully(f.channel, pos, slice);
+        f.extendTo(pageId.pageNo() + 1);
+    }
+
+    @Override
+    public void readPages(List<PageId> pageIds, List<ByteBuffer> dsts) throws IOException {
+        if (pageIds.size() != dsts.size()) throw new IllegalArgumentException("pageIds and dsts differ in size");
+        for (ByteBuffer dst : dsts) ensureRemaining(dst, pageSize, "dst");
+        int start = 0;
+        while (start < pageIds.size()) {
+            int end = runEnd(pageIds, start);
+            PageId first = pageIds.get(start);
+            ByteBuffer[] slices = slices(dsts, start, end);
+            if (!transferable(slices)) {
+                for (int i = start; i < end; i++) readPage(pageIds.get(i), dsts.get(i));
+                start = end;
+                continue;
+            }
+            var f = openOrCreate(first.fileId());
+            if (first.pageNo() + (end - start) > f.pages) throw new IOException("Unexpected EOF while reading");
+            synchronized (f) {
+                f.channel.position((long) first.pageNo() * pageSize);
+                long want = (long) (end - start) * pageSize;
+                for (long done = 0; done < want; ) {
+                    long n = f.channel.read(slices);
+                    ioCalls.increment();
+                    if (n < 0) throw new IOException("Unexpected EOF while reading");
+                    done += n;
+                }
+            }
+            for (int i = start; i < end; i++) {
+                ByteBuffer dst = dsts.get(i);
+                dst.position(dst.position() + pageSize);
+                dst.limit(dst.position());
+            }
+            start = end;
+        }
+    }
+
+    @Override
+    public void writePages(List<PageId> pageIds, List<ByteBuffer> srcs, long lsn) throws IOException {
+        if (pageIds.size() != srcs.size()) throw new IllegalArgumentException("pageIds and srcs differ in size");
+        for (ByteBuffer src : srcs) ensureRemaining(src, pageSize, "src");
+        int start = 0;
+        while (start < pageIds.size()) {
+            int end = runEnd(pageIds, start);
+            PageId first = pageIds.get(start);
+            ByteBuffer[] slices = slices(srcs, start, end);
+            if (!transferable(slices)) {
+                for (int i = start; i < end; i++) writePage(pageIds.get(i), srcs.get(i), lsn);
+                start = end;
+                continue;
+            }
+            var f = openOrCreate(first.fileId());
+            synchronized (f) {
+                f.channel.position((long) first.pageNo() * pageSize);
+                long want = (long) (end - start) * pageSize;
+                for (long done = 0; done < want; ) {
+                    long n = f.channel.write(slices);
+                    ioCalls.increment();
+                    done += n;
+                }
+            }
+            f.extendTo(first.pageNo() + (end - start));
+            start = end;
+        }
     }
 
+    /** Number of FileChannel read/write calls issued so far; each is one syscall (pread, pwrite, readv, writev). */
+    public long ioCalls() { return ioCalls.sum(); }
+
     @Override
     public void sync() throws IOException {
         IOException first = null;
-        for (var ch : openFiles.values()) {
-            try { ch.force(true); } catch (IOException e) { if (first == null) first = e; }
+        for (var f : openFiles.values()) {
+            try { f.sync(); } catch (IOException e) { if (first == null) first = e; }
         }
         if (first != null) throw first;
     }
 
     @Override
     public int pageCount(FileId fileId) throws IOException {
-        var ch = openOrCreate(fileId);
-        synchronized (ch) {
-            long size = ch.size();
-            return (int) (size / pageSize);
+        return openOrCreate(fileId).pages;
+    }
+
+    /** Truncates the file itself (and any preallocated tail); the new high-water mark is persisted on sync(). */
+    @Override
+    public void truncate(FileId fileId, int pageCount) throws IOException {
+        if (pageCount < 0) throw new IllegalArgumentException("pageCount must be >= 0");
+        var f = openOrCreate(fileId);
+        synchronized (f) {
+            if (pageCount >= f.pages) return;
+            f.channel.truncate((long) pageCount * pageSize);
+            f.pages = pageCount;
+            f.capacity = pageCount;
+            f.hwmDirty = true;
         }
     }
 
     @Override
     public void close() throws IOException {
         IOException first = null;
-        for (var entry : openFiles.entrySet()) {
-            try { entry.getValue().close(); } catch (IOException e) { if (first == null) first = e; }
+        for (var f : openFiles.values()) {
+            try { f.close(); } catch (IOException e) { if (first == null) first = e; }
         }
         openFiles.clear();
         if (first != null) throw first;
     }
 
-    private FileChannel openOrCreate(FileId fileId) throws IOException {
+    private DataFile openOrCreate(FileId fileId) throws IOException {
         return openFiles.computeIfAbsent(fileId, id -> {
             try {
                 Path p = resolvePath(id);
-                return FileChannel.open(p, EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                Set<OpenOption> options = new HashSet<>(EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                if (directIo) options.add(ExtendedOpenOption.DIRECT);
+                var ch = FileChannel.open(p, options);
+                Path hwm = p.resolveSibling(p.getFileName() + ".hwm");
+                int capacity = (int) (ch.size() / pageSize);
+                return new DataFile(ch, hwm, recoverPageCount(ch, capacity, readHighWaterMark(hwm)), capacity);
             } catch (IOException e) {
                 throw new DbException("Failed to open file: " + id.name(), e);
             }
         });
     }
 
+    private static int readHighWaterMark(Path hwm) throws IOException {
+        if (!Files.exists(hwm)) return 0;
+        byte[] b = Files.readAllBytes(hwm);
+        return b.length == Integer.BYTES ? ByteBuffer.wrap(b).getInt() : 0;
+    }
+
+    /**
+     * Pages in use: at least the persisted high-water mark, extended to the last non-zero page so pages written
+     * after the last sync are kept. Zero pages past both are unused preallocation.
+     */
+    private int recoverPageCount(FileChannel ch, int capacity, int highWaterMark) throws IOException {
+        int pages = capacity;
+        ByteBuffer buf = ByteBuffer.allocate(pageSize);
+        while (pages > highWaterMark) {
+            buf.clear();
+            readFully(ch, (long) (pages - 1) * pageSize, buf, pageSize);
+            if (Arrays.mismatch(buf.array(), new byte[pageSize]) >= 0) break;
+            pages--;
+        }
+        return pages;
+    }
+
     private Path resolvePath(FileId fileId) {
         String fileName = fileId.name().endsWith(".evolv") ? fileId.name() : fileId.name() + ".evolv";
         return config.dataDir().resolve(fileName);
     }
 
+    /** An open data file: its channel, logical page count and preallocated capacity (both in pages). */
+    private final class DataFile {
+        final FileChannel channel;
+        final Path hwmPath;
+        volatile int pages;
+        int capacity;
+        boolean hwmDirty;
+
+        DataFile(FileChannel channel, Path hwmPath, int pages, int capacity) {
+            this.channel = channel;
+            this.hwmPath = hwmPath;
+            this.pages = pages;
+            this.capacity = capacity;
+        }
+
+        /** Writing past the end extends the file, as a positional write would. */
+        void extendTo(int pageCount) {
+            if (pageCount <= pages) return;
+            synchronized (this) {
+                if (pageCount > pages) {
+                    pages = pageCount;
+                    capacity = Math.max(capacity, pageCount);
+                    hwmDirty = true;
+                }
+            }
+        }
+
+        synchronized void sync() throws IOException {
+            channel.force(true);
+            if (hwmDirty) {
+                ByteBuffer b = ByteBuffer.allocate(Integer.BYTES).putInt(0, pages);
+                try (var ch = FileChannel.open(hwmPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ch.write(b);
+                    ch.force(true);
+                }
+                hwmDirty = false;
+            }
+        }
+
+        synchronized void close() throws IOException {
+            try {
+                if (capacity > pages) {
+                    channel.truncate((long) pages * pageSize);
+                    capacity = pages;
+                }
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
     private static void ensureRemaining(ByteBuffer buf, int need, String label) {
         if (buf.remaining() < need) {
             throw new IllegalArgumentException(label + " must have at least " + need + " bytes remaining");
         }
     }
 
-    private static void writeFully(FileChannel ch, long pos, ByteBuffer src) throws IOException {
+    /** End (exclusive) of the run of consecutive pages of one file starting at {@code start}. */
+    private static int runEnd(List<PageId> pageIds, int start) {
+        PageId first = pageIds.get(start);
+        int end = start + 1;
+        while (end < pageIds.size()) {
+            PageId p = pageIds.get(end);
+            if (!p.fileId().equals(first.fileId()) || p.pageNo() != first.pageNo() + (end - start)) break;
+            end++;
+        }
+        return end;
+    }
+
+    /** One-page views of {@code bufs[start, end)}, positioned at each buffer's current position. */
+    private ByteBuffer[] slices(List<ByteBuffer> bufs, int start, int end) {
+        ByteBuffer[] out = new ByteBuffer[end - start];
+        for (int i = start; i < end; i++) {
+            ByteBuffer b = bufs.get(i).duplicate();
+            b.limit(b.position() + pageSize);
+            out[i - start] = b;
+        }
+        return out;
+    }
+
+    /** True if the buffers can be handed to the channel as they are (always, unless directIo). */
+    private boolean transferable(ByteBuffer... bufs) {
+        if (!directIo) return true;
+        for (ByteBuffer b : bufs) {
+            if (!b.isDirect() || b.alignmentOffset(b.position(), alignment) != 0 || b.remaining() % alignment != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Direct buffer of {@code len} bytes starting on an ioAlignment boundary. */
+    private ByteBuffer alignedBuffer(int len) {
+        ByteBuffer raw = ByteBuffer.allocateDirect(len + alignment);
+        int skip = (alignment - raw.alignmentOffset(0, alignment)) % alignment;
+        return raw.slice(skip, len);
+    }
+
+    private ByteBuffer bounceBuffer(int len) {
+        if (len != pageSize) return alignedBuffer(len);
+        ByteBuffer b = bouncePage.get();
+        b.clear();
+        return b;
+    }
+
+    private void writeFully(FileChannel ch, long pos, ByteBuffer src) throws IOException {
+        if (!transferable(src)) {
+            ByteBuffer bounce = bounceBuffer(src.remaining());
+            bounce.put(src.duplicate()).flip();
+            src = bounce;
+        }
         int toWrite = src.remaining();
         int written = 0;
         while (written < toWrite) {
             int n = ch.write(src, pos + written);
+            ioCalls.increment();
             if (n < 0) throw new IOException("Unexpected EOF while writing");
             written += n;
         }
     }
 
-    private static void readFully(FileChannel ch, long pos, ByteBuffer dst, int len) throws IOException {
+    private void readFully(FileChannel ch, long pos, ByteBuffer dst, int len) throws IOException {
+        ByteBuffer page = dst.duplicate();
+        page.limit(page.position() + len);
+        if (!transferable(page)) {
+            ByteBuffer bounce = bounceBuffer(len);
+            readFully(ch, pos, bounce, len);
+            bounce.flip();
+            int startPos = dst.position();
+            dst.put(bounce);
+            dst.limit(startPos + len);
+            return;
+        }
         int read = 0;
-        int startPos = dst.position();
         while (read < len) {
-            int n = ch.read(dst, pos + read);
+            int n = ch.read(page, pos + read);
+            ioCalls.increment();
             if (n < 0) throw new IOException("Unexpected EOF while reading");
             read += n;
         }
-        dst.limit(startPos + len);
+        dst.position(page.position());
+        dst.limit(page.position());
     }
 }
@@ -0,0 +1,59 @@
+package io.github.anupam.evolvdb.storage.disk;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * Page checksum convention shared by the disk layer and page formats.
+ *
+ * Every page reserves the 4 bytes at {@link #OFFSET} (just past the common type/LSN/slot header) for a CRC32C of
+ * the rest of the page, stored little-endian. Page formats must leave that field alone; the disk layer stamps it
+ * on write and checks it on read. CRC32C is intrinsified on x86 (SSE4.2) and ARMv8, so a 4 KB page costs well
+ * under a microsecond.
+ *
+ * Whether a page carries a checksum is recorded in its version byte ({@link #VERSION_OFFSET}, the high byte of the
+ * little-endian page type). Pages written before checksums existed have a 12-byte header and a version of 0: their
+ * bytes 12..16 hold records, so they are neither stamped nor verified, and keep that layout until their page format
+ * rewrites them. Page formats set a nonzero version when they initialize a page that reserves the checksum field.
+ *
+ * A page that is entirely zero (allocated, never written) has version 0 and so is valid without a checksum.
+ */
+public final class PageChecksums {
+    /** Byte offset of the checksum field in every page. */
+    public static final int OFFSET = 12;
+    public static final int SIZE = Integer.BYTES;
+    /** Byte offset of the page version; 0 means the page has no checksum field. */
+    public static final int VERSION_OFFSET = 3;
+    /** Version of pages that reserve the checksum field. */
+    public static final byte VERSION = 1;
+
+    private PageChecksums() {}
+
+    /** CRC32C of the page at {@code page.position()}, skipping the checksum field. */
+    public static int compute(ByteBuffer page, int pageSize) {
+        int start = page.position();
+        CRC32C crc = new CRC32C();
+        crc.update(page.duplicate().position(start).limit(start + OFFSET));
+        crc.update(page.duplicate().position(start + OFFSET + SIZE).limit(start + pageSize));
+        return (int) crc.getValue();
+    }
+
+    /** True if the page at {@code page.position()} reserves the checksum field. */
+    public static boolean hasChecksum(ByteBuffer page) {
+        return page.get(page.position() + VERSION_OFFSET) != 0;
+    }
+
+    /** Writes the checksum into the page's checksum field; pages without one are left alone. */
+    public static void stamp(ByteBuffer page, int pageSize) {
+        if (!hasChecksum(page)) return;
+        page.duplicate().order(ByteOrder.LITTLE_ENDIAN).putInt(page.position() + OFFSET, compute(page, pageSize));
+    }
+
+    /** True if the stored checksum matches, or the page has none (never written, or written before checksums). */
+    public static boolean verify(ByteBuffer page, int pageSize) {
+        if (!hasChecksum(page)) return true;
+        int stored = page.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt(page.position() + OFFSET);
+        return stored == compute(page, pageSize);
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.anupam.evolvdb.storage.disk;
+
+import java.io.IOException;
+
+/** A page read from disk failed checksum verification. */
+public final class PageCorruptedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final PageId pageId;
+
+    public PageCorruptedException(PageId pageId) {
+        super("Checksum mismatch on page " + pageId);
+        this.pageId = pageId;
+    }
+
+    public PageId pageId() { return pageId; }
+}
@@ -0,0 +1,167 @@
+package io.github.anupam.evolvdb.storage.disk;
+
+import io.github.anupam.evolvdb.config.ChecksumVerifyMode;
+import io.github.anupam.evolvdb.config.DbConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChecksummingDiskManagerTest {
+    private static final int PAGE = 4096;
+    private static volatile int blackhole;
+    private Path tmpDir;
+
+    private DbConfig newConfig(ChecksumVerifyMode mode) throws IOException {
+        tmpDir = Files.createTempDirectory("evolvdb-crc-");
+        return DbConfig.builder().pageSize(PAGE).dataDir(tmpDir).checksumVerify(mode).checksumSampleInterval(4).build();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a,b) -> b.getNameCount()-a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    @Test
+    void givenStampedPage_whenByteFlippedOnDisk_thenReadThrowsPageCorrupted() throws Exception {
+        var cfg = newConfig(ChecksumVerifyMode.ALWAYS);
+        var file = new FileId("flip");
+        PageId pid;
+        try (var dm = DiskManagers.open(cfg)) {
+            pid = dm.allocatePage(file);
+            ByteBuffer page = ByteBuffer.allocate(PAGE);
+            page.put(PageChecksums.VERSION_OFFSET, PageChecksums.VERSION).putInt(100, 42);
+            dm.writePage(pid, page, 0);
+            ByteBuffer read = ByteBuffer.allocate(PAGE);
+            dm.readPage(pid, read);
+            assertEquals(42, read.getInt(100));
+        }
+        try (var ch = FileChannel.open(tmpDir.resolve("flip.evolv"), StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] {7}), 2000);
+        }
+        try (var dm = DiskManagers.open(cfg)) {
+            var e = assertThrows(PageCorruptedException.class, () -> dm.readPage(pid, ByteBuffer.allocate(PAGE)));
+            assertEquals(pid, e.pageId());
+        }
+    }
+
+    @Test
+    void givenNeverWrittenPage_whenRead_thenZeroPagePassesVerification() throws Exception {
+        var cfg = newConfig(ChecksumVerifyMode.ALWAYS);
+        try (var dm = DiskManagers.open(cfg)) {
+            PageId pid = dm.allocatePage(new FileId("zero"));
+            ByteBuffer read = ByteBuffer.allocate(PAGE);
+            dm.readPage(pid, read);
+            assertEquals(0, read.getInt(PageChecksums.OFFSET));
+        }
+    }
+
+    @Test
+    void givenPageWrittenBeforeChecksums_whenReadAndRewritten_thenAcceptedAndLeftUnstamped() throws Exception {
+        var cfg = newConfig(ChecksumVerifyMode.ALWAYS);
+        // A heap page in the 12-byte header layout: type 1, version 0, two records from byte 12 on
+        ByteBuffer legacy = ByteBuffer.allocate(PAGE).order(ByteOrder.LITTLE_ENDIAN);
+        legacy.putInt(0, 1).putShort(8, (short) 2).putShort(10, (short) 22).put(12, "helloworld".getBytes());
+        legacy.putShort(PAGE - 4, (short) 12).putShort(PAGE - 2, (short) 5);
+        legacy.putShort(PAGE - 8, (short) 17).putShort(PAGE - 6, (short) 5);
+        Files.createDirectories(tmpDir);
+        try (var ch = FileChannel.open(tmpDir.resolve("legacy.evolv"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            ch.write(legacy.duplicate().clear(), 0);
+        }
+        PageId pid = new PageId(new FileId("legacy"), 0);
+        try (var dm = DiskManagers.open(cfg)) {
+            ByteBuffer read = ByteBuffer.allocate(PAGE);
+            dm.readPage(pid, read);
+            assertEquals(legacy.clear(), read.clear());
+            dm.writePage(pid, read, 0);
+            ByteBuffer again = ByteBuffer.allocate(PAGE);
+            dm.readPage(pid, again);
+            assertEquals("hell", new String(again.array(), PageChecksums.OFFSET, 4));
+        }
+    }
+
+    @Test
+    void givenSampledMode_whenPagesRead_thenEveryNthVerified() throws Exception {
+        var cfg = newConfig(ChecksumVerifyMode.SAMPLED);
+        var file = new FileId("sampled");
+        try (var dm = (ChecksummingDiskManager) DiskManagers.open(cfg)) {
+            List<PageId> ids = new ArrayList<>();
+            List<ByteBuffer> bufs = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                ids.add(dm.allocatePage(file));
+                ByteBuffer b = ByteBuffer.allocate(PAGE);
+                b.putInt(0, i + 1);
+                bufs.add(b);
+            }
+            dm.writePages(ids, bufs, 0);
+            for (PageId pid : ids) dm.readPage(pid, ByteBuffer.allocate(PAGE));
+            assertEquals(2, dm.verifiedPages());
+        }
+    }
+
+    @Test
+    void givenOffMode_whenCorruptPageRead_thenNoVerification() throws Exception {
+        var cfg = newConfig(ChecksumVerifyMode.OFF);
+        var file = new FileId("off");
+        try (var dm = (ChecksummingDiskManager) DiskManagers.open(cfg)) {
+            PageId pid = dm.allocatePage(file);
+            dm.writePage(pid, ByteBuffer.allocate(PAGE).putInt(0, 1).clear(), 0);
+            dm.sync();
+            try (var ch = FileChannel.open(tmpDir.resolve("off.evolv"), StandardOpenOption.WRITE)) {
+                ch.write(ByteBuffer.wrap(new byte[] {7}), 2000);
+            }
+            dm.readPage(pid, ByteBuffer.allocate(PAGE));
+            assertEquals(0, dm.verifiedPages());
+        }
+    }
+
+    @Test
+    void givenVerifyModes_whenReadingPages_thenReportsChecksumCost() throws Exception {
+        ByteBuffer page = ByteBuffer.allocateDirect(PAGE);
+        new Random(7).ints(PAGE / 4).forEach(page::putInt);
+        page.clear();
+        int rounds = 200_000;
+        int sink = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rounds; i++) sink += PageChecksums.compute(page, PAGE);
+        double crcNanos = (System.nanoTime() - t0) / (double) rounds;
+
+        int pages = 2000;
+        StringBuilder line = new StringBuilder(String.format("crc32c %d-byte page: %.0f ns", PAGE, crcNanos));
+        for (ChecksumVerifyMode mode : ChecksumVerifyMode.values()) {
+            var cfg = newConfig(mode);
+            try (var dm = DiskManagers.open(cfg)) {
+                var file = new FileId("bench");
+                for (int i = 0; i < pages; i++) dm.writePage(dm.allocatePage(file), page.clear(), 0);
+                ByteBuffer dst = ByteBuffer.allocateDirect(PAGE);
+                long start = System.nanoTime();
+                for (int r = 0; r < 3; r++) {
+                    for (int i = 0; i < pages; i++) dm.readPage(new PageId(file, i), dst.clear());
+                }
+                double perSec = 3.0 * pages / ((System.nanoTime() - start) / 1e9);
+                line.append(String.format(" | %s reads/s=%.0f", mode, perSec));
+            }
+            cleanup();
+        }
+        blackhole = sink;
+        System.out.println(line);
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.anupam.evolvdb.storage.disk;
 
 import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.config.DiskManagerType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +9,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -80,6 +83,189 @@ public class NioDiskManagerTest {
         }
     }
 
+    @Test
+    void givenTwoRunsOfPages_whenWritePagesAndReadPages_thenOneCallPerRunAndBytesRoundTrip() throws Exception {
+        var cfg = newConfig();
+        try (var dm = new NioDiskManager(cfg)) {
+            var file = new FileId("vec");
+            for (int i = 0; i < 8; i++) dm.allocatePage(file);
+            // pages 1,2,3 and 6,7: two runs
+            int[] pageNos = {1, 2, 3, 6, 7};
+            List<PageId> ids = new ArrayList<>();
+            List<ByteBuffer> srcs = new ArrayList<>();
+            for (int n : pageNos) {
+                ids.add(new PageId(file, n));
+                byte[] b = new byte[cfg.pageSize()];
+                fillPattern(b, (byte) n);
+                srcs.add(ByteBuffer.wrap(b));
+            }
+            long before = dm.ioCalls();
+            dm.writePages(ids, srcs, 0);
+            assertEquals(2, dm.ioCalls() - before);
+
+            List<ByteBuffer> dsts = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) dsts.add(ByteBuffer.allocate(cfg.pageSize()));
+            before = dm.ioCalls();
+            dm.readPages(ids, dsts);
+            assertEquals(2, dm.ioCalls() - before);
+            for (int i = 0; i < ids.size(); i++) assertArrayEquals(srcs.get(i).array(), toArray(dsts.get(i)));
+
+            ByteBuffer single = ByteBuffer.allocate(cfg.pageSize());
+            dm.readPage(new PageId(file, 6), single);
+            assertArrayEquals(srcs.get(3).array(), toArray(single));
+        }
+    }
+
+    @Test
+    void givenThousandAdjacentPages_whenWrittenPerPageAndVectored_thenReportsCallsAndThroughput() throws Exception {
+        var cfg = newConfig();
+        int pages = 1000;
+        try (var dm = new NioDiskManager(cfg)) {
+            var file = new FileId("flush");
+            List<PageId> ids = new ArrayList<>();
+            List<ByteBuffer> srcs = new ArrayList<>();
+            for (int i = 0; i < pages; i++) {
+                ids.add(dm.allocatePage(file));
+                srcs.add(ByteBuffer.allocateDirect(cfg.pageSize()));
+            }
+            for (int round = 0; round < 3; round++) { // last round is reported
+                long c0 = dm.ioCalls(), t0 = System.nanoTime();
+                for (int i = 0; i < pages; i++) dm.writePage(ids.get(i), srcs.get(i), 0);
+                long c1 = dm.ioCalls(), t1 = System.nanoTime();
+                dm.writePages(ids, srcs, 0);
+                long c2 = dm.ioCalls(), t2 = System.nanoTime();
+                assertEquals(pages, c1 - c0);
+                assertTrue(c2 - c1 <= 2, "vectored write took " + (c2 - c1) + " calls"); // IOV_MAX is 1024
+                if (round == 2) {
+                    System.out.printf("write %d pages: per-page calls=%d pages/s=%.0f | vectored calls=%d pages/s=%.0f%n",
+                            pages, c1 - c0, pages / ((t1 - t0) / 1e9), c2 - c1, pages / ((t2 - t1) / 1e9));
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenExtents_whenAllocatingManyPages_thenOneWritePerExtentAndTailTrimmedOnClose() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-test-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).extentPages(16).build();
+        var file = new FileId("ext");
+        try (var dm = new NioDiskManager(cfg)) {
+            long before = dm.ioCalls();
+            for (int i = 0; i < 100; i++) assertEquals(i, dm.allocatePage(file).pageNo());
+            assertEquals(7, dm.ioCalls() - before); // ceil(100 / 16) extents
+            assertEquals(100, dm.pageCount(file));
+            assertEquals(112L * 4096, Files.size(tmpDir.resolve("ext.evolv")));
+            assertThrows(IOException.class, () -> dm.readPage(new PageId(file, 100), ByteBuffer.allocate(4096)));
+        }
+        assertEquals(100L * 4096, Files.size(tmpDir.resolve("ext.evolv")));
+        try (var dm = new NioDiskManager(cfg)) {
+            assertEquals(100, dm.pageCount(file));
+            assertEquals(100, dm.allocatePage(file).pageNo());
+        }
+    }
+
+    @Test
+    void givenPages_whenTruncate_thenFileShrinksAndAllocationResumesAtNewEnd() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-test-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).extentPages(16).build();
+        var file = new FileId("trunc");
+        try (var dm = new NioDiskManager(cfg)) {
+            for (int i = 0; i < 20; i++) dm.allocatePage(file);
+            dm.truncate(file, 5);
+            assertEquals(5, dm.pageCount(file));
+            assertEquals(5L * 4096, Files.size(tmpDir.resolve("trunc.evolv")));
+            assertThrows(IOException.class, () -> dm.readPage(new PageId(file, 5), ByteBuffer.allocate(4096)));
+            dm.truncate(file, 10); // never grows the file
+            assertEquals(5, dm.pageCount(file));
+            assertThrows(IllegalArgumentException.class, () -> dm.truncate(file, -1));
+            assertEquals(5, dm.allocatePage(file).pageNo());
+        }
+        try (var dm = new NioDiskManager(cfg)) {
+            assertEquals(6, dm.pageCount(file));
+        }
+    }
+
+    @Test
+    void givenCrashAfterExtentGrowth_whenReopened_thenKeepsSyncedAndWrittenPagesOnly() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-test-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).extentPages(16).build();
+        var file = new FileId("crash");
+        byte[] data = new byte[4096];
+        fillPattern(data, (byte) 5);
+        var dm = new NioDiskManager(cfg);
+        for (int i = 0; i < 3; i++) dm.allocatePage(file);
+        dm.sync(); // high-water mark 3; pages 0..2 are still all zero
+        for (int i = 0; i < 3; i++) dm.allocatePage(file);
+        dm.writePage(new PageId(file, 4), ByteBuffer.wrap(data), 0);
+        // "crash": no close, so the extent tail is not truncated and the sidecar still says 3
+        try (var dm2 = new NioDiskManager(cfg)) {
+            assertEquals(5, dm2.pageCount(file)); // page 5 was allocated after the sync but never written
+            ByteBuffer read = ByteBuffer.allocate(4096);
+            dm2.readPage(new PageId(file, 4), read);
+            assertArrayEquals(data, toArray(read));
+        }
+        dm.close(); // release the abandoned handle
+    }
+
+    @Test
+    void givenExtentSizes_whenAllocatingPages_thenReportsAllocationThroughput() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-test-");
+        int pages = 5_000;
+        for (int extent : new int[]{1, 16, 128}) {
+            var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).extentPages(extent).build();
+            var file = new FileId("alloc" + extent);
+            try (var dm = new NioDiskManager(cfg)) {
+                long c0 = dm.ioCalls(), t0 = System.nanoTime();
+                for (int i = 0; i < pages; i++) {
+                    dm.allocatePage(file);
+                    dm.pageCount(file); // HeapFile.insert asks for the count on every insert
+                }
+                double secs = (System.nanoTime() - t0) / 1e9;
+                System.out.printf("allocate %d pages extentPages=%d writes=%d pages/s=%.0f%n",
+                        pages, extent, dm.ioCalls() - c0, pages / secs);
+            }
+        }
+    }
+
+    @Test
+    void givenDirectIo_whenHeapAndAlignedBuffersUsed_thenBytesRoundTripAcrossReopen() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-test-");
+        var cfg = DbConfig.builder().pageSize(4096).dataDir(tmpDir).directIo(true).build();
+        var file = new FileId("direct");
+        byte[] a = new byte[4096];
+        byte[] b = new byte[4096];
+        fillPattern(a, (byte) 3);
+        fillPattern(b, (byte) 4);
+        try (var dm = new NioDiskManager(cfg)) {
+            var p0 = dm.allocatePage(file);
+            var p1 = dm.allocatePage(file);
+            dm.writePage(p0, ByteBuffer.wrap(a), 0); // heap buffer: bounced through an aligned copy
+            ByteBuffer aligned = ByteBuffer.allocateDirect(2 * 4096).alignedSlice(4096);
+            aligned.put(b).flip();
+            dm.writePages(List.of(p1), List.of(aligned), 0);
+            dm.sync();
+        }
+        try (var dm = new NioDiskManager(cfg)) {
+            ByteBuffer ra = ByteBuffer.allocate(4096);
+            dm.readPage(new PageId(file, 0), ra);
+            assertArrayEquals(a, toArray(ra));
+            List<ByteBuffer> dsts = List.of(ByteBuffer.allocateDirect(4096), ByteBuffer.allocate(4096));
+            dm.readPages(List.of(new PageId(file, 0), new PageId(file, 1)), dsts);
+            assertArrayEquals(a, toArray(dsts.get(0)));
+            assertArrayEquals(b, toArray(dsts.get(1)));
+        }
+    }
+
+    @Test
+    void givenDirectIo_whenPageSizeNotMultipleOfAlignment_thenConfigRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DbConfig.builder().pageSize(6144).directIo(true).build());
+        assertThrows(IllegalArgumentException.class, () -> DbConfig.builder().ioAlignment(3000));
+        assertThrows(IllegalArgumentException.class, () -> DbConfig.builder().directIo(true)
+                .diskManager(DiskManagerType.MMAP).build());
+        assertDoesNotThrow(() -> DbConfig.builder().pageSize(8192).directIo(true).build());
+    }
+
     private static void fillPattern(byte[] arr, byte value) {
         for (int i = 0; i < arr.length; i++) arr[i] = (byte)(value + i);
     }
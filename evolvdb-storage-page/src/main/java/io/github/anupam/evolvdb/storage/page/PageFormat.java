@@ -1,5 +1,6 @@
 package io.github.anupam.evolvdb.storage.page;
 
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 /**
@@ -13,15 +14,42 @@ public interface PageFormat {
     /** Returns the number of contiguous free bytes currently available for new record payloads. */
     int freeSpace(Page page);
 
+    /**
+     * Returns the largest record payload {@link #insert} would accept, counting space it can reclaim
+     * (e.g. by compacting deleted records) and any per-record overhead.
+     */
+    int maxInsertSize(Page page);
+
     /** Inserts a record payload and returns its RecordId. Throws if insufficient space. */
     RecordId insert(Page page, byte[] record);
 
     /** Reads a record by id; empty if deleted. */
     Optional<byte[]> read(Page page, RecordId rid);
 
+    /**
+     * Zero-copy read: returns a read-only, little-endian view of a live record's bytes inside the page buffer
+     * (position 0, limit = record length), or null if the slot is out of range or deleted. The view is only valid while the
+     * page stays pinned and unmodified.
+     */
+    ByteBuffer slice(Page page, short slotIndex);
+
+    /**
+     * Zero-copy bulk lookup for scans: writes the offset (into {@code page.buffer()}) and length of every live
+     * record, in slot order, into {@code offsets} and {@code lengths}, which must hold at least
+     * {@link #slotCount} entries, and returns how many records were written.
+     */
+    int liveRecords(Page page, int[] offsets, int[] lengths);
+
     /** Deletes a record by id (may tombstone). */
     void delete(Page page, RecordId rid);
 
+    /**
+     * Reclaims the space of deleted records and of records that shrank in place, without changing the RecordId
+     * of any live record. Returns the number of bytes it made available to inserts, or 0 if the page had nothing
+     * to reclaim (and was left untouched).
+     */
+    int compact(Page page);
+
     // --- M5 scanning & update helpers ---
 
     /** Total number of slots currently present (including tombstones). */
@@ -1,5 +1,7 @@
 package io.github.anupam.evolvdb.storage.page;
 
+import io.github.anupam.evolvdb.storage.disk.PageChecksums;
+
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Optional;
@@ -7,30 +9,44 @@ import java.util.Optional;
 /**
  * Slotted page layout.
  * Header (little-endian, binary):
- *  - int pageType (1 for heap)
+ *  - short pageType (1 for heap)
+ *  - byte reserved
+ *  - byte version (PageChecksums.VERSION; 0 on pages written before checksums)
  *  - int lsn
  *  - short slotCount
  *  - short freeStartOffset
+ *  - int checksum (reserved for the disk layer, see PageChecksums); absent on version 0 pages
  * Slots grow from the end of the page backward; payload grows from header forward.
  * Each slot entry: short offset, short len (len < 0 indicates tombstone/deleted).
  *
  * This class implements insert/read/delete, free space tracking, and compaction on demand.
+ * {@link #compact} (used by vacuum) also drops tombstones at the end of the slot directory; earlier tombstones
+ * keep their slot so the RecordIds of the records after them stay valid.
+ *
+ * Version 0 pages have a 12-byte header whose payload starts where the checksum field now is. They are read and
+ * updated in that layout; pages are only initialized at the current version.
  */
 public final class SlottedPageFormat implements PageFormat {
     public static final int PAGE_TYPE_HEAP = 1;
 
-    private static final int OFF_TYPE = 0;          // int
+    private static final int OFF_TYPE = 0;          // short
+    private static final int OFF_RESERVED = 2;      // byte
+    private static final int OFF_VERSION = PageChecksums.VERSION_OFFSET; // byte
     private static final int OFF_LSN = 4;           // int
     private static final int OFF_SLOT_COUNT = 8;    // short
     private static final int OFF_FREE_START = 10;   // short
-    private static final int HEADER_SIZE = 12;
+    private static final int OFF_CHECKSUM = PageChecksums.OFFSET; // int, stamped by the disk layer
+    private static final int HEADER_SIZE = OFF_CHECKSUM + PageChecksums.SIZE;
+    private static final int LEGACY_HEADER_SIZE = OFF_CHECKSUM; // version 0: no checksum field
     private static final int SLOT_ENTRY_SIZE = 4;   // short offset, short len
 
     @Override
     public void init(Page page) {
         ByteBuffer buf = page.buffer();
         buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.putInt(OFF_TYPE, PAGE_TYPE_HEAP);
+        buf.putShort(OFF_TYPE, (short) PAGE_TYPE_HEAP);
+        buf.put(OFF_RESERVED, (byte) 0);
+        buf.put(OFF_VERSION, PageChecksums.VERSION);
         buf.putInt(OFF_LSN, 0);
         buf.putShort(OFF_SLOT_COUNT, (short) 0);
         buf.putShort(OFF_FREE_START, (short) HEADER_SIZE);
@@ -47,6 +63,22 @@ public final class SlottedPageFormat implements PageFormat {
         return Math.max(0, slotDirStart - freeStart);
     }
 
+    @Override
+    public int maxInsertSize(Page page) {
+        ByteBuffer buf = page.buffer();
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.getShort(OFF_TYPE) != PAGE_TYPE_HEAP) return 0; // never initialized
+        int cap = buf.capacity();
+        int slotCount = Short.toUnsignedInt(buf.getShort(OFF_SLOT_COUNT));
+        int live = 0;
+        for (int i = 0; i < slotCount; i++) {
+            short lenRaw = buf.getShort(cap - (i + 1) * SLOT_ENTRY_SIZE + 2);
+            if (lenRaw > 0) live += lenRaw;
+        }
+        // What compaction would leave free, less the new slot entry
+        return Math.max(0, cap - slotCount * SLOT_ENTRY_SIZE - headerSize(buf) - live - SLOT_ENTRY_SIZE);
+    }
+
     @Override
     public RecordId insert(Page page, byte[] record) {
         ByteBuffer buf = page.buffer();
@@ -109,6 +141,40 @@ public final class SlottedPageFormat implements PageFormat {
         return Optional.of(out);
     }
 
+    @Override
+    public ByteBuffer slice(Page page, short slotIndex) {
+        ByteBuffer buf = page.buffer();
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        int cap = buf.capacity();
+        int slotCount = Short.toUnsignedInt(buf.getShort(OFF_SLOT_COUNT));
+        int slot = Short.toUnsignedInt(slotIndex);
+        if (slot >= slotCount) return null;
+        int slotPos = cap - (slot + 1) * SLOT_ENTRY_SIZE;
+        int off = Short.toUnsignedInt(buf.getShort(slotPos));
+        short len = buf.getShort(slotPos + 2);
+        if (len <= 0 || off + len > cap) return null;
+        return buf.slice(off, len).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public int liveRecords(Page page, int[] offsets, int[] lengths) {
+        ByteBuffer buf = page.buffer();
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        int cap = buf.capacity();
+        int slotCount = Short.toUnsignedInt(buf.getShort(OFF_SLOT_COUNT));
+        int n = 0;
+        for (int i = 0; i < slotCount; i++) {
+            int slotPos = cap - (i + 1) * SLOT_ENTRY_SIZE;
+            int off = Short.toUnsignedInt(buf.getShort(slotPos));
+            short len = buf.getShort(slotPos + 2);
+            if (len <= 0 || off + len > cap) continue;
+            offsets[n] = off;
+            lengths[n] = len;
+            n++;
+        }
+        return n;
+    }
+
     @Override
     public void delete(Page page, RecordId rid) {
         ByteBuffer buf = page.buffer();
@@ -124,6 +190,30 @@ public final class SlottedPageFormat implements PageFormat {
         }
     }
 
+    @Override
+    public int compact(Page page) {
+        ByteBuffer buf = page.buffer();
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.getShort(OFF_TYPE) != PAGE_TYPE_HEAP) return 0; // never initialized
+        int cap = buf.capacity();
+        int slotCount = Short.toUnsignedInt(buf.getShort(OFF_SLOT_COUNT));
+        int freeStart = Short.toUnsignedInt(buf.getShort(OFF_FREE_START));
+        int live = 0;
+        int keptSlots = 0; // slots up to and including the last live one
+        for (int i = 0; i < slotCount; i++) {
+            short lenRaw = buf.getShort(cap - (i + 1) * SLOT_ENTRY_SIZE + 2);
+            if (lenRaw > 0) {
+                live += lenRaw;
+                keptSlots = i + 1;
+            }
+        }
+        if (freeStart - headerSize(buf) == live && keptSlots == slotCount) return 0; // already packed
+        int before = freeSpace(page);
+        compactInPlace(buf);
+        buf.putShort(OFF_SLOT_COUNT, (short) keptSlots);
+        return freeSpace(page) - before;
+    }
+
     // --- M5: scanning helpers ---
 
     @Override
@@ -194,12 +284,17 @@ public final class SlottedPageFormat implements PageFormat {
         return false;
     }
 
-    /** Packs live records from slots into a contiguous area starting at HEADER_SIZE; updates offsets and freeStart. */
+    /** Size of the page's header: {@link #LEGACY_HEADER_SIZE} on pages written before checksums. */
+    private static int headerSize(ByteBuffer buf) {
+        return buf.get(OFF_VERSION) == 0 ? LEGACY_HEADER_SIZE : HEADER_SIZE;
+    }
+
+    /** Packs live records from slots into a contiguous area after the header; updates offsets and freeStart. */
     private void compactInPlace(ByteBuffer buf) {
         buf.order(ByteOrder.LITTLE_ENDIAN);
         int cap = buf.capacity();
         int slotCount = Short.toUnsignedInt(buf.getShort(OFF_SLOT_COUNT));
-        int writePtr = HEADER_SIZE;
+        int writePtr = headerSize(buf);
 
         for (int i = 0; i < slotCount; i++) {
             int slotPos = cap - (i + 1) * SLOT_ENTRY_SIZE;
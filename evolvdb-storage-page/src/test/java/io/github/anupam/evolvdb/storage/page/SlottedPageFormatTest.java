@@ -32,8 +32,8 @@ class SlottedPageFormatTest {
         var page = newStubPage();
         fmt.init(page);
         int free = fmt.freeSpace(page);
-        // Expect PAGE_SIZE - header(12) - slots(0)
-        assertEquals(PAGE_SIZE - 12, free);
+        // Expect PAGE_SIZE - header(16, including the checksum field) - slots(0)
+        assertEquals(PAGE_SIZE - 16, free);
     }
 
     @Test
@@ -55,6 +55,47 @@ class SlottedPageFormatTest {
         assertArrayEquals(r2, out2.orElseThrow());
     }
 
+    @Test
+    void givenLiveAndDeletedRecords_whenSlice_thenReadOnlyViewOfPageBytes() {
+        var fmt = new SlottedPageFormat();
+        var page = newStubPage();
+        fmt.init(page);
+        RecordId r1 = fmt.insert(page, "hello".getBytes());
+        RecordId r2 = fmt.insert(page, "world!".getBytes());
+        fmt.delete(page, r1);
+
+        ByteBuffer view = fmt.slice(page, r2.slot());
+        assertNotNull(view);
+        assertTrue(view.isReadOnly());
+        assertEquals(0, view.position());
+        assertEquals(6, view.remaining());
+        byte[] out = new byte[6];
+        view.get(out);
+        assertArrayEquals("world!".getBytes(), out);
+        assertNull(fmt.slice(page, r1.slot()));
+        assertNull(fmt.slice(page, (short) 5));
+    }
+
+    @Test
+    void givenDeletedRecord_whenLiveRecords_thenOffsetsAndLengthsOfLiveOnesInSlotOrder() {
+        var fmt = new SlottedPageFormat();
+        var page = newStubPage();
+        fmt.init(page);
+        RecordId r1 = fmt.insert(page, "aa".getBytes());
+        fmt.insert(page, "bbb".getBytes());
+        fmt.insert(page, "cccc".getBytes());
+        fmt.delete(page, r1);
+
+        int[] offsets = new int[fmt.slotCount(page)];
+        int[] lengths = new int[offsets.length];
+        assertEquals(2, fmt.liveRecords(page, offsets, lengths));
+        ByteBuffer buf = page.buffer();
+        assertEquals(3, lengths[0]);
+        assertEquals(4, lengths[1]);
+        assertEquals('b', buf.get(offsets[0]));
+        assertEquals('c', buf.get(offsets[1]));
+    }
+
     @Test
     void givenDeletedRecord_whenRead_thenEmpty() {
         var fmt = new SlottedPageFormat();
@@ -94,4 +135,54 @@ class SlottedPageFormatTest {
         RecordId lid = fmt.insert(page, large); // should not throw
         assertArrayEquals(large, fmt.read(page, lid).orElseThrow());
     }
+
+    @Test
+    void givenDeletedRecords_whenCompact_thenSpaceFreedTrailingSlotsDroppedAndLiveIdsKept() {
+        var fmt = new SlottedPageFormat();
+        var page = newStubPage();
+        fmt.init(page);
+        RecordId[] ids = new RecordId[10];
+        for (int i = 0; i < ids.length; i++) ids[i] = fmt.insert(page, new byte[] {(byte) i, 1, 2, 3, 4, 5, 6, 7});
+        for (int i : new int[] {1, 4, 8, 9}) fmt.delete(page, ids[i]);
+        int free = fmt.freeSpace(page);
+
+        // 4 records of 8 bytes, plus the 4-byte slots of the two trailing tombstones
+        assertEquals(4 * 8 + 2 * 4, fmt.compact(page));
+        assertEquals(free + 40, fmt.freeSpace(page));
+        assertEquals(8, fmt.slotCount(page));
+        for (int i : new int[] {0, 2, 3, 5, 6, 7}) assertEquals(i, fmt.read(page, ids[i]).orElseThrow()[0]);
+        assertTrue(fmt.read(page, ids[1]).isEmpty());
+        assertEquals(0, fmt.compact(page)); // nothing left to reclaim
+
+        for (int i = 0; i < ids.length; i++) fmt.delete(page, ids[i]);
+        fmt.compact(page);
+        assertEquals(0, fmt.slotCount(page));
+        assertEquals(PAGE_SIZE - 16, fmt.freeSpace(page));
+    }
+
+    @Test
+    void givenPageWrittenBeforeChecksums_whenReadAndInsertedInto_thenTwelveByteHeaderKept() {
+        var fmt = new SlottedPageFormat();
+        var page = newStubPage();
+        // Bytes of data/demo_table.evolv: type 1 with version 0, records "hello" and "world" from byte 12
+        ByteBuffer buf = page.buffer().order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(0, 1).putShort(8, (short) 2).putShort(10, (short) 22).put(12, "helloworld".getBytes());
+        buf.putShort(PAGE_SIZE - 4, (short) 12).putShort(PAGE_SIZE - 2, (short) 5);
+        buf.putShort(PAGE_SIZE - 8, (short) 17).putShort(PAGE_SIZE - 6, (short) 5);
+        PageId pid = page.id();
+
+        assertArrayEquals("hello".getBytes(), fmt.read(page, new RecordId(pid, (short) 0)).orElseThrow());
+        assertArrayEquals("world".getBytes(), fmt.read(page, new RecordId(pid, (short) 1)).orElseThrow());
+        assertEquals(PAGE_SIZE - 12 - 10 - 2 * 4 - 4, fmt.maxInsertSize(page));
+
+        fmt.delete(page, new RecordId(pid, (short) 0));
+        assertTrue(fmt.compact(page) > 0);
+        assertEquals(0, buf.get(3));
+        assertArrayEquals("world".getBytes(), fmt.read(page, new RecordId(pid, (short) 1)).orElseThrow());
+        assertEquals(12, buf.getShort(PAGE_SIZE - 8)); // moved down to the end of the 12-byte header
+
+        fmt.init(page);
+        assertEquals(1, buf.get(3));
+        assertEquals(PAGE_SIZE - 16, fmt.freeSpace(page));
+    }
 }
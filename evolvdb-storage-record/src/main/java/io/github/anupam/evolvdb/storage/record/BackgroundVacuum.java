@@ -0,0 +1,111 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background vacuum (in the spirit of Postgres' autovacuum with cost-based delay).
+ *
+ * Every {@code intervalMillis} the thread wakes up and runs {@link HeapFile#vacuum(int, HeapFile.Throttle)} on
+ * each heap file of the RecordManager that has had records deleted or moved since its last vacuum. The pass is
+ * throttled: after every {@code pagesPerRound} pages it sleeps {@code delayMillis}, so the vacuum's I/O is
+ * spread out behind the foreground work. Pages in use are skipped and picked up by a later pass.
+ */
+public final class BackgroundVacuum implements AutoCloseable {
+    private final RecordManager records;
+    private final long intervalMillis;
+    private final int pagesPerRound;
+    private final long delayMillis;
+    private final Thread thread;
+    private final Object sleepLock = new Object();
+    private final AtomicLong passes = new AtomicLong();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile Exception lastFailure;
+
+    public BackgroundVacuum(RecordManager records, long intervalMillis, int pagesPerRound, long delayMillis) {
+        this.records = Objects.requireNonNull(records, "records");
+        if (intervalMillis <= 0) throw new IllegalArgumentException("intervalMillis must be > 0");
+        if (pagesPerRound <= 0) throw new IllegalArgumentException("pagesPerRound must be > 0");
+        if (delayMillis < 0) throw new IllegalArgumentException("delayMillis must be >= 0");
+        this.intervalMillis = intervalMillis;
+        this.pagesPerRound = pagesPerRound;
+        this.delayMillis = delayMillis;
+        this.thread = new Thread(this::run, "evolvdb-autovacuum");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** Number of heap file vacuum passes completed so far. */
+    public long passes() { return passes.get(); }
+
+    /** Total bytes reclaimed by completed passes (see {@link VacuumStats#bytesReclaimed()}). */
+    public long bytesReclaimed() { return bytesReclaimed.get(); }
+
+    /**
+     * Last failure seen by the vacuum thread (an I/O error or a runtime exception from a pass), or null. The thread
+     * keeps running and the file is retried on the next interval.
+     */
+    public Exception lastFailure() { return lastFailure; }
+
+    /** Vacuums every heap file with dead records now, throttled as configured; returns the bytes reclaimed. */
+    public synchronized long vacuumRound() throws IOException {
+        long reclaimed = 0;
+        for (HeapFile file : records.heapFiles()) {
+            if (!running) break;
+            if (file.deadRecords() == 0) continue;
+            VacuumStats stats = file.vacuum(pagesPerRound, this::throttle);
+            reclaimed += stats.bytesReclaimed();
+            bytesReclaimed.addAndGet(stats.bytesReclaimed());
+            passes.incrementAndGet();
+        }
+        return reclaimed;
+    }
+
+    private void run() {
+        while (running) {
+            if (!pause(intervalMillis)) break;
+            try {
+                vacuumRound();
+            } catch (IOException | RuntimeException e) {
+                lastFailure = e; // keep going: the next round retries
+            }
+        }
+    }
+
+    private boolean throttle() {
+        return delayMillis == 0 ? running : pause(delayMillis);
+    }
+
+    /**
+     * Sleeps; returns false if the vacuum is shutting down. Shutdown is signalled through a monitor rather than
+     * Thread.interrupt(), which would close the FileChannel of an in-flight read or write.
+     */
+    private boolean pause(long millis) {
+        synchronized (sleepLock) {
+            if (!running) return false;
+            try {
+                sleepLock.wait(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return running;
+    }
+
+    /** Stops the vacuum thread; a pass in progress ends at its next pause, before truncating. */
+    @Override
+    public void close() {
+        synchronized (sleepLock) {
+            running = false;
+            sleepLock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
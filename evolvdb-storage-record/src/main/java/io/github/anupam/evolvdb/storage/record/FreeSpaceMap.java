@@ -0,0 +1,227 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import io.github.anupam.evolvdb.storage.buffer.BufferPool;
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import io.github.anupam.evolvdb.storage.page.Page;
+import io.github.anupam.evolvdb.storage.page.PageFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Free-space map of a heap file (cf. Postgres' FSM fork).
+ *
+ * Each heap page has one byte, its category: the largest record the page accepts, in units of
+ * {@code pageSize / 256} bytes, rounded down. A category is therefore a lower bound and {@link #find(int)}
+ * never returns a page that was full when last recorded. Stale entries are corrected by the caller via
+ * {@link #update(int, int)} once it has the page pinned.
+ *
+ * Categories are kept in memory as a max-tree, so finding the first page with enough room is O(log n), and
+ * written through to a fork file ({@code <name>_fsm}) via the buffer pool whenever a category changes. Fork
+ * page layout (little-endian): int magic, int entry count, 4 reserved bytes, the page checksum, then one byte
+ * per heap page. The magic's high byte ('F') doubles as a nonzero page version, so the disk layer checksums
+ * fork pages. Heap pages the fork does not cover (fork missing, or not flushed before a crash) are measured
+ * from the heap file when the map is loaded.
+ */
+final class FreeSpaceMap {
+    static final String FORK_SUFFIX = "_fsm";
+    static final int CATEGORIES = 256;
+
+    private static final int MAGIC = 0x46534D31; // "FSM1"
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_ENTRIES = 4;
+    private static final int HEADER_SIZE = 16;
+
+    private final FileId heapFile;
+    private final FileId fork;
+    private final DiskManager disk;
+    private final BufferPool buffer;
+    private final PageFormat format;
+    private final int step;
+    private final int entriesPerPage;
+
+    // Max-tree: leaves at [capacity, 2 * capacity), node i = max(2i, 2i+1); unsigned bytes
+    private byte[] tree;
+    private int capacity;
+    private int pages;
+    private boolean loaded;
+
+    FreeSpaceMap(FileId heapFile, DiskManager disk, BufferPool buffer, PageFormat format) {
+        this.heapFile = heapFile;
+        this.fork = forkOf(heapFile);
+        this.disk = disk;
+        this.buffer = buffer;
+        this.format = format;
+        this.step = Math.max(1, buffer.pageSize() / CATEGORIES);
+        this.entriesPerPage = buffer.pageSize() - HEADER_SIZE;
+    }
+
+    /** FileId of the free-space fork of a heap file. */
+    static FileId forkOf(FileId heapFile) {
+        return new FileId(heapFile.name() + FORK_SUFFIX);
+    }
+
+    /** Returns the lowest page number recorded with room for a record of {@code length} bytes, or -1. */
+    synchronized int find(int length) throws IOException {
+        ensureLoaded();
+        if (pages == 0) return -1;
+        int needed = Math.max(1, (length + step - 1) / step);
+        if (needed >= CATEGORIES || value(1) < needed) return -1;
+        int node = 1;
+        while (node < capacity) {
+            node = value(2 * node) >= needed ? 2 * node : 2 * node + 1;
+        }
+        int page = node - capacity;
+        return page < pages ? page : -1;
+    }
+
+    /** Re-measures heap page {@code pageNo}, which the caller has pinned, and records its category. */
+    synchronized void update(int pageNo, Page page) throws IOException {
+        ensureLoaded();
+        int category = categoryOf(page);
+        if (pageNo < pages && value(capacity + pageNo) == category) return;
+        set(pageNo, category);
+        writeThrough(pageNo, category);
+    }
+
+    /**
+     * Forgets heap pages {@code newPages} and above, after the heap file was truncated. The fork keeps its pages
+     * but its entry counts are cut back, so a reload does not take stale categories for pages added later.
+     */
+    synchronized void truncate(int newPages) throws IOException {
+        ensureLoaded();
+        if (newPages >= pages) return;
+        Arrays.fill(tree, capacity + newPages, capacity + pages, (byte) 0);
+        for (int node = capacity - 1; node >= 1; node--) {
+            tree[node] = (byte) Math.max(value(2 * node), value(2 * node + 1));
+        }
+        pages = newPages;
+        int forkPages = disk.pageCount(fork);
+        for (int f = newPages / entriesPerPage; f < forkPages; f++) {
+            int entries = Math.max(0, newPages - f * entriesPerPage);
+            PageId pid = new PageId(fork, f);
+            Page page = buffer.getPage(pid, true);
+            boolean dirty = false;
+            try {
+                ByteBuffer buf = page.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                if (buf.getInt(OFF_MAGIC) == MAGIC && buf.getInt(OFF_ENTRIES) > entries) {
+                    buf.putInt(OFF_ENTRIES, entries);
+                    dirty = true;
+                }
+            } finally {
+                buffer.unpin(pid, dirty);
+            }
+        }
+    }
+
+    /** Category recorded for a page (tests and diagnostics). */
+    synchronized int category(int pageNo) throws IOException {
+        ensureLoaded();
+        return pageNo < pages ? value(capacity + pageNo) : 0;
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (loaded) return;
+        int heapPages = disk.pageCount(heapFile);
+        capacity = Integer.highestOneBit(Math.max(1, heapPages - 1)) << 1;
+        tree = new byte[2 * capacity];
+        pages = heapPages;
+        int covered = readFork(heapPages);
+        loaded = true;
+        // Rebuild what the fork does not cover from the heap pages themselves
+        for (int p = covered; p < heapPages; p++) {
+            PageId pid = new PageId(heapFile, p);
+            Page page = buffer.getPage(pid, false);
+            int category;
+            try {
+                category = categoryOf(page);
+            } finally {
+                buffer.unpin(pid, false);
+            }
+            set(p, category);
+            writeThrough(p, category);
+        }
+    }
+
+    private int categoryOf(Page page) {
+        return Math.min(CATEGORIES - 1, Math.max(0, format.maxInsertSize(page)) / step);
+    }
+
+    /** Loads categories from the fork; returns the number of leading heap pages it covered. */
+    private int readFork(int heapPages) throws IOException {
+        int forkPages = disk.pageCount(fork);
+        int covered = 0;
+        for (int f = 0; f < forkPages && covered < heapPages; f++) {
+            PageId pid = new PageId(fork, f);
+            Page page = buffer.getPage(pid, false);
+            try {
+                ByteBuffer buf = page.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                if (buf.getInt(OFF_MAGIC) != MAGIC) break;
+                int entries = Math.min(buf.getInt(OFF_ENTRIES), heapPages - covered);
+                for (int i = 0; i < entries; i++) {
+                    tree[capacity + covered + i] = buf.get(HEADER_SIZE + i);
+                }
+                covered += entries;
+                if (entries < entriesPerPage) break; // a partial page ends the contiguous prefix
+            } finally {
+                buffer.unpin(pid, false);
+            }
+        }
+        for (int node = capacity - 1; node >= 1; node--) {
+            tree[node] = (byte) Math.max(value(2 * node), value(2 * node + 1));
+        }
+        return covered;
+    }
+
+    private void writeThrough(int pageNo, int category) throws IOException {
+        int forkPage = pageNo / entriesPerPage;
+        while (disk.pageCount(fork) <= forkPage) {
+            PageId pid = disk.allocatePage(fork);
+            Page page = buffer.getPage(pid, true);
+            page.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN).putInt(OFF_MAGIC, MAGIC).putInt(OFF_ENTRIES, 0);
+            buffer.unpin(pid, true);
+        }
+        PageId pid = new PageId(fork, forkPage);
+        Page page = buffer.getPage(pid, true);
+        try {
+            ByteBuffer buf = page.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int index = pageNo % entriesPerPage;
+            buf.put(HEADER_SIZE + index, (byte) category);
+            if (buf.getInt(OFF_ENTRIES) <= index) buf.putInt(OFF_ENTRIES, index + 1);
+        } finally {
+            buffer.unpin(pid, true);
+        }
+    }
+
+    private void set(int pageNo, int category) {
+        if (pageNo >= capacity) grow(pageNo + 1);
+        pages = Math.max(pages, pageNo + 1);
+        int node = capacity + pageNo;
+        tree[node] = (byte) category;
+        for (node >>= 1; node >= 1; node >>= 1) {
+            int max = Math.max(value(2 * node), value(2 * node + 1));
+            if (value(node) == max) break;
+            tree[node] = (byte) max;
+        }
+    }
+
+    private void grow(int minPages) {
+        int newCapacity = capacity;
+        while (newCapacity < minPages) newCapacity <<= 1;
+        byte[] grown = new byte[2 * newCapacity];
+        System.arraycopy(tree, capacity, grown, newCapacity, capacity);
+        tree = grown;
+        capacity = newCapacity;
+        for (int node = capacity - 1; node >= 1; node--) {
+            tree[node] = (byte) Math.max(value(2 * node), value(2 * node + 1));
+        }
+    }
+
+    private int value(int node) {
+        return Byte.toUnsignedInt(tree[node]);
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import io.github.anupam.evolvdb.storage.page.Page;
+import io.github.anupam.evolvdb.storage.page.PageFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Appends records to a heap file by building fresh pages outside the buffer pool (cf. Postgres COPY FREEZE and
+ * CREATE INDEX's bulk page writer).
+ *
+ * Records are packed into private pages of a reusable batch until a page reaches the fill factor; every
+ * {@link #BATCH_PAGES} pages the batch is appended with one vectored {@link DiskManager#writePages} call and the
+ * pages are registered in the free-space map. New page numbers come from {@code allocatePage}, which counts a page
+ * as part of the file before its batch is written; {@code written} is told how far the file is on disk after each
+ * batch, and the heap file keeps scans and reads below that, so nothing caches a frame of a page still being
+ * packed. Existing pages are never touched, so a load does not fill holes left by deletes.
+ */
+final class HeapBulkLoader {
+    static final int BATCH_PAGES = 64;
+
+    private final FileId fileId;
+    private final DiskManager disk;
+    private final PageFormat format;
+    private final FreeSpaceMap freeSpace;
+    private final double fillFactor;
+    private final IntConsumer written;
+    private final byte[] zero;
+    private final BatchPage[] batch;
+    private int filled; // pages of the batch in use; the last one is still being packed
+    private int reserve; // bytes of the current page to leave free
+    private int overhead; // per-record bytes the format adds on top of the payload
+
+    HeapBulkLoader(FileId fileId, DiskManager disk, PageFormat format, FreeSpaceMap freeSpace, int pageSize,
+                   double fillFactor, IntConsumer written) {
+        this.fileId = fileId;
+        this.disk = disk;
+        this.format = format;
+        this.freeSpace = freeSpace;
+        this.fillFactor = fillFactor;
+        this.written = written;
+        this.zero = new byte[pageSize];
+        ByteBuffer memory = ByteBuffer.allocateDirect(BATCH_PAGES * pageSize);
+        this.batch = new BatchPage[BATCH_PAGES];
+        for (int i = 0; i < BATCH_PAGES; i++) {
+            batch[i] = new BatchPage(memory.slice(i * pageSize, pageSize));
+        }
+    }
+
+    /** Appends every record and returns how many were loaded. */
+    long load(Iterator<byte[]> records) throws IOException {
+        long n = 0;
+        while (records.hasNext()) {
+            append(records.next());
+            n++;
+        }
+        flush();
+        return n;
+    }
+
+    private void append(byte[] record) throws IOException {
+        if (filled > 0) {
+            BatchPage page = batch[filled - 1];
+            // O(1) check: a page being packed has no holes, so its contiguous free space is all there is
+            int left = format.freeSpace(page) - overhead - record.length;
+            if (left >= reserve) {
+                format.insert(page, record);
+                return;
+            }
+        }
+        if (filled == BATCH_PAGES) flush();
+        BatchPage page = batch[filled++];
+        page.reset(disk.allocatePage(fileId), zero);
+        format.init(page);
+        int empty = format.freeSpace(page);
+        overhead = empty - format.maxInsertSize(page);
+        reserve = (int) (empty * (1.0 - fillFactor));
+        // Always admits one record, so a fill factor below the record size still makes progress
+        format.insert(page, record);
+    }
+
+    private void flush() throws IOException {
+        if (filled == 0) return;
+        List<PageId> ids = new ArrayList<>(filled);
+        List<ByteBuffer> srcs = new ArrayList<>(filled);
+        for (int i = 0; i < filled; i++) {
+            ids.add(batch[i].id);
+            srcs.add(batch[i].buffer().duplicate());
+        }
+        disk.writePages(ids, srcs, 0L);
+        for (int i = 0; i < filled; i++) freeSpace.update(batch[i].id.pageNo(), batch[i]);
+        written.accept(batch[filled - 1].id.pageNo() + 1);
+        filled = 0;
+    }
+
+    /** A page of the batch; never part of the buffer pool. */
+    private static final class BatchPage implements Page {
+        private final ByteBuffer memory;
+        private PageId id;
+
+        BatchPage(ByteBuffer memory) { this.memory = memory; }
+
+        void reset(PageId id, byte[] zero) {
+            this.id = id;
+            memory.put(0, zero, 0, zero.length);
+        }
+
+        @Override public PageId id() { return id; }
+        // The loader is single-threaded, so the one buffer is handed out instead of a view per call
+        @Override public ByteBuffer buffer() {
+            memory.clear();
+            return memory;
+        }
+        @Override public boolean isDirty() { return true; }
+        @Override public void markDirty(boolean dirty) { }
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.anupam.evolvdb.storage.record;
 
 import io.github.anupam.evolvdb.storage.buffer.BufferPool;
+import io.github.anupam.evolvdb.storage.buffer.BufferRing;
 import io.github.anupam.evolvdb.storage.disk.DiskManager;
 import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.storage.disk.PageId;
@@ -9,86 +10,240 @@ import io.github.anupam.evolvdb.storage.page.PageFormat;
 import io.github.anupam.evolvdb.storage.page.RecordId;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.function.Supplier;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 /**
  * HeapFile stores variable-length records across pages using a PageFormat (Strategy).
- * It uses BufferPool for page caching and DiskManager for page allocation.
+ * It uses BufferPool for page caching and DiskManager for page allocation, and a FreeSpaceMap to pick the page
+ * an insert goes to. Open one HeapFile per file (see RecordManager) so the map stays consistent.
+ *
+ * {@link #vacuum} runs online next to readers and writers. Every access to a page holds a shared latch on it
+ * (one of {@link #LATCH_STRIPES} lock stripes by page number) while the page is pinned; vacuum only compacts a
+ * page whose latch it gets exclusively without waiting, and skips it otherwise. Adding pages at the end
+ * (allocatePage, bulk loads) and truncating the file are serialized by an extension lock. Concurrent writers
+ * are otherwise not coordinated, as before.
  */
 public final class HeapFile {
+    static final int LATCH_STRIPES = 64;
+
     private final FileId fileId;
     private final DiskManager disk;
     private final BufferPool buffer;
     private final PageFormat format;
+    private final FreeSpaceMap freeSpace;
+    private final ReentrantReadWriteLock[] latches = new ReentrantReadWriteLock[LATCH_STRIPES];
+    private final ReentrantLock extension = new ReentrantLock();
+    private final LongAdder deadRecords = new LongAdder();
+    // While a bulk load runs, the pages it has written; pages past this are allocated but may not be on disk yet
+    private volatile int loadedPages = Integer.MAX_VALUE;
 
     public HeapFile(FileId fileId, DiskManager disk, BufferPool buffer, PageFormat format) {
         this.fileId = Objects.requireNonNull(fileId);
         this.disk = Objects.requireNonNull(disk);
         this.buffer = Objects.requireNonNull(buffer);
         this.format = Objects.requireNonNull(format);
+        this.freeSpace = new FreeSpaceMap(fileId, disk, buffer, format);
+        for (int i = 0; i < LATCH_STRIPES; i++) latches[i] = new ReentrantReadWriteLock();
     }
 
     public FileId fileId() { return fileId; }
 
-    /** Inserts a record, allocating and initializing a new page if necessary.
-     *  Intentionally avoids assuming any particular PageFormat overhead; it attempts insert and
-     *  falls back to the next page on failure (e.g., insufficient space). */
+    /** Inserts a record into the first page the free-space map reports room on, allocating and initializing a
+     *  new page if there is none. */
     public RecordId insert(byte[] record) throws IOException {
+        return insert(record, null);
+    }
+
+    /** Inserts a record, pinning pages through the given bulk-write ring (null = shared pool). */
+    public RecordId insert(byte[] record, BufferRing ring) throws IOException {
         Objects.requireNonNull(record);
-        int pages = disk.pageCount(fileId);
-        // First pass: try to insert into an existing page
-        for (int p = 0; p < pages; p++) {
-            PageId pid = new PageId(fileId, p);
-            Page page = buffer.getPage(pid, true);
+        // The map is a hint: a page it names may have filled up since, so re-check and correct it
+        for (int p = freeSpace.find(record.length); p >= 0; p = freeSpace.find(record.length)) {
+            Lock latch = shared(p);
             try {
-                RecordId rid = format.insert(page, record);
-                page.markDirty(true);
-                return rid;
-            } catch (IllegalStateException noSpace) {
-                // Try next page
+                if (p >= pageCount()) continue; // truncated by vacuum meanwhile; the map no longer has it
+                PageId pid = new PageId(fileId, p);
+                Page page = buffer.getPage(pid, true, ring);
+                try {
+                    if (format.maxInsertSize(page) >= record.length) {
+                        RecordId rid = format.insert(page, record);
+                        page.markDirty(true);
+                        return rid;
+                    }
+                } finally {
+                    freeSpace.update(p, page);
+                    buffer.unpin(pid, page.isDirty());
+                }
             } finally {
-                buffer.unpin(pid, page.isDirty());
+                latch.unlock();
             }
         }
         // None found -> allocate new page
-        PageId newPid = disk.allocatePage(fileId);
-        Page newPage = buffer.getPage(newPid, true);
+        extension.lock();
+        try {
+            PageId newPid = disk.allocatePage(fileId);
+            Lock latch = shared(newPid.pageNo());
+            try {
+                Page newPage = buffer.getPage(newPid, true, ring);
+                try {
+                    format.init(newPage);
+                    newPage.markDirty(true);
+                    return format.insert(newPage, record);
+                } finally {
+                    freeSpace.update(newPid.pageNo(), newPage);
+                    buffer.unpin(newPid, newPage.isDirty());
+                }
+            } finally {
+                latch.unlock();
+            }
+        } finally {
+            extension.unlock();
+        }
+    }
+
+    /**
+     * Appends records on fresh pages built outside the buffer pool and written with large sequential writes
+     * (see {@link HeapBulkLoader}), packing each page up to {@code fillFactor} of its free space; 1.0 packs pages
+     * full, lower values leave room for later in-place updates. Returns the number of records loaded.
+     *
+     * Concurrent scans and reads see the loaded pages one written batch at a time; a page allocated for the load
+     * is not part of the file for them until its batch is on disk, so the pool never caches it unwritten.
+     */
+    public long bulkLoad(Iterator<byte[]> records, double fillFactor) throws IOException {
+        Objects.requireNonNull(records);
+        if (!(fillFactor > 0.0 && fillFactor <= 1.0)) {
+            throw new IllegalArgumentException("fillFactor must be in (0, 1]: " + fillFactor);
+        }
+        extension.lock(); // vacuum must not truncate pages the loader has allocated but not yet written
+        try {
+            loadedPages = disk.pageCount(fileId);
+            try {
+                return new HeapBulkLoader(fileId, disk, format, freeSpace, buffer.pageSize(), fillFactor,
+                        pages -> loadedPages = pages).load(records);
+            } finally {
+                loadedPages = Integer.MAX_VALUE;
+            }
+        } finally {
+            extension.unlock();
+        }
+    }
+
+    /**
+     * Inserts records in order, keeping each page pinned while it takes as many of the following records as fit,
+     * so a batch costs one pin and one free-space-map update per page instead of per record. Pages are pinned
+     * through the given bulk-write ring (null = shared pool).
+     */
+    public void insertBatch(List<byte[]> records, BufferRing ring) throws IOException {
+        Objects.requireNonNull(records);
+        int i = 0;
+        while (i < records.size()) {
+            byte[] first = Objects.requireNonNull(records.get(i));
+            int p = freeSpace.find(first.length);
+            if (p >= 0) {
+                Lock latch = shared(p);
+                try {
+                    if (p >= pageCount()) continue; // truncated by vacuum meanwhile
+                    PageId pid = new PageId(fileId, p);
+                    Page page = buffer.getPage(pid, true, ring);
+                    if (format.maxInsertSize(page) < first.length) {
+                        // Stale hint: correct it and ask again
+                        freeSpace.update(p, page);
+                        buffer.unpin(pid, false);
+                        continue;
+                    }
+                    i = fill(pid, page, records, i);
+                } finally {
+                    latch.unlock();
+                }
+            } else {
+                extension.lock();
+                try {
+                    PageId pid = disk.allocatePage(fileId);
+                    Lock latch = shared(pid.pageNo());
+                    try {
+                        Page page = buffer.getPage(pid, true, ring);
+                        format.init(page);
+                        i = fill(pid, page, records, i);
+                    } finally {
+                        latch.unlock();
+                    }
+                } finally {
+                    extension.unlock();
+                }
+            }
+        }
+    }
+
+    /** Inserts records from {@code i} into a pinned page while they fit, then unpins it; returns the next index. */
+    private int fill(PageId pid, Page page, List<byte[]> records, int i) throws IOException {
         try {
-            format.init(newPage);
-            RecordId rid = format.insert(newPage, record);
-            newPage.markDirty(true);
-            return rid;
+            page.markDirty(true);
+            do {
+                format.insert(page, records.get(i++));
+            } while (i < records.size() && format.maxInsertSize(page) >= records.get(i).length);
+            return i;
         } finally {
-            buffer.unpin(newPid, newPage.isDirty());
+            freeSpace.update(pid.pageNo(), page);
+            buffer.unpin(pid, page.isDirty());
         }
     }
 
     /** Reads a record or throws if not present (deleted or out of range). */
     public byte[] read(RecordId rid) throws IOException {
+        return read(rid, null);
+    }
+
+    /** Reads a record, pinning its page through the given ring (null = shared pool). */
+    public byte[] read(RecordId rid, BufferRing ring) throws IOException {
         Objects.requireNonNull(rid);
         PageId pid = rid.pageId();
-        Page page = buffer.getPage(pid, false);
+        Lock latch = shared(pid.pageNo());
         try {
-            return format.read(page, rid)
-                    .orElseThrow(() -> new NoSuchElementException("Record not found: " + rid));
+            if (pid.pageNo() >= pageCount()) throw new NoSuchElementException("Record not found: " + rid);
+            Page page = buffer.getPage(pid, false, ring);
+            try {
+                return format.read(page, rid)
+                        .orElseThrow(() -> new NoSuchElementException("Record not found: " + rid));
+            } finally {
+                buffer.unpin(pid, false);
+            }
         } finally {
-            buffer.unpin(pid, false);
+            latch.unlock();
         }
     }
 
-    /** Deletes a record (tombstone). */
+    /** Deletes a record (tombstone); its space is reused once the page is compacted, by an insert or by vacuum. */
     public void delete(RecordId rid) throws IOException {
         Objects.requireNonNull(rid);
         PageId pid = rid.pageId();
-        Page page = buffer.getPage(pid, true);
+        Lock latch = shared(pid.pageNo());
         try {
-            format.delete(page, rid);
-            page.markDirty(true);
+            if (pid.pageNo() >= pageCount()) return; // page truncated, so the record is long gone
+            Page page = buffer.getPage(pid, true);
+            try {
+                if (format.isLive(page, rid.slot())) deadRecords.increment();
+                format.delete(page, rid);
+                page.markDirty(true);
+                freeSpace.update(pid.pageNo(), page);
+            } finally {
+                buffer.unpin(pid, page.isDirty());
+            }
         } finally {
-            buffer.unpin(pid, page.isDirty());
+            latch.unlock();
         }
     }
 
@@ -97,111 +252,553 @@ public final class HeapFile {
         Objects.requireNonNull(rid);
         Objects.requireNonNull(newRecord);
         PageId pid = rid.pageId();
-        Page page = buffer.getPage(pid, true);
-        boolean inPlace = false;
+        Lock latch = shared(pid.pageNo());
         try {
-            inPlace = format.update(page, rid, newRecord);
-            if (inPlace) {
-                page.markDirty(true);
-                return rid; // stable
+            if (pid.pageNo() >= pageCount()) throw new NoSuchElementException("Record not found: " + rid);
+            Page page = buffer.getPage(pid, true);
+            boolean inPlace = false;
+            try {
+                inPlace = format.update(page, rid, newRecord);
+                if (inPlace) {
+                    page.markDirty(true);
+                    freeSpace.update(pid.pageNo(), page);
+                    return rid; // stable
+                }
+            } finally {
+                buffer.unpin(pid, inPlace);
             }
         } finally {
-            buffer.unpin(pid, inPlace);
+            latch.unlock();
         }
         // Relocate: delete old, then insert anew
         delete(rid);
         return insert(newRecord);
     }
 
-    /** Returns an Iterator over live RecordIds in page/slot order, skipping tombstones. */
-    public Iterator<RecordId> iterator() {
-        final int pages;
+    /** Records deleted or moved by an update since the last vacuum. Kept in memory only, so 0 after a restart. */
+    public long deadRecords() {
+        return deadRecords.sum();
+    }
+
+    /** Unthrottled {@link #vacuum(int, Throttle)}. */
+    public VacuumStats vacuum() throws IOException {
+        return vacuum(Integer.MAX_VALUE, () -> true);
+    }
+
+    /**
+     * Reclaims the space of deleted and moved records while the file stays in use (cf. Postgres' lazy VACUUM).
+     *
+     * Each page is compacted in place with {@link PageFormat#compact}, so live records keep their RecordIds, and
+     * its free-space map entry is refreshed so inserts reuse the space. A page another thread is using is skipped
+     * rather than waited for. Afterwards the run of empty pages at the end of the file is dropped from the pool
+     * and truncated through the DiskManager. {@code throttle} is called after every {@code pagesPerRound} pages
+     * and can pause the pass or, by returning false, end it before the truncation.
+     */
+    public VacuumStats vacuum(int pagesPerRound, Throttle throttle) throws IOException {
+        if (pagesPerRound <= 0) throw new IllegalArgumentException("pagesPerRound must be > 0");
+        Objects.requireNonNull(throttle);
+        int pages;
+        extension.lock(); // waits out a bulk load, whose pages are written behind the pool's back
+        try {
+            pages = pageCount();
+        } finally {
+            extension.unlock();
+        }
+        deadRecords.reset(); // deletes from here on count towards the next pass
+        try {
+            BufferRing ring = bulkReadRing();
+            int[] freed = new int[pages];
+            int compacted = 0;
+            int skipped = 0;
+            int inRound = 0;
+            boolean stopped = false;
+            for (int p = 0; p < pages; p++) {
+                if (inRound == pagesPerRound) {
+                    inRound = 0;
+                    if (!throttle.pause()) {
+                        stopped = true;
+                        break;
+                    }
+                }
+                inRound++;
+                int bytes = compactPage(p, ring);
+                if (bytes < 0) {
+                    skipped++;
+                } else if (bytes > 0) {
+                    compacted++;
+                    freed[p] = bytes;
+                }
+            }
+            int kept = stopped ? pages : truncateEmptyTail();
+            if (skipped > 0 || stopped) deadRecords.increment(); // keep the file due for another pass
+            long freedInKeptPages = 0;
+            for (int p = 0; p < Math.min(kept, pages); p++) freedInKeptPages += freed[p];
+            int truncated = Math.max(0, pages - kept);
+            return new VacuumStats(pages, pages - truncated, compacted, skipped, freedInKeptPages,
+                    (long) truncated * buffer.pageSize());
+        } catch (IOException | RuntimeException e) {
+            deadRecords.increment(); // a failed pass leaves the file due for another
+            throw e;
+        }
+    }
+
+    /** Compacts one page if its latch is free; returns the bytes freed, or -1 if the page was busy. */
+    private int compactPage(int pageNo, BufferRing ring) throws IOException {
+        Lock latch = latches[pageNo & (LATCH_STRIPES - 1)].writeLock();
+        if (!latch.tryLock()) return -1;
         try {
-            pages = disk.pageCount(fileId);
+            if (pageNo >= pageCount()) return 0;
+            PageId pid = new PageId(fileId, pageNo);
+            Page page = buffer.getPage(pid, true, ring);
+            int freed = 0;
+            try {
+                freed = format.compact(page);
+                if (freed > 0) {
+                    page.markDirty(true);
+                    freeSpace.update(pageNo, page);
+                }
+            } finally {
+                buffer.unpin(pid, freed > 0);
+            }
+            return freed;
+        } finally {
+            latch.unlock();
+        }
+    }
+
+    /**
+     * Truncates the run of empty pages at the end of the file, stopping at the first page that holds a slot or
+     * whose latch is busy; returns the new page count. Skipped entirely while pages are being added.
+     */
+    private int truncateEmptyTail() throws IOException {
+        if (!extension.tryLock()) return pageCount();
+        List<Lock> held = new ArrayList<>();
+        try {
+            int pages = pageCount();
+            int keep = pages;
+            while (keep > 0) {
+                Lock latch = latches[(keep - 1) & (LATCH_STRIPES - 1)].writeLock();
+                if (!latch.tryLock()) break;
+                held.add(latch);
+                PageId pid = new PageId(fileId, keep - 1);
+                Page page = buffer.getPage(pid, false);
+                boolean empty;
+                try {
+                    empty = format.slotCount(page) == 0;
+                } finally {
+                    buffer.unpin(pid, false);
+                }
+                if (!empty) break;
+                keep--;
+            }
+            if (keep < pages) {
+                freeSpace.truncate(keep);
+                buffer.discard(fileId, keep);
+                disk.truncate(fileId, keep);
+            }
+            return keep;
+        } finally {
+            for (Lock latch : held) latch.unlock();
+            extension.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file with its live records packed onto fresh pages (cf. Postgres' VACUUM FULL and CLUSTER),
+     * which also frees the slots of deleted records that {@link #vacuum} has to keep. With a {@code key}, records
+     * are written in {@code order} of their keys, computed once per record; with null they keep scan order.
+     *
+     * Unlike vacuum this is offline: it waits for every page latch and holds them throughout, so the calling
+     * thread must not have a scan of this file open. Records get new RecordIds. The live records are held in
+     * memory while the file is truncated to zero and bulk loaded, and there is no WAL yet, so a crash in between
+     * loses the table.
+     */
+    public <K> VacuumStats rewrite(Function<byte[], K> key, Comparator<? super K> order, double fillFactor)
+            throws IOException {
+        if (!(fillFactor > 0.0 && fillFactor <= 1.0)) {
+            throw new IllegalArgumentException("fillFactor must be in (0, 1]: " + fillFactor);
+        }
+        if (key != null) Objects.requireNonNull(order);
+        extension.lock();
+        int locked = 0;
+        try {
+            for (; locked < LATCH_STRIPES; locked++) latches[locked].writeLock().lock();
+            int before = pageCount();
+            List<byte[]> records = new ArrayList<>();
+            for (byte[] rec : scan()) records.add(rec);
+            if (key != null) records = sorted(records, key, order);
+            deadRecords.reset();
+            freeSpace.truncate(0);
+            buffer.discard(fileId, 0);
+            disk.truncate(fileId, 0);
+            bulkLoad(records.iterator(), fillFactor);
+            int after = pageCount();
+            return new VacuumStats(before, after, 0, 0, 0L, (long) Math.max(0, before - after) * buffer.pageSize());
+        } finally {
+            while (locked > 0) latches[--locked].writeLock().unlock();
+            extension.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> List<byte[]> sorted(List<byte[]> records, Function<byte[], K> key, Comparator<? super K> order) {
+        Object[] keys = new Object[records.size()];
+        Integer[] idx = new Integer[records.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.apply(records.get(i));
+            idx[i] = i;
+        }
+        Arrays.sort(idx, (a, b) -> order.compare((K) keys[a], (K) keys[b])); // stable: ties keep scan order
+        List<byte[]> out = new ArrayList<>(keys.length);
+        for (Integer i : idx) out.add(records.get(i));
+        return out;
+    }
+
+    /** Pacing for {@link #vacuum(int, Throttle)}. */
+    @FunctionalInterface
+    public interface Throttle {
+        /** Called between rounds of pages; may sleep. Returns false to end the pass early. */
+        boolean pause();
+    }
+
+    /** Takes the shared latch of a page; held while the page is pinned, so vacuum leaves the page alone. */
+    private Lock shared(int pageNo) {
+        Lock latch = latches[pageNo & (LATCH_STRIPES - 1)].readLock();
+        latch.lock();
+        return latch;
+    }
+
+    /**
+     * Returns a bulk-write ring for loading many records, so a bulk insert recycles a few frames
+     * instead of flushing the shared pool.
+     */
+    public BufferRing bulkWriteRing() {
+        try {
+            return buffer.bulkRing(BufferRing.Kind.BULK_WRITE, disk.pageCount(fileId));
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
+    }
 
+    /**
+     * Returns a bulk-read ring for scanning this file, or null if the file is small enough relative
+     * to the pool to go through the shared pool.
+     */
+    public BufferRing bulkReadRing() {
+        try {
+            return buffer.bulkRing(BufferRing.Kind.BULK_READ, disk.pageCount(fileId));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns an Iterator over live RecordIds in page/slot order, skipping tombstones.
+     * Files large relative to the buffer pool are scanned through a bulk-read ring.
+     */
+    public Iterator<RecordId> iterator() {
+        return iterator(bulkReadRing());
+    }
+
+    /**
+     * Returns an Iterator over live RecordIds, pinning pages through the given ring (null = shared pool).
+     * When the pool has read-ahead enabled, the iterator keeps up to readAheadPages() pages requested ahead of
+     * itself, topping the window up in batches. The live slots of a page are copied out while it is pinned, so
+     * no pin or latch is held between calls and the caller may stop at any point.
+     */
+    public Iterator<RecordId> iterator(BufferRing ring) {
         return new Iterator<>() {
-            int pageNo = 0;
-            PageId currentPid = null;
-            Page currentPage = null;
-            int slotCount = 0;
-            short slot = -1;
-            RecordId nextRid = null;
-
-            private void ensurePageLoaded() {
-                while (currentPage == null || slot >= slotCount - 1) {
-                    // Unpin previous
-                    if (currentPage != null) {
-                        buffer.unpin(currentPid, false);
-                        currentPage = null;
-                    }
-                    // No more pages left
-                    if (pageNo >= pages) {
-                        return;
-                    }
-                    currentPid = new PageId(fileId, pageNo++);
+            final PageCursor cursor = new PageCursor(ring);
+            PageId pid = null;
+            short[] live = new short[0]; // live slots of page pid
+            int count = 0;
+            int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (next == count && cursor.advance()) {
                     try {
-                        currentPage = buffer.getPage(currentPid, false);
-                        slotCount = format.slotCount(currentPage);
-                        slot = -1;
-                    } catch (IOException e) {
-                        throw new IllegalStateException(e);
+                        Page page = cursor.page;
+                        int slots = format.slotCount(page);
+                        if (live.length < slots) live = new short[slots];
+                        count = 0;
+                        next = 0;
+                        for (int slot = 0; slot < slots; slot++) {
+                            if (format.isLive(page, (short) slot)) live[count++] = (short) slot;
+                        }
+                        pid = cursor.pid;
+                    } finally {
+                        cursor.release();
                     }
                 }
+                return next < count;
             }
 
-            private void advance() {
-                nextRid = null;
-                while (true) {
-                    ensurePageLoaded();
-                    if (currentPage == null) {
-                        return; // no more pages
-                    }
-                    while (++slot < slotCount) {
-                        if (format.isLive(currentPage, slot)) {
-                            nextRid = new RecordId(currentPid, slot);
-                            return;
-                        }
+            @Override
+            public RecordId next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return new RecordId(pid, live[next++]);
+            }
+        };
+    }
+
+    /**
+     * Returns the live records of the file one page at a time, in page/slot order, skipping pages with none.
+     * Each page is pinned once while its records are copied out, instead of once per record.
+     * Files large relative to the buffer pool are scanned through a bulk-read ring.
+     */
+    public Iterable<List<byte[]>> scanPages() {
+        return () -> pageIterator(bulkReadRing(), HeapFile::copyOf);
+    }
+
+    /** Page-at-a-time scan, pinning pages through the given ring (null = shared pool). */
+    public Iterable<List<byte[]>> scanPages(BufferRing ring) {
+        return scanPages(ring, HeapFile::copyOf);
+    }
+
+    /**
+     * Zero-copy page-at-a-time scan: while a page is pinned, {@code mapper} is applied to each live record in it
+     * as a region of a read-only, little-endian view of the page (see {@link PageFormat#liveRecords}); each
+     * element is the mapped records of one page. The buffer must not be retained past the call.
+     */
+    public <T> Iterable<List<T>> scanPages(BufferRing ring, RecordMapper<T> mapper) {
+        Objects.requireNonNull(mapper);
+        return () -> pageIterator(ring, mapper);
+    }
+
+    /**
+     * Splits a scan of this file into morsels of {@code morselPages} pages for worker threads to claim; each
+     * worker scans its ranges with {@link #scanPages(ScanMorsels.PageRange, BufferRing, RecordMapper)}.
+     */
+    public ScanMorsels morsels(int morselPages) {
+        return new ScanMorsels(pageCount(), morselPages);
+    }
+
+    /**
+     * Zero-copy page-at-a-time scan of the pages in {@code range} only. Safe to run concurrently with scans of
+     * other ranges; give each thread its own ring (or null).
+     */
+    public <T> Iterable<List<T>> scanPages(ScanMorsels.PageRange range, BufferRing ring, RecordMapper<T> mapper) {
+        Objects.requireNonNull(range);
+        Objects.requireNonNull(mapper);
+        return () -> pageIterator(new PageCursor(ring, range.from(), range.to()), mapper);
+    }
+
+    /**
+     * Page-at-a-time scan for callers that copy records into buffers of their own, so that nothing is allocated
+     * per record: each {@link PageScan#next} pins the next page holding live records, hands them to a visitor and
+     * unpins it.
+     */
+    public PageScan pageScan(BufferRing ring) {
+        return new PageScan(new PageCursor(ring));
+    }
+
+    /** Pull side of {@link #pageScan}; not thread-safe. */
+    public final class PageScan {
+        private final PageCursor cursor;
+        private int[] offsets = new int[0];
+        private int[] lengths = new int[0];
+
+        private PageScan(PageCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        /** Visits the live records of the next page that has some; returns false at the end of the file. */
+        public boolean next(PageVisitor visitor) {
+            Objects.requireNonNull(visitor);
+            while (cursor.advance()) {
+                try {
+                    Page page = cursor.page;
+                    int slots = format.slotCount(page);
+                    if (offsets.length < slots) {
+                        offsets = new int[slots];
+                        lengths = new int[slots];
                     }
-                    // loop to next page
+                    int n = format.liveRecords(page, offsets, lengths);
+                    if (n == 0) continue;
+                    ByteBuffer view = page.buffer().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+                    visitor.visit(view, offsets, lengths, n);
+                    return true;
+                } finally {
+                    cursor.release();
                 }
             }
+            return false;
+        }
+    }
+
+    /**
+     * Receives the live records of one pinned page: record {@code i < count} is {@code [offsets[i], offsets[i] +
+     * lengths[i])} of {@code page}, a read-only little-endian view. Neither the buffer nor the arrays may be
+     * retained past the call.
+     */
+    @FunctionalInterface
+    public interface PageVisitor {
+        void visit(ByteBuffer page, int[] offsets, int[] lengths, int count);
+    }
+
+    private <T> Iterator<List<T>> pageIterator(BufferRing ring, RecordMapper<T> mapper) {
+        return pageIterator(new PageCursor(ring), mapper);
+    }
+
+    private <T> Iterator<List<T>> pageIterator(PageCursor pageCursor, RecordMapper<T> mapper) {
+        return new Iterator<>() {
+            final PageCursor cursor = pageCursor;
+            int[] offsets = new int[0];
+            int[] lengths = new int[0];
+            List<T> next = null;
 
             @Override
             public boolean hasNext() {
-                if (nextRid == null) advance();
-                if (nextRid == null && currentPage != null) {
-                    buffer.unpin(currentPid, false);
-                    currentPage = null;
+                while (next == null && cursor.advance()) {
+                    try {
+                        List<T> records = mapPage(cursor.page);
+                        if (!records.isEmpty()) next = records;
+                    } finally {
+                        cursor.release();
+                    }
                 }
-                return nextRid != null;
+                return next != null;
             }
 
             @Override
-            public RecordId next() {
+            public List<T> next() {
                 if (!hasNext()) throw new NoSuchElementException();
-                RecordId out = nextRid;
-                nextRid = null;
+                List<T> out = next;
+                next = null;
+                return out;
+            }
+
+            private List<T> mapPage(Page page) {
+                int slots = format.slotCount(page);
+                if (offsets.length < slots) {
+                    offsets = new int[slots];
+                    lengths = new int[slots];
+                }
+                int n = format.liveRecords(page, offsets, lengths);
+                ByteBuffer view = page.buffer().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+                List<T> out = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) out.add(mapper.map(view, offsets[i], lengths[i]));
                 return out;
             }
         };
     }
 
-    /** Returns an Iterable of record bytes over the heap file (live records only). */
+    private static byte[] copyOf(ByteBuffer page, int offset, int length) {
+        byte[] out = new byte[length];
+        page.get(offset, out);
+        return out;
+    }
+
+    /** Maps one record, given as {@code [offset, offset + length)} of a pinned page's buffer, to a value. */
+    @FunctionalInterface
+    public interface RecordMapper<T> {
+        T map(ByteBuffer page, int offset, int length);
+    }
+
+    /** Returns an Iterable of record bytes over the heap file (live records only), read a page at a time. */
     public Iterable<byte[]> scan() {
-        return () -> new Iterator<>() {
-            final Iterator<RecordId> it = iterator();
-            @Override public boolean hasNext() { return it.hasNext(); }
+        return () -> flatten(pageIterator(bulkReadRing(), HeapFile::copyOf));
+    }
+
+    /** Returns an Iterable of record bytes, pinning pages through the given ring (null = shared pool). */
+    public Iterable<byte[]> scan(BufferRing ring) {
+        return () -> flatten(pageIterator(ring, HeapFile::copyOf));
+    }
+
+    private static Iterator<byte[]> flatten(Iterator<List<byte[]>> pages) {
+        return new Iterator<>() {
+            Iterator<byte[]> current = Collections.emptyIterator();
+            @Override public boolean hasNext() {
+                while (!current.hasNext() && pages.hasNext()) current = pages.next().iterator();
+                return current.hasNext();
+            }
             @Override public byte[] next() {
-                RecordId rid = it.next();
-                try {
-                    return read(rid);
-                } catch (IOException e) {
-                    throw new IllegalStateException(e);
-                }
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
             }
         };
     }
+
+    /** Pages of the file that are on disk: all of them, or while a bulk load runs, the ones it has written. */
+    private int pageCount() {
+        try {
+            int pages = disk.pageCount(fileId); // read first: a load lowers loadedPages before it allocates
+            return Math.min(pages, loadedPages);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Walks the file's pages (or a range of them) in order, keeping at most one pinned. When the pool has
+     * read-ahead enabled it keeps up to readAheadPages() pages requested ahead of the current one.
+     */
+    private final class PageCursor {
+        private final BufferRing ring;
+        private final int pages; // end of the walk (exclusive)
+        private final int readAhead;
+        private int pageNo;
+        private int prefetchedTo; // first page not yet requested; the first page is read on demand
+        PageId pid = null;
+        Page page = null;
+        private Lock latch = null;
+
+        PageCursor(BufferRing ring) {
+            this(ring, 0, pageCount());
+        }
+
+        PageCursor(BufferRing ring, int from, int to) {
+            this.ring = ring;
+            this.pageNo = from;
+            this.prefetchedTo = from + 1;
+            this.pages = to;
+            // Within a ring, stay well inside its frames so read-ahead does not recycle pages before they are used
+            this.readAhead = (ring == null)
+                    ? buffer.readAheadPages()
+                    : Math.min(buffer.readAheadPages(), ring.size() / 2);
+        }
+
+        /** Unpins the current page and pins the next one; returns false at the end of the walk. */
+        boolean advance() {
+            release();
+            if (pageNo >= pages) return false;
+            PageId next = new PageId(fileId, pageNo++);
+            // Top the window up in batches of at least half the depth, so each request is one vectored read
+            if (readAhead > 0 && prefetchedTo - pageNo < (readAhead + 1) / 2) {
+                int from = Math.max(prefetchedTo, pageNo);
+                int until = Math.min(pages, pageNo + readAhead);
+                if (until > from) buffer.prefetch(new PageId(fileId, from), until - from, ring);
+                prefetchedTo = Math.max(from, until);
+            }
+            latch = shared(next.pageNo());
+            try {
+                if (next.pageNo() >= pageCount()) { // vacuum truncated the rest of the walk
+                    pageNo = pages;
+                    release();
+                    return false;
+                }
+                page = buffer.getPage(next, false, ring);
+            } catch (IOException e) {
+                release();
+                throw new IllegalStateException(e);
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            }
+            pid = next;
+            return true;
+        }
+
+        void release() {
+            if (page != null) {
+                buffer.unpin(pid, false);
+                page = null;
+            }
+            if (latch != null) {
+                latch.unlock();
+                latch = null;
+            }
+        }
+    }
 }
@@ -5,6 +5,7 @@ import io.github.anupam.evolvdb.storage.disk.DiskManager;
 import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.storage.page.PageFormat;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,4 +29,9 @@ public final class RecordManager {
         Objects.requireNonNull(format);
         return open.computeIfAbsent(name, n -> new HeapFile(new FileId(n), disk, buffer, format));
     }
+
+    /** Snapshot of the heap files opened so far (e.g. for a background vacuum). */
+    public List<HeapFile> heapFiles() {
+        return List.copyOf(open.values());
+    }
 }
@@ -0,0 +1,40 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Work distribution for a parallel heap scan (morsel-driven, cf. HyPer): the file's pages are cut into ranges of
+ * {@code morselPages} that worker threads claim one at a time, so faster workers simply claim more. Ranges are
+ * handed out in page order, which keeps each worker's reads mostly sequential.
+ *
+ * The page count is fixed when the morsels are created; pages appended later are not scanned.
+ */
+public final class ScanMorsels {
+    /** A half-open range of page numbers {@code [from, to)}. */
+    public record PageRange(int from, int to) {
+        public PageRange {
+            if (from < 0 || to < from) throw new IllegalArgumentException("invalid page range [" + from + ", " + to + ")");
+        }
+    }
+
+    private final int pages;
+    private final int morselPages;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ScanMorsels(int pages, int morselPages) {
+        if (pages < 0) throw new IllegalArgumentException("pages must be >= 0");
+        if (morselPages <= 0) throw new IllegalArgumentException("morselPages must be > 0");
+        this.pages = pages;
+        this.morselPages = morselPages;
+    }
+
+    public int pages() { return pages; }
+    public int morselPages() { return morselPages; }
+
+    /** Claims the next unscanned range, or returns null once every page has been claimed. Thread-safe. */
+    public PageRange claim() {
+        int from = next.getAndAdd(morselPages);
+        if (from >= pages || from < 0) return null; // from < 0 guards overflow after many failed claims
+        return new PageRange(from, Math.min(pages, from + morselPages));
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.anupam.evolvdb.storage.record;
+
+/**
+ * Outcome of a {@link HeapFile#vacuum} or {@link HeapFile#rewrite} pass.
+ *
+ * @param pagesBefore     pages in the file when the pass started
+ * @param pagesAfter      pages left after truncation (or after the rewrite)
+ * @param pagesCompacted  pages that had space to reclaim and were compacted
+ * @param pagesSkipped    pages left alone because another thread was using them
+ * @param bytesFreedInPages bytes made reusable inside pages that remain in the file
+ * @param bytesTruncated  bytes given back to the file system by truncating the file
+ */
+public record VacuumStats(int pagesBefore, int pagesAfter, int pagesCompacted, int pagesSkipped,
+                          long bytesFreedInPages, long bytesTruncated) {
+    /** All space reclaimed: reusable bytes in the remaining pages plus the truncated tail. */
+    public long bytesReclaimed() {
+        return bytesFreedInPages + bytesTruncated;
+    }
+}
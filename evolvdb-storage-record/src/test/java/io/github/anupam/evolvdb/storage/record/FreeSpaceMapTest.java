@@ -0,0 +1,143 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.BufferPool;
+import io.github.anupam.evolvdb.storage.buffer.BufferPoolStats;
+import io.github.anupam.evolvdb.storage.buffer.DefaultBufferPool;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import io.github.anupam.evolvdb.storage.page.Page;
+import io.github.anupam.evolvdb.storage.page.RecordId;
+import io.github.anupam.evolvdb.storage.page.SlottedPageFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeSpaceMapTest {
+    private Path tmpDir;
+
+    private DbConfig cfg(int poolPages) throws IOException {
+        tmpDir = Files.createTempDirectory("evolvdb-fsm-");
+        return DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(poolPages).build();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    @Test
+    void givenManyFullPages_whenInsert_thenPinsIndependentOfFileSize() throws Exception {
+        var config = cfg(64);
+        try (var dm = new NioDiskManager(config);
+             var pool = new DefaultBufferPool(config, dm)) {
+            var bp = new CountingBufferPool(pool);
+            var hf = new HeapFile(new FileId("wide"), dm, bp, new SlottedPageFormat());
+            byte[] rec = new byte[3000]; // one record per page
+            for (int i = 0; i < 300; i++) hf.insert(rec);
+            assertEquals(300, dm.pageCount(new FileId("wide")));
+
+            bp.pins = 0;
+            RecordId rid = hf.insert(new byte[500]); // fits on page 0
+            assertEquals(0, rid.pageId().pageNo());
+            assertTrue(bp.pins <= 2, "heap page + fork page, was " + bp.pins);
+
+            bp.pins = 0;
+            hf.insert(rec); // fits nowhere: straight to a new page
+            assertEquals(301, dm.pageCount(new FileId("wide")));
+            assertTrue(bp.pins <= 2, "heap page + fork page, was " + bp.pins);
+        }
+    }
+
+    @Test
+    void givenDeletedRecords_whenInsert_thenFreedPageReused() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var file = new FileId("reuse");
+            var hf = new HeapFile(file, dm, bp, new SlottedPageFormat());
+            List<RecordId> ids = new ArrayList<>();
+            for (int i = 0; i < 5; i++) ids.add(hf.insert(new byte[3000]));
+            hf.delete(ids.get(2));
+            RecordId rid = hf.insert(new byte[3000]);
+            assertEquals(2, rid.pageId().pageNo());
+            assertEquals(5, dm.pageCount(file));
+        }
+    }
+
+    @Test
+    void givenPersistedFork_whenReopened_thenCategoriesLoadedWithoutHeapScan() throws Exception {
+        var config = cfg(16);
+        var file = new FileId("persist");
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(file, dm, bp, new SlottedPageFormat());
+            for (int i = 0; i < 4; i++) hf.insert(new byte[1000 * (i + 1) % 3500]);
+        }
+        try (var dm = new NioDiskManager(config);
+             var pool = new DefaultBufferPool(config, dm)) {
+            assertEquals(1, dm.pageCount(FreeSpaceMap.forkOf(file)));
+            var bp = new CountingBufferPool(pool);
+            var fsm = new FreeSpaceMap(file, dm, bp, new SlottedPageFormat());
+            int last = dm.pageCount(file) - 1;
+            assertTrue(fsm.category(last) > 0);
+            assertEquals(1, bp.pins, "only the fork page is read");
+        }
+    }
+
+    @Test
+    void givenMissingFork_whenInsert_thenRebuiltFromHeapPages() throws Exception {
+        var config = cfg(16);
+        var file = new FileId("rebuild");
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(file, dm, bp, new SlottedPageFormat());
+            for (int i = 0; i < 3; i++) hf.insert(new byte[3000]);
+            hf.insert(new byte[100]); // page 0 has room for this
+        }
+        Files.delete(tmpDir.resolve(FreeSpaceMap.forkOf(file).name() + ".evolv"));
+        Files.deleteIfExists(tmpDir.resolve(FreeSpaceMap.forkOf(file).name() + ".evolv.hwm"));
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(file, dm, bp, new SlottedPageFormat());
+            RecordId rid = hf.insert(new byte[900]);
+            assertEquals(0, rid.pageId().pageNo());
+            assertEquals(3, dm.pageCount(file));
+            assertEquals(1, dm.pageCount(FreeSpaceMap.forkOf(file)));
+        }
+    }
+
+    /** Delegating BufferPool that counts pins. */
+    private static final class CountingBufferPool implements BufferPool {
+        final BufferPool delegate;
+        int pins;
+
+        CountingBufferPool(BufferPool delegate) { this.delegate = delegate; }
+
+        @Override public int pageSize() { return delegate.pageSize(); }
+        @Override public Page getPage(PageId pageId, boolean forUpdate) throws IOException {
+            pins++;
+            return delegate.getPage(pageId, forUpdate);
+        }
+        @Override public void unpin(PageId pageId, boolean dirty) { delegate.unpin(pageId, dirty); }
+        @Override public void flush(PageId pageId) throws IOException { delegate.flush(pageId); }
+        @Override public void flushAll() throws IOException { delegate.flushAll(); }
+        @Override public void discard(FileId fileId, int fromPageNo) { delegate.discard(fileId, fromPageNo); }
+        @Override public BufferPoolStats stats() { return delegate.stats(); }
+        @Override public void close() throws IOException { delegate.close(); }
+    }
+}
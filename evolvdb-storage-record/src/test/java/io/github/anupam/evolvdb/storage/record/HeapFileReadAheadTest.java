@@ -0,0 +1,138 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.BufferPool;
+import io.github.anupam.evolvdb.storage.buffer.DefaultBufferPool;
+import io.github.anupam.evolvdb.storage.buffer.PartitionedBufferPool;
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
+import io.github.anupam.evolvdb.storage.page.SlottedPageFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapFileReadAheadTest {
+    private static final int PAGES = 120;
+    private static final long READ_LATENCY_MICROS = 500;
+
+    private Path tmpDir;
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    @Test
+    void givenReadAhead_whenColdScan_thenPagesArePrefetchedAndRecordsComplete() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-ra-");
+        var base = DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(256);
+        writeFile(base.build(), PAGES);
+
+        var cfg = base.readAheadPages(8).readAheadThreads(4).bufferPoolPartitions(4).build();
+        try (var dm = new LatencyDiskManager(new NioDiskManager(cfg), READ_LATENCY_MICROS);
+             var bp = new PartitionedBufferPool(cfg, dm)) {
+            assertEquals(PAGES, scan(new HeapFile(new FileId("cold"), dm, bp, new SlottedPageFormat())));
+            var stats = bp.stats();
+            assertTrue(stats.prefetchReads() > PAGES / 2, "prefetched " + stats.prefetchReads());
+            assertTrue(stats.prefetchHits() > PAGES / 2, "prefetch hits " + stats.prefetchHits());
+        }
+    }
+
+    @Test
+    void givenSlowDisk_whenColdScanWithAndWithoutReadAhead_thenReadAheadIsNotSlower() throws Exception {
+        tmpDir = Files.createTempDirectory("evolvdb-ra-");
+        var base = DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(256);
+        writeFile(base.build(), PAGES);
+
+        double withoutReadAhead = 0;
+        for (int depth : new int[]{0, 4, 16}) {
+            var cfg = base.readAheadPages(depth).readAheadThreads(4).build();
+            try (var dm = new LatencyDiskManager(new NioDiskManager(cfg), READ_LATENCY_MICROS);
+                 var bp = new DefaultBufferPool(cfg, dm)) {
+                long t0 = System.nanoTime();
+                int n = scan(new HeapFile(new FileId("cold"), dm, bp, new SlottedPageFormat()));
+                double pagesPerSec = PAGES / ((System.nanoTime() - t0) / 1e9);
+                assertEquals(PAGES, n);
+                System.out.printf("cold scan readAheadPages=%d pages/s=%.0f device reads=%d prefetchHits=%d%n",
+                        depth, pagesPerSec, dm.reads.get(), bp.stats().prefetchHits());
+                if (depth == 0) {
+                    withoutReadAhead = pagesPerSec;
+                    assertEquals(PAGES, dm.reads.get());
+                } else {
+                    assertTrue(dm.reads.get() < PAGES, "read-ahead should batch reads: " + dm.reads.get());
+                    assertTrue(pagesPerSec >= withoutReadAhead, "readAheadPages=" + depth + " slower: "
+                            + pagesPerSec + " < " + withoutReadAhead + " pages/s");
+                }
+            }
+        }
+    }
+
+    /** Writes {@code pages} pages with one record each, then closes so the next pool starts cold. */
+    private static void writeFile(DbConfig cfg, int pages) throws IOException {
+        try (var dm = new NioDiskManager(cfg);
+             var bp = new DefaultBufferPool(cfg, dm)) {
+            var hf = new HeapFile(new FileId("cold"), dm, bp, new SlottedPageFormat());
+            byte[] rec = new byte[3000]; // one record per page
+            for (int i = 0; i < pages; i++) hf.insert(rec, hf.bulkWriteRing());
+        }
+    }
+
+    private static int scan(HeapFile hf) {
+        int n = 0;
+        for (var it = hf.iterator(null); it.hasNext(); it.next()) n++;
+        return n;
+    }
+
+    /**
+     * Adds a fixed delay to every device read, standing in for latency the page cache hides. A vectored
+     * {@code readPages} call is one device read and is charged once, like a single scatter read would be.
+     */
+    private static final class LatencyDiskManager implements DiskManager {
+        final DiskManager delegate;
+        final long micros;
+        final AtomicInteger reads = new AtomicInteger();
+
+        LatencyDiskManager(DiskManager delegate, long micros) {
+            this.delegate = delegate;
+            this.micros = micros;
+        }
+
+        @Override public PageId allocatePage(FileId fileId) throws IOException { return delegate.allocatePage(fileId); }
+        @Override public void readPage(PageId pageId, ByteBuffer dst) throws IOException {
+            deviceRead();
+            delegate.readPage(pageId, dst);
+        }
+        @Override public void readPages(List<PageId> pageIds, List<ByteBuffer> dsts) throws IOException {
+            deviceRead();
+            delegate.readPages(pageIds, dsts);
+        }
+        private void deviceRead() {
+            reads.incrementAndGet();
+            LockSupport.parkNanos(micros * 1_000); // blocks like a device read, leaving the CPU to other threads
+        }
+        @Override public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
+            delegate.writePage(pageId, src, lsn);
+        }
+        @Override public void sync() throws IOException { delegate.sync(); }
+        @Override public int pageCount(FileId fileId) throws IOException { return delegate.pageCount(fileId); }
+        @Override public void truncate(FileId fileId, int pageCount) throws IOException { delegate.truncate(fileId, pageCount); }
+        @Override public void close() throws IOException { delegate.close(); }
+    }
+}
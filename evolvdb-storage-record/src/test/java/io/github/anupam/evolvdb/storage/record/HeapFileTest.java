@@ -2,14 +2,17 @@ package io.github.anupam.evolvdb.storage.record;
 
 import io.github.anupam.evolvdb.config.DbConfig;
 import io.github.anupam.evolvdb.storage.buffer.DefaultBufferPool;
+import io.github.anupam.evolvdb.storage.disk.DiskManager;
 import io.github.anupam.evolvdb.storage.disk.FileId;
 import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.disk.PageId;
 import io.github.anupam.evolvdb.storage.page.RecordId;
 import io.github.anupam.evolvdb.storage.page.SlottedPageFormat;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -58,7 +61,7 @@ class HeapFileTest {
             var hf = new HeapFile(new FileId("t2"), dm, bp, fmt);
 
             int beforePages = dm.pageCount(new FileId("t2"));
-            // Fill one page: record size 100 bytes => max approx floor((4096-12)/104)=39
+            // Fill one page: record size 100 bytes => max approx floor((4096-16)/104)=39
             byte[] rec = new byte[100];
             for (int i = 0; i < rec.length; i++) rec[i] = (byte) i;
             List<RecordId> ids = new ArrayList<>();
@@ -72,6 +75,31 @@ class HeapFileTest {
         }
     }
 
+    @Test
+    void givenBatchSpanningPages_whenInsertBatch_thenPagesFilledInOrder() throws Exception {
+        var config = cfg(8);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var fmt = new SlottedPageFormat();
+            var hf = new HeapFile(new FileId("t4"), dm, bp, fmt);
+            hf.insert(new byte[100]); // page 0 keeps room for 38 more 100-byte records
+
+            List<byte[]> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                byte[] rec = new byte[100];
+                rec[0] = (byte) i;
+                batch.add(rec);
+            }
+            hf.insertBatch(batch, null);
+
+            assertEquals(3, dm.pageCount(new FileId("t4"))); // 1 + 38 | 39 | 23
+            List<byte[]> all = new ArrayList<>();
+            for (List<byte[]> page : hf.scanPages()) all.addAll(page);
+            assertEquals(101, all.size());
+            for (int i = 0; i < 100; i++) assertEquals((byte) i, all.get(i + 1)[0]);
+        }
+    }
+
     @Test
     void givenDeletions_whenInsertLarge_thenCompactionAllowsInsert() throws Exception {
         var config = cfg(8);
@@ -96,4 +124,54 @@ class HeapFileTest {
             assertArrayEquals(large, hf.read(lid));
         }
     }
+
+    @Test
+    void givenScanLargerThanPool_whenScanned_thenRingKeepsHotPagesResident() throws Exception {
+        var config = cfg(64);
+        try (var dm = new CountingDiskManager(new NioDiskManager(config));
+             var bp = new DefaultBufferPool(config, dm)) {
+            var fmt = new SlottedPageFormat();
+            var big = new HeapFile(new FileId("big"), dm, bp, fmt);
+            byte[] rec = new byte[3000]; // one record per page
+            for (int i = 0; i < 200; i++) big.insert(rec);
+            bp.flushAll();
+
+            var hot = new HeapFile(new FileId("hot"), dm, bp, fmt);
+            List<RecordId> hotIds = new ArrayList<>();
+            for (int i = 0; i < 4; i++) hotIds.add(hot.insert(rec));
+            assertNull(hot.bulkReadRing(), "small relations bypass the ring");
+
+            var ring = big.bulkReadRing();
+            assertNotNull(ring);
+            int n = 0;
+            for (byte[] r : big.scan(ring)) n++;
+            assertEquals(200, n);
+            assertTrue(ring.recycled() > 100, "scan should reuse its own frames: " + ring.recycled());
+
+            long readsBefore = dm.reads;
+            for (RecordId rid : hotIds) assertArrayEquals(rec, hot.read(rid));
+            assertEquals(readsBefore, dm.reads, "hot pages must survive the scan");
+        }
+    }
+
+    /** Delegating DiskManager that counts page reads. */
+    private static final class CountingDiskManager implements DiskManager {
+        final DiskManager delegate;
+        long reads;
+
+        CountingDiskManager(DiskManager delegate) { this.delegate = delegate; }
+
+        @Override public PageId allocatePage(FileId fileId) throws IOException { return delegate.allocatePage(fileId); }
+        @Override public void readPage(PageId pageId, ByteBuffer dst) throws IOException {
+            reads++;
+            delegate.readPage(pageId, dst);
+        }
+        @Override public void writePage(PageId pageId, ByteBuffer src, long lsn) throws IOException {
+            delegate.writePage(pageId, src, lsn);
+        }
+        @Override public void sync() throws IOException { delegate.sync(); }
+        @Override public int pageCount(FileId fileId) throws IOException { return delegate.pageCount(fileId); }
+        @Override public void truncate(FileId fileId, int pageCount) throws IOException { delegate.truncate(fileId, pageCount); }
+        @Override public void close() throws IOException { delegate.close(); }
+    }
 }
@@ -0,0 +1,307 @@
+package io.github.anupam.evolvdb.storage.record;
+
+import io.github.anupam.evolvdb.config.DbConfig;
+import io.github.anupam.evolvdb.storage.buffer.DefaultBufferPool;
+import io.github.anupam.evolvdb.storage.disk.FileId;
+import io.github.anupam.evolvdb.storage.disk.NioDiskManager;
+import io.github.anupam.evolvdb.storage.page.Page;
+import io.github.anupam.evolvdb.storage.page.PageFormat;
+import io.github.anupam.evolvdb.storage.page.RecordId;
+import io.github.anupam.evolvdb.storage.page.SlottedPageFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapFileVacuumTest {
+    private Path tmpDir;
+
+    private DbConfig cfg(int poolPages) throws IOException {
+        tmpDir = Files.createTempDirectory("evolvdb-vacuum-");
+        return DbConfig.builder().pageSize(4096).dataDir(tmpDir).bufferPoolPages(poolPages).build();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (tmpDir != null && Files.exists(tmpDir)) {
+            try (var paths = Files.walk(tmpDir)) {
+                paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> {
+                    try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                });
+            }
+        }
+    }
+
+    @Test
+    void givenDeletedRecords_whenVacuum_thenSpaceReusedAndLiveRecordsKeepTheirIds() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(new FileId("churn"), dm, bp, new SlottedPageFormat());
+            List<RecordId> rids = insert(hf, 0, 2_000);
+            int pages = dm.pageCount(hf.fileId());
+            for (int i = 0; i < rids.size(); i += 2) hf.delete(rids.get(i));
+            assertEquals(1_000, hf.deadRecords());
+
+            VacuumStats stats = hf.vacuum();
+            assertEquals(pages, stats.pagesBefore());
+            assertEquals(pages, stats.pagesAfter()); // the last page still holds live records
+            assertEquals(pages, stats.pagesCompacted());
+            assertEquals(0, stats.pagesSkipped());
+            // 39 records per page: the 26 even pages end in a deleted record, whose 4-byte slot is dropped too
+            assertEquals(1_000L * 100 + 26 * 4, stats.bytesFreedInPages());
+            assertEquals(0, hf.deadRecords());
+            for (int i = 1; i < rids.size(); i += 2) assertEquals(i, idOf(hf.read(rids.get(i))));
+
+            insert(hf, 2_000, 900); // fits into the reclaimed space (the FSM rounds free space down)
+            assertEquals(pages, dm.pageCount(hf.fileId()));
+            assertEquals(1_900, count(hf));
+            assertEquals(0, hf.vacuum().pagesCompacted());
+        }
+    }
+
+    @Test
+    void givenEmptyTrailingPages_whenVacuum_thenFileTruncatedAndInsertsAppendAgain() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(new FileId("tail"), dm, bp, new SlottedPageFormat());
+            List<RecordId> rids = insert(hf, 0, 2_000);
+            int pages = dm.pageCount(hf.fileId());
+            for (RecordId rid : rids) if (rid.pageId().pageNo() >= 10) hf.delete(rid);
+
+            VacuumStats stats = hf.vacuum();
+            assertEquals(10, stats.pagesAfter());
+            assertEquals((long) (pages - 10) * 4096, stats.bytesTruncated());
+            assertEquals(0, stats.bytesFreedInPages()); // the kept pages were not touched
+            assertEquals(10, dm.pageCount(hf.fileId()));
+            assertEquals(10L * 4096, Files.size(tmpDir.resolve("tail.evolv")));
+            RecordId gone = rids.get(rids.size() - 1);
+            assertThrows(NoSuchElementException.class, () -> hf.read(gone));
+            assertThrows(NoSuchElementException.class, () -> hf.update(gone, new byte[100]));
+
+            List<RecordId> more = insert(hf, 2_000, 100);
+            assertEquals(10, more.get(0).pageId().pageNo());
+            assertEquals(390 + 100, count(hf)); // 39 records per page
+        }
+    }
+
+    @Test
+    void givenPageInUse_whenVacuum_thenPageSkippedAndCompactedByNextPass() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(new FileId("busy"), dm, bp, new SlottedPageFormat());
+            List<RecordId> rids = insert(hf, 0, 200);
+            for (int i = 0; i < rids.size(); i += 2) hf.delete(rids.get(i));
+
+            VacuumStats[] during = new VacuumStats[1];
+            // The visitor runs while page 0 is pinned and latched
+            assertTrue(hf.pageScan(null).next((page, offsets, lengths, count) -> {
+                try {
+                    during[0] = hf.vacuum();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            VacuumStats stats = during[0];
+            assertEquals(1, stats.pagesSkipped());
+            assertEquals(stats.pagesBefore() - 1, stats.pagesCompacted());
+            assertTrue(hf.deadRecords() > 0, "file stays due for another pass");
+
+            stats = hf.vacuum();
+            assertEquals(0, stats.pagesSkipped());
+            assertEquals(1, stats.pagesCompacted());
+        }
+    }
+
+    @Test
+    void givenIteratorAbandonedMidPage_whenVacuumAndRewrite_thenNoPageHeld() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(new FileId("abandoned"), dm, bp, new SlottedPageFormat());
+            List<RecordId> rids = insert(hf, 0, 200);
+            for (int i = 0; i < rids.size(); i += 2) hf.delete(rids.get(i));
+
+            var it = hf.iterator();
+            assertEquals(rids.get(1), it.next()); // stops in the middle of page 0
+            assertEquals(0, hf.vacuum().pagesSkipped());
+            assertEquals(rids.get(3), it.next()); // copied out before vacuum, and vacuum keeps RecordIds
+            hf.rewrite(null, null, 1.0); // waits for every page latch
+            assertEquals(100, count(hf));
+        }
+    }
+
+    @Test
+    void givenShuffledRecords_whenRewriteByKey_thenScanIsSortedOnPackedPages() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(new FileId("cluster"), dm, bp, new SlottedPageFormat());
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) ids.add(i);
+            Collections.shuffle(ids, new Random(7));
+            List<RecordId> rids = new ArrayList<>();
+            for (int id : ids) rids.add(hf.insert(record(id)));
+            for (int i = 0; i < rids.size(); i++) if (ids.get(i) % 2 == 0) hf.delete(rids.get(i));
+
+            VacuumStats stats = hf.rewrite(HeapFileVacuumTest::idOf, Comparator.naturalOrder(), 1.0);
+            assertEquals((1_000 + 38) / 39, stats.pagesAfter());
+            assertEquals((long) (stats.pagesBefore() - stats.pagesAfter()) * 4096, stats.bytesReclaimed());
+            assertEquals(stats.pagesAfter(), dm.pageCount(hf.fileId()));
+            int expected = 1;
+            for (byte[] rec : hf.scan()) {
+                assertEquals(expected, idOf(rec));
+                expected += 2;
+            }
+            assertEquals(2_001, expected);
+            assertEquals(0, hf.deadRecords());
+        }
+    }
+
+    @Test
+    void givenDeletesInSeveralFiles_whenBackgroundVacuumRound_thenOnlyDirtyFilesVacuumed() throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var rm = new RecordManager(dm, bp);
+            var dirty = rm.openHeapFile("dirty", new SlottedPageFormat());
+            var clean = rm.openHeapFile("clean", new SlottedPageFormat());
+            for (RecordId rid : insert(dirty, 0, 1_000)) if (rid.pageId().pageNo() >= 5) dirty.delete(rid);
+            insert(clean, 0, 1_000);
+
+            // Long interval: the thread stays asleep and the rounds run here, throttled every 4 pages
+            try (var vacuum = new BackgroundVacuum(rm, 60_000, 4, 1)) {
+                assertEquals((long) (dm.pageCount(clean.fileId()) - 5) * 4096, vacuum.vacuumRound());
+                assertEquals(1, vacuum.passes());
+                assertEquals(5, dm.pageCount(dirty.fileId()));
+                assertEquals(0, vacuum.vacuumRound());
+                assertEquals(1, vacuum.passes());
+                assertNull(vacuum.lastFailure());
+            }
+        }
+    }
+
+    @Test
+    void givenPassThrowsRuntimeException_whenBackgroundVacuumRuns_thenFailureRecordedAndThreadKeepsGoing()
+            throws Exception {
+        var config = cfg(16);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var rm = new RecordManager(dm, bp);
+            var format = new FailingCompactFormat();
+            var hf = rm.openHeapFile("failing", format);
+            for (RecordId rid : insert(hf, 0, 1_000)) if (rid.pageId().pageNo() >= 5) hf.delete(rid);
+
+            format.failure = new IllegalStateException("compact failed");
+            try (var vacuum = new BackgroundVacuum(rm, 5, 100, 0)) {
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (vacuum.lastFailure() == null && System.currentTimeMillis() < deadline) Thread.sleep(5);
+                assertSame(format.failure, vacuum.lastFailure());
+
+                format.failure = null;
+                while (vacuum.passes() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+                assertEquals(1, vacuum.passes());
+            }
+            assertEquals(5, dm.pageCount(hf.fileId()));
+        }
+    }
+
+    @Test
+    void benchmark_scanBeforeAndAfterVacuum() throws Exception {
+        var config = cfg(64);
+        try (var dm = new NioDiskManager(config);
+             var bp = new DefaultBufferPool(config, dm)) {
+            var hf = new HeapFile(new FileId("bench"), dm, bp, new SlottedPageFormat());
+            int n = 50_000;
+            List<RecordId> rids = insert(hf, 0, n);
+            // Delete 90% of the rows, scattered, plus the whole last quarter of the file
+            for (int i = 0; i < n; i++) if (i % 10 != 0 || i >= n * 3 / 4) hf.delete(rids.get(i));
+            int live = count(hf);
+            double before = scanRate(hf, live);
+
+            VacuumStats lazy = hf.vacuum(200, () -> true);
+            double afterLazy = scanRate(hf, live);
+            VacuumStats full = hf.rewrite(null, null, 1.0);
+            double afterFull = scanRate(hf, live);
+
+            System.out.printf("vacuum %d rows, %d live: pages %d -> %d (reclaimed %d KiB) -> full %d (reclaimed %d KiB)"
+                            + " | scan rows/s before=%.0f lazy=%.0f full=%.0f%n",
+                    n, live, lazy.pagesBefore(), lazy.pagesAfter(), lazy.bytesReclaimed() / 1024,
+                    full.pagesAfter(), full.bytesReclaimed() / 1024, before, afterLazy, afterFull);
+            assertTrue(lazy.pagesAfter() < lazy.pagesBefore());
+            assertTrue(full.pagesAfter() < lazy.pagesAfter());
+        }
+    }
+
+    private static double scanRate(HeapFile hf, int live) {
+        int rounds = 5;
+        long t0 = System.nanoTime();
+        for (int r = 0; r < rounds; r++) assertEquals(live, count(hf));
+        return (double) rounds * live / ((System.nanoTime() - t0) / 1e9);
+    }
+
+    private static List<RecordId> insert(HeapFile hf, int firstId, int n) throws IOException {
+        List<RecordId> rids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) rids.add(hf.insert(record(firstId + i)));
+        return rids;
+    }
+
+    private static int count(HeapFile hf) {
+        int n = 0;
+        for (byte[] ignored : hf.scan()) n++;
+        return n;
+    }
+
+    private static byte[] record(int id) {
+        byte[] rec = new byte[100];
+        ByteBuffer.wrap(rec).order(ByteOrder.LITTLE_ENDIAN).putInt(0, id);
+        return rec;
+    }
+
+    private static int idOf(byte[] rec) {
+        return ByteBuffer.wrap(rec).order(ByteOrder.LITTLE_ENDIAN).getInt(0);
+    }
+
+    /** SlottedPageFormat whose compaction throws {@link #failure} while it is set. */
+    private static final class FailingCompactFormat implements PageFormat {
+        private final SlottedPageFormat delegate = new SlottedPageFormat();
+        volatile RuntimeException failure;
+
+        @Override public int compact(Page page) {
+            RuntimeException e = failure;
+            if (e != null) throw e;
+            return delegate.compact(page);
+        }
+        @Override public void init(Page page) { delegate.init(page); }
+        @Override public int freeSpace(Page page) { return delegate.freeSpace(page); }
+        @Override public int maxInsertSize(Page page) { return delegate.maxInsertSize(page); }
+        @Override public RecordId insert(Page page, byte[] record) { return delegate.insert(page, record); }
+        @Override public Optional<byte[]> read(Page page, RecordId rid) { return delegate.read(page, rid); }
+        @Override public ByteBuffer slice(Page page, short slotIndex) { return delegate.slice(page, slotIndex); }
+        @Override public int liveRecords(Page page, int[] offsets, int[] lengths) {
+            return delegate.liveRecords(page, offsets, lengths);
+        }
+        @Override public void delete(Page page, RecordId rid) { delegate.delete(page, rid); }
+        @Override public int slotCount(Page page) { return delegate.slotCount(page); }
+        @Override public boolean isLive(Page page, short slotIndex) { return delegate.isLive(page, slotIndex); }
+        @Override public boolean update(Page page, RecordId rid, byte[] newRecord) {
+            return delegate.update(page, rid, newRecord);
+        }
+    }
+}
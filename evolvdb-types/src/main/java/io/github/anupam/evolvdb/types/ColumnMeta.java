@@ -2,8 +2,11 @@ package io.github.anupam.evolvdb.types;
 
 import java.util.Objects;
 
-/** Column metadata. For VARCHAR, length denotes max chars; for fixed-size types, length may be null. */
-public record ColumnMeta(String name, Type type, Integer length) {
+/**
+ * Column metadata. For VARCHAR, length denotes max chars; for fixed-size types, length may be null. A nullable
+ * column accepts null values; columns are NOT NULL unless declared otherwise.
+ */
+public record ColumnMeta(String name, Type type, Integer length, boolean nullable) {
     public ColumnMeta {
         if (name == null || name.isBlank()) throw new IllegalArgumentException("name must be non-empty");
         Objects.requireNonNull(type, "type");
@@ -13,4 +16,9 @@ public record ColumnMeta(String name, Type type, Integer length) {
             if (length != null) throw new IllegalArgumentException("length must be null for non-VARCHAR types");
         }
     }
+
+    /** A NOT NULL column. */
+    public ColumnMeta(String name, Type type, Integer length) {
+        this(name, type, length, false);
+    }
 }
@@ -0,0 +1,132 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where each column of a Schema lives inside a row encoded by {@link CompactRowCodec}. Computed once per Schema.
+ *
+ * A row starts with the null bitmap of {@link RowLayout} (absent without nullable columns), then one bit per
+ * BOOLEAN column in column order (bit set = true), so both sit at static offsets. The other columns follow in
+ * column order, each taking only the bytes its value needs: INT and BIGINT as zig-zag varints, FLOAT as 4 bytes,
+ * STRING and VARCHAR as a varint byte length and the UTF-8 bytes. A null column takes no bytes. Apart from the
+ * booleans, a column's position is therefore only known after stepping over the columns before it
+ * ({@link #starts}).
+ *
+ * Varints are little-endian base 128: seven bits per byte, high bit set on every byte but the last. Zig-zag maps
+ * small negative numbers to small unsigned ones (0, -1, 1, -2 ... to 0, 1, 2, 3 ...), so an INT or BIGINT from
+ * -64 to 63 takes one byte and one up to ±8191 two.
+ */
+final class CompactLayout implements WalkedLayout {
+    private final RowLayout nulls; // its null bitmap is the one used here
+    private final Type[] types;
+    private final int[] boolBit;   // bit among the BOOLEAN columns, or -1
+    private final int header;      // null bitmap plus boolean bits
+
+    CompactLayout(Schema schema) {
+        this.nulls = schema.layout();
+        int n = schema.size();
+        this.types = new Type[n];
+        this.boolBit = new int[n];
+        int bools = 0;
+        for (int i = 0; i < n; i++) {
+            types[i] = schema.columns().get(i).type();
+            boolBit[i] = types[i] == Type.BOOLEAN ? bools++ : -1;
+        }
+        this.header = nulls.nullBytes() + (bools + 7) / 8;
+    }
+
+    @Override public int size() { return types.length; }
+    @Override public Type type(int column) { return types[column]; }
+    /** Size of the null bitmap plus the boolean bits; the first other column starts here. */
+    int header() { return header; }
+    /** Bit of a nullable column in the null bitmap, or -1. */
+    int nullBit(int column) { return nulls.nullBit(column); }
+    /** Whether a column is stored as a bit in the header rather than in the body of the row. */
+    boolean inHeader(int column) { return boolBit[column] >= 0; }
+    /** Index within the row of the byte holding BOOLEAN column {@code column}. */
+    int boolByte(int column) { return nulls.nullBytes() + (boolBit[column] >>> 3); }
+    int boolMask(int column) { return 1 << (boolBit[column] & 7); }
+
+    @Override
+    public boolean isNull(ByteBuffer buf, int offset, int column) {
+        return nulls.isNull(buf, offset, column);
+    }
+
+    /** BOOLEAN columns live in the header, so their start is just where they would be. */
+    @Override
+    public int starts(ByteBuffer buf, int offset, int[] starts, int upTo) {
+        int at = offset + header;
+        for (int c = 0; c < upTo; c++) {
+            starts[c] = at;
+            if (boolBit[c] < 0 && !nulls.isNull(buf, offset, c)) at = skip(buf, at, c);
+        }
+        return at;
+    }
+
+    /** Index just past the value of non-null, non-BOOLEAN column {@code column} starting at {@code at}. */
+    int skip(ByteBuffer buf, int at, int column) {
+        return switch (types[column]) {
+            case INT, BIGINT -> varEnd(buf, at);
+            case FLOAT -> at + 4;
+            case STRING, VARCHAR -> varEnd(buf, at) + (int) readVar(buf, at);
+            case BOOLEAN -> at;
+        };
+    }
+
+    @Override
+    public Object column(ByteBuffer buf, int offset, int at, int column) {
+        if (nulls.isNull(buf, offset, column)) return null;
+        return switch (types[column]) {
+            case INT -> (int) unZigZag(readVar(buf, at));
+            case BIGINT -> unZigZag(readVar(buf, at));
+            case BOOLEAN -> (buf.get(offset + boolByte(column)) & boolMask(column)) != 0;
+            case FLOAT -> buf.getFloat(at);
+            case STRING, VARCHAR -> RowCodec.readString(buf, varEnd(buf, at), (int) readVar(buf, at));
+        };
+    }
+
+    @Override
+    public long bits(ByteBuffer buf, int offset, int at, int column) {
+        return switch (types[column]) {
+            case INT -> (int) unZigZag(readVar(buf, at));
+            case BIGINT -> unZigZag(readVar(buf, at));
+            case BOOLEAN -> (buf.get(offset + boolByte(column)) & boolMask(column)) != 0 ? 1 : 0;
+            case FLOAT -> buf.getInt(at);
+            default -> throw new IllegalStateException("Unsupported type: " + types[column]);
+        };
+    }
+
+    static long zigZag(long v) { return (v << 1) ^ (v >> 63); }
+    static long unZigZag(long v) { return (v >>> 1) ^ -(v & 1); }
+
+    /** Bytes the varint of {@code v}, taken as unsigned, occupies. */
+    static int varSize(long v) {
+        return (63 - Long.numberOfLeadingZeros(v | 1)) / 7 + 1;
+    }
+
+    /** Writes the varint of {@code v} at {@code at}; returns the index just past it. */
+    static int putVar(ByteBuffer buf, int at, long v) {
+        while ((v & ~0x7FL) != 0) {
+            buf.put(at++, (byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buf.put(at++, (byte) v);
+        return at;
+    }
+
+    static long readVar(ByteBuffer buf, int at) {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get(at++);
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    /** Index just past the varint starting at {@code at}. */
+    static int varEnd(ByteBuffer buf, int at) {
+        while (buf.get(at++) < 0) { /* continuation bit set */ }
+        return at;
+    }
+}
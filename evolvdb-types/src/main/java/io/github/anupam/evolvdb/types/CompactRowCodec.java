@@ -0,0 +1,134 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Encodes and decodes the rows of a {@link RowFormat#COMPACT} table, with the same operations as {@link RowCodec}.
+ *
+ * Encoding (little-endian), see {@link CompactLayout}:
+ *  - if the schema has nullable columns, the null bitmap of the offsets format
+ *  - one bit per BOOLEAN column, in column order (1=true)
+ *  - the other columns that are not null, in column order:
+ *    - INT, BIGINT: zig-zag varint, 1 to 5 or 10 bytes
+ *    - FLOAT:  4 bytes (IEEE-754)
+ *    - STRING/VARCHAR: varint byte length, then the UTF-8 bytes
+ *
+ * Rows of small ids, counters and flags shrink well below the offsets format, so more fit on a page. In exchange a
+ * column can no longer be read without stepping over the ones before it: decoding a subset of the columns walks
+ * the row up to the last one wanted, and a {@link RowBuffer} attached to a row ({@link #attach}) finds every
+ * column's start once, then decodes each column on its first access as with the offsets format.
+ */
+public final class CompactRowCodec {
+    private CompactRowCodec() {}
+
+    public static byte[] encode(Schema schema, Tuple tuple) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(tuple, "tuple");
+        if (tuple.schema() != schema) {
+            throw new IllegalArgumentException("Tuple is not bound to provided Schema instance");
+        }
+        CompactLayout layout = schema.compactLayout();
+        byte[][] strings = new byte[schema.size()][];
+        int size = layout.header();
+        for (int i = 0; i < schema.size(); i++) {
+            Object v = tuple.get(i);
+            if (v == null || layout.inHeader(i)) continue;
+            size += switch (layout.type(i)) {
+                case INT -> CompactLayout.varSize(CompactLayout.zigZag((Integer) v));
+                case BIGINT -> CompactLayout.varSize(CompactLayout.zigZag((Long) v));
+                case FLOAT -> 4;
+                case STRING, VARCHAR -> {
+                    byte[] b = ((String) v).getBytes(StandardCharsets.UTF_8);
+                    strings[i] = b;
+                    yield CompactLayout.varSize(b.length) + b.length;
+                }
+                default -> throw new IllegalStateException("Unsupported type: " + layout.type(i));
+            };
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        int at = layout.header();
+        for (int i = 0; i < schema.size(); i++) {
+            Object v = tuple.get(i);
+            if (v == null) {
+                int bit = layout.nullBit(i);
+                buf.put(bit >>> 3, (byte) (buf.get(bit >>> 3) | (1 << (bit & 7))));
+                continue;
+            }
+            switch (layout.type(i)) {
+                case INT -> at = CompactLayout.putVar(buf, at, CompactLayout.zigZag((Integer) v));
+                case BIGINT -> at = CompactLayout.putVar(buf, at, CompactLayout.zigZag((Long) v));
+                case BOOLEAN -> {
+                    int b = layout.boolByte(i);
+                    if ((Boolean) v) buf.put(b, (byte) (buf.get(b) | layout.boolMask(i)));
+                }
+                case FLOAT -> {
+                    buf.putFloat(at, (Float) v);
+                    at += 4;
+                }
+                case STRING, VARCHAR -> {
+                    at = CompactLayout.putVar(buf, at, strings[i].length);
+                    buf.put(at, strings[i]);
+                    at += strings[i].length;
+                }
+            }
+        }
+        return buf.array();
+    }
+
+    public static Tuple decode(Schema schema, byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+        return decode(schema, ByteBuffer.wrap(bytes), 0);
+    }
+
+    /** Decodes the row starting at absolute index {@code offset} of {@code buf}, e.g. inside a pinned page. */
+    public static Tuple decode(Schema schema, ByteBuffer buf, int offset) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        CompactLayout layout = schema.compactLayout();
+        Object[] vals = new Object[schema.size()];
+        int at = offset + layout.header();
+        for (int i = 0; i < vals.length; i++) {
+            vals[i] = layout.column(buf, offset, at, i);
+            if (vals[i] != null && !layout.inHeader(i)) at = layout.skip(buf, at, i);
+        }
+        return new Tuple(schema, vals);
+    }
+
+    /**
+     * Decodes only the given columns of the row at {@code offset}: {@code columns[k]} is the index in
+     * {@code schema} of column {@code k} of {@code out}. The row is walked up to the last of them.
+     */
+    public static Tuple decode(Schema schema, ByteBuffer buf, int offset, int[] columns, Schema out) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        if (columns.length != out.size()) throw new IllegalArgumentException("columns do not match output schema");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        CompactLayout layout = schema.compactLayout();
+        int upTo = 0;
+        for (int c : columns) upTo = Math.max(upTo, c + 1);
+        int[] starts = new int[upTo];
+        layout.starts(buf, offset, starts, upTo);
+        Object[] vals = new Object[columns.length];
+        for (int k = 0; k < vals.length; k++) vals[k] = layout.column(buf, offset, starts[columns[k]], columns[k]);
+        return new Tuple(out, vals);
+    }
+
+    /**
+     * Points {@code out} at the row starting at {@code offset} of {@code buf}, like {@link OffsetsRowCodec#attach}:
+     * column {@code k} of {@code out} is column {@code columns[k]} of {@code schema} (null = the same column). The
+     * start of each column is found now; values are decoded on first access. {@code buf} must stay unchanged until
+     * {@code out} is rewritten.
+     */
+    public static void attach(Schema schema, ByteBuffer buf, int offset, int[] columns, RowBuffer out) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        int width = columns == null ? schema.size() : columns.length;
+        if (width != out.size()) throw new IllegalArgumentException("columns do not match output schema");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        out.attach(schema.compactLayout(), buf, offset, columns);
+    }
+}
@@ -0,0 +1,293 @@
+package io.github.anupam.evolvdb.types;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * An {@link OffsetsRowCodec} specialised for one Schema: the same row format, read and written by MethodHandle
+ * chains built once per schema instead of a switch on each column's type for every row.
+ *
+ * Each column gets a handle with its type and byte offset bound in, and the handles of a row are combined into
+ * one, with a step per column, that the JIT compiles as a unit once it is hot. Schemas too wide for a handle's
+ * parameter limit ({@link #MAX_COLUMNS}) fall back to the interpretive OffsetsRowCodec.
+ *
+ * Nulls move the columns after them (see {@link RowLayout}), so only columns at a static offset get a
+ * specialised reader; nullable columns, and those a null may shift, are read through OffsetsRowCodec's
+ * per-column path. Rows holding a null are encoded by OffsetsRowCodec, rows without one by the compiled writer.
+ * Build with {@link #compile}; instances are thread-safe, and the catalog keeps one per table so its handles stay
+ * hot across statements.
+ */
+public final class CompiledRowCodec {
+    /** Widest schema compiled into handles; each column takes two parameters while the decoder is assembled. */
+    public static final int MAX_COLUMNS = 100;
+    /** Column subsets whose decoding handles are kept per codec. */
+    public static final int MAX_CACHED_SUBSETS = 64;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle TUPLE_GET;
+    private static final MethodHandle PLUS;
+    private static final MethodHandle STRING_AT;
+    private static final MethodHandle BOOLEAN_BYTE;
+    private static final MethodHandle IS_TRUE;
+    private static final MethodHandle ANY_COLUMN;
+
+    static {
+        try {
+            TUPLE_GET = LOOKUP.findVirtual(Tuple.class, "get", methodType(Object.class, int.class));
+            PLUS = LOOKUP.findStatic(CompiledRowCodec.class, "plus", methodType(int.class, int.class, int.class));
+            STRING_AT = LOOKUP.findStatic(CompiledRowCodec.class, "stringAt",
+                    methodType(String.class, ByteBuffer.class, int.class, int.class, int.class));
+            BOOLEAN_BYTE = LOOKUP.findStatic(CompiledRowCodec.class, "booleanByte",
+                    methodType(byte.class, Object.class));
+            IS_TRUE = LOOKUP.findStatic(CompiledRowCodec.class, "isTrue", methodType(boolean.class, byte.class));
+            ANY_COLUMN = LOOKUP.findStatic(OffsetsRowCodec.class, "column",
+                    methodType(Object.class, RowLayout.class, ByteBuffer.class, int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Schema schema;
+    private final RowLayout layout;
+    private final int[] varColumns;     // var-width columns, by ordinal
+    private final int[] nullableColumns;
+    private final MethodHandle writeFixed; // (ByteBuffer, Tuple)void, or null when not compiled
+    private final MethodHandle readAll;    // (ByteBuffer, int)Object[], or null when not compiled
+    private final Decoder rows;
+    private final Map<List<Integer>, MethodHandle> subsets = new ConcurrentHashMap<>();
+
+    private CompiledRowCodec(Schema schema) {
+        this.schema = schema;
+        this.layout = schema.layout();
+        this.varColumns = new int[layout.varCount()];
+        for (int i = 0; i < schema.size(); i++) if (layout.isVar(i)) varColumns[layout.varOrdinal(i)] = i;
+        this.nullableColumns = IntStream.range(0, schema.size()).filter(layout::nullable).toArray();
+        this.writeFixed = schema.size() <= MAX_COLUMNS ? fixedWriter() : null;
+        this.readAll = schema.size() <= MAX_COLUMNS ? reader(layout, null, schema.size()) : null;
+        this.rows = new Decoder(schema, null, schema, readAll);
+    }
+
+    /** Compiles a codec for rows of {@code schema}. */
+    public static CompiledRowCodec compile(Schema schema) {
+        return new CompiledRowCodec(Objects.requireNonNull(schema, "schema"));
+    }
+
+    public Schema schema() { return schema; }
+
+    /** Encodes {@code tuple} exactly as {@link OffsetsRowCodec#encode} does; the tuple must be bound to this schema. */
+    public byte[] encode(Tuple tuple) {
+        Objects.requireNonNull(tuple, "tuple");
+        if (tuple.schema() != schema) {
+            throw new IllegalArgumentException("Tuple is not bound to provided Schema instance");
+        }
+        if (writeFixed == null || hasNull(tuple)) return OffsetsRowCodec.encode(schema, tuple);
+        byte[][] strings = new byte[varColumns.length][];
+        int size = layout.varBase();
+        for (int k = 0; k < varColumns.length; k++) {
+            strings[k] = ((String) tuple.get(varColumns[k])).getBytes(StandardCharsets.UTF_8);
+            size += strings[k].length;
+        }
+        if (size > 0xFFFF) throw new IllegalArgumentException("row too large to encode: " + size + " bytes");
+        byte[] row = new byte[size];
+        ByteBuffer buf = ByteBuffer.wrap(row).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            writeFixed.invokeExact(buf, tuple);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        int end = layout.varBase();
+        for (int k = 0; k < strings.length; k++) {
+            System.arraycopy(strings[k], 0, row, end, strings[k].length);
+            end += strings[k].length;
+            buf.putShort(layout.endSlot(k), (short) end);
+        }
+        return row;
+    }
+
+    private boolean hasNull(Tuple tuple) {
+        for (int c : nullableColumns) if (tuple.get(c) == null) return true;
+        return false;
+    }
+
+    /** Decodes the row at {@code offset} of {@code buf} into a Tuple of this schema. */
+    public Tuple decode(ByteBuffer buf, int offset) {
+        return rows.decode(buf, offset);
+    }
+
+    public Tuple decode(byte[] bytes) {
+        return rows.decode(ByteBuffer.wrap(bytes), 0);
+    }
+
+    /**
+     * Returns a decoder for just {@code columns} (a subset of this schema, matched by name like
+     * {@link RowCodec#columnIndexes}), producing tuples bound to {@code columns}. Null means every column.
+     *
+     * The handles for a column set are built once and shared by its decoders: a fresh chain runs slower than
+     * OffsetsRowCodec until the JIT has compiled it, so every scan of the same columns must reuse it. Up to
+     * {@link #MAX_CACHED_SUBSETS} column sets are kept.
+     */
+    public Decoder decoder(Schema columns) {
+        if (columns == null) return rows;
+        int[] indexes = RowCodec.columnIndexes(schema, columns);
+        if (indexes.length == schema.size() && isIdentity(indexes)) return new Decoder(schema, null, columns, readAll);
+        MethodHandle read = null;
+        if (indexes.length <= MAX_COLUMNS) {
+            List<Integer> key = Arrays.stream(indexes).boxed().toList();
+            read = subsets.get(key);
+            if (read == null) {
+                read = reader(layout, indexes, indexes.length);
+                if (subsets.size() < MAX_CACHED_SUBSETS) subsets.putIfAbsent(key, read);
+            }
+        }
+        return new Decoder(schema, indexes, columns, read);
+    }
+
+    private static boolean isIdentity(int[] indexes) {
+        for (int i = 0; i < indexes.length; i++) if (indexes[i] != i) return false;
+        return true;
+    }
+
+    /** Decodes some columns of rows of one schema; see {@link #decoder}. Immutable and thread-safe. */
+    public static final class Decoder {
+        private final Schema schema;
+        private final int[] columns;  // null = all
+        private final Schema out;
+        private final MethodHandle read; // (ByteBuffer, int)Object[], or null when not compiled
+
+        private Decoder(Schema schema, int[] columns, Schema out, MethodHandle read) {
+            this.schema = schema;
+            this.columns = columns;
+            this.out = out;
+            this.read = read;
+        }
+
+        public Schema schema() { return out; }
+
+        /** Decodes the row at absolute index {@code offset} of {@code buf}, like OffsetsRowCodec's in-place decode. */
+        public Tuple decode(ByteBuffer buf, int offset) {
+            Objects.requireNonNull(buf, "buf");
+            if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            if (read == null) {
+                return columns == null ? OffsetsRowCodec.decode(schema, buf, offset)
+                        : OffsetsRowCodec.decode(schema, buf, offset, columns, out);
+            }
+            Object[] values;
+            try {
+                values = (Object[]) read.invokeExact(buf, offset);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+            return new Tuple(out, values);
+        }
+    }
+
+    /** Builds {@code (ByteBuffer, Tuple)void} writing every fixed-width column at its offset in a row without nulls. */
+    private MethodHandle fixedWriter() {
+        MethodHandle chain = MethodHandles.empty(methodType(void.class, ByteBuffer.class, Tuple.class));
+        try {
+            for (int i = schema.size() - 1; i >= 0; i--) {
+                if (layout.isVar(i)) continue;
+                MethodHandle value = MethodHandles.insertArguments(TUPLE_GET, 1, i); // (Tuple)Object
+                MethodHandle put = switch (layout.type(i)) {
+                    case INT -> putter("putInt", int.class, value.asType(methodType(int.class, Tuple.class)));
+                    case BIGINT -> putter("putLong", long.class, value.asType(methodType(long.class, Tuple.class)));
+                    case FLOAT -> putter("putFloat", float.class, value.asType(methodType(float.class, Tuple.class)));
+                    case BOOLEAN -> putter("put", byte.class, MethodHandles.filterReturnValue(value, BOOLEAN_BYTE));
+                    default -> throw new IllegalStateException("Unsupported type: " + layout.type(i));
+                };
+                // (ByteBuffer, int, Tuple) -> bind the column's offset
+                put = MethodHandles.insertArguments(put, 1, layout.fixedOffset(i));
+                put = put.asType(methodType(void.class, ByteBuffer.class, Tuple.class));
+                chain = MethodHandles.foldArguments(chain, put);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return chain;
+    }
+
+    /** {@code ByteBuffer.<name>(int index, <type> value)}, taking the value from a Tuple: (ByteBuffer, int, Tuple). */
+    private static MethodHandle putter(String name, Class<?> type, MethodHandle value)
+            throws ReflectiveOperationException {
+        MethodHandle put = LOOKUP.findVirtual(ByteBuffer.class, name, methodType(ByteBuffer.class, int.class, type));
+        return MethodHandles.filterArguments(put, 2, value);
+    }
+
+    /** Builds {@code (ByteBuffer, int)Object[]} decoding the {@code k} {@code columns} (null = all) of a row. */
+    private static MethodHandle reader(RowLayout layout, int[] columns, int k) {
+        MethodHandle collect = MethodHandles.identity(Object[].class).asCollector(Object[].class, k);
+        try {
+            for (int j = k - 1; j >= 0; j--) {
+                MethodHandle column = column(layout, columns == null ? j : columns[j]);
+                collect = MethodHandles.collectArguments(collect, j, column);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        // (ByteBuffer, int) x k -> (ByteBuffer, int): every column reads the same row
+        int[] reorder = new int[2 * k];
+        for (int j = 0; j < k; j++) reorder[2 * j + 1] = 1;
+        MethodType row = methodType(Object[].class, ByteBuffer.class, int.class);
+        return MethodHandles.permuteArguments(collect, row, reorder);
+    }
+
+    /** {@code (ByteBuffer, int)Object} reading column {@code i} of the row at the given offset. */
+    private static MethodHandle column(RowLayout layout, int i) throws ReflectiveOperationException {
+        MethodType boxed = methodType(Object.class, ByteBuffer.class, int.class);
+        if (!layout.hasStaticPosition(i)) {
+            return MethodHandles.insertArguments(MethodHandles.insertArguments(ANY_COLUMN, 3, i), 0, layout);
+        }
+        if (layout.isVar(i)) {
+            int ordinal = layout.varOrdinal(i);
+            int start = ordinal == 0 ? -1 - layout.varBase() : layout.endSlot(ordinal - 1);
+            return MethodHandles.insertArguments(STRING_AT, 2, start, layout.endSlot(ordinal)).asType(boxed);
+        }
+        MethodHandle get = switch (layout.type(i)) {
+            case INT -> getter("getInt", int.class);
+            case BIGINT -> getter("getLong", long.class);
+            case FLOAT -> getter("getFloat", float.class);
+            case BOOLEAN -> MethodHandles.filterReturnValue(getter("get", byte.class), IS_TRUE);
+            default -> throw new IllegalStateException("Unsupported type: " + layout.type(i));
+        };
+        MethodHandle at = MethodHandles.insertArguments(PLUS, 1, layout.fixedOffset(i)); // row offset -> index
+        return MethodHandles.filterArguments(get, 1, at).asType(boxed);
+    }
+
+    private static MethodHandle getter(String name, Class<?> type) throws ReflectiveOperationException {
+        return LOOKUP.findVirtual(ByteBuffer.class, name, methodType(type, int.class));
+    }
+
+    private static int plus(int a, int b) { return a + b; }
+
+    private static boolean isTrue(byte b) { return b != 0; }
+
+    private static byte booleanByte(Object v) { return (byte) ((Boolean) v ? 1 : 0); }
+
+    /**
+     * Var-width column ending at the u16 end offset in {@code endSlot}. It starts at the end offset in
+     * {@code startSlot}, or at {@code -1 - startSlot} for the first var-width column.
+     */
+    private static String stringAt(ByteBuffer buf, int offset, int startSlot, int endSlot) {
+        int start = startSlot < 0 ? -1 - startSlot : Short.toUnsignedInt(buf.getShort(offset + startSlot));
+        int end = Short.toUnsignedInt(buf.getShort(offset + endSlot));
+        return RowCodec.readString(buf, offset + start, end - start);
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException re) return re;
+        if (t instanceof Error e) throw e;
+        return new IllegalStateException(t);
+    }
+}
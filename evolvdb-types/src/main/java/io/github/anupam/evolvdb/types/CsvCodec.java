@@ -0,0 +1,152 @@
+package io.github.anupam.evolvdb.types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * CsvCodec converts between text lines and Tuples bound to a Schema, for bulk loading and COPY.
+ *
+ * Fields are separated by commas. A field may be enclosed in double quotes, in which case it can contain commas
+ * and a doubled quote ({@code ""}) stands for one quote; fields cannot span lines. Values are parsed by column
+ * type: INT/BIGINT/FLOAT as Java literals, BOOLEAN as {@code true}/{@code false} (case-insensitive),
+ * STRING/VARCHAR as-is. In a nullable column an empty unquoted field is NULL, while {@code ""} is the empty
+ * string. {@link #format} writes the inverse, quoting only the strings that need it.
+ */
+public final class CsvCodec {
+    private CsvCodec() {}
+
+    /** Parses one CSV line into a Tuple of {@code schema}; throws IllegalArgumentException on malformed input. */
+    public static Tuple parse(Schema schema, String line) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(line, "line");
+        List<String> fields = split(line);
+        if (fields.size() != schema.size()) {
+            throw new IllegalArgumentException("Expected " + schema.size() + " fields but got " + fields.size());
+        }
+        List<Object> values = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            values.add(parseValue(schema.columns().get(i), fields.get(i)));
+        }
+        return new Tuple(schema, values);
+    }
+
+    /**
+     * Whether {@code line} of a CSV file holds a row of {@code schema}. Every line does except an empty one in a
+     * schema of several columns, which callers skip: in a one-column schema an empty line is a row, the NULL or
+     * empty string {@link #format} writes for it. A line of only whitespace is always a row.
+     */
+    public static boolean isRow(Schema schema, String line) {
+        return !line.isEmpty() || schema.size() == 1;
+    }
+
+    /**
+     * Appends {@code tuple} as one CSV line (without the line terminator) to {@code out}. Strings containing a
+     * line break cannot be represented and are rejected with IllegalArgumentException.
+     */
+    public static void format(Tuple tuple, StringBuilder out) {
+        Objects.requireNonNull(tuple, "tuple");
+        Objects.requireNonNull(out, "out");
+        Schema schema = tuple.schema();
+        for (int i = 0; i < schema.size(); i++) {
+            if (i > 0) out.append(',');
+            Object v = tuple.get(i);
+            if (v == null) continue; // an empty field
+            if (v instanceof String s) {
+                appendString(schema.columns().get(i), s, out);
+            } else {
+                out.append(v);
+            }
+        }
+    }
+
+    /** Returns {@code tuple} as one CSV line; see {@link #format(Tuple, StringBuilder)}. */
+    public static String format(Tuple tuple) {
+        StringBuilder out = new StringBuilder();
+        format(tuple, out);
+        return out.toString();
+    }
+
+    private static void appendString(ColumnMeta col, String s, StringBuilder out) {
+        boolean quote = s.isEmpty() && col.nullable(); // else it would read back as null
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r') {
+                throw new IllegalArgumentException(col.name() + ": line breaks cannot be written to CSV");
+            }
+            if (c == ',' || c == '"') quote = true;
+        }
+        if (!quote) {
+            out.append(s);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') out.append('"');
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /** Splits a line into its fields; an empty unquoted field is returned as null. */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int n = line.length();
+        while (true) {
+            if (i < n && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= n) throw new IllegalArgumentException("Unterminated quoted field");
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < n && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < n && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field at " + i);
+                }
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) end = n;
+                fields.add(end == i ? null : line.substring(i, end));
+                i = end;
+            }
+            if (i >= n) return fields;
+            i++; // skip the comma
+        }
+    }
+
+    private static Object parseValue(ColumnMeta col, String text) {
+        if (text == null) {
+            if (col.nullable()) return null;
+            text = "";
+        }
+        try {
+            return switch (col.type()) {
+                case INT -> Integer.parseInt(text.trim());
+                case BIGINT -> Long.parseLong(text.trim());
+                case FLOAT -> Float.parseFloat(text.trim());
+                case BOOLEAN -> parseBoolean(text.trim());
+                case STRING, VARCHAR -> text;
+            };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(col.name() + ": cannot parse '" + text + "' as " + col.type(), e);
+        }
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if (text.equalsIgnoreCase("true")) return Boolean.TRUE;
+        if (text.equalsIgnoreCase("false")) return Boolean.FALSE;
+        throw new IllegalArgumentException("not a boolean");
+    }
+}
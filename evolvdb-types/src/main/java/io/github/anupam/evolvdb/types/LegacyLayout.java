@@ -0,0 +1,73 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where each column of a Schema lives inside a row encoded by {@link RowCodec}. Computed once per Schema.
+ *
+ * A row starts with the null bitmap of {@link RowLayout} (absent without nullable columns), then holds the columns
+ * that are not null in column order: INT and FLOAT as 4 bytes, BIGINT as 8, BOOLEAN as 1, STRING and VARCHAR as a
+ * u16 byte length and the UTF-8 bytes. Only the first column sits at a static offset; the others are found by
+ * stepping over the columns before them ({@link #starts}).
+ */
+final class LegacyLayout implements WalkedLayout {
+    private final RowLayout nulls; // its null bitmap is the one used here
+    private final Type[] types;
+
+    LegacyLayout(Schema schema) {
+        this.nulls = schema.layout();
+        int n = schema.size();
+        this.types = new Type[n];
+        for (int i = 0; i < n; i++) types[i] = schema.columns().get(i).type();
+    }
+
+    @Override public int size() { return types.length; }
+    @Override public Type type(int column) { return types[column]; }
+    /** Size of the null bitmap; the first column starts here. */
+    int header() { return nulls.nullBytes(); }
+    /** Bit of a nullable column in the null bitmap, or -1. */
+    int nullBit(int column) { return nulls.nullBit(column); }
+
+    @Override
+    public boolean isNull(ByteBuffer buf, int offset, int column) {
+        return nulls.isNull(buf, offset, column);
+    }
+
+    @Override
+    public int starts(ByteBuffer buf, int offset, int[] starts, int upTo) {
+        int at = offset + header();
+        for (int c = 0; c < upTo; c++) {
+            starts[c] = at;
+            if (!nulls.isNull(buf, offset, c)) at = skip(buf, at, c);
+        }
+        return at;
+    }
+
+    /** Index just past the value of non-null column {@code column} starting at {@code at}. */
+    int skip(ByteBuffer buf, int at, int column) {
+        int width = RowLayout.fixedWidth(types[column]);
+        return width >= 0 ? at + width : at + 2 + Short.toUnsignedInt(buf.getShort(at));
+    }
+
+    @Override
+    public Object column(ByteBuffer buf, int offset, int at, int column) {
+        if (nulls.isNull(buf, offset, column)) return null;
+        return switch (types[column]) {
+            case INT -> buf.getInt(at);
+            case BIGINT -> buf.getLong(at);
+            case BOOLEAN -> buf.get(at) != 0;
+            case FLOAT -> buf.getFloat(at);
+            case STRING, VARCHAR -> RowCodec.readString(buf, at + 2, Short.toUnsignedInt(buf.getShort(at)));
+        };
+    }
+
+    @Override
+    public long bits(ByteBuffer buf, int offset, int at, int column) {
+        return switch (types[column]) {
+            case INT, FLOAT -> buf.getInt(at);
+            case BIGINT -> buf.getLong(at);
+            case BOOLEAN -> buf.get(at) != 0 ? 1 : 0;
+            default -> throw new IllegalStateException("Unsupported type: " + types[column]);
+        };
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Encodes and decodes the rows of a {@link RowFormat#OFFSETS} table, with the same operations as {@link RowCodec}.
+ *
+ * Encoding (little-endian), see {@link RowLayout}:
+ *  - if the schema has nullable columns, a null bitmap: one bit per nullable column, set when it is null
+ *  - the fixed-width columns that are not null, in column order:
+ *    - INT:    4 bytes
+ *    - BIGINT: 8 bytes
+ *    - BOOLEAN: 1 byte (0=false,1=true)
+ *    - FLOAT:  4 bytes (IEEE-754)
+ *  - one u16 end offset (from the start of the row) per STRING/VARCHAR column
+ *  - the UTF-8 bytes of the STRING/VARCHAR columns, in column order; a null one has none
+ *
+ * Every column can be read without decoding the ones before it, so a scan can decode just the columns a query
+ * uses ({@link #decode(Schema, ByteBuffer, int, int[], Schema)}) or defer decoding to the first access
+ * ({@link #lazy}), or point a reusable {@link RowBuffer} at it ({@link #attach}). A row is at most 65535 bytes.
+ */
+public final class OffsetsRowCodec {
+    private OffsetsRowCodec() {}
+
+    public static byte[] encode(Schema schema, Tuple tuple) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(tuple, "tuple");
+        if (tuple.schema() != schema) {
+            // require same instance to avoid accidental mismatch; caller can pass exact schema used to build tuple
+            throw new IllegalArgumentException("Tuple is not bound to provided Schema instance");
+        }
+        RowLayout layout = schema.layout();
+        byte[][] strings = new byte[layout.varCount()][];
+        int size = layout.varBase();
+        for (int i = 0; i < schema.size(); i++) {
+            Object v = tuple.get(i);
+            if (v == null) {
+                if (!layout.isVar(i)) size -= RowLayout.fixedWidth(layout.type(i));
+                continue;
+            }
+            if (!layout.isVar(i)) continue;
+            byte[] b = ((String) v).getBytes(StandardCharsets.UTF_8);
+            strings[layout.varOrdinal(i)] = b;
+            size += b.length;
+        }
+        if (size > 0xFFFF) throw new IllegalArgumentException("row too large to encode: " + size + " bytes");
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        int at = layout.nullBytes(); // null fixed-width columns take no bytes, so the rest move up
+        for (int i = 0; i < schema.size(); i++) {
+            Object v = tuple.get(i);
+            if (v == null) {
+                int bit = layout.nullBit(i);
+                buf.put(bit >>> 3, (byte) (buf.get(bit >>> 3) | (1 << (bit & 7))));
+                continue;
+            }
+            if (layout.isVar(i)) continue;
+            switch (layout.type(i)) {
+                case INT -> buf.putInt(at, (Integer) v);
+                case BIGINT -> buf.putLong(at, (Long) v);
+                case BOOLEAN -> buf.put(at, (byte) ((Boolean) v ? 1 : 0));
+                case FLOAT -> buf.putFloat(at, (Float) v);
+                default -> throw new IllegalStateException("Unsupported type: " + layout.type(i));
+            }
+            at += RowLayout.fixedWidth(layout.type(i));
+        }
+        int end = at + 2 * layout.varCount();
+        for (int ordinal = 0; ordinal < strings.length; ordinal++) {
+            byte[] b = strings[ordinal];
+            if (b != null) {
+                buf.put(end, b);
+                end += b.length;
+            }
+            buf.putShort(at + 2 * ordinal, (short) end);
+        }
+        return buf.array();
+    }
+
+    public static Tuple decode(Schema schema, byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+        return decode(schema, ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Decodes the row stored in {@code bytes} from its position onwards, without copying it first. The buffer's
+     * position is left unchanged.
+     */
+    public static Tuple decode(Schema schema, ByteBuffer bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+        return decode(schema, bytes, bytes.position());
+    }
+
+    /**
+     * Decodes the row starting at absolute index {@code offset} of {@code buf}, e.g. a record inside a pinned
+     * page, without copying it first or creating a view per row (unless buf is not little-endian).
+     */
+    public static Tuple decode(Schema schema, ByteBuffer buf, int offset) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        RowLayout layout = schema.layout();
+        Object[] vals = new Object[schema.size()];
+        for (int i = 0; i < vals.length; i++) vals[i] = column(layout, buf, offset, i);
+        return new Tuple(schema, vals);
+    }
+
+    /**
+     * Decodes only the given columns of the row at {@code offset} (projection pushdown): {@code columns[k]} is
+     * the index in {@code schema} of column {@code k} of {@code out}. The other columns are not touched.
+     */
+    public static Tuple decode(Schema schema, ByteBuffer buf, int offset, int[] columns, Schema out) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        if (columns.length != out.size()) throw new IllegalArgumentException("columns do not match output schema");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        RowLayout layout = schema.layout();
+        Object[] vals = new Object[columns.length];
+        for (int k = 0; k < vals.length; k++) vals[k] = column(layout, buf, offset, columns[k]);
+        return new Tuple(out, vals);
+    }
+
+    /**
+     * Returns a Tuple over the encoded row in {@code bytes} that decodes each column on its first access, so
+     * e.g. rows rejected by a filter on one column never build the Strings of the others. {@code bytes} must
+     * not change afterwards.
+     */
+    public static Tuple lazy(Schema schema, byte[] bytes) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(bytes, "bytes");
+        return new Tuple(schema, bytes);
+    }
+
+    /**
+     * Points {@code out} at the row starting at {@code offset} of {@code buf}, decoding nothing yet: column
+     * {@code k} of {@code out} is column {@code columns[k]} of {@code schema} (null = the same column), decoded on
+     * its first access. {@code buf} must stay unchanged until {@code out} is rewritten.
+     */
+    public static void attach(Schema schema, ByteBuffer buf, int offset, int[] columns, RowBuffer out) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        int width = columns == null ? schema.size() : columns.length;
+        if (width != out.size()) throw new IllegalArgumentException("columns do not match output schema");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        out.attach(schema.layout(), buf, offset, columns);
+    }
+
+    /** Decodes column {@code i} of the row at {@code offset} of a little-endian buffer; null if it is null. */
+    static Object column(RowLayout layout, ByteBuffer buf, int offset, int i) {
+        if (layout.isNull(buf, offset, i)) return null;
+        if (layout.isVar(i)) {
+            int ordinal = layout.varOrdinal(i);
+            int start = ordinal == 0 ? layout.varBaseAt(buf, offset)
+                    : Short.toUnsignedInt(buf.getShort(layout.endSlotAt(buf, offset, ordinal - 1)));
+            int end = Short.toUnsignedInt(buf.getShort(layout.endSlotAt(buf, offset, ordinal)));
+            return RowCodec.readString(buf, offset + start, end - start);
+        }
+        int at = layout.fixedAt(buf, offset, i);
+        return switch (layout.type(i)) {
+            case INT -> buf.getInt(at);
+            case BIGINT -> buf.getLong(at);
+            case BOOLEAN -> buf.get(at) != 0;
+            case FLOAT -> buf.getFloat(at);
+            default -> throw new IllegalStateException("Unsupported type: " + layout.type(i));
+        };
+    }
+
+    /**
+     * Reads fixed-width column {@code i} of the row at {@code offset} in RowBuffer's slot form: INT and BIGINT as
+     * their value, BOOLEAN as 0/1, FLOAT as its raw int bits. The column must not be null.
+     */
+    static long fixedBits(RowLayout layout, ByteBuffer buf, int offset, int i) {
+        int at = layout.fixedAt(buf, offset, i);
+        return switch (layout.type(i)) {
+            case INT, FLOAT -> buf.getInt(at);
+            case BIGINT -> buf.getLong(at);
+            case BOOLEAN -> buf.get(at) != 0 ? 1 : 0;
+            default -> throw new IllegalStateException("Unsupported type: " + layout.type(i));
+        };
+    }
+}
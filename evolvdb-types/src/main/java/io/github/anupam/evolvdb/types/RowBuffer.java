@@ -0,0 +1,230 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Mutable, reusable row bound to a Schema, for the executor's row-at-a-time path. Unlike {@link Tuple}, one
+ * buffer is rewritten for every row an operator produces, so passing a row along allocates nothing.
+ *
+ * INT, BIGINT, BOOLEAN and FLOAT columns live in primitive slots and are read and written through the typed
+ * accessors without boxing; STRING and VARCHAR columns hold their String. The typed accessor used for a column
+ * must match its type; a null column reads as 0, false or null through them, and {@link #isNull} tells it apart.
+ * A buffer can also point at an encoded row ({@link OffsetsRowCodec#attach}, {@link CompactRowCodec#attach},
+ * {@link RowCodec#attach}), in which case each column is decoded on its first access.
+ *
+ * A row read from an operator is only valid until the operator's next call; keep it with {@link #copy} or
+ * {@link #toTuple}.
+ */
+public final class RowBuffer {
+    private final Schema schema;
+    private final Type[] types;
+    private final long[] prims;   // INT and BIGINT value, BOOLEAN as 0/1, FLOAT as its raw int bits
+    private final Object[] refs;  // STRING and VARCHAR values
+    private final boolean[] nulls;
+    private final boolean[] ready; // slot holds its value; else it is still in the attached row
+
+    private RowLayout rowLayout; // attached encoded row, or null
+    private WalkedLayout walkedLayout; // instead, attached row in the compact or legacy format
+    private int[] starts = new int[0];   // column of the attached walked row -> start of its bytes
+    private ByteBuffer row;
+    private int rowOffset;
+    private int[] rowColumns;    // slot -> column of the attached row, or null for the same index
+
+    public RowBuffer(Schema schema) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+        int n = schema.size();
+        this.types = new Type[n];
+        for (int i = 0; i < n; i++) types[i] = schema.columns().get(i).type();
+        this.prims = new long[n];
+        this.refs = new Object[n];
+        this.nulls = new boolean[n];
+        this.ready = new boolean[n];
+    }
+
+    /** Returns a new buffer holding the values of {@code tuple}. */
+    public static RowBuffer of(Tuple tuple) {
+        RowBuffer out = new RowBuffer(tuple.schema());
+        out.load(tuple);
+        return out;
+    }
+
+    public Schema schema() { return schema; }
+    public int size() { return types.length; }
+    public Type type(int i) { return types[i]; }
+
+    public int getInt(int i) { return (int) prim(i); }
+    public long getLong(int i) { return prim(i); }
+    public float getFloat(int i) { return Float.intBitsToFloat((int) prim(i)); }
+    public boolean getBoolean(int i) { return prim(i) != 0; }
+
+    public String getString(int i) {
+        if (!ready[i]) decode(i);
+        return (String) refs[i];
+    }
+
+    public boolean isNull(int i) {
+        if (!ready[i]) decode(i);
+        return nulls[i];
+    }
+
+    /** Returns column {@code i} boxed as in a Tuple: Integer, Long, Boolean, Float, String or null. */
+    public Object get(int i) {
+        if (isNull(i)) return null;
+        return switch (types[i]) {
+            case INT -> getInt(i);
+            case BIGINT -> getLong(i);
+            case BOOLEAN -> getBoolean(i);
+            case FLOAT -> getFloat(i);
+            case STRING, VARCHAR -> getString(i);
+        };
+    }
+
+    public void setInt(int i, int v) { setPrim(i, v); }
+    public void setLong(int i, long v) { setPrim(i, v); }
+    public void setFloat(int i, float v) { setPrim(i, Float.floatToRawIntBits(v)); }
+    public void setBoolean(int i, boolean v) { setPrim(i, v ? 1 : 0); }
+
+    public void setString(int i, String v) {
+        refs[i] = v;
+        nulls[i] = v == null;
+        ready[i] = true;
+    }
+
+    /** Sets column {@code i} to null, whether or not the column is nullable; {@link #set} checks that. */
+    public void setNull(int i) {
+        prims[i] = 0;
+        refs[i] = null;
+        nulls[i] = true;
+        ready[i] = true;
+    }
+
+    /**
+     * Sets column {@code i} from a boxed value, validated against the column like a Tuple's values are. Throws
+     * IllegalArgumentException on a mismatch.
+     */
+    public void set(int i, Object v) {
+        ColumnMeta col = schema.columns().get(i);
+        Tuple.validate(col, v);
+        if (v == null) {
+            setNull(i);
+            return;
+        }
+        switch (types[i]) {
+            case INT -> setInt(i, (Integer) v);
+            case BIGINT -> setLong(i, (Long) v);
+            case BOOLEAN -> setBoolean(i, (Boolean) v);
+            case FLOAT -> setFloat(i, (Float) v);
+            case STRING, VARCHAR -> setString(i, (String) v);
+        }
+    }
+
+    /**
+     * Copies column {@code from} of {@code src} into column {@code i}, without boxing. The two columns must have
+     * the same type (STRING and VARCHAR are interchangeable).
+     */
+    public void copyFrom(int i, RowBuffer src, int from) {
+        if (!src.ready[from]) src.decode(from);
+        prims[i] = src.prims[from];
+        refs[i] = src.refs[from];
+        nulls[i] = src.nulls[from];
+        ready[i] = true;
+    }
+
+    /** Overwrites every column with the values of {@code tuple}, which must match this buffer's column types. */
+    public void load(Tuple tuple) {
+        if (tuple.schema().size() != types.length) {
+            throw new IllegalArgumentException("Tuple values size does not match schema");
+        }
+        detach();
+        for (int i = 0; i < types.length; i++) set(i, tuple.get(i));
+    }
+
+    /** Returns a detached copy with every column decoded, for operators that keep rows past their next call. */
+    public RowBuffer copy() {
+        RowBuffer out = new RowBuffer(schema);
+        for (int i = 0; i < types.length; i++) out.copyFrom(i, this, i);
+        return out;
+    }
+
+    /** Returns the row as an immutable Tuple bound to this buffer's schema. */
+    public Tuple toTuple() {
+        Object[] vals = new Object[types.length];
+        for (int i = 0; i < vals.length; i++) vals[i] = get(i);
+        return new Tuple(schema, vals);
+    }
+
+    /** Points this buffer at an encoded row; see {@link OffsetsRowCodec#attach}. */
+    void attach(RowLayout layout, ByteBuffer buf, int offset, int[] columns) {
+        this.rowLayout = layout;
+        this.walkedLayout = null;
+        this.row = buf;
+        this.rowOffset = offset;
+        this.rowColumns = columns;
+        Arrays.fill(ready, false);
+    }
+
+    /**
+     * Points this buffer at a row whose columns are found by walking it; see {@link CompactRowCodec#attach} and
+     * {@link RowCodec#attach}.
+     */
+    void attach(WalkedLayout layout, ByteBuffer buf, int offset, int[] columns) {
+        int upTo = layout.size();
+        if (columns != null) {
+            upTo = 0;
+            for (int c : columns) upTo = Math.max(upTo, c + 1);
+        }
+        if (starts.length < upTo) starts = new int[layout.size()];
+        layout.starts(buf, offset, starts, upTo);
+        this.rowLayout = null;
+        this.walkedLayout = layout;
+        this.row = buf;
+        this.rowOffset = offset;
+        this.rowColumns = columns;
+        Arrays.fill(ready, false);
+    }
+
+    private void detach() {
+        this.rowLayout = null;
+        this.walkedLayout = null;
+        this.row = null;
+        this.rowColumns = null;
+    }
+
+    private long prim(int i) {
+        if (!ready[i]) decode(i);
+        return prims[i];
+    }
+
+    private void setPrim(int i, long v) {
+        prims[i] = v;
+        nulls[i] = false;
+        ready[i] = true;
+    }
+
+    private void decode(int i) {
+        if (rowLayout == null && walkedLayout == null) {
+            throw new IllegalStateException("column " + i + " has no value");
+        }
+        int column = rowColumns == null ? i : rowColumns[i];
+        nulls[i] = walkedLayout != null ? walkedLayout.isNull(row, rowOffset, column)
+                : rowLayout.isNull(row, rowOffset, column);
+        if (nulls[i]) {
+            prims[i] = 0;
+            refs[i] = null;
+        } else if (walkedLayout != null) {
+            Type t = walkedLayout.type(column);
+            if (t == Type.STRING || t == Type.VARCHAR) {
+                refs[i] = walkedLayout.column(row, rowOffset, starts[column], column);
+            } else {
+                prims[i] = walkedLayout.bits(row, rowOffset, starts[column], column);
+            }
+        } else if (rowLayout.isVar(column)) {
+            refs[i] = OffsetsRowCodec.column(rowLayout, row, rowOffset, column);
+        } else {
+            prims[i] = OffsetsRowCodec.fixedBits(rowLayout, row, rowOffset, column);
+        }
+        ready[i] = true;
+    }
+}
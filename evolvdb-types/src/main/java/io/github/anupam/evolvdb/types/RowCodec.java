@@ -3,19 +3,23 @@ package io.github.anupam.evolvdb.types;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
 
 /**
- * RowCodec encodes/decodes a Tuple bound to a Schema into a compact binary form.
+ * RowCodec encodes/decodes a Tuple bound to a Schema into a compact binary form; it is the codec of
+ * {@link RowFormat#LEGACY} tables. {@link OffsetsRowCodec} and {@link CompactRowCodec} write the other formats.
  *
- * Encoding (little-endian):
- *  - INT:    4 bytes
- *  - BIGINT: 8 bytes
- *  - BOOLEAN: 1 byte (0=false,1=true)
- *  - FLOAT:  4 bytes (IEEE-754)
- *  - STRING/VARCHAR: [u16 byteLen][UTF-8 bytes]
+ * Encoding (little-endian), see {@link LegacyLayout}:
+ *  - if the schema has nullable columns, the null bitmap of the offsets format
+ *  - the columns that are not null, in column order:
+ *    - INT:    4 bytes
+ *    - BIGINT: 8 bytes
+ *    - BOOLEAN: 1 byte (0=false,1=true)
+ *    - FLOAT:  4 bytes (IEEE-754)
+ *    - STRING/VARCHAR: [u16 byteLen][UTF-8 bytes]
+ *
+ * Tables written before nullable columns existed have no nullable columns, hence no bitmap, so their rows decode
+ * unchanged. As with {@link CompactRowCodec}, a column is only found by stepping over the ones before it.
  */
 public final class RowCodec {
     private RowCodec() {}
@@ -27,22 +31,124 @@ public final class RowCodec {
             // require same instance to avoid accidental mismatch; caller can pass exact schema used to build tuple
             throw new IllegalArgumentException("Tuple is not bound to provided Schema instance");
         }
-        int size = computeSize(schema, tuple.values());
+        LegacyLayout layout = schema.legacyLayout();
+        byte[][] strings = new byte[schema.size()][];
+        int size = layout.header();
+        for (int i = 0; i < schema.size(); i++) {
+            Object v = tuple.get(i);
+            if (v == null) continue;
+            int width = RowLayout.fixedWidth(layout.type(i));
+            if (width >= 0) {
+                size += width;
+                continue;
+            }
+            byte[] b = ((String) v).getBytes(StandardCharsets.UTF_8);
+            if (b.length > 0xFFFF) throw new IllegalArgumentException("string too large to encode");
+            strings[i] = b;
+            size += 2 + b.length;
+        }
         ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
-        write(schema, tuple.values(), buf);
+        int at = layout.header();
+        for (int i = 0; i < schema.size(); i++) {
+            Object v = tuple.get(i);
+            if (v == null) {
+                int bit = layout.nullBit(i);
+                buf.put(bit >>> 3, (byte) (buf.get(bit >>> 3) | (1 << (bit & 7))));
+                continue;
+            }
+            switch (layout.type(i)) {
+                case INT -> buf.putInt(at, (Integer) v);
+                case BIGINT -> buf.putLong(at, (Long) v);
+                case BOOLEAN -> buf.put(at, (byte) ((Boolean) v ? 1 : 0));
+                case FLOAT -> buf.putFloat(at, (Float) v);
+                case STRING, VARCHAR -> {
+                    buf.putShort(at, (short) strings[i].length);
+                    buf.put(at + 2, strings[i]);
+                }
+            }
+            at = layout.skip(buf, at, i);
+        }
         return buf.array();
     }
 
     public static Tuple decode(Schema schema, byte[] bytes) {
-        Objects.requireNonNull(schema, "schema");
         Objects.requireNonNull(bytes, "bytes");
-        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        return decode(schema, ByteBuffer.wrap(bytes), 0);
+    }
+
+    /**
+     * Decodes the row stored in {@code bytes} from its position onwards, without copying it first. The buffer's
+     * position is left unchanged.
+     */
+    public static Tuple decode(Schema schema, ByteBuffer bytes) {
+        Objects.requireNonNull(bytes, "bytes");
+        return decode(schema, bytes, bytes.position());
+    }
+
+    /** Decodes the row starting at absolute index {@code offset} of {@code buf}, e.g. inside a pinned page. */
+    public static Tuple decode(Schema schema, ByteBuffer buf, int offset) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        LegacyLayout layout = schema.legacyLayout();
         Object[] vals = new Object[schema.size()];
-        for (int i = 0; i < schema.size(); i++) {
-            ColumnMeta col = schema.columns().get(i);
-            vals[i] = readOne(col, buf);
+        int at = offset + layout.header();
+        for (int i = 0; i < vals.length; i++) {
+            vals[i] = layout.column(buf, offset, at, i);
+            if (vals[i] != null) at = layout.skip(buf, at, i);
+        }
+        return new Tuple(schema, vals);
+    }
+
+    /**
+     * Decodes only the given columns of the row at {@code offset}: {@code columns[k]} is the index in
+     * {@code schema} of column {@code k} of {@code out}. The row is walked up to the last of them.
+     */
+    public static Tuple decode(Schema schema, ByteBuffer buf, int offset, int[] columns, Schema out) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        if (columns.length != out.size()) throw new IllegalArgumentException("columns do not match output schema");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        LegacyLayout layout = schema.legacyLayout();
+        int upTo = 0;
+        for (int c : columns) upTo = Math.max(upTo, c + 1);
+        int[] starts = new int[upTo];
+        layout.starts(buf, offset, starts, upTo);
+        Object[] vals = new Object[columns.length];
+        for (int k = 0; k < vals.length; k++) vals[k] = layout.column(buf, offset, starts[columns[k]], columns[k]);
+        return new Tuple(out, vals);
+    }
+
+    /**
+     * Points {@code out} at the row starting at {@code offset} of {@code buf}, like {@link OffsetsRowCodec#attach}:
+     * column {@code k} of {@code out} is column {@code columns[k]} of {@code schema} (null = the same column). The
+     * start of each column is found now; values are decoded on first access. {@code buf} must stay unchanged until
+     * {@code out} is rewritten.
+     */
+    public static void attach(Schema schema, ByteBuffer buf, int offset, int[] columns, RowBuffer out) {
+        Objects.requireNonNull(schema, "schema");
+        Objects.requireNonNull(buf, "buf");
+        int width = columns == null ? schema.size() : columns.length;
+        if (width != out.size()) throw new IllegalArgumentException("columns do not match output schema");
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) buf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        out.attach(schema.legacyLayout(), buf, offset, columns);
+    }
+
+    /**
+     * Maps the columns of {@code columns} to their indexes in {@code schema}, by name (case-insensitive). Throws
+     * IllegalArgumentException if one is missing or has a different type.
+     */
+    public static int[] columnIndexes(Schema schema, Schema columns) {
+        int[] idx = new int[columns.size()];
+        for (int k = 0; k < idx.length; k++) {
+            ColumnMeta col = columns.columns().get(k);
+            int i = schema.indexOf(col.name());
+            if (i < 0 || schema.columns().get(i).type() != col.type()) {
+                throw new IllegalArgumentException("column not in schema: " + col.name());
+            }
+            idx[k] = i;
         }
-        return new Tuple(schema, Arrays.asList(vals));
+        return idx;
     }
 
     public static String toDebugString(Tuple t) {
@@ -58,60 +164,13 @@ public final class RowCodec {
         return sb.toString();
     }
 
-    private static int computeSize(Schema schema, List<Object> values) {
-        int total = 0;
-        for (int i = 0; i < schema.size(); i++) {
-            ColumnMeta col = schema.columns().get(i);
-            Object v = values.get(i);
-            switch (col.type()) {
-                case INT -> total += 4;
-                case BIGINT -> total += 8;
-                case BOOLEAN -> total += 1;
-                case FLOAT -> total += 4;
-                case STRING, VARCHAR -> {
-                    String s = (String) v;
-                    int bytesLen = s.getBytes(StandardCharsets.UTF_8).length;
-                    if (bytesLen > 0xFFFF) throw new IllegalArgumentException("string too large to encode");
-                    total += 2 + bytesLen;
-                }
-                default -> throw new IllegalStateException("Unsupported type: " + col.type());
-            }
+    static String readString(ByteBuffer buf, int at, int len) {
+        if (buf.hasArray()) {
+            // Decode straight from the backing array
+            return new String(buf.array(), buf.arrayOffset() + at, len, StandardCharsets.UTF_8);
         }
-        return total;
-    }
-
-    private static void write(Schema schema, List<Object> values, ByteBuffer buf) {
-        for (int i = 0; i < schema.size(); i++) {
-            ColumnMeta col = schema.columns().get(i);
-            Object v = values.get(i);
-            switch (col.type()) {
-                case INT -> buf.putInt((Integer) v);
-                case BIGINT -> buf.putLong((Long) v);
-                case BOOLEAN -> buf.put((byte) ((Boolean) v ? 1 : 0));
-                case FLOAT -> buf.putFloat((Float) v);
-                case STRING, VARCHAR -> {
-                    byte[] nb = ((String) v).getBytes(StandardCharsets.UTF_8);
-                    buf.putShort((short) nb.length);
-                    buf.put(nb);
-                }
-                default -> throw new IllegalStateException("Unsupported type: " + col.type());
-            }
-        }
-    }
-
-    private static Object readOne(ColumnMeta col, ByteBuffer buf) {
-        return switch (col.type()) {
-            case INT -> buf.getInt();
-            case BIGINT -> buf.getLong();
-            case BOOLEAN -> buf.get() != 0;
-            case FLOAT -> buf.getFloat();
-            case STRING, VARCHAR -> {
-                int len = Short.toUnsignedInt(buf.getShort());
-                byte[] nb = new byte[len];
-                buf.get(nb);
-                yield new String(nb, StandardCharsets.UTF_8);
-            }
-            default -> throw new IllegalStateException("Unsupported type: " + col.type());
-        };
+        byte[] nb = new byte[len];
+        buf.get(at, nb);
+        return new String(nb, StandardCharsets.UTF_8);
     }
 }
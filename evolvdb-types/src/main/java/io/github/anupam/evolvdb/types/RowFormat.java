@@ -0,0 +1,23 @@
+package io.github.anupam.evolvdb.types;
+
+/**
+ * Encoding of a table's stored rows, chosen when the table is created. Catalog records store the ordinal, so new
+ * formats are only ever appended.
+ */
+public enum RowFormat {
+    /**
+     * Fixed-width columns at static offsets, then a u16 end offset per string column, readable in any order
+     * ({@link OffsetsRowCodec}). The default for new tables.
+     */
+    OFFSETS,
+    /**
+     * Varint integers, varint string lengths and bit-packed booleans: smaller rows, whose columns are found by
+     * walking the row front to back ({@link CompactRowCodec}).
+     */
+    COMPACT,
+    /**
+     * Columns in order, each string behind its u16 byte length ({@link RowCodec}). The format of tables
+     * from before row formats were recorded.
+     */
+    LEGACY
+}
@@ -0,0 +1,130 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where each column of a Schema lives inside an encoded row (see {@link OffsetsRowCodec}). Computed once per Schema.
+ *
+ * A schema with nullable columns starts each row with a null bitmap, one bit per nullable column in column order
+ * (bit set = null). Fixed-width columns come next, in column order, followed by one u16 end offset per var-width
+ * column and then the var-width payloads, so var-width column {@code j} spans {@code [end(j - 1), end(j))}, with
+ * {@code end(-1)} the start of the payload section.
+ *
+ * A null column takes no payload bytes: a null fixed-width column is left out of the fixed section, and a null
+ * var-width one repeats the previous end offset. So the static offsets here hold for a row without nulls; the
+ * {@code ...At} methods read the bitmap to place a column of a given row, walking only the nullable fixed-width
+ * columns before it. Without nullable columns there is no bitmap and every offset is static.
+ */
+final class RowLayout {
+    private final Type[] types;
+    private final int[] slot;   // fixed: byte offset in a row without nulls; var-width: ordinal among var-width
+    private final boolean[] var;
+    private final int[] nullBit; // bit in the null bitmap, or -1 for a NOT NULL column
+    private final int[] nullableFixed; // nullable fixed-width columns, in column order
+    private final int nullBytes;
+    private final int fixedSize;
+    private final int varCount;
+
+    RowLayout(Schema schema) {
+        int n = schema.size();
+        this.types = new Type[n];
+        this.slot = new int[n];
+        this.var = new boolean[n];
+        this.nullBit = new int[n];
+        int nullable = 0;
+        int nullableFixedCount = 0;
+        for (int i = 0; i < n; i++) {
+            ColumnMeta col = schema.columns().get(i);
+            nullBit[i] = col.nullable() ? nullable++ : -1;
+            if (col.nullable() && fixedWidth(col.type()) >= 0) nullableFixedCount++;
+        }
+        this.nullBytes = (nullable + 7) / 8;
+        this.nullableFixed = new int[nullableFixedCount];
+        int fixed = nullBytes;
+        int vars = 0;
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            Type t = schema.columns().get(i).type();
+            types[i] = t;
+            int width = fixedWidth(t);
+            if (width < 0) {
+                var[i] = true;
+                slot[i] = vars++;
+            } else {
+                slot[i] = fixed;
+                fixed += width;
+                if (nullBit[i] >= 0) nullableFixed[k++] = i;
+            }
+        }
+        this.fixedSize = fixed;
+        this.varCount = vars;
+    }
+
+    /** Byte width of a fixed-width type, or -1 for a var-width one. */
+    static int fixedWidth(Type type) {
+        return switch (type) {
+            case INT, FLOAT -> 4;
+            case BIGINT -> 8;
+            case BOOLEAN -> 1;
+            case STRING, VARCHAR -> -1;
+        };
+    }
+
+    int size() { return types.length; }
+    Type type(int column) { return types[column]; }
+    boolean isVar(int column) { return var[column]; }
+    /** Byte offset of a fixed-width column within a row without nulls. */
+    int fixedOffset(int column) { return slot[column]; }
+    /** Ordinal of a var-width column among the var-width columns. */
+    int varOrdinal(int column) { return slot[column]; }
+    /** Size of the null bitmap plus every fixed-width column. */
+    int fixedSize() { return fixedSize; }
+    int varCount() { return varCount; }
+    /** Offset within a row without nulls of the u16 end offset of var-width column {@code ordinal}. */
+    int endSlot(int ordinal) { return fixedSize + 2 * ordinal; }
+    /** Offset within a row without nulls where the var-width payloads start. */
+    int varBase() { return fixedSize + 2 * varCount; }
+
+    int nullBytes() { return nullBytes; }
+    boolean nullable(int column) { return nullBit[column] >= 0; }
+    /** Bit of a nullable column in the null bitmap. */
+    int nullBit(int column) { return nullBit[column]; }
+
+    /** Whether a column sits at its static offset in every row, i.e. no null before it can move it. */
+    boolean hasStaticPosition(int column) {
+        if (nullBit[column] >= 0) return false;
+        if (var[column]) return nullableFixed.length == 0;
+        return nullableFixed.length == 0 || nullableFixed[0] > column;
+    }
+
+    /** Whether {@code column} of the row at {@code offset} is null. */
+    boolean isNull(ByteBuffer buf, int offset, int column) {
+        int bit = nullBit[column];
+        return bit >= 0 && (buf.get(offset + (bit >>> 3)) & (1 << (bit & 7))) != 0;
+    }
+
+    /** Absolute index of fixed-width column {@code column} of the row at {@code offset}. */
+    int fixedAt(ByteBuffer buf, int offset, int column) {
+        return offset + slot[column] - skipped(buf, offset, column);
+    }
+
+    /** Absolute index of the u16 end offset of var-width column {@code ordinal} of the row at {@code offset}. */
+    int endSlotAt(ByteBuffer buf, int offset, int ordinal) {
+        return offset + endSlot(ordinal) - skipped(buf, offset, types.length);
+    }
+
+    /** Offset within the row at {@code offset} where its var-width payloads start. */
+    int varBaseAt(ByteBuffer buf, int offset) {
+        return varBase() - skipped(buf, offset, types.length);
+    }
+
+    /** Bytes left out of the fixed section by null fixed-width columns before {@code column}. */
+    private int skipped(ByteBuffer buf, int offset, int column) {
+        int skipped = 0;
+        for (int c : nullableFixed) {
+            if (c >= column) break;
+            if (isNull(buf, offset, c)) skipped += fixedWidth(types[c]);
+        }
+        return skipped;
+    }
+}
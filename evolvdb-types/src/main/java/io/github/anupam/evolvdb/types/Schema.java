@@ -9,6 +9,9 @@ import java.util.stream.Collectors;
 /** Immutable schema: ordered list of columns. */
 public final class Schema {
     private final List<ColumnMeta> columns;
+    private RowLayout layout; // computed on first use; racing threads compute equal layouts
+    private CompactLayout compactLayout; // likewise
+    private LegacyLayout legacyLayout;   // likewise
 
     public Schema(List<ColumnMeta> columns) {
         Objects.requireNonNull(columns, "columns");
@@ -23,4 +26,30 @@ public final class Schema {
 
     public List<ColumnMeta> columns() { return Collections.unmodifiableList(columns); }
     public int size() { return columns.size(); }
+
+    /** Index of the column named {@code name} (case-insensitive), or -1. */
+    public int indexOf(String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).name().equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+
+    RowLayout layout() {
+        RowLayout l = layout;
+        if (l == null) layout = l = new RowLayout(this);
+        return l;
+    }
+
+    CompactLayout compactLayout() {
+        CompactLayout l = compactLayout;
+        if (l == null) compactLayout = l = new CompactLayout(this);
+        return l;
+    }
+
+    LegacyLayout legacyLayout() {
+        LegacyLayout l = legacyLayout;
+        if (l == null) legacyLayout = l = new LegacyLayout(this);
+        return l;
+    }
 }
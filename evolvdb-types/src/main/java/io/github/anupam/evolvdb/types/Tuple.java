@@ -1,16 +1,25 @@
 package io.github.anupam.evolvdb.types;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * Immutable tuple (row) bound to a Schema. Values are validated against column types.
- * Nulls are not supported yet (M7 scope).
+ * Immutable tuple (row) bound to a Schema. Values are validated against column types; null is accepted only
+ * for nullable columns.
+ *
+ * A tuple made by {@link OffsetsRowCodec#lazy} keeps the encoded row and decodes a column on its first access. It still
+ * looks immutable: decoding the same column twice, e.g. from two threads, yields equal values.
  */
 public final class Tuple {
+    private static final Object UNDECODED = new Object();
+
     private final Schema schema;
-    private final List<Object> values; // sized to schema.columns().size()
+    private final Object[] values; // sized to schema.columns().size()
+    private final ByteBuffer row;  // encoded row of a lazy tuple, else null
 
     public Tuple(Schema schema, List<?> values) {
         this.schema = Objects.requireNonNull(schema, "schema");
@@ -18,17 +27,36 @@ public final class Tuple {
         if (values.size() != schema.size()) {
             throw new IllegalArgumentException("Tuple values size does not match schema");
         }
-        this.values = new ArrayList<>(schema.size());
+        this.values = new Object[schema.size()];
         for (int i = 0; i < schema.size(); i++) {
             var col = schema.columns().get(i);
             Object v = values.get(i);
             validate(col, v);
-            this.values.add(v);
+            this.values[i] = v;
         }
+        this.row = null;
+    }
+
+    /** Tuple over values decoded by a row codec, which match the schema by construction; takes ownership. */
+    Tuple(Schema schema, Object[] decoded) {
+        this.schema = schema;
+        this.values = decoded;
+        this.row = null;
+    }
+
+    /** Lazy tuple over an encoded row; values are not validated, they were when the row was encoded. */
+    Tuple(Schema schema, byte[] row) {
+        this.schema = schema;
+        this.values = new Object[schema.size()];
+        Arrays.fill(values, UNDECODED);
+        this.row = ByteBuffer.wrap(row).order(ByteOrder.LITTLE_ENDIAN);
     }
 
-    private static void validate(ColumnMeta col, Object v) {
-        if (v == null) throw new IllegalArgumentException("Nulls not supported yet");
+    static void validate(ColumnMeta col, Object v) {
+        if (v == null) {
+            if (col.nullable()) return;
+            throw new IllegalArgumentException(col.name() + " is NOT NULL");
+        }
         switch (col.type()) {
             case INT -> {
                 if (!(v instanceof Integer)) throw new IllegalArgumentException(col.name() + " expects INT");
@@ -55,6 +83,18 @@ public final class Tuple {
     }
 
     public Schema schema() { return schema; }
-    public List<Object> values() { return List.copyOf(values); }
-    public Object get(int idx) { return values.get(idx); }
+    public List<Object> values() {
+        Object[] out = new Object[values.length];
+        for (int i = 0; i < out.length; i++) out[i] = get(i);
+        return Collections.unmodifiableList(Arrays.asList(out)); // may hold nulls
+    }
+
+    public Object get(int idx) {
+        Object v = values[idx];
+        if (v == UNDECODED) {
+            v = OffsetsRowCodec.column(schema.layout(), row, 0, idx);
+            values[idx] = v;
+        }
+        return v;
+    }
 }
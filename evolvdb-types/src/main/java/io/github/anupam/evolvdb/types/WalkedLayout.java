@@ -0,0 +1,34 @@
+package io.github.anupam.evolvdb.types;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of a row format whose columns sit one after another, each sized by its value, so a column is found by
+ * stepping over the ones before it ({@link CompactLayout}, {@link LegacyLayout}). A {@link RowBuffer} attached to
+ * such a row records every column's start once ({@link #starts}) and decodes from there.
+ */
+interface WalkedLayout {
+    int size();
+    Type type(int column);
+
+    boolean isNull(ByteBuffer buf, int offset, int column);
+
+    /**
+     * Records in {@code starts} the absolute index of each of the columns {@code [0, upTo)} of the row at
+     * {@code offset}: where its bytes begin, or for a column stored elsewhere or null where they would. Returns
+     * where the next column begins.
+     */
+    int starts(ByteBuffer buf, int offset, int[] starts, int upTo);
+
+    /**
+     * Decodes column {@code column} of the row at {@code offset}, whose bytes begin at {@code at} (see
+     * {@link #starts}); null if it is null.
+     */
+    Object column(ByteBuffer buf, int offset, int at, int column);
+
+    /**
+     * Reads non-null fixed-size column {@code column} in RowBuffer's slot form, like
+     * {@link OffsetsRowCodec#fixedBits}.
+     */
+    long bits(ByteBuffer buf, int offset, int at, int column);
+}
@@ -0,0 +1,106 @@
+package io.github.anupam.evolvdb.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRowCodecTest {
+    private static final Schema ROW = new Schema(List.of(
+            new ColumnMeta("id", Type.BIGINT, null),
+            new ColumnMeta("qty", Type.INT, null),
+            new ColumnMeta("active", Type.BOOLEAN, null),
+            new ColumnMeta("sku", Type.VARCHAR, 16),
+            new ColumnMeta("price", Type.FLOAT, null),
+            new ColumnMeta("deleted", Type.BOOLEAN, null),
+            new ColumnMeta("note", Type.STRING, null, true),
+            new ColumnMeta("parent", Type.INT, null, true)
+    ));
+
+    @Test
+    void givenSmallValues_whenEncode_thenVarintsAndPackedBooleansShrinkTheRow() {
+        Tuple t = new Tuple(ROW, Arrays.asList(42L, -3, true, "ab", 1.5f, true, null, 64));
+        byte[] bytes = CompactRowCodec.encode(ROW, t);
+        // bitmap, booleans, id, qty, sku length + bytes, price, parent
+        assertEquals(1 + 1 + 1 + 1 + (1 + 2) + 4 + 2, bytes.length);
+        assertEquals(0b01, bytes[0]);             // note is null
+        assertEquals(0b11, bytes[1]);             // active, deleted
+        assertEquals(84, bytes[2]);               // zig-zag(42)
+        assertEquals(5, bytes[3]);                // zig-zag(-3)
+        assertEquals((byte) 0x80, bytes[bytes.length - 2]); // zig-zag(64) = 128 takes a second byte
+        assertEquals(1, bytes[bytes.length - 1]);
+        assertTrue(bytes.length < OffsetsRowCodec.encode(ROW, t).length / 2);
+        assertEquals(t.values(), CompactRowCodec.decode(ROW, bytes).values());
+    }
+
+    @Test
+    void givenExtremeValues_whenEncodeDecode_thenRoundTrip() {
+        for (Tuple t : List.of(
+                new Tuple(ROW, Arrays.asList(Long.MIN_VALUE, Integer.MIN_VALUE, false, "", -0.0f, false, "", null)),
+                new Tuple(ROW, Arrays.asList(Long.MAX_VALUE, Integer.MAX_VALUE, true, "héllo wörld", Float.NaN, false,
+                        "x".repeat(300), Integer.MIN_VALUE)),
+                new Tuple(ROW, Arrays.asList(-1L, 0, false, "z", 2f, true, null, -1)))) {
+            byte[] bytes = CompactRowCodec.encode(ROW, t);
+            assertEquals(t.values(), CompactRowCodec.decode(ROW, bytes).values());
+            ByteBuffer page = ByteBuffer.allocateDirect(512).put(37, bytes);
+            assertEquals(t.values(), CompactRowCodec.decode(ROW, page, 37).values());
+        }
+        assertThrows(IllegalArgumentException.class, () -> CompactRowCodec.encode(new Schema(ROW.columns()),
+                new Tuple(ROW, Arrays.asList(1L, 1, true, "a", 1f, true, null, null))));
+    }
+
+    @Test
+    void givenColumnSubset_whenDecodedAndAttached_thenOnlyThoseColumnsInSubsetOrder() {
+        byte[] first = CompactRowCodec.encode(ROW,
+                new Tuple(ROW, Arrays.asList(1L, 10, true, "a", 0.5f, false, null, 7)));
+        byte[] second = CompactRowCodec.encode(ROW,
+                new Tuple(ROW, Arrays.asList(2L, 20, false, "bb", 1f, true, "n", null)));
+        ByteBuffer buf = ByteBuffer.allocate(first.length + second.length);
+        buf.put(0, first).put(first.length, second);
+
+        Schema out = new Schema(List.of(
+                new ColumnMeta("parent", Type.INT, null, true),
+                new ColumnMeta("deleted", Type.BOOLEAN, null),
+                new ColumnMeta("sku", Type.VARCHAR, 16)
+        ));
+        int[] idx = RowCodec.columnIndexes(ROW, out);
+        assertEquals(Arrays.asList(7, false, "a"), CompactRowCodec.decode(ROW, buf, 0, idx, out).values());
+        assertEquals(Arrays.asList(null, true, "bb"),
+                CompactRowCodec.decode(ROW, buf, first.length, idx, out).values());
+
+        RowBuffer row = new RowBuffer(out);
+        CompactRowCodec.attach(ROW, buf, 0, idx, row);
+        assertEquals(7, row.getInt(0));
+        RowBuffer kept = row.copy();
+        CompactRowCodec.attach(ROW, buf, first.length, idx, row);
+        assertTrue(row.isNull(0));
+        assertTrue(row.getBoolean(1));
+        assertEquals("bb", row.getString(2));
+        assertEquals(Arrays.asList(7, false, "a"), kept.toTuple().values());
+
+        RowBuffer whole = new RowBuffer(ROW);
+        CompactRowCodec.attach(ROW, buf, first.length, null, whole);
+        assertEquals(2L, whole.getLong(0));
+        assertEquals(1f, whole.getFloat(4));
+        assertEquals(Arrays.asList(2L, 20, false, "bb", 1f, true, "n", null), whole.toTuple().values());
+    }
+
+    @Test
+    void givenVarint_whenSizedWrittenAndRead_thenAgree() {
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        long[] values = {0, 1, -1, 63, -64, 64, 8191, -8192, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long v : values) {
+            long z = CompactLayout.zigZag(v);
+            int end = CompactLayout.putVar(buf, 0, z);
+            assertEquals(CompactLayout.varSize(z), end, Long.toString(v));
+            assertEquals(end, CompactLayout.varEnd(buf, 0));
+            assertEquals(v, CompactLayout.unZigZag(CompactLayout.readVar(buf, 0)));
+        }
+        assertEquals(1, CompactLayout.varSize(CompactLayout.zigZag(-64)));
+        assertEquals(2, CompactLayout.varSize(CompactLayout.zigZag(8191)));
+        assertEquals(10, CompactLayout.varSize(CompactLayout.zigZag(Long.MIN_VALUE)));
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.anupam.evolvdb.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvCodecTest {
+    private final Schema schema = new Schema(List.of(
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("big", Type.BIGINT, null),
+            new ColumnMeta("ok", Type.BOOLEAN, null),
+            new ColumnMeta("score", Type.FLOAT, null),
+            new ColumnMeta("name", Type.STRING, null)
+    ));
+
+    @Test
+    void givenLineOfEveryType_whenParse_thenTypedValues() {
+        Tuple t = CsvCodec.parse(schema, "1, 9000000000,TRUE,2.5,Alice");
+        assertEquals(List.of(1, 9_000_000_000L, true, 2.5f, "Alice"), t.values());
+    }
+
+    @Test
+    void givenQuotedFields_whenParse_thenCommasAndQuotesKept() {
+        Tuple t = CsvCodec.parse(schema, "2,3,false,0,\"Smith, \"\"Bob\"\"\"");
+        assertEquals("Smith, \"Bob\"", t.get(4));
+        assertEquals("", CsvCodec.parse(schema, "2,3,false,0,").get(4));
+    }
+
+    @Test
+    void givenMalformedLine_whenParse_thenIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.parse(schema, "1,2,true,0"));
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.parse(schema, "x,2,true,0,a"));
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.parse(schema, "1,2,yes,0,a"));
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.parse(schema, "1,2,true,0,\"open"));
+    }
+
+    @Test
+    void givenNullableColumns_whenEmptyFieldParsed_thenNullButQuotedEmptyStaysEmpty() {
+        Schema nullable = new Schema(List.of(
+                new ColumnMeta("id", Type.INT, null, true),
+                new ColumnMeta("name", Type.STRING, null, true)
+        ));
+        assertEquals(Arrays.asList(null, null), CsvCodec.parse(nullable, ",").values());
+        Tuple t = CsvCodec.parse(nullable, "3,\"\"");
+        assertEquals(Arrays.asList(3, ""), t.values());
+        assertEquals("3,\"\"", CsvCodec.format(t));
+        assertEquals(",", CsvCodec.format(new Tuple(nullable, Arrays.asList(null, null))));
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.parse(schema, ",2,true,0,a"));
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.anupam.evolvdb.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetsRowCodecTest {
+
+    @Test
+    void givenRowInsideLargerBuffer_whenDecodeRegion_thenRoundTripAndPositionUnchanged() {
+        Schema schema = new Schema(List.of(
+                new ColumnMeta("id", Type.BIGINT, null),
+                new ColumnMeta("name", Type.STRING, null),
+                new ColumnMeta("ok", Type.BOOLEAN, null)
+        ));
+        Tuple t = new Tuple(schema, List.of(7L, "Bob", true));
+        byte[] bytes = OffsetsRowCodec.encode(schema, t);
+        for (ByteBuffer page : List.of(ByteBuffer.allocate(256), ByteBuffer.allocateDirect(256))) {
+            page.put(100, bytes);
+            ByteBuffer region = page.slice(100, bytes.length).asReadOnlyBuffer();
+            assertEquals(t.values(), OffsetsRowCodec.decode(schema, region).values());
+            assertEquals(0, region.position());
+            ByteBuffer heapRegion = page.duplicate().position(100).limit(100 + bytes.length);
+            assertEquals(t.values(), OffsetsRowCodec.decode(schema, heapRegion).values());
+            assertEquals(100, heapRegion.position());
+            assertEquals(t.values(), OffsetsRowCodec.decode(schema, page, 100).values());
+        }
+    }
+
+    @Test
+    void givenRowsInDirectBuffer_whenDecodedViaCopyAndInPlace_thenReportsThroughput() {
+        Schema schema = new Schema(List.of(
+                new ColumnMeta("id", Type.INT, null),
+                new ColumnMeta("amount", Type.BIGINT, null),
+                new ColumnMeta("name", Type.STRING, null)
+        ));
+        byte[] row = OffsetsRowCodec.encode(schema, new Tuple(schema, List.of(1, 2L, "abcdefghij")));
+        int perPage = 4096 / row.length;
+        ByteBuffer page = ByteBuffer.allocateDirect(4096);
+        for (int i = 0; i < perPage; i++) page.put(i * row.length, row);
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long self = Thread.currentThread().getId();
+        int pages = 20_000;
+        long rows = (long) pages * perPage;
+        ByteBuffer view = page.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        double viaCopy = 0, inPlace = 0;
+        long copyBytes = 0, inPlaceBytes = 0;
+        for (int round = 0; round < 3; round++) {
+            long a0 = threads.getThreadAllocatedBytes(self);
+            long t0 = System.nanoTime();
+            for (int p = 0; p < pages; p++) {
+                for (int i = 0; i < perPage; i++) {
+                    byte[] copy = new byte[row.length];
+                    page.get(i * row.length, copy);
+                    assertEquals(1, OffsetsRowCodec.decode(schema, copy).get(0));
+                }
+            }
+            viaCopy = Math.max(viaCopy, rows / ((System.nanoTime() - t0) / 1e9));
+            copyBytes = threads.getThreadAllocatedBytes(self) - a0;
+            a0 = threads.getThreadAllocatedBytes(self);
+            t0 = System.nanoTime();
+            for (int p = 0; p < pages; p++) {
+                for (int i = 0; i < perPage; i++) {
+                    assertEquals(1, OffsetsRowCodec.decode(schema, view, i * row.length).get(0));
+                }
+            }
+            inPlace = Math.max(inPlace, rows / ((System.nanoTime() - t0) / 1e9));
+            inPlaceBytes = threads.getThreadAllocatedBytes(self) - a0;
+        }
+        System.out.printf("row decode: byte[] copy rows/s=%.0f bytes/row=%d | in page rows/s=%.0f bytes/row=%d%n",
+                viaCopy, copyBytes / rows, inPlace, inPlaceBytes / rows);
+    }
+
+    private static final Schema WIDE = new Schema(List.of(
+            new ColumnMeta("name", Type.STRING, null),
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("note", Type.VARCHAR, 20),
+            new ColumnMeta("amount", Type.BIGINT, null),
+            new ColumnMeta("ok", Type.BOOLEAN, null)
+    ));
+
+    @Test
+    void givenMixedColumns_whenEncode_thenFixedWidthFirstThenEndOffsetsThenStrings() {
+        byte[] bytes = OffsetsRowCodec.encode(WIDE, new Tuple(WIDE, List.of("ab", 7, "xyz", 9L, true)));
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(4 + 8 + 1 + 2 * 2 + 2 + 3, bytes.length); // same size as length-prefixed strings
+        assertEquals(7, buf.getInt(0));
+        assertEquals(9L, buf.getLong(4));
+        assertEquals(1, buf.get(12));
+        assertEquals(19, buf.getShort(13)); // end of "ab"
+        assertEquals(22, buf.getShort(15)); // end of "xyz"
+        assertEquals('a', buf.get(17));
+    }
+
+    @Test
+    void givenColumnSubset_whenDecode_thenOnlyThoseColumnsInSubsetOrder() {
+        byte[] bytes = OffsetsRowCodec.encode(WIDE, new Tuple(WIDE, List.of("ab", 7, "xyz", 9L, true)));
+        Schema out = new Schema(List.of(new ColumnMeta("NOTE", Type.VARCHAR, 20), new ColumnMeta("id", Type.INT, null)));
+        int[] idx = RowCodec.columnIndexes(WIDE, out);
+        assertArrayEquals(new int[] {2, 1}, idx);
+        ByteBuffer page = ByteBuffer.allocateDirect(128).put(40, bytes);
+        Tuple t = OffsetsRowCodec.decode(WIDE, page, 40, idx, out);
+        assertSame(out, t.schema());
+        assertEquals(List.of("xyz", 7), t.values());
+        assertThrows(IllegalArgumentException.class, () -> RowCodec.columnIndexes(WIDE,
+                new Schema(List.of(new ColumnMeta("missing", Type.INT, null)))));
+        assertThrows(IllegalArgumentException.class, () -> RowCodec.columnIndexes(WIDE,
+                new Schema(List.of(new ColumnMeta("id", Type.BIGINT, null)))));
+    }
+
+    @Test
+    void givenLazyTuple_whenColumnsAccessed_thenOnlyThoseAreDecoded() {
+        byte[] bytes = OffsetsRowCodec.encode(WIDE, new Tuple(WIDE, List.of("ab", 7, "xyz", 9L, true)));
+        Tuple whole = OffsetsRowCodec.lazy(WIDE, bytes.clone());
+        assertEquals(List.of("ab", 7, "xyz", 9L, true), whole.values());
+
+        // Corrupt the end offset of "xyz": only reading that column notices
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putShort(15, (short) 1000);
+        Tuple t = OffsetsRowCodec.lazy(WIDE, bytes);
+        assertEquals(7, t.get(1));
+        assertEquals("ab", t.get(0));
+        assertEquals(9L, t.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> t.get(2));
+    }
+
+    @Test
+    void givenWideRows_whenDecodedWholeSubsetAndLazily_thenReportsThroughput() {
+        byte[] row = OffsetsRowCodec.encode(WIDE, new Tuple(WIDE, List.of("customer name", 7, "some note", 9L, true)));
+        int perPage = 4096 / row.length;
+        ByteBuffer page = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < perPage; i++) page.put(i * row.length, row);
+        Schema idOnly = new Schema(List.of(new ColumnMeta("id", Type.INT, null)));
+        int[] idx = RowCodec.columnIndexes(WIDE, idOnly);
+        int pages = 20_000;
+        long rows = (long) pages * perPage;
+        double whole = 0, subset = 0, lazy = 0;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            for (int p = 0; p < pages; p++) {
+                for (int i = 0; i < perPage; i++) {
+                    assertEquals(7, OffsetsRowCodec.decode(WIDE, page, i * row.length).get(1));
+                }
+            }
+            long t1 = System.nanoTime();
+            for (int p = 0; p < pages; p++) {
+                for (int i = 0; i < perPage; i++) {
+                    assertEquals(7, OffsetsRowCodec.decode(WIDE, page, i * row.length, idx, idOnly).get(0));
+                }
+            }
+            long t2 = System.nanoTime();
+            for (int p = 0; p < pages; p++) {
+                for (int i = 0; i < perPage; i++) {
+                    byte[] copy = new byte[row.length];
+                    page.get(i * row.length, copy);
+                    assertEquals(7, OffsetsRowCodec.lazy(WIDE, copy).get(1));
+                }
+            }
+            long t3 = System.nanoTime();
+            whole = Math.max(whole, rows / ((t1 - t0) / 1e9));
+            subset = Math.max(subset, rows / ((t2 - t1) / 1e9));
+            lazy = Math.max(lazy, rows / ((t3 - t2) / 1e9));
+        }
+        System.out.printf("read 1 of 5 columns: decode all rows/s=%.0f | decode subset rows/s=%.0f | copy+lazy rows/s=%.0f%n",
+                whole, subset, lazy);
+    }
+
+    private static final Schema NULLABLE = new Schema(List.of(
+            new ColumnMeta("name", Type.STRING, null, true),
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("score", Type.BIGINT, null, true),
+            new ColumnMeta("note", Type.VARCHAR, 8),
+            new ColumnMeta("ok", Type.BOOLEAN, null, true)
+    ));
+
+    @Test
+    void givenNullableColumns_whenNullsEncoded_thenBitmapSetAndNullsTakeNoBytes() {
+        byte[] full = OffsetsRowCodec.encode(NULLABLE, new Tuple(NULLABLE, List.of("ab", 7, 9L, "xyz", true)));
+        assertEquals(1 + 4 + 8 + 1 + 2 * 2 + 2 + 3, full.length);
+        assertEquals(0, full[0]);
+
+        List<Object> values = Arrays.asList(null, 7, null, "xyz", null);
+        byte[] sparse = OffsetsRowCodec.encode(NULLABLE, new Tuple(NULLABLE, values));
+        assertEquals(1 + 4 + 2 * 2 + 3, sparse.length);
+        assertEquals(0b111, sparse[0]);
+        assertEquals(values, OffsetsRowCodec.decode(NULLABLE, sparse).values());
+        assertEquals(values, OffsetsRowCodec.lazy(NULLABLE, sparse).values());
+
+        Schema out = new Schema(List.of(
+                new ColumnMeta("note", Type.VARCHAR, 8),
+                new ColumnMeta("ok", Type.BOOLEAN, null, true)));
+        int[] idx = RowCodec.columnIndexes(NULLABLE, out);
+        Tuple t = OffsetsRowCodec.decode(NULLABLE, ByteBuffer.wrap(sparse), 0, idx, out);
+        assertEquals(Arrays.asList("xyz", null), t.values());
+    }
+
+    @Test
+    void givenNullInNotNullColumn_whenConstructTuple_thenThrows() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tuple(NULLABLE, Arrays.asList("a", null, 1L, "b", true)));
+        assertThrows(IllegalArgumentException.class, () -> new Tuple(WIDE, Arrays.asList(null, 7, "xyz", 9L, true)));
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.anupam.evolvdb.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowBufferTest {
+    private static final Schema ROW = new Schema(List.of(
+            new ColumnMeta("id", Type.INT, null),
+            new ColumnMeta("name", Type.VARCHAR, 8),
+            new ColumnMeta("amount", Type.BIGINT, null),
+            new ColumnMeta("ok", Type.BOOLEAN, null),
+            new ColumnMeta("ratio", Type.FLOAT, null)
+    ));
+
+    @Test
+    void givenTypedSetters_whenRead_thenPrimitivesAndBoxedValuesMatchTuple() {
+        RowBuffer row = new RowBuffer(ROW);
+        row.setInt(0, -7);
+        row.setString(1, "abc");
+        row.setLong(2, Long.MIN_VALUE);
+        row.setBoolean(3, true);
+        row.setFloat(4, -0.5f);
+        assertEquals(-7, row.getInt(0));
+        assertEquals(-7L, row.getLong(0));
+        assertEquals(Long.MIN_VALUE, row.getLong(2));
+        assertTrue(row.getBoolean(3));
+        assertEquals(-0.5f, row.getFloat(4));
+        assertEquals(List.of(-7, "abc", Long.MIN_VALUE, true, -0.5f), row.toTuple().values());
+        assertSame(ROW, row.toTuple().schema());
+    }
+
+    @Test
+    void givenBoxedValueOfWrongType_whenSet_thenRejectedLikeTuple() {
+        RowBuffer row = new RowBuffer(ROW);
+        assertThrows(IllegalArgumentException.class, () -> row.set(0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> row.set(1, "too long!"));
+        assertThrows(IllegalArgumentException.class, () -> row.set(3, null));
+        row.set(1, "fits");
+        assertEquals("fits", row.getString(1));
+    }
+
+    @Test
+    void givenAttachedRow_whenColumnsRead_thenDecodedOnAccessAndCopySurvivesReattach() {
+        byte[] first = OffsetsRowCodec.encode(ROW, new Tuple(ROW, List.of(1, "one", 10L, true, 1.5f)));
+        byte[] second = OffsetsRowCodec.encode(ROW, new Tuple(ROW, List.of(2, "two", 20L, false, 2.5f)));
+        ByteBuffer buf = ByteBuffer.allocate(first.length + second.length);
+        buf.put(0, first).put(first.length, second);
+
+        RowBuffer row = new RowBuffer(ROW);
+        OffsetsRowCodec.attach(ROW, buf, 0, null, row);
+        assertEquals(10L, row.getLong(2));
+        RowBuffer kept = row.copy();
+        OffsetsRowCodec.attach(ROW, buf, first.length, null, row);
+        assertEquals(List.of(2, "two", 20L, false, 2.5f), row.toTuple().values());
+        assertEquals(List.of(1, "one", 10L, true, 1.5f), kept.toTuple().values());
+    }
+
+    @Test
+    void givenNullableColumns_whenSetNullAndAttached_thenNullsReadBack() {
+        Schema schema = new Schema(List.of(
+                new ColumnMeta("id", Type.INT, null, true),
+                new ColumnMeta("name", Type.VARCHAR, 8, true),
+                new ColumnMeta("amount", Type.BIGINT, null)
+        ));
+        RowBuffer row = new RowBuffer(schema);
+        row.setInt(0, 5);
+        row.setNull(0);
+        row.set(1, null);
+        row.setLong(2, 3L);
+        assertTrue(row.isNull(0));
+        assertTrue(row.isNull(1));
+        assertFalse(row.isNull(2));
+        assertEquals(Arrays.asList(null, null, 3L), row.toTuple().values());
+        assertThrows(IllegalArgumentException.class, () -> row.set(2, null));
+
+        byte[] bytes = OffsetsRowCodec.encode(schema, row.toTuple());
+        RowBuffer attached = new RowBuffer(schema);
+        OffsetsRowCodec.attach(schema, ByteBuffer.wrap(bytes), 0, null, attached);
+        assertTrue(attached.isNull(0));
+        assertEquals(3L, attached.getLong(2));
+        assertEquals(Arrays.asList(null, null, 3L), attached.copy().toTuple().values());
+        row.setInt(0, 6);
+        assertFalse(row.isNull(0));
+    }
+
+    @Test
+    void givenColumnSubset_whenAttach_thenSlotsMapToThoseColumns() {
+        byte[] bytes = OffsetsRowCodec.encode(ROW, new Tuple(ROW, List.of(3, "three", 30L, true, 3.5f)));
+        Schema subset = new Schema(List.of(
+                new ColumnMeta("ratio", Type.FLOAT, null),
+                new ColumnMeta("name", Type.VARCHAR, 8)
+        ));
+        RowBuffer row = new RowBuffer(subset);
+        OffsetsRowCodec.attach(ROW, ByteBuffer.wrap(bytes), 0, RowCodec.columnIndexes(ROW, subset), row);
+        assertEquals(List.of(3.5f, "three"), row.toTuple().values());
+        assertThrows(IllegalArgumentException.class,
+                () -> OffsetsRowCodec.attach(ROW, ByteBuffer.wrap(bytes), 0, null, row));
+    }
+
+    @Test
+    void givenTuple_whenLoadedAndCopiedColumnWise_thenValuesCarriedOver() {
+        RowBuffer row = RowBuffer.of(new Tuple(ROW, List.of(4, "four", 40L, false, 4.5f)));
+        Schema pair = new Schema(List.of(
+                new ColumnMeta("amount", Type.BIGINT, null),
+                new ColumnMeta("name", Type.VARCHAR, 8)
+        ));
+        RowBuffer out = new RowBuffer(pair);
+        out.copyFrom(0, row, 2);
+        out.copyFrom(1, row, 1);
+        assertEquals(List.of(40L, "four"), out.toTuple().values());
+        assertThrows(IllegalStateException.class, () -> new RowBuffer(ROW).getInt(0));
+    }
+}